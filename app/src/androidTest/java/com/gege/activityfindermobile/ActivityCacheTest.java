@@ -0,0 +1,125 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.local.AppDatabase;
+import com.gege.activityfindermobile.data.local.dao.ActivityDao;
+import com.gege.activityfindermobile.data.local.entity.ActivityCreatorEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityInterestEntity;
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.data.model.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests for the Room activity cache including:
+ * - Storing and reading back a list in order
+ * - Sharing activities between lists
+ * - Pruning activities no list references anymore
+ */
+@RunWith(AndroidJUnit4.class)
+public class ActivityCacheTest {
+
+    private AppDatabase database;
+    private ActivityDao activityDao;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        activityDao = database.activityDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void testReplaceListKeepsOrderCreatorAndInterests() {
+        Activity first = createActivity(1L, "Morning run", 7L);
+        first.setInterests(Arrays.asList("Running", "Outdoor"));
+        Activity second = createActivity(2L, "Board games", 8L);
+
+        activityDao.replaceList("nearby", Arrays.asList(second, first), 1000L);
+
+        List<ActivityEntity> rows = activityDao.getActivities("nearby");
+        assertEquals(2, rows.size());
+        assertEquals(Long.valueOf(2L), rows.get(0).id);
+        assertEquals(Long.valueOf(1L), rows.get(1).id);
+
+        List<ActivityCreatorEntity> creators = activityDao.getCreators("nearby");
+        assertEquals(2, creators.size());
+
+        List<ActivityInterestEntity> interests = activityDao.getInterests("nearby");
+        assertEquals(2, interests.size());
+        assertEquals("Running", interests.get(0).interest);
+        assertEquals("Outdoor", interests.get(1).interest);
+    }
+
+    @Test
+    public void testActivitySharedBetweenListsSurvivesReplace() {
+        Activity shared = createActivity(1L, "Yoga", 7L);
+        shared.setInterests(Collections.singletonList("Fitness"));
+
+        activityDao.replaceList("nearby", Collections.singletonList(shared), 1000L);
+        activityDao.replaceList("recommended", Collections.singletonList(shared), 2000L);
+
+        assertEquals(1, activityDao.getActivities("nearby").size());
+        assertEquals(1, activityDao.getActivities("recommended").size());
+        assertEquals(1, activityDao.getInterests("nearby").size());
+    }
+
+    @Test
+    public void testUnlistedActivitiesArePruned() {
+        activityDao.replaceList(
+                "nearby",
+                Arrays.asList(createActivity(1L, "Old", 7L), createActivity(2L, "Kept", 8L)),
+                1000L);
+        activityDao.replaceList(
+                "nearby", Collections.singletonList(createActivity(2L, "Kept", 8L)), 2000L);
+
+        List<ActivityEntity> rows = activityDao.getActivities("nearby");
+        assertEquals(1, rows.size());
+        assertEquals("Kept", rows.get(0).title);
+        assertEquals(1, activityDao.getCreators("nearby").size());
+    }
+
+    @Test
+    public void testClearAllRemovesEverything() {
+        activityDao.replaceList(
+                "nearby", Collections.singletonList(createActivity(1L, "Yoga", 7L)), 1000L);
+
+        activityDao.clearAll();
+
+        assertTrue(activityDao.getActivities("nearby").isEmpty());
+    }
+
+    private Activity createActivity(Long id, String title, Long creatorId) {
+        User creator = new User();
+        creator.setId(creatorId);
+        creator.setFullName("Creator " + creatorId);
+
+        Activity activity = new Activity();
+        activity.setId(id);
+        activity.setTitle(title);
+        activity.setActivityDate("2030-05-01T10:00:00");
+        activity.setCategory("Sports");
+        activity.setCreator(creator);
+        return activity;
+    }
+}
@@ -0,0 +1,151 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.ui.feed.ActivityFilterEngine;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for the feed filter indexes including:
+ * - Substring search across title, description, location and category
+ * - Category, trending and distance filters
+ * - Date and distance ordering
+ * - Pages appended to an index answering like one built at once
+ */
+@RunWith(AndroidJUnit4.class)
+public class ActivityFilterEngineTest {
+
+    private ActivityFilterEngine.Index index;
+
+    @Before
+    public void setUp() {
+        index =
+                ActivityFilterEngine.Index.build(
+                        Arrays.asList(
+                                activity(1L, "Morning Yoga", "Sports", "2025-06-02", 3.0, false),
+                                activity(2L, "Board games", "Gaming", "2025-06-01", 12.5, true),
+                                activity(3L, "Sunset hike", "Outdoor", "2025-06-03", null, true),
+                                activity(4L, "Yoga in the park", "Sports", "2025-05-30", 40.0,
+                                        false)));
+    }
+
+    @Test
+    public void testEmptyQueryReturnsAllByDate() {
+        assertEquals(Arrays.asList(4L, 2L, 1L, 3L), ids(query(false, "", null, null, "datetime")));
+    }
+
+    @Test
+    public void testSearchMatchesSubstringsInAnyField() {
+        // "oga" is inside a word, "sports" only appears in the category
+        assertEquals(Arrays.asList(4L, 1L), ids(query(false, "oga", null, null, "datetime")));
+        assertEquals(Arrays.asList(4L, 1L), ids(query(false, "SPORTS", null, null, "datetime")));
+        // Multi-word search must match as a phrase
+        assertEquals(Arrays.asList(4L), ids(query(false, "in the pa", null, null, "datetime")));
+        assertTrue(query(false, "park yoga", null, null, "datetime").isEmpty());
+    }
+
+    @Test
+    public void testFiltersCombine() {
+        assertEquals(Arrays.asList(2L, 3L), ids(query(true, "", null, null, "datetime")));
+        assertEquals(Arrays.asList(4L, 1L), ids(query(false, "", null, "sports", "datetime")));
+        assertTrue(query(false, "", null, "music", "datetime").isEmpty());
+        // Activities without distance info are kept by the distance filter
+        assertEquals(Arrays.asList(1L, 3L), ids(query(false, "", 10, null, "distance")));
+    }
+
+    @Test
+    public void testSortByDateUsesTimeAndPutsUndatedLast() {
+        Activity evening = activity(5L, "Evening run", "Sports", null, 1.0, false);
+        evening.setActivityDate("2025-06-02T19:30:00");
+        Activity undated = activity(6L, "Open chess", "Gaming", null, 1.0, false);
+        index =
+                ActivityFilterEngine.Index.build(
+                        Arrays.asList(
+                                undated,
+                                evening,
+                                activity(1L, "Morning Yoga", "Sports", "2025-06-02", 3.0, false)));
+
+        assertEquals(Arrays.asList(1L, 5L, 6L), ids(query(false, "", null, null, "datetime")));
+    }
+
+    @Test
+    public void testSortByDistancePutsUnknownLast() {
+        assertEquals(Arrays.asList(1L, 2L, 4L, 3L), ids(query(false, "", null, null, "distance")));
+    }
+
+    @Test
+    public void testAppendedPagesMatchOneBuild() {
+        List<Activity> all =
+                Arrays.asList(
+                        activity(1L, "Morning Yoga", "Sports", "2025-06-02", 3.0, false),
+                        activity(2L, "Board games", "Gaming", "2025-06-01", 12.5, true),
+                        activity(3L, "Sunset hike", "Outdoor", "2025-06-03", null, true),
+                        activity(4L, "Yoga in the park", "Sports", "2025-05-30", 40.0, false),
+                        activity(5L, "Yoga for runners", "Sports", "2025-06-02", 3.0, false),
+                        activity(6L, "Chess in the park", "Gaming", null, null, false));
+        ActivityFilterEngine.Index appended = ActivityFilterEngine.Index.build(all.subList(0, 2));
+        appended.addActivities(all.subList(2, 4));
+        appended.addActivities(all.subList(4, 6));
+        ActivityFilterEngine.Index built = ActivityFilterEngine.Index.build(all);
+
+        assertEquals(6, appended.size());
+        for (String text : new String[] {"", "y", "ga", "yoga", "in the park", "runners"}) {
+            for (String sort : new String[] {"datetime", "distance"}) {
+                ActivityFilterEngine.Query query =
+                        new ActivityFilterEngine.Query(false, text, null, null, sort);
+                assertEquals(ids(built.query(query)), ids(appended.query(query)));
+            }
+        }
+        // Equal dates and distances keep the server order across pages
+        assertEquals(
+                Arrays.asList(4L, 2L, 1L, 5L, 3L, 6L),
+                ids(appended.query(new ActivityFilterEngine.Query(false, "", null, null, null))));
+    }
+
+    private List<Activity> query(
+            boolean trendingOnly,
+            String text,
+            Integer maxDistanceKm,
+            String category,
+            String sort) {
+        return index.query(
+                new ActivityFilterEngine.Query(trendingOnly, text, maxDistanceKm, category, sort));
+    }
+
+    private static Activity activity(
+            Long id,
+            String title,
+            String category,
+            String date,
+            Double distance,
+            boolean trending) {
+        Activity activity = new Activity();
+        activity.setId(id);
+        activity.setTitle(title);
+        activity.setDescription("Meet at " + title.toLowerCase());
+        activity.setLocation("Budapest");
+        activity.setCategory(category);
+        activity.setActivityDate(date != null ? date + "T10:00:00" : null);
+        activity.setDistance(distance);
+        activity.setTrending(trending);
+        return activity;
+    }
+
+    private static List<Long> ids(List<Activity> activities) {
+        List<Long> ids = new ArrayList<>();
+        for (Activity activity : activities) {
+            ids.add(activity.getId());
+        }
+        return ids;
+    }
+}
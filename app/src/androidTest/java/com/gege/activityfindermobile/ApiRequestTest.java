@@ -0,0 +1,176 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.callback.ApiCallback;
+import com.gege.activityfindermobile.data.repository.ApiRequest;
+import com.gege.activityfindermobile.data.repository.RequestCoalescer;
+import com.gege.activityfindermobile.data.repository.RequestHandle;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+/**
+ * Tests for the repository request pipeline including:
+ * - Mapping response bodies and HTTP errors
+ * - Error messages from the error body and fallback requests
+ * - Sharing one network call between identical requests
+ * - Fresh requests that skip a running call but are joined by later ones
+ * - Dropping callbacks of cancelled requests
+ */
+@RunWith(AndroidJUnit4.class)
+public class ApiRequestTest {
+    private static final String TAG = "ApiRequestTest";
+
+    interface TestApi {
+        @GET("api/reviews")
+        Call<ResponseBody> getReviews();
+    }
+
+    private MockWebServer server;
+    private TestApi api;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        api =
+                new Retrofit.Builder()
+                        .baseUrl(server.url("/"))
+                        .client(new OkHttpClient())
+                        .build()
+                        .create(TestApi.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testMapsBodyAndErrorMessages() throws Exception {
+        server.enqueue(new MockResponse().setBody("four"));
+        server.enqueue(new MockResponse().setResponseCode(409));
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        ApiRequest<ResponseBody, Long> request =
+                ApiRequest.of(TAG, "fetch reviews", api::getReviews)
+                        .map(ResponseBody::contentLength)
+                        .errorMessage(409, "Already reviewed");
+
+        assertEquals("success:4", await(request));
+        assertEquals("error:Already reviewed", await(request));
+        assertEquals("error:Failed to fetch reviews: 500", await(request));
+    }
+
+    @Test
+    public void testErrorBodyAndFallback() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("Title is required"));
+        server.enqueue(new MockResponse().setResponseCode(404));
+        server.enqueue(new MockResponse().setBody("older"));
+
+        ApiRequest<ResponseBody, Long> fallbackRequest =
+                ApiRequest.of(TAG, "fetch reviews", api::getReviews)
+                        .map(ResponseBody::contentLength);
+        ApiRequest<ResponseBody, Long> request =
+                ApiRequest.of(TAG, "fetch reviews", api::getReviews)
+                        .map(ResponseBody::contentLength)
+                        .errorBody((code, body) -> code + " " + body)
+                        .fallback(404, fallbackRequest::enqueue);
+
+        assertEquals("error:400 Title is required", await(request));
+        assertEquals("success:5", await(request));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void testSharedRequestsUseOneNetworkCall() throws Exception {
+        server.enqueue(new MockResponse().setBody("ok").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        RequestCoalescer coalescer = new RequestCoalescer();
+        ApiRequest<ResponseBody, ResponseBody> request =
+                ApiRequest.of(TAG, "fetch reviews", api::getReviews)
+                        .shared(coalescer, RequestCoalescer.key("getReviews"));
+
+        CountDownLatch latch = new CountDownLatch(2);
+        request.enqueue(countDown(latch, new AtomicReference<>()));
+        request.enqueue(countDown(latch, new AtomicReference<>()));
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, coalescer.getDeduplicatedCallCount());
+    }
+
+    @Test
+    public void testFreshRequestStartsItsOwnCall() throws Exception {
+        server.enqueue(new MockResponse().setBody("old").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setBody("new").setBodyDelay(300, TimeUnit.MILLISECONDS));
+        RequestCoalescer coalescer = new RequestCoalescer();
+        ApiRequest<ResponseBody, ResponseBody> request =
+                ApiRequest.of(TAG, "fetch reviews", api::getReviews)
+                        .shared(coalescer, RequestCoalescer.key("getReviews"));
+
+        CountDownLatch latch = new CountDownLatch(3);
+        request.enqueue(countDown(latch, new AtomicReference<>()));
+        request.fresh(true).enqueue(countDown(latch, new AtomicReference<>()));
+        request.enqueue(countDown(latch, new AtomicReference<>()));
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, coalescer.getDeduplicatedCallCount());
+    }
+
+    @Test
+    public void testCancelledRequestDeliversNothing() throws Exception {
+        server.enqueue(new MockResponse().setBody("ok").setBodyDelay(1, TimeUnit.SECONDS));
+        CountDownLatch latch = new CountDownLatch(1);
+
+        RequestHandle handle =
+                ApiRequest.of(TAG, "fetch reviews", api::getReviews)
+                        .enqueue(countDown(latch, new AtomicReference<>()));
+        handle.cancel();
+
+        assertFalse(latch.await(2, TimeUnit.SECONDS));
+    }
+
+    private static <T> String await(ApiRequest<?, T> request) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<String> result = new AtomicReference<>();
+        request.enqueue(countDown(latch, result));
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        return result.get();
+    }
+
+    private static <T> ApiCallback<T> countDown(
+            CountDownLatch latch, AtomicReference<String> result) {
+        return new ApiCallback<T>() {
+            @Override
+            public void onSuccess(T data) {
+                result.set("success:" + data);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                result.set("error:" + errorMessage);
+                latch.countDown();
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.di.ApiRoutes;
+import com.gege.activityfindermobile.di.RoutePolicy;
+import com.gege.activityfindermobile.di.RouteTable;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for the route policy table including:
+ * - Public session and reference data endpoints
+ * - Cache freshness per route
+ * - Client profiles for uploads and background polling
+ * - Literal, numeric and wildcard segment precedence
+ */
+@RunWith(AndroidJUnit4.class)
+public class ApiRoutesTest {
+
+    @Test
+    public void testPublicEndpointsSkipAuth() {
+        assertFalse(ApiRoutes.lookup("/api/users/login").isAuthRequired());
+        assertFalse(ApiRoutes.lookup("/api/users/refresh-token").isAuthRequired());
+        assertFalse(ApiRoutes.lookup("/api/auth/register").isAuthRequired());
+        assertFalse(ApiRoutes.lookup("/api/categories/popular").isAuthRequired());
+        assertTrue(ApiRoutes.lookup("/api/users/42").isAuthRequired());
+        assertTrue(ApiRoutes.lookup("/api/activities/7/messages").isAuthRequired());
+    }
+
+    @Test
+    public void testCacheFreshness() {
+        assertEquals(30, ApiRoutes.lookup("/api/activities/trending").getMaxAgeSeconds());
+        assertEquals(30, ApiRoutes.lookup("/api/activities/nearby/paged").getMaxAgeSeconds());
+        assertEquals(60, ApiRoutes.lookup("/api/users/42").getMaxAgeSeconds());
+        assertEquals(RoutePolicy.NO_MAX_AGE, maxAge("/api/users/42/location"));
+        assertEquals(RoutePolicy.NO_MAX_AGE, maxAge("/api/users/search"));
+    }
+
+    @Test
+    public void testClientProfiles() {
+        assertEquals(
+                RoutePolicy.ClientProfile.UPLOAD,
+                ApiRoutes.lookup("/api/activities/7/gallery/upload").getClientProfile());
+        assertEquals(
+                RoutePolicy.ClientProfile.INTERACTIVE,
+                ApiRoutes.lookup("/api/activities/7/gallery").getClientProfile());
+        assertEquals(
+                RoutePolicy.ClientProfile.BACKGROUND,
+                ApiRoutes.lookup("/api/notifications/unread/count").getClientProfile());
+        assertFalse(ApiRoutes.lookup("/api/users/photos/upload").isRetryable());
+    }
+
+    @Test
+    public void testSegmentPrecedence() {
+        RoutePolicy literal = RoutePolicy.DEFAULT.withMaxAge(1);
+        RoutePolicy numeric = RoutePolicy.DEFAULT.withMaxAge(2);
+        RoutePolicy any = RoutePolicy.DEFAULT.withMaxAge(3);
+        RoutePolicy subtree = RoutePolicy.DEFAULT.withMaxAge(4);
+        RouteTable table =
+                new RouteTable.Builder(RoutePolicy.DEFAULT)
+                        .route("/a/b", literal)
+                        .route("/a/{id}", numeric)
+                        .route("/a/*", any)
+                        .route("/c/**", subtree)
+                        .build();
+
+        assertSame(literal, table.lookup("/a/b"));
+        assertSame(numeric, table.lookup("/a/12"));
+        assertSame(any, table.lookup("/a/x"));
+        assertSame(subtree, table.lookup("/c"));
+        assertSame(subtree, table.lookup("/c/d/e/"));
+        assertSame(RoutePolicy.DEFAULT, table.lookup("/a/b/c"));
+        assertSame(RoutePolicy.DEFAULT, table.lookup("/"));
+    }
+
+    private static int maxAge(String path) {
+        return ApiRoutes.lookup(path).getMaxAgeSeconds();
+    }
+}
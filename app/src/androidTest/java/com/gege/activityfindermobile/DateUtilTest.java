@@ -0,0 +1,86 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.utils.DateUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Tests for DateUtil including:
+ * - ISO parsing and formatting round trips
+ * - Display date and time formatting
+ * - Expiry of display dates
+ * - Combining display date and time back into ISO
+ */
+@RunWith(AndroidJUnit4.class)
+public class DateUtilTest {
+
+    private Locale previousLocale;
+
+    @Before
+    public void setUp() {
+        previousLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(previousLocale);
+    }
+
+    @Test
+    public void testIsoRoundTrip() {
+        Date date = DateUtil.parseIsoDate("2025-06-02T18:30:15");
+        assertNotNull(date);
+        assertEquals("2025-06-02T18:30:15", DateUtil.formatIsoDate(date));
+        // Cached parses still hand out independent Date instances
+        assertNotSame(date, DateUtil.parseIsoDate("2025-06-02T18:30:15"));
+        // Fractions of a second are ignored, malformed input is rejected
+        assertEquals(date, DateUtil.parseIsoDate("2025-06-02T18:30:15.250"));
+        assertNull(DateUtil.parseIsoDate("2025-06-02"));
+        assertNull(DateUtil.parseIsoDate("not a date at all"));
+    }
+
+    @Test
+    public void testDisplayFormatting() {
+        assertEquals("Jun 02, 2025", DateUtil.formatToDisplayDate("2025-06-02T18:30:00"));
+        assertEquals("06:30 PM", DateUtil.formatToDisplayTime("2025-06-02T18:30:00"));
+        assertNull(DateUtil.formatToDisplayDate(null));
+    }
+
+    @Test
+    public void testDisplayDateExpiry() {
+        assertTrue(DateUtil.isDisplayDateExpired("Jan 5, 2020"));
+        assertTrue(DateUtil.isDisplayDateExpired("Jan 05, 2020"));
+        String today = String.format(Locale.US, "%tb %<te, %<tY", new Date());
+        assertFalse(DateUtil.isDisplayDateExpired(today));
+        assertFalse(DateUtil.isDisplayDateExpired("Tomorrow"));
+        assertFalse(DateUtil.isDisplayDateExpired(null));
+    }
+
+    @Test
+    public void testCombineToIsoFormat() {
+        assertEquals(
+                "2025-06-02T09:05:00", DateUtil.combineToIsoFormat("Jun 02, 2025", "09:05 AM"));
+        assertEquals("2025-06-02T21:05:00", DateUtil.combineToIsoFormat("Jun 2, 2025", "9:05 PM"));
+        assertNull(DateUtil.combineToIsoFormat("Jun 2, 2025", ""));
+    }
+
+    @Test
+    public void testPastAndFuture() {
+        assertTrue(DateUtil.isPast("2020-01-01T00:00:00"));
+        String nextYear = (LocalDate.now().getYear() + 1) + "-01-01T00:00:00";
+        assertTrue(DateUtil.isFuture(nextYear));
+        assertEquals("", DateUtil.getRelativeTimeString("garbage"));
+    }
+}
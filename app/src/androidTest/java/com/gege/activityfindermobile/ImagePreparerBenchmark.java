@@ -0,0 +1,178 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.image.ImagePreparer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Instrumented benchmark for preparing a 12 MP camera photo for upload including:
+ * - Copying the original byte for byte, as the upload screens did before ImagePreparer
+ * - Preparing a JPEG original
+ * - Preparing a WebP original, which is re-encoded as JPEG
+ *
+ * <p>Each case logs the best time per photo, the peak heap growth while it runs and the bytes left
+ * to upload. Bitmap pixels live in the native heap since Android 8, so the peak adds the native
+ * and Java heaps, sampled every millisecond from a second thread. Results are logged, never
+ * asserted, so a slow device cannot fail the run.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ImagePreparerBenchmark {
+    private static final String TAG = "ImagePreparerBenchmark";
+    private static final int WIDTH = 4000;
+    private static final int HEIGHT = 3000;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int ROUNDS = 5;
+
+    /** One photo preparation; returns the file that would be uploaded */
+    private interface Preparation {
+        File run() throws IOException;
+    }
+
+    private Context context;
+    private ImagePreparer preparer;
+    private File source;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        preparer = new ImagePreparer(context);
+        source = new File(context.getCacheDir(), "image_preparer_benchmark");
+    }
+
+    @After
+    public void tearDown() {
+        source.delete();
+    }
+
+    @Test
+    public void benchmarkJpegPhoto() throws Exception {
+        writePhoto(Bitmap.CompressFormat.JPEG);
+        Uri uri = Uri.fromFile(source);
+
+        measure("Copy original JPEG", () -> copyOriginal(uri));
+        measure("ImagePreparer, JPEG", () -> preparer.prepareBlocking(uri));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation") // WEBP_LOSSY needs API 30
+    public void benchmarkWebpPhoto() throws Exception {
+        writePhoto(Bitmap.CompressFormat.WEBP);
+        Uri uri = Uri.fromFile(source);
+
+        measure("Copy original WebP", () -> copyOriginal(uri));
+        measure("ImagePreparer, WebP to JPEG", () -> preparer.prepareBlocking(uri));
+    }
+
+    private void measure(String name, Preparation preparation) throws Exception {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            assertTrue(preparation.run().delete());
+        }
+        long bestNanos = Long.MAX_VALUE;
+        long peakBytes = 0;
+        long outputBytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Runtime.getRuntime().gc();
+            HeapSampler sampler = new HeapSampler();
+            sampler.start();
+            long start = System.nanoTime();
+            File output = preparation.run();
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+            peakBytes = Math.max(peakBytes, sampler.finish());
+            outputBytes = output.length();
+            assertTrue(output.delete());
+        }
+        Log.i(
+                TAG,
+                String.format(
+                        Locale.US,
+                        "%-32s %8.1f ms %8d KB peak heap %8d KB output (source %d KB)",
+                        name,
+                        bestNanos / 1e6,
+                        peakBytes / 1024,
+                        outputBytes / 1024,
+                        source.length() / 1024));
+    }
+
+    /** The byte-for-byte copy the upload screens made of every picked image */
+    private File copyOriginal(Uri uri) throws IOException {
+        File copy = File.createTempFile("upload_", ".jpg", context.getCacheDir());
+        try (InputStream in = context.getContentResolver().openInputStream(uri);
+                OutputStream out = new FileOutputStream(copy)) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return copy;
+    }
+
+    /** Gradients with fine detail, so the encoders do real work unlike on a flat colour */
+    private void writePhoto(Bitmap.CompressFormat format) throws IOException {
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        int[] row = new int[WIDTH];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int detail = (x * 7 + y * 13) % 32;
+                row[x] =
+                        0xFF000000
+                                | ((x * 255 / WIDTH) ^ detail) << 16
+                                | ((y * 255 / HEIGHT) ^ detail) << 8
+                                | ((x + y) % 256);
+            }
+            bitmap.setPixels(row, 0, WIDTH, 0, y, WIDTH, 1);
+        }
+        try (OutputStream out = new FileOutputStream(source)) {
+            bitmap.compress(format, 95, out);
+        }
+        bitmap.recycle();
+    }
+
+    private static long heapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        return Debug.getNativeHeapAllocatedSize() + runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Highest heap use seen above the level when it was created */
+    private static final class HeapSampler extends Thread {
+        private final long baseline = heapBytes();
+        private volatile boolean running = true;
+        private long peak;
+
+        @Override
+        public void run() {
+            while (running) {
+                peak = Math.max(peak, heapBytes());
+                SystemClock.sleep(1);
+            }
+        }
+
+        long finish() throws InterruptedException {
+            running = false;
+            join();
+            return Math.max(0, Math.max(peak, heapBytes()) - baseline);
+        }
+    }
+}
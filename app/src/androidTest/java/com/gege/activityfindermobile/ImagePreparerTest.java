@@ -0,0 +1,157 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.media.ExifInterface;
+import android.net.Uri;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.image.ImagePreparer;
+import com.gege.activityfindermobile.utils.Constants;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import okhttp3.RequestBody;
+import okio.Buffer;
+
+/**
+ * Tests for preparing picked images for upload including:
+ * - Large photos scaled so the longest edge fits the upload limit
+ * - EXIF orientation applied to the pixels and metadata stripped
+ * - Small photos kept at their size
+ * - Request bodies encoded in memory with a known length
+ * - Undecodable files never uploaded with their metadata
+ */
+@RunWith(AndroidJUnit4.class)
+public class ImagePreparerTest {
+    private Context context;
+    private ImagePreparer preparer;
+    private File source;
+    private File prepared;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        preparer = new ImagePreparer(context);
+        source = new File(context.getCacheDir(), "image_preparer_test.jpg");
+    }
+
+    @After
+    public void tearDown() {
+        source.delete();
+        if (prepared != null) {
+            prepared.delete();
+        }
+    }
+
+    @Test
+    public void testLargePhotoIsDownscaled() throws IOException {
+        writeJpeg(4000, 3000);
+
+        prepared = preparer.prepareBlocking(Uri.fromFile(source));
+
+        BitmapFactory.Options bounds = bounds(prepared);
+        assertEquals(Constants.UPLOAD_MAX_DIMENSION, bounds.outWidth);
+        assertEquals(Constants.UPLOAD_MAX_DIMENSION * 3 / 4, bounds.outHeight);
+        assertTrue(prepared.length() < source.length());
+    }
+
+    @Test
+    public void testOrientationIsAppliedAndMetadataStripped() throws IOException {
+        writeJpeg(1200, 800);
+        ExifInterface exif = new ExifInterface(source.getAbsolutePath());
+        exif.setAttribute(
+                ExifInterface.TAG_ORIENTATION, String.valueOf(ExifInterface.ORIENTATION_ROTATE_90));
+        exif.setAttribute(ExifInterface.TAG_GPS_LATITUDE, "40/1,42/1,46/1");
+        exif.saveAttributes();
+
+        prepared = preparer.prepareBlocking(Uri.fromFile(source));
+
+        BitmapFactory.Options bounds = bounds(prepared);
+        assertEquals(800, bounds.outWidth);
+        assertEquals(1200, bounds.outHeight);
+        ExifInterface output = new ExifInterface(prepared.getAbsolutePath());
+        assertEquals(
+                ExifInterface.ORIENTATION_UNDEFINED,
+                output.getAttributeInt(
+                        ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_UNDEFINED));
+        assertNull(output.getAttribute(ExifInterface.TAG_GPS_LATITUDE));
+    }
+
+    @Test
+    public void testSmallPhotoKeepsSize() throws IOException {
+        writeJpeg(640, 480);
+
+        prepared = preparer.prepareBlocking(Uri.fromFile(source));
+
+        BitmapFactory.Options bounds = bounds(prepared);
+        assertEquals(640, bounds.outWidth);
+        assertEquals(480, bounds.outHeight);
+    }
+
+    @Test
+    public void testBodyIsEncodedInMemory() throws IOException {
+        writeJpeg(4000, 3000);
+
+        RequestBody body = preparer.prepareBodyBlocking(Uri.fromFile(source));
+
+        assertEquals("image/jpeg", body.contentType().toString());
+        Buffer written = new Buffer();
+        body.writeTo(written);
+        assertEquals(body.contentLength(), written.size());
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeStream(written.inputStream(), null, bounds);
+        assertEquals(Constants.UPLOAD_MAX_DIMENSION, bounds.outWidth);
+    }
+
+    @Test
+    public void testUndecodableImageWithoutStrippableMetadataFails() throws IOException {
+        byte[] bytes = new byte[300 * 1024];
+        Arrays.fill(bytes, (byte) 1);
+        try (OutputStream out = new FileOutputStream(source)) {
+            out.write(bytes);
+        }
+
+        try {
+            preparer.prepareBodyBlocking(Uri.fromFile(source));
+            fail("Uploaded an image whose metadata could not be stripped");
+        } catch (IOException expected) {
+            // ExifInterface cannot rewrite an unknown format
+        }
+        File[] staged =
+                new File(context.getCacheDir(), "uploads")
+                        .listFiles((dir, name) -> name.startsWith("original_"));
+        assertTrue(staged == null || staged.length == 0);
+    }
+
+    private void writeJpeg(int width, int height) throws IOException {
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        bitmap.eraseColor(0xFF3366CC);
+        try (OutputStream out = new FileOutputStream(source)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, 100, out);
+        }
+        bitmap.recycle();
+    }
+
+    private static BitmapFactory.Options bounds(File file) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+        return options;
+    }
+}
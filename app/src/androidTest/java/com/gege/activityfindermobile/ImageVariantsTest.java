@@ -0,0 +1,106 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.data.model.ActivityPhoto;
+import com.gege.activityfindermobile.data.model.CoverImage;
+import com.gege.activityfindermobile.data.model.ImageVariants.Size;
+import com.gege.activityfindermobile.di.NetworkModule;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for picking server image variants including:
+ * - Smallest variant that covers the target size
+ * - Unknown target sizes loading the full image
+ * - Missing variants falling back to the next larger one
+ * - Copies of the same photo comparing equal, so Glide keeps the loaded bitmap
+ * - Feed cards getting the activity cover with its variants
+ * - Cover variants surviving a round trip through the app's Gson
+ */
+@RunWith(AndroidJUnit4.class)
+public class ImageVariantsTest {
+
+    @Test
+    public void testSmallestCoveringVariant() {
+        // 40dp avatar and a third of a 1080 px wide grid
+        assertEquals(Size.THUMB, Size.fitting(120));
+        assertEquals(Size.THUMB, Size.fitting(360));
+        // Feed card at full width
+        assertEquals(Size.MEDIUM, Size.fitting(1080));
+        // Full-screen viewer on a tall screen
+        assertEquals(Size.FULL, Size.fitting(2400));
+    }
+
+    @Test
+    public void testUnknownSizeLoadsFullImage() {
+        assertEquals(Size.FULL, Size.fitting(0));
+        assertEquals(Size.FULL, Size.fitting(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testMissingVariantsFallBack() {
+        ActivityPhoto photo = new ActivityPhoto();
+        photo.setPhotoUrl("/photos/1.jpg");
+        assertEquals("/photos/1.jpg", photo.getImageUrl(Size.THUMB));
+
+        photo.setMediumUrl("/photos/1_medium.jpg");
+        assertEquals("/photos/1_medium.jpg", photo.getImageUrl(Size.THUMB));
+        assertEquals("/photos/1_medium.jpg", photo.getImageUrl(Size.MEDIUM));
+
+        photo.setThumbnailUrl("/photos/1_thumb.jpg");
+        assertEquals("/photos/1_thumb.jpg", photo.getImageUrl(Size.THUMB));
+        assertEquals("/photos/1.jpg", photo.getImageUrl(Size.FULL));
+    }
+
+    @Test
+    public void testSamePhotoIsEqual() {
+        ActivityPhoto first = new ActivityPhoto();
+        first.setId(1L);
+        first.setPhotoUrl("/photos/1.jpg");
+        first.setThumbnailUrl("/photos/1_thumb.jpg");
+        ActivityPhoto reloaded = new ActivityPhoto();
+        reloaded.setId(1L);
+        reloaded.setPhotoUrl("/photos/1.jpg");
+        reloaded.setThumbnailUrl("/photos/1_thumb.jpg");
+        assertEquals(first, reloaded);
+        assertEquals(first.hashCode(), reloaded.hashCode());
+
+        reloaded.setThumbnailUrl("/photos/1_thumb_v2.jpg");
+        assertNotEquals(first, reloaded);
+    }
+
+    @Test
+    public void testActivityCoverVariants() {
+        Activity activity = new Activity();
+        assertNull(activity.getCoverImage());
+
+        activity.setCoverImageUrl("/covers/hike.jpg");
+        activity.setCoverThumbnailUrl("/covers/hike_thumb.jpg");
+        CoverImage cover = activity.getCoverImage();
+        assertEquals("/covers/hike_thumb.jpg", cover.getImageUrl(Size.THUMB));
+        assertEquals("/covers/hike.jpg", cover.getImageUrl(Size.MEDIUM));
+        assertEquals(cover, activity.getCoverImage());
+    }
+
+    @Test
+    public void testCoverVariantsSurviveAppGson() {
+        Gson gson = new NetworkModule().provideGson();
+        String json =
+                "{\"id\":7,\"coverImageUrl\":\"/covers/7.jpg\","
+                        + "\"coverThumbnailUrl\":\"/covers/7_thumb.jpg\","
+                        + "\"coverMediumUrl\":\"/covers/7_medium.jpg\"}";
+
+        Activity decoded = gson.fromJson(json, Activity.class);
+        assertEquals("/covers/7_thumb.jpg", decoded.getCoverImage().getImageUrl(Size.THUMB));
+        assertEquals("/covers/7_medium.jpg", decoded.getCoverImage().getImageUrl(Size.MEDIUM));
+
+        Activity reloaded = gson.fromJson(gson.toJson(decoded), Activity.class);
+        assertEquals(decoded.getCoverImage(), reloaded.getCoverImage());
+    }
+}
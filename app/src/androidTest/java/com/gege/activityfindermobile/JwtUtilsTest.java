@@ -0,0 +1,45 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.utils.JwtUtils;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Tests for reading JWT expiry including:
+ * - Unpadded base64url payloads
+ * - Tokens without an exp claim
+ * - Malformed tokens
+ */
+@RunWith(AndroidJUnit4.class)
+public class JwtUtilsTest {
+
+    @Test
+    public void testReadsExpClaim() {
+        String token = token("{\"sub\":\"42\",\"exp\":1750000000}");
+        assertEquals(1750000000000L, JwtUtils.getExpiryMillis(token));
+    }
+
+    @Test
+    public void testMissingOrMalformedExpiry() {
+        assertEquals(-1, JwtUtils.getExpiryMillis(token("{\"sub\":\"42\"}")));
+        assertEquals(-1, JwtUtils.getExpiryMillis("not-a-jwt"));
+        assertEquals(-1, JwtUtils.getExpiryMillis("a.%%%.c"));
+        assertEquals(-1, JwtUtils.getExpiryMillis(null));
+    }
+
+    private static String token(String payloadJson) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8))
+                + "."
+                + encoder.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8))
+                + ".signature";
+    }
+}
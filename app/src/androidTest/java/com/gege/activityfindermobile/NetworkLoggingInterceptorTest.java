@@ -0,0 +1,94 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.di.NetworkLoggingInterceptor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Tests for build-type-aware HTTP logging including:
+ * - Authorization headers and password fields redacted in debug logs
+ * - Header-only logging never printing a body
+ * - Release builds logging only a sample of requests
+ */
+@RunWith(AndroidJUnit4.class)
+public class NetworkLoggingInterceptorTest {
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final String RESPONSE = "{\"accessToken\":\"issued-token\",\"id\":7}";
+
+    private final List<String> lines = new ArrayList<>();
+
+    @Test
+    public void testSecretsAreRedacted() throws IOException {
+        call(NetworkLoggingInterceptor.create(true, lines::add));
+
+        String log = String.join("\n", lines);
+        assertTrue(log.contains("Authorization"));
+        assertTrue(log.contains("\"id\":7"));
+        assertFalse(log.contains("secret-token"));
+        assertFalse(log.contains("hunter2"));
+        assertFalse(log.contains("issued-token"));
+    }
+
+    @Test
+    public void testHeadersOnlyLogsNoBody() throws IOException {
+        call(NetworkLoggingInterceptor.create(true, lines::add).headersOnly());
+
+        String log = String.join("\n", lines);
+        assertTrue(log.contains("/api/users/login"));
+        assertFalse(log.contains("\"id\":7"));
+        assertFalse(log.contains("password"));
+    }
+
+    @Test
+    public void testReleaseLogsASample() throws IOException {
+        NetworkLoggingInterceptor release = NetworkLoggingInterceptor.create(false, lines::add);
+        for (int i = 0; i < 20; i++) {
+            call(release);
+        }
+
+        long logged = lines.stream().filter(line -> line.startsWith("--> POST")).count();
+        assertEquals(1, logged);
+    }
+
+    private void call(NetworkLoggingInterceptor logging) throws IOException {
+        OkHttpClient client =
+                new OkHttpClient.Builder()
+                        .addInterceptor(logging)
+                        .addInterceptor(
+                                chain ->
+                                        new Response.Builder()
+                                                .request(chain.request())
+                                                .protocol(Protocol.HTTP_1_1)
+                                                .code(200)
+                                                .message("OK")
+                                                .body(ResponseBody.create(RESPONSE, JSON))
+                                                .build())
+                        .build();
+        Request request =
+                new Request.Builder()
+                        .url("http://localhost/api/users/login")
+                        .header("Authorization", "Bearer secret-token")
+                        .post(RequestBody.create("{\"password\":\"hunter2\"}", JSON))
+                        .build();
+        try (Response response = client.newCall(request).execute()) {
+            response.body().string();
+        }
+    }
+}
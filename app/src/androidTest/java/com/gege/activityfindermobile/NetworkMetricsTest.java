@@ -0,0 +1,139 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.annotation.NonNull;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.repository.RequestSavings;
+import com.gege.activityfindermobile.di.NetworkMetrics;
+import com.gege.activityfindermobile.di.NetworkQualityEstimator;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * Tests for per-endpoint network metrics including:
+ * - Numeric path segments folded into one endpoint
+ * - Image file names folded into one endpoint
+ * - Status codes and response bytes counted per endpoint
+ * - JSON export containing every endpoint
+ * - Cancelled calls and their estimated bytes counted as savings
+ */
+@RunWith(AndroidJUnit4.class)
+public class NetworkMetricsTest {
+    private MockWebServer server;
+    private NetworkMetrics metrics;
+    private RequestSavings savings;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        savings = new RequestSavings();
+        metrics = new NetworkMetrics(new NetworkQualityEstimator(), savings);
+        client =
+                new OkHttpClient.Builder()
+                        .eventListenerFactory(metrics.eventListenerFactory())
+                        .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testIdsFoldIntoOneEndpoint() throws IOException {
+        server.enqueue(new MockResponse().setBody("{\"id\":1}"));
+        server.enqueue(new MockResponse().setBody("{\"id\":2}"));
+        server.enqueue(new MockResponse().setResponseCode(404));
+
+        fetch("/api/users/1");
+        fetch("/api/users/2");
+        fetch("/api/users/3");
+
+        Map<String, NetworkMetrics.EndpointStats> endpoints = metrics.getEndpoints();
+        assertEquals(1, endpoints.size());
+        NetworkMetrics.EndpointStats stats = endpoints.get("GET /api/users/{id}");
+        assertNotNull(stats);
+        assertEquals(3, stats.getTotal().getCount());
+        assertEquals(Long.valueOf(2), stats.getStatusCodes().get(200));
+        assertEquals(Long.valueOf(1), stats.getStatusCodes().get(404));
+        assertEquals(16, stats.getBytesReceived());
+    }
+
+    @Test
+    public void testFileNamesFoldIntoOneEndpoint() throws IOException {
+        server.enqueue(new MockResponse().setBody("a"));
+        server.enqueue(new MockResponse().setBody("b"));
+
+        fetch("/uploads/photos/3f2a.jpg");
+        fetch("/uploads/photos/9c1e.jpg");
+
+        assertEquals(1, metrics.getEndpoints().size());
+        assertNotNull(metrics.getEndpoints().get("GET /uploads/photos/{file}"));
+    }
+
+    @Test
+    public void testJsonExport() throws IOException, JSONException {
+        server.enqueue(new MockResponse().setBody("[]"));
+        fetch("/api/activities");
+
+        JSONObject json = metrics.toJson();
+        JSONObject endpoint = json.getJSONObject("endpoints").getJSONObject("GET /api/activities");
+        assertEquals(1, endpoint.getJSONObject("totalMs").getLong("count"));
+        assertEquals(1, endpoint.getJSONObject("statusCodes").getLong("200"));
+
+        metrics.reset();
+        assertTrue(metrics.getEndpoints().isEmpty());
+    }
+
+    @Test
+    public void testCancelledCallCountsAsSaving() throws IOException {
+        server.enqueue(new MockResponse().setBody("[1,2,3]"));
+        server.enqueue(new MockResponse().setBody("[4,5,6]").setHeadersDelay(5, TimeUnit.SECONDS));
+        fetch("/api/activities");
+
+        Call call =
+                client.newCall(new Request.Builder().url(server.url("/api/activities")).build());
+        call.enqueue(
+                new Callback() {
+                    @Override
+                    public void onFailure(@NonNull Call call, @NonNull IOException e) {}
+
+                    @Override
+                    public void onResponse(@NonNull Call call, @NonNull Response response) {
+                        response.close();
+                    }
+                });
+        call.cancel();
+
+        assertEquals(1, savings.getCancelledCallCount());
+        assertEquals(7, savings.getEstimatedBytesSaved());
+    }
+
+    private void fetch(String path) throws IOException {
+        Request request = new Request.Builder().url(server.url(path)).build();
+        try (Response response = client.newCall(request).execute()) {
+            response.body().bytes();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.repository.RequestSavings;
+import com.gege.activityfindermobile.di.NetworkMetrics;
+import com.gege.activityfindermobile.di.NetworkQualityEstimator;
+import com.gege.activityfindermobile.di.NetworkQualityEstimator.Quality;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
+
+/**
+ * Tests for network quality estimation against a throttled local server including:
+ * - Fast links classified as good, with default page sizes and poll intervals
+ * - High latency classified as poor
+ * - Low bandwidth classified as poor even when latency is low
+ */
+@RunWith(AndroidJUnit4.class)
+public class NetworkQualityEstimatorTest {
+    private static final int BODY_BYTES = 24 * 1024;
+    private static final int CALLS = 3;
+
+    private MockWebServer server;
+    private NetworkQualityEstimator estimator;
+    private OkHttpClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        estimator = new NetworkQualityEstimator();
+        client =
+                new OkHttpClient.Builder()
+                        .eventListenerFactory(
+                                new NetworkMetrics(estimator, new RequestSavings())
+                                        .eventListenerFactory())
+                        .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testFastLinkIsGood() throws IOException {
+        for (int i = 0; i < CALLS; i++) {
+            server.enqueue(new MockResponse().setBody(body()));
+        }
+
+        fetchAll();
+
+        assertEquals(Quality.GOOD, estimator.getQuality());
+        assertEquals(20, estimator.pageSize(20));
+        assertEquals(30000, estimator.pollIntervalMillis(30000));
+    }
+
+    @Test
+    public void testHighLatencyIsPoor() throws IOException {
+        for (int i = 0; i < CALLS; i++) {
+            server.enqueue(
+                    new MockResponse().setBody("{}").setHeadersDelay(1200, TimeUnit.MILLISECONDS));
+        }
+
+        fetchAll();
+
+        assertEquals(Quality.POOR, estimator.getQuality());
+        assertTrue(estimator.getRttMillis() >= 1000);
+        assertEquals(5, estimator.pageSize(20));
+        assertEquals(120000, estimator.pollIntervalMillis(30000));
+    }
+
+    @Test
+    public void testLowBandwidthIsPoor() throws IOException {
+        // 4 KB per 500 ms is about 66 kbps, below the 2G-like threshold
+        for (int i = 0; i < CALLS; i++) {
+            server.enqueue(
+                    new MockResponse()
+                            .setBody(body())
+                            .throttleBody(4 * 1024, 500, TimeUnit.MILLISECONDS));
+        }
+
+        fetchAll();
+
+        assertEquals(Quality.POOR, estimator.getQuality());
+        assertTrue(estimator.getDownstreamKbps() < 150);
+        assertEquals(2, estimator.prefetchDistance(6));
+        assertEquals(0.5f, estimator.imageScale(), 0f);
+    }
+
+    private void fetchAll() throws IOException {
+        for (int i = 0; i < CALLS; i++) {
+            Request request = new Request.Builder().url(server.url("/api/activities")).build();
+            try (Response response = client.newCall(request).execute()) {
+                response.body().bytes();
+            }
+        }
+    }
+
+    private static Buffer body() {
+        Buffer buffer = new Buffer();
+        for (int i = 0; i < BODY_BYTES; i++) {
+            buffer.writeByte('a');
+        }
+        return buffer;
+    }
+}
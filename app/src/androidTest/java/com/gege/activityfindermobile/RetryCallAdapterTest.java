@@ -0,0 +1,139 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.gege.activityfindermobile.di.ConnectivityMonitor;
+import com.gege.activityfindermobile.di.RetryCallAdapterFactory;
+import com.gege.activityfindermobile.di.RetryMetrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+
+/**
+ * Tests for automatic retry of idempotent calls including:
+ * - Retry after dropped connections and 503 responses
+ * - No retry for non-idempotent requests
+ * - Retry limit and per-endpoint metrics
+ */
+@RunWith(AndroidJUnit4.class)
+public class RetryCallAdapterTest {
+
+    interface TestApi {
+        @GET("api/activities/trending")
+        Call<ResponseBody> getTrending();
+
+        @POST("api/reports")
+        Call<ResponseBody> submitReport();
+    }
+
+    private MockWebServer server;
+    private RetryMetrics metrics;
+    private TestApi api;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        metrics = new RetryMetrics();
+        ConnectivityMonitor connectivityMonitor =
+                new ConnectivityMonitor(
+                        InstrumentationRegistry.getInstrumentation().getTargetContext());
+        api =
+                new Retrofit.Builder()
+                        .baseUrl(server.url("/"))
+                        .client(new OkHttpClient())
+                        .addCallAdapterFactory(
+                                new RetryCallAdapterFactory(connectivityMonitor, metrics))
+                        .build()
+                        .create(TestApi.class);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testRetriesAfterDroppedConnectionAndServiceUnavailable() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        Response<ResponseBody> response = await(api.getTrending());
+
+        assertNotNull(response);
+        assertTrue(response.isSuccessful());
+        assertEquals(3, server.getRequestCount());
+        RetryMetrics.Endpoint endpoint = metrics.getEndpoints().get("GET /api/activities/trending");
+        assertEquals(1, endpoint.getCalls());
+        assertEquals(2, endpoint.getRetries());
+        assertEquals(1, endpoint.getSuccessesAfterRetry());
+    }
+
+    @Test
+    public void testPostIsNotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        Response<ResponseBody> response = await(api.submitReport());
+
+        assertEquals(503, response.code());
+        assertEquals(1, server.getRequestCount());
+        assertTrue(metrics.getEndpoints().isEmpty());
+    }
+
+    @Test
+    public void testGivesUpAfterMaxRetries() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        Response<ResponseBody> response = await(api.getTrending());
+
+        assertEquals(503, response.code());
+        assertEquals(4, server.getRequestCount());
+        assertEquals(1, metrics.getEndpoints().get("GET /api/activities/trending").getFailures());
+    }
+
+    private static Response<ResponseBody> await(Call<ResponseBody> call) throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Response<ResponseBody>> result = new AtomicReference<>();
+        call.enqueue(
+                new Callback<ResponseBody>() {
+                    @Override
+                    public void onResponse(
+                            Call<ResponseBody> call, Response<ResponseBody> response) {
+                        result.set(response);
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(Call<ResponseBody> call, Throwable t) {
+                        latch.countDown();
+                    }
+                });
+        assertTrue(latch.await(20, TimeUnit.SECONDS));
+        return result.get();
+    }
+}
@@ -0,0 +1,184 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.json.StreamingTypeAdapterFactory;
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.data.model.ActivityMessage;
+import com.gege.activityfindermobile.data.model.Notification;
+import com.gege.activityfindermobile.data.model.Participant;
+import com.gege.activityfindermobile.data.model.User;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests that the streaming model readers decode the same values as Gson's reflective adapters,
+ * including alternate field names, nested objects and server-provided display dates. Every
+ * serialized field of every streamed model is checked, so a field added to a model but not to its
+ * reader fails here instead of being dropped silently.
+ */
+@RunWith(AndroidJUnit4.class)
+public class StreamingJsonTest {
+
+    private static final String ACTIVITIES_JSON =
+            "[{\"id\":7,\"title\":\"Yoga\",\"activityDate\":\"2025-06-02T18:30:00\","
+                    + "\"totalSpots\":10,\"availableSpots\":4,\"trending\":\"true\","
+                    + "\"creator\":{\"userId\":3,\"fullName\":\"Anna\",\"rating\":4.5},"
+                    + "\"creatorAvatar\":\"a.png\",\"interestedUsersCount\":6,"
+                    + "\"interests\":[\"yoga\",\"outdoor\"],\"distance\":\"2.5\","
+                    + "\"unknownField\":{\"nested\":[1,2]}},"
+                    + "{\"id\":8,\"title\":\"Chess\",\"date\":\"Tomorrow\",\"time\":null,"
+                    + "\"activityDate\":\"2025-06-03T09:05:00\"}]";
+
+    private static final String PARTICIPANTS_JSON =
+            "[{\"participantId\":11,\"status\":\"JOINED\",\"isFriend\":false,"
+                    + "\"user\":{\"id\":3,\"fullName\":\"Anna\"},"
+                    + "\"activity\":{\"id\":7,\"title\":\"Yoga\"}}]";
+
+    private final Gson streaming =
+            new GsonBuilder()
+                    .setLenient()
+                    .registerTypeAdapterFactory(new StreamingTypeAdapterFactory())
+                    .create();
+    private final Gson reflective = new GsonBuilder().setLenient().create();
+
+    @Test
+    public void testActivitiesMatchReflectiveDecoding() {
+        List<Activity> expected = parseActivities(reflective);
+        List<Activity> actual = parseActivities(streaming);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Activity e = expected.get(i);
+            Activity a = actual.get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getTitle(), a.getTitle());
+            assertEquals(e.getActivityDate(), a.getActivityDate());
+            assertEquals(e.getDate(), a.getDate());
+            assertEquals(e.getTime(), a.getTime());
+            assertEquals(e.getTrending(), a.getTrending());
+            assertEquals(e.getCreatorId(), a.getCreatorId());
+            assertEquals(e.getCreatorName(), a.getCreatorName());
+            assertEquals(e.getCreatorRating(), a.getCreatorRating());
+            assertEquals(e.getCreatorAvatar(), a.getCreatorAvatar());
+            assertEquals(e.getParticipantsCount(), a.getParticipantsCount());
+            assertEquals(e.getInterests(), a.getInterests());
+            assertEquals(e.getDistance(), a.getDistance());
+        }
+        assertEquals("09:05 AM", actual.get(1).getTime());
+    }
+
+    @Test
+    public void testParticipantsMatchReflectiveDecoding() {
+        Participant expected = parseParticipants(reflective).get(0);
+        Participant actual = parseParticipants(streaming).get(0);
+
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getUserName(), actual.getUserName());
+        assertEquals(expected.getActivity().getTitle(), actual.getActivity().getTitle());
+    }
+
+    @Test
+    public void testWritingIsUnchanged() {
+        Activity activity = parseActivities(reflective).get(0);
+        assertEquals(reflective.toJson(activity), streaming.toJson(activity));
+    }
+
+    @Test
+    public void testEveryFieldIsRead() throws IllegalAccessException {
+        for (Class<?> model :
+                new Class<?>[] {
+                    Activity.class,
+                    Participant.class,
+                    ActivityMessage.class,
+                    Notification.class,
+                    User.class
+                }) {
+            String json = everyFieldJson(model);
+            Object expected = reflective.fromJson(json, model);
+            Object actual = streaming.fromJson(json, model);
+            for (Field field : serializedFields(model)) {
+                if (sampleValue(field) != null) {
+                    field.setAccessible(true);
+                    assertEquals(
+                            model.getSimpleName() + "." + field.getName(),
+                            field.get(expected),
+                            field.get(actual));
+                }
+            }
+        }
+    }
+
+    /** JSON object with a distinct value for every scalar and string-list field of the model */
+    private static String everyFieldJson(Class<?> model) {
+        StringBuilder json = new StringBuilder("{");
+        for (Field field : serializedFields(model)) {
+            String value = sampleValue(field);
+            if (value == null) {
+                continue;
+            }
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            SerializedName name = field.getAnnotation(SerializedName.class);
+            json.append('"')
+                    .append(name != null ? name.value() : field.getName())
+                    .append("\":")
+                    .append(value);
+        }
+        return json.append('}').toString();
+    }
+
+    /** JSON value for a field, or null for nested objects, which have tests of their own */
+    private static String sampleValue(Field field) {
+        Class<?> type = field.getType();
+        if (type == String.class) {
+            return "\"" + field.getName() + " value\"";
+        } else if (type == Long.class || type == Integer.class) {
+            return String.valueOf(Math.abs(field.getName().hashCode() % 1000) + 1);
+        } else if (type == Double.class) {
+            return "2.5";
+        } else if (type == Boolean.class) {
+            return "true";
+        } else if (type == List.class
+                && ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0]
+                        == String.class) {
+            return "[\"" + field.getName() + "\"]";
+        }
+        return null;
+    }
+
+    private static List<Field> serializedFields(Class<?> model) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : model.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static List<Activity> parseActivities(Gson gson) {
+        return gson.fromJson(ACTIVITIES_JSON, new TypeToken<List<Activity>>() {}.getType());
+    }
+
+    private static List<Participant> parseParticipants(Gson gson) {
+        return gson.fromJson(PARTICIPANTS_JSON, new TypeToken<List<Participant>>() {}.getType());
+    }
+}
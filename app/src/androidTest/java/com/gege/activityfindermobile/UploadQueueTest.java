@@ -0,0 +1,241 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.gege.activityfindermobile.data.api.ActivityPhotoApiService;
+import com.gege.activityfindermobile.data.api.UserPhotoApiService;
+import com.gege.activityfindermobile.data.local.UploadDatabase;
+import com.gege.activityfindermobile.data.local.dao.UploadDao;
+import com.gege.activityfindermobile.data.local.entity.PendingUploadEntity;
+import com.gege.activityfindermobile.data.upload.UploadQueue;
+import com.gege.activityfindermobile.data.upload.UploadStatus;
+import com.gege.activityfindermobile.di.ConnectivityMonitor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Tests for the persistent photo upload queue against a local server including:
+ * - One request per photo, with per-file progress
+ * - Retrying server errors with backoff
+ * - Failing client errors without retrying
+ * - Not resending a photo whose response was lost after it was sent
+ * - Resuming uploads left over from a killed process
+ */
+@RunWith(AndroidJUnit4.class)
+public class UploadQueueTest {
+    private static final int PHOTO_BYTES = 200 * 1024;
+
+    private Context context;
+    private MockWebServer server;
+    private UploadDatabase database;
+    private UploadDao uploadDao;
+    private UploadQueue queue;
+    private final List<UploadStatus> statuses = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        context = ApplicationProvider.getApplicationContext();
+        server = new MockWebServer();
+        server.start();
+        database = Room.inMemoryDatabaseBuilder(context, UploadDatabase.class).build();
+        uploadDao = database.uploadDao();
+        queue = newQueue();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void testEachPhotoIsItsOwnRequest() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setBody("[]"));
+        }
+        List<File> photos = Arrays.asList(photo("a"), photo("b"), photo("c"));
+
+        awaitFinished(3, () -> queue.enqueueActivityPhotos(5L, photos));
+
+        assertEquals(3, server.getRequestCount());
+        for (int i = 0; i < 3; i++) {
+            RecordedRequest request = server.takeRequest();
+            assertEquals("/api/activities/5/gallery/upload", request.getPath());
+            assertTrue(request.getBodySize() > PHOTO_BYTES);
+        }
+        assertEquals(3, count(UploadStatus.State.SUCCEEDED));
+        assertTrue(reachedFullProgress());
+        assertTrue(uploadDao.getAll().isEmpty());
+        for (File photo : photos) {
+            assertFalse(photo.exists());
+        }
+    }
+
+    @Test
+    public void testServerErrorIsRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("{\"url\":\"/photos/1.jpg\"}"));
+
+        File photo = photo("retry");
+
+        awaitFinished(1, () -> queue.enqueueUserPhoto(photo));
+
+        assertEquals(2, server.getRequestCount());
+        UploadStatus done = last();
+        assertEquals(UploadStatus.State.SUCCEEDED, done.getState());
+        assertEquals(2, done.getAttempts());
+    }
+
+    @Test
+    public void testClientErrorFailsWithoutRetry() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400));
+
+        File photo = photo("bad");
+
+        awaitFinished(1, () -> queue.enqueueUserPhoto(photo));
+
+        assertEquals(1, server.getRequestCount());
+        UploadStatus done = last();
+        assertEquals(UploadStatus.State.FAILED, done.getState());
+        assertEquals("Failed to upload photo: 400", done.getError());
+        assertTrue(uploadDao.getAll().isEmpty());
+    }
+
+    @Test
+    public void testLostResponseAfterSendIsNotRetried() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+        server.enqueue(new MockResponse().setBody("{\"url\":\"/photos/1.jpg\"}"));
+
+        File photo = photo("lost");
+
+        awaitFinished(1, () -> queue.enqueueUserPhoto(photo));
+
+        assertEquals(1, server.getRequestCount());
+        UploadStatus done = last();
+        assertEquals(UploadStatus.State.FAILED, done.getState());
+        assertEquals(1, done.getAttempts());
+    }
+
+    @Test
+    public void testResumesAfterRestart() throws Exception {
+        server.enqueue(new MockResponse().setBody("[]"));
+        // Left behind mid-upload by a killed process
+        PendingUploadEntity leftOver =
+                new PendingUploadEntity(
+                        UploadStatus.Kind.ACTIVITY_PHOTO.name(),
+                        9L,
+                        photo("left_over").getAbsolutePath(),
+                        UploadStatus.State.UPLOADING.name());
+        leftOver.attempts = 1;
+        uploadDao.insert(leftOver);
+
+        awaitFinished(1, () -> queue.resume());
+
+        assertEquals("/api/activities/9/gallery/upload", server.takeRequest().getPath());
+        assertEquals(UploadStatus.State.SUCCEEDED, last().getState());
+        assertTrue(uploadDao.getAll().isEmpty());
+    }
+
+    private UploadQueue newQueue() {
+        Retrofit retrofit =
+                new Retrofit.Builder()
+                        .baseUrl(server.url("/"))
+                        .client(new OkHttpClient())
+                        .addConverterFactory(GsonConverterFactory.create())
+                        .build();
+        UploadQueue uploadQueue =
+                new UploadQueue(
+                        context,
+                        uploadDao,
+                        retrofit.create(ActivityPhotoApiService.class),
+                        retrofit.create(UserPhotoApiService.class),
+                        new ConnectivityMonitor(context));
+        uploadQueue.addListener(statuses::add);
+        return uploadQueue;
+    }
+
+    private void awaitFinished(int uploads, Runnable action) throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(uploads);
+        UploadQueue.Listener listener =
+                status -> {
+                    if (status.isFinal()) {
+                        finished.countDown();
+                    }
+                };
+        queue.addListener(listener);
+        action.run();
+        assertTrue(finished.await(15, TimeUnit.SECONDS));
+        queue.removeListener(listener);
+    }
+
+    private File photo(String name) throws IOException {
+        File file = new File(context.getCacheDir(), "upload_queue_test_" + name + ".jpg");
+        byte[] bytes = new byte[PHOTO_BYTES];
+        Arrays.fill(bytes, (byte) 7);
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(bytes);
+        }
+        return file;
+    }
+
+    private int count(UploadStatus.State state) {
+        int count = 0;
+        for (UploadStatus status : statuses) {
+            if (status.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean reachedFullProgress() {
+        for (UploadStatus status : statuses) {
+            if (status.getState() == UploadStatus.State.UPLOADING
+                    && status.getProgressPercent() == 100) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private UploadStatus last() {
+        List<UploadStatus> copy = new ArrayList<>(statuses);
+        Collections.reverse(copy);
+        for (UploadStatus status : copy) {
+            if (status.isFinal()) {
+                return status;
+            }
+        }
+        fail("No upload finished");
+        return null;
+    }
+}
@@ -9,6 +9,7 @@ import android.util.Log;
 import com.gege.activityfindermobile.data.api.CrashLogApiService;
 import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
 import com.gege.activityfindermobile.data.repository.NotificationRepository;
+import com.gege.activityfindermobile.data.upload.UploadQueue;
 import com.gege.activityfindermobile.service.CrashReportService;
 import com.gege.activityfindermobile.service.MyFirebaseMessagingService;
 import com.gege.activityfindermobile.utils.CategoryManager;
@@ -28,6 +29,7 @@ public class ActivityFinderApp extends Application {
     @Inject CrashLogApiService crashLogApiService;
     @Inject SharedPreferencesManager prefsManager;
     @Inject NotificationRepository notificationRepository;
+    @Inject UploadQueue uploadQueue;
 
     @Override
     public void onCreate() {
@@ -46,6 +48,9 @@ public class ActivityFinderApp extends Application {
 
         // Register FCM token if user is already logged in
         registerFcmTokenIfLoggedIn();
+
+        // Continue photo uploads interrupted by the process being killed
+        uploadQueue.resume();
     }
 
     private void initializeCrashReporting() {
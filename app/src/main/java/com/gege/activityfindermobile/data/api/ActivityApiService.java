@@ -1,6 +1,7 @@
 package com.gege.activityfindermobile.data.api;
 
 import com.gege.activityfindermobile.data.dto.ActivityCreateRequest;
+import com.gege.activityfindermobile.data.dto.PageResponse;
 import com.gege.activityfindermobile.data.model.Activity;
 
 import java.util.List;
@@ -44,7 +45,18 @@ public interface ActivityApiService {
             @Query("latitude") double latitude,
             @Query("longitude") double longitude,
             @Query("radiusKm") float radiusKm,
-            @Header("User-Id") Long userId);
+            @Header("User-Id") Long userId,
+            @Header("Cache-Control") String cacheControl);
+
+    @GET("api/activities/nearby/paged")
+    Call<PageResponse<Activity>> getNearbyActivitiesPage(
+            @Query("latitude") double latitude,
+            @Query("longitude") double longitude,
+            @Query("radiusKm") float radiusKm,
+            @Query("page") int page,
+            @Query("size") int size,
+            @Header("User-Id") Long userId,
+            @Header("Cache-Control") String cacheControl);
 
     @GET("api/activities/nearby")
     Call<List<Activity>> getNearbyActivitiesDefaultRadius(
@@ -0,0 +1,225 @@
+package com.gege.activityfindermobile.data.cache;
+
+import android.util.LruCache;
+
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.data.model.Participant;
+import com.gege.activityfindermobile.data.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Normalized in-memory identity map for entities that arrive from many endpoints. Repositories
+ * merge every response into it, so each activity, user and participation exists once in memory
+ * and screens that hold it see the newest state.
+ *
+ * <p>Entries are evicted least-recently-used once the estimated byte budget of a type is
+ * exceeded. Call from the main thread (Retrofit callbacks already are).
+ */
+@Singleton
+public class EntityCache {
+    public static final int DEFAULT_ACTIVITY_BUDGET_BYTES = 2 * 1024 * 1024;
+    public static final int DEFAULT_USER_BUDGET_BYTES = 512 * 1024;
+    public static final int DEFAULT_PARTICIPANT_BUDGET_BYTES = 512 * 1024;
+
+    // Rough per-object overhead of a Gson model (header, boxed numbers, references)
+    private static final int OBJECT_OVERHEAD_BYTES = 256;
+
+    private final LruCache<Long, Activity> activities;
+    private final LruCache<Long, User> users;
+    private final LruCache<Long, Participant> participants;
+
+    @Inject
+    public EntityCache() {
+        this(
+                DEFAULT_ACTIVITY_BUDGET_BYTES,
+                DEFAULT_USER_BUDGET_BYTES,
+                DEFAULT_PARTICIPANT_BUDGET_BYTES);
+    }
+
+    public EntityCache(int activityBudgetBytes, int userBudgetBytes, int participantBudgetBytes) {
+        activities =
+                new LruCache<Long, Activity>(activityBudgetBytes) {
+                    @Override
+                    protected int sizeOf(Long key, Activity value) {
+                        return estimateSize(value);
+                    }
+                };
+        users =
+                new LruCache<Long, User>(userBudgetBytes) {
+                    @Override
+                    protected int sizeOf(Long key, User value) {
+                        return estimateSize(value);
+                    }
+                };
+        participants =
+                new LruCache<Long, Participant>(participantBudgetBytes) {
+                    @Override
+                    protected int sizeOf(Long key, Participant value) {
+                        return estimateSize(value);
+                    }
+                };
+    }
+
+    /** Get the cached activity, or null */
+    public Activity getActivity(Long id) {
+        return id != null ? activities.get(id) : null;
+    }
+
+    /** Get the cached user, or null */
+    public User getUser(Long id) {
+        return id != null ? users.get(id) : null;
+    }
+
+    /**
+     * Merge a complete activity from an activity endpoint
+     *
+     * @return The canonical instance to hand to the UI
+     */
+    public Activity putActivity(Activity activity) {
+        return mergeActivity(activity, false);
+    }
+
+    /** Merge a list of activities and return the canonical instances in the same order */
+    public List<Activity> putActivities(List<Activity> list) {
+        List<Activity> canonical = new ArrayList<>(list.size());
+        for (Activity activity : list) {
+            canonical.add(putActivity(activity));
+        }
+        return canonical;
+    }
+
+    /**
+     * Merge a user
+     *
+     * @param partial True for trimmed representations such as an activity creator
+     * @return The canonical instance
+     */
+    public User putUser(User user, boolean partial) {
+        if (user == null || user.getId() == null) {
+            return user;
+        }
+        User existing = users.get(user.getId());
+        if (existing == null) {
+            users.put(user.getId(), user);
+            return user;
+        }
+        existing.mergeFrom(user, partial);
+        // Re-put so the size estimate follows the merged state
+        users.put(user.getId(), existing);
+        return existing;
+    }
+
+    /** Merge a participation, including its nested activity */
+    public Participant putParticipant(Participant participant) {
+        if (participant == null) {
+            return null;
+        }
+        if (participant.getActivity() != null) {
+            participant.setActivity(mergeActivity(participant.getActivity(), true));
+        }
+        if (participant.getId() == null) {
+            return participant;
+        }
+        Participant existing = participants.get(participant.getId());
+        if (existing == null) {
+            participants.put(participant.getId(), participant);
+            return participant;
+        }
+        existing.mergeFrom(participant);
+        participants.put(participant.getId(), existing);
+        return existing;
+    }
+
+    /** Merge a list of participations and return the canonical instances in the same order */
+    public List<Participant> putParticipants(List<Participant> list) {
+        List<Participant> canonical = new ArrayList<>(list.size());
+        for (Participant participant : list) {
+            canonical.add(putParticipant(participant));
+        }
+        return canonical;
+    }
+
+    /** Forget an activity, e.g. after it was cancelled */
+    public void removeActivity(Long id) {
+        if (id != null) {
+            activities.remove(id);
+        }
+    }
+
+    /** Drop everything (logout) */
+    public void clear() {
+        activities.evictAll();
+        users.evictAll();
+        participants.evictAll();
+    }
+
+    private Activity mergeActivity(Activity activity, boolean partial) {
+        if (activity == null || activity.getId() == null) {
+            return activity;
+        }
+        if (activity.getCreator() != null) {
+            activity.setCreator(putUser(activity.getCreator(), true));
+        }
+        Activity existing = activities.get(activity.getId());
+        if (existing == null) {
+            activities.put(activity.getId(), activity);
+            return activity;
+        }
+        existing.mergeFrom(activity, partial);
+        activities.put(activity.getId(), existing);
+        return existing;
+    }
+
+    private static int estimateSize(Activity activity) {
+        int size =
+                OBJECT_OVERHEAD_BYTES
+                        + stringSize(activity.getTitle())
+                        + stringSize(activity.getDescription())
+                        + stringSize(activity.getActivityDate())
+                        + stringSize(activity.getLocation())
+                        + stringSize(activity.getPlaceId())
+                        + stringSize(activity.getCategory())
+                        + stringSize(activity.getStatus())
+                        + stringSize(activity.getCreatedAt())
+                        + stringSize(activity.getCoverImageUrl())
+                        + stringSize(activity.getCoverThumbnailUrl())
+                        + stringSize(activity.getCoverMediumUrl());
+        if (activity.getInterests() != null) {
+            for (String interest : activity.getInterests()) {
+                size += stringSize(interest);
+            }
+        }
+        return size;
+    }
+
+    private static int estimateSize(User user) {
+        int size =
+                OBJECT_OVERHEAD_BYTES
+                        + stringSize(user.getFullName())
+                        + stringSize(user.getEmail())
+                        + stringSize(user.getBio())
+                        + stringSize(user.getProfileImageUrl())
+                        + stringSize(user.getCity());
+        if (user.getPhotos() != null) {
+            size += user.getPhotos().size() * OBJECT_OVERHEAD_BYTES;
+        }
+        return size;
+    }
+
+    private static int estimateSize(Participant participant) {
+        return OBJECT_OVERHEAD_BYTES
+                + stringSize(participant.getStatus())
+                + stringSize(participant.getJoinedAt())
+                + stringSize(participant.getUserName())
+                + stringSize(participant.getUserAvatar());
+    }
+
+    private static int stringSize(String value) {
+        return value != null ? 40 + value.length() * 2 : 0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.gege.activityfindermobile.data.cache;
+
+import android.content.Context;
+
+import com.gege.activityfindermobile.data.local.ActivityLocalDataSource;
+import com.gege.activityfindermobile.data.upload.UploadQueue;
+import com.gege.activityfindermobile.di.HttpCacheManager;
+import com.gege.activityfindermobile.utils.ImageLoader;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+
+/**
+ * Wipes every client-side cache of user data when the session ends, along with photos still
+ * waiting to upload under that session and cached private images
+ */
+@Singleton
+public class SessionCacheCleaner {
+    private final Context context;
+    private final ActivityLocalDataSource activityLocalDataSource;
+    private final HttpCacheManager httpCacheManager;
+    private final EntityCache entityCache;
+    // Lazy: the queue needs the HTTP client, whose auth interceptor needs this class
+    private final dagger.Lazy<UploadQueue> uploadQueueLazy;
+
+    @Inject
+    public SessionCacheCleaner(
+            @ApplicationContext Context context,
+            ActivityLocalDataSource activityLocalDataSource,
+            HttpCacheManager httpCacheManager,
+            EntityCache entityCache,
+            dagger.Lazy<UploadQueue> uploadQueueLazy) {
+        this.context = context;
+        this.activityLocalDataSource = activityLocalDataSource;
+        this.httpCacheManager = httpCacheManager;
+        this.entityCache = entityCache;
+        this.uploadQueueLazy = uploadQueueLazy;
+    }
+
+    /** Clear disk, HTTP, image and in-memory caches; safe to call from any thread */
+    public void clearAll() {
+        activityLocalDataSource.clear();
+        httpCacheManager.clear();
+        entityCache.clear();
+        uploadQueueLazy.get().clear();
+        ImageLoader.clearPrivateCache(context);
+    }
+}
@@ -19,4 +19,12 @@ public interface ApiCallback<T> {
      * @param errorMessage The error message describing what went wrong
      */
     void onError(String errorMessage);
+
+    /**
+     * Called with locally cached data before the network response arrives. Only repository
+     * methods backed by the local cache call this, and never after onSuccess or onError.
+     *
+     * @param data The cached data
+     */
+    default void onCached(T data) {}
 }
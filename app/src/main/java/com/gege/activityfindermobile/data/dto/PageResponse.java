@@ -0,0 +1,86 @@
+package com.gege.activityfindermobile.data.dto;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** One page of a paged list endpoint (Spring Data page shape) */
+public class PageResponse<T> {
+    @SerializedName("content")
+    private List<T> content;
+
+    @SerializedName("number")
+    private Integer number;
+
+    @SerializedName("size")
+    private Integer size;
+
+    @SerializedName("totalElements")
+    private Long totalElements;
+
+    @SerializedName("last")
+    private Boolean last;
+
+    public PageResponse() {}
+
+    public PageResponse(List<T> content, int number, int size, Long totalElements, boolean last) {
+        this.content = content;
+        this.number = number;
+        this.size = size;
+        this.totalElements = totalElements;
+        this.last = last;
+    }
+
+    /** Wrap a complete, unpaged list as a single last page */
+    public static <T> PageResponse<T> singlePage(List<T> items) {
+        List<T> content = items != null ? items : new ArrayList<>();
+        return new PageResponse<>(content, 0, content.size(), (long) content.size(), true);
+    }
+
+    public List<T> getContent() {
+        return content != null ? content : new ArrayList<>();
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public Integer getNumber() {
+        return number;
+    }
+
+    public void setNumber(Integer number) {
+        this.number = number;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(Long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * Whether this is the final page. Falls back to a short page when the server omits the flag.
+     */
+    public boolean isLast() {
+        if (last != null) {
+            return last;
+        }
+        return size == null || getContent().size() < size;
+    }
+
+    public void setLast(Boolean last) {
+        this.last = last;
+    }
+}
@@ -0,0 +1,102 @@
+package com.gege.activityfindermobile.data.image;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.module.AppGlideModule;
+import com.gege.activityfindermobile.data.model.ImageVariants;
+import com.gege.activityfindermobile.di.ProfiledCallFactory;
+import com.gege.activityfindermobile.di.RoutePolicy.ClientProfile;
+
+import java.io.InputStream;
+
+import dagger.hilt.EntryPoint;
+import dagger.hilt.InstallIn;
+import dagger.hilt.android.EntryPointAccessors;
+import dagger.hilt.components.SingletonComponent;
+
+/**
+ * App-wide Glide configuration. Memory cache, bitmap pool and disk caches are sized from the
+ * device memory class, and images are downloaded through the app's OkHttpClient so they share its
+ * connection pool, HTTP cache, auth handling and network metrics.
+ */
+@GlideModule
+public class ActivityFinderGlideModule extends AppGlideModule {
+    private static final String TAG = "GlideModule";
+
+    /** Devices at or below this heap size get the smaller budgets */
+    private static final int LOW_MEMORY_CLASS_MB = 192;
+
+    private static final long MB = 1024 * 1024;
+
+    /** Glide is created by reflection, so the client comes from Hilt through an entry point */
+    @EntryPoint
+    @InstallIn(SingletonComponent.class)
+    public interface ImageClientEntryPoint {
+        ProfiledCallFactory profiledCallFactory();
+    }
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        ActivityManager activityManager = context.getSystemService(ActivityManager.class);
+        int memoryClassMb = activityManager.getMemoryClass();
+        boolean lowMemory =
+                activityManager.isLowRamDevice() || memoryClassMb <= LOW_MEMORY_CLASS_MB;
+
+        // Screens worth of full-screen bitmaps; a feed shows covers and avatars for about one
+        MemorySizeCalculator calculator =
+                new MemorySizeCalculator.Builder(context)
+                        .setMemoryCacheScreens(lowMemory ? 1.5f : 3f)
+                        .setBitmapPoolScreens(lowMemory ? 1f : 2f)
+                        .setMaxSizeMultiplier(lowMemory ? 0.25f : 0.4f)
+                        .build();
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+
+        long publicBytes = (lowMemory ? 40 : 100) * MB;
+        long privateBytes = (lowMemory ? 60 : 150) * MB;
+        builder.setDiskCache(PartitionedDiskCache.factory(context, publicBytes, privateBytes));
+
+        Log.d(
+                TAG,
+                "Memory class "
+                        + memoryClassMb
+                        + " MB: memory cache "
+                        + calculator.getMemoryCacheSize() / MB
+                        + " MB, bitmap pool "
+                        + calculator.getBitmapPoolSize() / MB
+                        + " MB");
+    }
+
+    @Override
+    public void registerComponents(
+            @NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        ProfiledCallFactory callFactory =
+                EntryPointAccessors.fromApplication(context, ImageClientEntryPoint.class)
+                        .profiledCallFactory();
+        registry.replace(
+                GlideUrl.class,
+                InputStream.class,
+                new OkHttpUrlLoader.Factory(callFactory.client(ClientProfile.IMAGE)));
+        // Photo models pick their size variant once Glide has measured the target
+        registry.prepend(
+                ImageVariants.class, InputStream.class, new VariantUrlLoader.Factory(context));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,363 @@
+package com.gege.activityfindermobile.data.image;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.gege.activityfindermobile.data.callback.ApiCallback;
+import com.gege.activityfindermobile.utils.Constants;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Okio;
+
+/**
+ * Turns picked images into upload-ready files: decoded with a sample size close to the target,
+ * scaled so the longest edge fits {@link Constants#UPLOAD_MAX_DIMENSION}, rotated upright from
+ * the EXIF orientation and re-encoded as JPEG. Re-encoding drops all metadata, including the
+ * location. Work runs on one background thread and results arrive on the main thread.
+ */
+@Singleton
+public class ImagePreparer {
+    private static final String TAG = "ImagePreparer";
+    private static final String UPLOAD_DIR = "uploads";
+    private static final MediaType JPEG = MediaType.parse("image/jpeg");
+
+    // Location, device, owner and capture time; orientation and size are kept
+    private static final String[] IDENTIFYING_TAGS = {
+        ExifInterface.TAG_GPS_LATITUDE,
+        ExifInterface.TAG_GPS_LATITUDE_REF,
+        ExifInterface.TAG_GPS_LONGITUDE,
+        ExifInterface.TAG_GPS_LONGITUDE_REF,
+        ExifInterface.TAG_GPS_ALTITUDE,
+        ExifInterface.TAG_GPS_ALTITUDE_REF,
+        ExifInterface.TAG_GPS_AREA_INFORMATION,
+        ExifInterface.TAG_GPS_DATESTAMP,
+        ExifInterface.TAG_GPS_TIMESTAMP,
+        ExifInterface.TAG_GPS_DEST_LATITUDE,
+        ExifInterface.TAG_GPS_DEST_LATITUDE_REF,
+        ExifInterface.TAG_GPS_DEST_LONGITUDE,
+        ExifInterface.TAG_GPS_DEST_LONGITUDE_REF,
+        ExifInterface.TAG_GPS_IMG_DIRECTION,
+        ExifInterface.TAG_GPS_IMG_DIRECTION_REF,
+        ExifInterface.TAG_GPS_PROCESSING_METHOD,
+        ExifInterface.TAG_GPS_SPEED,
+        ExifInterface.TAG_GPS_SPEED_REF,
+        ExifInterface.TAG_GPS_TRACK,
+        ExifInterface.TAG_GPS_TRACK_REF,
+        ExifInterface.TAG_MAKE,
+        ExifInterface.TAG_MODEL,
+        ExifInterface.TAG_SOFTWARE,
+        ExifInterface.TAG_MAKER_NOTE,
+        ExifInterface.TAG_ARTIST,
+        ExifInterface.TAG_COPYRIGHT,
+        ExifInterface.TAG_IMAGE_DESCRIPTION,
+        ExifInterface.TAG_USER_COMMENT,
+        ExifInterface.TAG_IMAGE_UNIQUE_ID,
+        ExifInterface.TAG_DATETIME,
+        ExifInterface.TAG_DATETIME_ORIGINAL,
+        ExifInterface.TAG_DATETIME_DIGITIZED
+    };
+
+    private final Context context;
+    private final ExecutorService imageExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    @Inject
+    public ImagePreparer(@ApplicationContext Context context) {
+        this.context = context;
+    }
+
+    /** Prepare one image for upload */
+    public void prepare(Uri uri, ApiCallback<File> callback) {
+        imageExecutor.execute(
+                () -> {
+                    try {
+                        File file = prepareBlocking(uri);
+                        mainHandler.post(() -> callback.onSuccess(file));
+                    } catch (IOException | RuntimeException | OutOfMemoryError e) {
+                        Log.e(TAG, "Failed to prepare image: " + uri, e);
+                        mainHandler.post(() -> callback.onError("Failed to process image"));
+                    }
+                });
+    }
+
+    /**
+     * Prepare several images, one at a time so only one decoded bitmap is in memory. Images that
+     * fail are skipped; the callback fails only if none could be prepared.
+     */
+    public void prepareAll(List<Uri> uris, ApiCallback<List<File>> callback) {
+        List<Uri> pending = new ArrayList<>(uris);
+        imageExecutor.execute(
+                () -> {
+                    List<File> files = new ArrayList<>();
+                    for (Uri uri : pending) {
+                        try {
+                            files.add(prepareBlocking(uri));
+                        } catch (IOException | RuntimeException | OutOfMemoryError e) {
+                            Log.e(TAG, "Failed to prepare image: " + uri, e);
+                        }
+                    }
+                    if (files.isEmpty()) {
+                        mainHandler.post(() -> callback.onError("Failed to process images"));
+                    } else {
+                        mainHandler.post(() -> callback.onSuccess(files));
+                    }
+                });
+    }
+
+    /**
+     * Prepare one image as a request body encoded in memory, so nothing is left on disk. Images
+     * this device cannot decode, e.g. CMYK JPEGs on some versions, are uploaded as the original
+     * with identifying EXIF tags removed. Formats whose metadata cannot be rewritten fail.
+     */
+    public void prepareBody(Uri uri, ApiCallback<RequestBody> callback) {
+        imageExecutor.execute(
+                () -> {
+                    try {
+                        RequestBody body = prepareBodyBlocking(uri);
+                        mainHandler.post(() -> callback.onSuccess(body));
+                    } catch (IOException | RuntimeException | OutOfMemoryError e) {
+                        Log.e(TAG, "Failed to prepare image: " + uri, e);
+                        mainHandler.post(() -> callback.onError("Failed to process image"));
+                    }
+                });
+    }
+
+    /** Prepare into a file, for uploads that have to outlive the process */
+    public File prepareBlocking(Uri uri) throws IOException {
+        Buffer encoded = encode(uri);
+        File file = File.createTempFile("upload_", ".jpg", uploadDir());
+        try (BufferedSink sink = Okio.buffer(Okio.sink(file))) {
+            sink.writeAll(encoded);
+        } catch (IOException e) {
+            file.delete();
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Prepare into a request body. Only images that cannot be decoded fall back to the original,
+     * and only once its metadata is stripped; running out of memory and read errors fail.
+     */
+    public RequestBody prepareBodyBlocking(Uri uri) throws IOException {
+        Buffer encoded;
+        try {
+            encoded = encode(uri);
+        } catch (UndecodableImageException e) {
+            Log.w(TAG, "Uploading original image without metadata: " + uri);
+            return strippedOriginal(uri);
+        }
+        // Shares the buffer's segments instead of copying them
+        return RequestBody.create(encoded.readByteString(), JPEG);
+    }
+
+    /**
+     * The original bytes with identifying EXIF tags removed. The platform ExifInterface only
+     * rewrites JPEG before Android 11, so other formats fail rather than upload their metadata.
+     */
+    private RequestBody strippedOriginal(Uri uri) throws IOException {
+        ContentResolver resolver = context.getContentResolver();
+        File file = File.createTempFile("original_", null, uploadDir());
+        try {
+            try (InputStream in = open(resolver, uri);
+                    BufferedSink sink = Okio.buffer(Okio.sink(file))) {
+                sink.writeAll(Okio.source(in));
+            }
+            try {
+                ExifInterface exif = new ExifInterface(file.getAbsolutePath());
+                for (String tag : IDENTIFYING_TAGS) {
+                    exif.setAttribute(tag, null);
+                }
+                exif.saveAttributes();
+            } catch (IOException | RuntimeException e) {
+                throw new IOException("Cannot strip metadata from image", e);
+            }
+            ByteString stripped;
+            try (BufferedSource source = Okio.buffer(Okio.source(file))) {
+                stripped = source.readByteString();
+            }
+            String type = resolver.getType(uri);
+            MediaType mediaType = type != null ? MediaType.parse(type) : null;
+            return RequestBody.create(
+                    stripped, mediaType != null ? mediaType : MediaType.parse("image/*"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    private File uploadDir() throws IOException {
+        File dir = new File(context.getCacheDir(), UPLOAD_DIR);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        return dir;
+    }
+
+    /**
+     * Decode, scale, rotate and encode on the calling thread, which must not be the main one.
+     * Running out of memory while decoding is reported as an IOException, so callers fail the one
+     * image instead of crashing.
+     */
+    private Buffer encode(Uri uri) throws IOException {
+        ContentResolver resolver = context.getContentResolver();
+
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(resolver, uri)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new UndecodableImageException();
+        }
+
+        int maxDimension = Constants.UPLOAD_MAX_DIMENSION;
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize =
+                sampleSize(Math.max(bounds.outWidth, bounds.outHeight), maxDimension);
+        // JPEG has no alpha channel, so 16 bits per pixel lose nothing visible and halve the heap
+        options.inPreferredConfig = Bitmap.Config.RGB_565;
+        Bitmap decoded;
+        try (InputStream in = open(resolver, uri)) {
+            decoded = BitmapFactory.decodeStream(in, null, options);
+        } catch (OutOfMemoryError e) {
+            throw new IOException("Not enough memory to decode image", e);
+        }
+        if (decoded == null) {
+            throw new UndecodableImageException();
+        }
+
+        Matrix matrix = orientation(resolver, uri);
+        float scale = (float) maxDimension / Math.max(decoded.getWidth(), decoded.getHeight());
+        if (scale < 1f) {
+            matrix.postScale(scale, scale);
+        }
+        Bitmap output = decoded;
+        if (!matrix.isIdentity()) {
+            try {
+                output =
+                        Bitmap.createBitmap(
+                                decoded,
+                                0,
+                                0,
+                                decoded.getWidth(),
+                                decoded.getHeight(),
+                                matrix,
+                                true);
+            } catch (OutOfMemoryError e) {
+                decoded.recycle();
+                throw new IOException("Not enough memory to transform image", e);
+            }
+            if (output != decoded) {
+                decoded.recycle();
+            }
+        }
+
+        Buffer encoded = new Buffer();
+        try {
+            if (!output.compress(
+                    Bitmap.CompressFormat.JPEG,
+                    Constants.UPLOAD_JPEG_QUALITY,
+                    encoded.outputStream())) {
+                throw new IOException("JPEG encoding failed");
+            }
+        } finally {
+            output.recycle();
+        }
+        return encoded;
+    }
+
+    /**
+     * Largest power of two that keeps the decoded longest edge at or above the target, so the
+     * final scale is a downscale and quality is not lost to the sampler
+     */
+    static int sampleSize(int longestEdge, int maxDimension) {
+        int sampleSize = 1;
+        while (longestEdge / (sampleSize * 2) >= maxDimension) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static InputStream open(ContentResolver resolver, Uri uri) throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) {
+            throw new IOException("Cannot open " + uri);
+        }
+        return in;
+    }
+
+    /** Transform that makes the image upright, or identity if there is no usable EXIF data */
+    private static Matrix orientation(ContentResolver resolver, Uri uri) {
+        Matrix matrix = new Matrix();
+        int orientation;
+        try (InputStream in = open(resolver, uri)) {
+            orientation =
+                    new ExifInterface(in)
+                            .getAttributeInt(
+                                    ExifInterface.TAG_ORIENTATION,
+                                    ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException | RuntimeException e) {
+            return matrix;
+        }
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.setScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.setRotate(180);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.setScale(1, -1);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.setRotate(90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.setRotate(90);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.setRotate(-90);
+                matrix.postScale(-1, 1);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.setRotate(-90);
+                break;
+            default:
+                break;
+        }
+        return matrix;
+    }
+
+    /** The bytes are not an image this device can decode, as opposed to failing to read them */
+    private static final class UndecodableImageException extends IOException {
+        UndecodableImageException() {
+            super("Not a decodable image");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.gege.activityfindermobile.data.image;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.engine.cache.DiskCache;
+import com.bumptech.glide.load.engine.cache.DiskLruCacheWrapper;
+import com.bumptech.glide.signature.ObjectKey;
+
+import java.io.File;
+
+/**
+ * Glide disk cache split in two: public images such as activity covers, and auth-gated photos
+ * such as galleries and avatars. Browsing a large gallery cannot evict the covers, and the private
+ * side can be wiped when the session ends without losing them.
+ *
+ * <p>Glide's cache keys are opaque, so public loads carry {@link #publicSignature()} and are
+ * recognised by its marker in the key.
+ */
+public final class PartitionedDiskCache implements DiskCache {
+    private static final String PUBLIC_MARKER = "public-image";
+    private static final Key PUBLIC_SIGNATURE = new ObjectKey(PUBLIC_MARKER);
+    private static final String PUBLIC_DIR = "image_cache_public";
+    private static final String PRIVATE_DIR = "image_cache_private";
+
+    // Guarded by the class lock; null until Glide first touches the disk cache
+    private static PartitionedDiskCache instance;
+
+    private final DiskCache publicCache;
+    private final DiskCache privateCache;
+
+    private PartitionedDiskCache(DiskCache publicCache, DiskCache privateCache) {
+        this.publicCache = publicCache;
+        this.privateCache = privateCache;
+    }
+
+    /** Factory for {@code GlideBuilder#setDiskCache} with a budget per side */
+    static DiskCache.Factory factory(Context context, long publicBytes, long privateBytes) {
+        File cacheDir = context.getCacheDir();
+        return () -> {
+            synchronized (PartitionedDiskCache.class) {
+                instance =
+                        new PartitionedDiskCache(
+                                DiskLruCacheWrapper.create(
+                                        new File(cacheDir, PUBLIC_DIR), publicBytes),
+                                DiskLruCacheWrapper.create(
+                                        new File(cacheDir, PRIVATE_DIR), privateBytes));
+                return instance;
+            }
+        };
+    }
+
+    /** Signature for loads that may live in the public cache */
+    public static Key publicSignature() {
+        return PUBLIC_SIGNATURE;
+    }
+
+    /** Delete cached private photos; does disk I/O, so call it off the main thread */
+    public static void clearPrivate(Context context) {
+        synchronized (PartitionedDiskCache.class) {
+            if (instance != null) {
+                instance.privateCache.clear();
+                return;
+            }
+            // Not opened in this process, so no journal is holding the files
+            File[] files = new File(context.getCacheDir(), PRIVATE_DIR).listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public File get(Key key) {
+        return cacheFor(key).get(key);
+    }
+
+    @Override
+    public void put(Key key, Writer writer) {
+        cacheFor(key).put(key, writer);
+    }
+
+    @Override
+    public void delete(Key key) {
+        cacheFor(key).delete(key);
+    }
+
+    @Override
+    public void clear() {
+        publicCache.clear();
+        privateCache.clear();
+    }
+
+    @NonNull
+    private DiskCache cacheFor(Key key) {
+        // Data and resource keys print their signature
+        return key.toString().contains(PUBLIC_MARKER) ? publicCache : privateCache;
+    }
+}
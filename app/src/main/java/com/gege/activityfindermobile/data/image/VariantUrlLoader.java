@@ -0,0 +1,81 @@
+package com.gege.activityfindermobile.data.image;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.Headers;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.load.model.stream.BaseGlideUrlLoader;
+import com.gege.activityfindermobile.data.model.ImageVariants;
+import com.gege.activityfindermobile.di.NetworkQualityEstimator;
+import com.gege.activityfindermobile.utils.Constants;
+import com.gege.activityfindermobile.utils.ImageLoader;
+
+import java.io.InputStream;
+
+/**
+ * Glide loader for {@link ImageVariants} models. Glide measures the target before asking for a URL,
+ * so this picks the smallest server variant that covers the view at its density. On slow links the
+ * view size is scaled by {@link NetworkQualityEstimator#imageScale()} first, so a smaller file is
+ * downloaded and decoded at full view size. Each variant is cached under its own URL.
+ */
+public final class VariantUrlLoader extends BaseGlideUrlLoader<ImageVariants> {
+    private final Context context;
+
+    private VariantUrlLoader(Context context, ModelLoader<GlideUrl, InputStream> urlLoader) {
+        // No model cache: it would keep the auth header of an expired token
+        super(urlLoader);
+        this.context = context;
+    }
+
+    @Override
+    public boolean handles(@NonNull ImageVariants model) {
+        return true;
+    }
+
+    @Override
+    protected String getUrl(ImageVariants model, int width, int height, Options options) {
+        float scale = NetworkQualityEstimator.getInstance().imageScale();
+        ImageVariants.Size size =
+                ImageVariants.Size.fitting(Math.round(Math.max(width, height) * scale));
+        String url = model.getImageUrl(size);
+        if (url == null || url.isEmpty() || url.startsWith("http")) {
+            return url;
+        }
+        String baseUrl = Constants.BASE_URL;
+        if (baseUrl.endsWith("/")) {
+            baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+        }
+        return baseUrl + (url.startsWith("/") ? url : "/" + url);
+    }
+
+    @Override
+    protected Headers getHeaders(ImageVariants model, int width, int height, Options options) {
+        return ImageLoader.authHeaders(context, getUrl(model, width, height, options));
+    }
+
+    /** Registered by {@link ActivityFinderGlideModule} */
+    static final class Factory implements ModelLoaderFactory<ImageVariants, InputStream> {
+        private final Context context;
+
+        Factory(Context context) {
+            this.context = context.getApplicationContext();
+        }
+
+        @NonNull
+        @Override
+        public ModelLoader<ImageVariants, InputStream> build(
+                @NonNull MultiModelLoaderFactory multiFactory) {
+            return new VariantUrlLoader(
+                    context, multiFactory.build(GlideUrl.class, InputStream.class));
+        }
+
+        @Override
+        public void teardown() {}
+    }
+}
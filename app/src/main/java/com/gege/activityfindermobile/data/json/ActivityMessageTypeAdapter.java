@@ -0,0 +1,67 @@
+package com.gege.activityfindermobile.data.json;
+
+import com.gege.activityfindermobile.data.model.ActivityMessage;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/** Streaming reader for {@link ActivityMessage}; writing stays with Gson's reflective adapter */
+final class ActivityMessageTypeAdapter extends TypeAdapter<ActivityMessage> {
+    private final TypeAdapter<ActivityMessage> delegate;
+
+    ActivityMessageTypeAdapter(TypeAdapter<ActivityMessage> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(JsonWriter out, ActivityMessage value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public ActivityMessage read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ActivityMessage message = new ActivityMessage();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    message.setId(JsonReaders.nextLong(in));
+                    break;
+                case "activityId":
+                    message.setActivityId(JsonReaders.nextLong(in));
+                    break;
+                case "userId":
+                    message.setUserId(JsonReaders.nextLong(in));
+                    break;
+                case "userName":
+                    message.setUserName(JsonReaders.nextString(in));
+                    break;
+                case "userProfilePicture":
+                case "userAvatar":
+                    message.setUserAvatar(JsonReaders.nextString(in));
+                    break;
+                case "messageText":
+                    message.setMessageText(JsonReaders.nextString(in));
+                    break;
+                case "createdAt":
+                    message.setCreatedAt(JsonReaders.nextString(in));
+                    break;
+                case "isDeleted":
+                    message.setIsDeleted(JsonReaders.nextBoolean(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return message;
+    }
+}
@@ -0,0 +1,154 @@
+package com.gege.activityfindermobile.data.json;
+
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.data.model.User;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/** Streaming reader for {@link Activity}; writing stays with Gson's reflective adapter */
+final class ActivityTypeAdapter extends TypeAdapter<Activity> {
+    private final TypeAdapter<Activity> delegate;
+    private final TypeAdapter<User> userAdapter;
+    private final TypeAdapter<List<String>> stringListAdapter;
+
+    ActivityTypeAdapter(Gson gson, TypeAdapter<Activity> delegate) {
+        this.delegate = delegate;
+        this.userAdapter = gson.getAdapter(User.class);
+        this.stringListAdapter = gson.getAdapter(new TypeToken<List<String>>() {});
+    }
+
+    @Override
+    public void write(JsonWriter out, Activity value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public Activity read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Activity activity = new Activity();
+        // Display date and time sent by the server win over the ones derived from activityDate
+        String activityDate = null;
+        String date = null;
+        String time = null;
+        boolean hasDate = false;
+        boolean hasTime = false;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    activity.setId(JsonReaders.nextLong(in));
+                    break;
+                case "title":
+                    activity.setTitle(JsonReaders.nextString(in));
+                    break;
+                case "description":
+                    activity.setDescription(JsonReaders.nextString(in));
+                    break;
+                case "activityDate":
+                    activityDate = JsonReaders.nextString(in);
+                    break;
+                case "date":
+                    date = JsonReaders.nextString(in);
+                    hasDate = true;
+                    break;
+                case "time":
+                    time = JsonReaders.nextString(in);
+                    hasTime = true;
+                    break;
+                case "location":
+                    activity.setLocation(JsonReaders.nextString(in));
+                    break;
+                case "placeId":
+                    activity.setPlaceId(JsonReaders.nextString(in));
+                    break;
+                case "latitude":
+                    activity.setLatitude(JsonReaders.nextDouble(in));
+                    break;
+                case "longitude":
+                    activity.setLongitude(JsonReaders.nextDouble(in));
+                    break;
+                case "totalSpots":
+                    activity.setTotalSpots(JsonReaders.nextInt(in));
+                    break;
+                case "availableSpots":
+                    activity.setAvailableSpots(JsonReaders.nextInt(in));
+                    break;
+                case "reservedForFriendsSpots":
+                    activity.setReservedForFriendsSpots(JsonReaders.nextInt(in));
+                    break;
+                case "category":
+                    activity.setCategory(JsonReaders.nextString(in));
+                    break;
+                case "status":
+                    activity.setStatus(JsonReaders.nextString(in));
+                    break;
+                case "trending":
+                    activity.setTrending(JsonReaders.nextBoolean(in));
+                    break;
+                case "creator":
+                    activity.setCreator(userAdapter.read(in));
+                    break;
+                case "creatorId":
+                    activity.setCreatorId(JsonReaders.nextLong(in));
+                    break;
+                case "creatorName":
+                    activity.setCreatorName(JsonReaders.nextString(in));
+                    break;
+                case "creatorImageUrl":
+                case "creatorAvatar":
+                    activity.setCreatorAvatar(JsonReaders.nextString(in));
+                    break;
+                case "creatorBadge":
+                    activity.setCreatorBadge(JsonReaders.nextString(in));
+                    break;
+                case "participantsCount":
+                case "interestedUsersCount":
+                    activity.setInterestedUsersCount(JsonReaders.nextInt(in));
+                    break;
+                case "createdAt":
+                    activity.setCreatedAt(JsonReaders.nextString(in));
+                    break;
+                case "distance":
+                    activity.setDistance(JsonReaders.nextDouble(in));
+                    break;
+                case "interests":
+                    activity.setInterests(stringListAdapter.read(in));
+                    break;
+                case "coverImageUrl":
+                    activity.setCoverImageUrl(JsonReaders.nextString(in));
+                    break;
+                case "coverThumbnailUrl":
+                    activity.setCoverThumbnailUrl(JsonReaders.nextString(in));
+                    break;
+                case "coverMediumUrl":
+                    activity.setCoverMediumUrl(JsonReaders.nextString(in));
+                    break;
+                case "currentUserStatus":
+                    activity.setCurrentUserStatus(JsonReaders.nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        activity.setActivityDate(activityDate);
+        if (hasDate) {
+            activity.setDate(date);
+        }
+        if (hasTime) {
+            activity.setTime(time);
+        }
+        return activity;
+    }
+}
@@ -0,0 +1,72 @@
+package com.gege.activityfindermobile.data.json;
+
+import com.gege.activityfindermobile.data.model.Notification;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/** Streaming reader for {@link Notification}; writing stays with Gson's reflective adapter */
+final class NotificationTypeAdapter extends TypeAdapter<Notification> {
+    private final TypeAdapter<Notification> delegate;
+
+    NotificationTypeAdapter(TypeAdapter<Notification> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(JsonWriter out, Notification value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public Notification read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Notification notification = new Notification();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    notification.setId(JsonReaders.nextLong(in));
+                    break;
+                case "title":
+                    notification.setTitle(JsonReaders.nextString(in));
+                    break;
+                case "message":
+                    notification.setMessage(JsonReaders.nextString(in));
+                    break;
+                case "type":
+                    notification.setType(JsonReaders.nextString(in));
+                    break;
+                case "isRead":
+                    notification.setIsRead(JsonReaders.nextBoolean(in));
+                    break;
+                case "activityId":
+                    notification.setActivityId(JsonReaders.nextLong(in));
+                    break;
+                case "participantId":
+                    notification.setParticipantId(JsonReaders.nextLong(in));
+                    break;
+                case "reviewId":
+                    notification.setReviewId(JsonReaders.nextLong(in));
+                    break;
+                case "createdAt":
+                    notification.setCreatedAt(JsonReaders.nextString(in));
+                    break;
+                case "readAt":
+                    notification.setReadAt(JsonReaders.nextString(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return notification;
+    }
+}
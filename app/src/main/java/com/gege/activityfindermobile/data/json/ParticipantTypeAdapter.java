@@ -0,0 +1,92 @@
+package com.gege.activityfindermobile.data.json;
+
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.data.model.Participant;
+import com.gege.activityfindermobile.data.model.UserSimple;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/** Streaming reader for {@link Participant}; writing stays with Gson's reflective adapter */
+final class ParticipantTypeAdapter extends TypeAdapter<Participant> {
+    private final TypeAdapter<Participant> delegate;
+    private final TypeAdapter<Activity> activityAdapter;
+    private final TypeAdapter<UserSimple> userAdapter;
+
+    ParticipantTypeAdapter(Gson gson, TypeAdapter<Participant> delegate) {
+        this.delegate = delegate;
+        this.activityAdapter = gson.getAdapter(Activity.class);
+        this.userAdapter = gson.getAdapter(UserSimple.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, Participant value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public Participant read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Participant participant = new Participant();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                case "participantId":
+                    participant.setId(JsonReaders.nextLong(in));
+                    break;
+                case "activity":
+                    participant.setActivity(activityAdapter.read(in));
+                    break;
+                case "activityId":
+                    participant.setActivityId(JsonReaders.nextLong(in));
+                    break;
+                case "activityTitle":
+                    participant.setActivityTitle(JsonReaders.nextString(in));
+                    break;
+                case "user":
+                    participant.setUser(userAdapter.read(in));
+                    break;
+                case "userId":
+                    participant.setUserId(JsonReaders.nextLong(in));
+                    break;
+                case "userName":
+                    participant.setUserName(JsonReaders.nextString(in));
+                    break;
+                case "userAvatar":
+                    participant.setUserAvatar(JsonReaders.nextString(in));
+                    break;
+                case "userRating":
+                    participant.setUserRating(JsonReaders.nextDouble(in));
+                    break;
+                case "userBadge":
+                    participant.setUserBadge(JsonReaders.nextString(in));
+                    break;
+                case "status":
+                    participant.setStatus(JsonReaders.nextString(in));
+                    break;
+                case "isFriend":
+                    participant.setIsFriend(JsonReaders.nextBoolean(in));
+                    break;
+                case "joinedAt":
+                    participant.setJoinedAt(JsonReaders.nextString(in));
+                    break;
+                case "applicationAttempts":
+                    participant.setApplicationAttempts(JsonReaders.nextInt(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return participant;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gege.activityfindermobile.data.json;
+
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.data.model.ActivityMessage;
+import com.gege.activityfindermobile.data.model.Notification;
+import com.gege.activityfindermobile.data.model.Participant;
+import com.gege.activityfindermobile.data.model.User;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Hand-written streaming readers for the models in large list responses. They read fields straight
+ * off the JsonReader through setters instead of reflection; list responses are still decoded one
+ * element at a time by Gson's collection adapter, without an intermediate JSON tree.
+ */
+public final class StreamingTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == Activity.class) {
+            return (TypeAdapter<T>)
+                    new ActivityTypeAdapter(
+                            gson, gson.getDelegateAdapter(this, type(Activity.class)));
+        }
+        if (rawType == Participant.class) {
+            return (TypeAdapter<T>)
+                    new ParticipantTypeAdapter(
+                            gson, gson.getDelegateAdapter(this, type(Participant.class)));
+        }
+        if (rawType == User.class) {
+            return (TypeAdapter<T>)
+                    new UserTypeAdapter(gson, gson.getDelegateAdapter(this, type(User.class)));
+        }
+        if (rawType == Notification.class) {
+            return (TypeAdapter<T>)
+                    new NotificationTypeAdapter(
+                            gson.getDelegateAdapter(this, type(Notification.class)));
+        }
+        if (rawType == ActivityMessage.class) {
+            return (TypeAdapter<T>)
+                    new ActivityMessageTypeAdapter(
+                            gson.getDelegateAdapter(this, type(ActivityMessage.class)));
+        }
+        return null;
+    }
+
+    private static <T> TypeToken<T> type(Class<T> rawType) {
+        return TypeToken.get(rawType);
+    }
+}
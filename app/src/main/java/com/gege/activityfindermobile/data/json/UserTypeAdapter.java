@@ -0,0 +1,96 @@
+package com.gege.activityfindermobile.data.json;
+
+import com.gege.activityfindermobile.data.model.User;
+import com.gege.activityfindermobile.data.model.UserPhoto;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/** Streaming reader for {@link User}; writing stays with Gson's reflective adapter */
+final class UserTypeAdapter extends TypeAdapter<User> {
+    private final TypeAdapter<User> delegate;
+    private final TypeAdapter<List<String>> stringListAdapter;
+    private final TypeAdapter<List<UserPhoto>> photoListAdapter;
+
+    UserTypeAdapter(Gson gson, TypeAdapter<User> delegate) {
+        this.delegate = delegate;
+        this.stringListAdapter = gson.getAdapter(new TypeToken<List<String>>() {});
+        this.photoListAdapter = gson.getAdapter(new TypeToken<List<UserPhoto>>() {});
+    }
+
+    @Override
+    public void write(JsonWriter out, User value) throws IOException {
+        delegate.write(out, value);
+    }
+
+    @Override
+    public User read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        User user = new User();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                case "userId":
+                    user.setId(JsonReaders.nextLong(in));
+                    break;
+                case "fullName":
+                    user.setFullName(JsonReaders.nextString(in));
+                    break;
+                case "email":
+                    user.setEmail(JsonReaders.nextString(in));
+                    break;
+                case "bio":
+                    user.setBio(JsonReaders.nextString(in));
+                    break;
+                case "profileImageUrl":
+                    user.setProfileImageUrl(JsonReaders.nextString(in));
+                    break;
+                case "rating":
+                    user.setRating(JsonReaders.nextDouble(in));
+                    break;
+                case "completedActivities":
+                    user.setCompletedActivities(JsonReaders.nextInt(in));
+                    break;
+                case "interests":
+                    user.setInterests(stringListAdapter.read(in));
+                    break;
+                case "badge":
+                    user.setBadge(JsonReaders.nextString(in));
+                    break;
+                case "createdAt":
+                    user.setCreatedAt(JsonReaders.nextString(in));
+                    break;
+                case "photos":
+                    user.setPhotos(photoListAdapter.read(in));
+                    break;
+                case "city":
+                    user.setCity(JsonReaders.nextString(in));
+                    break;
+                case "placeId":
+                    user.setPlaceId(JsonReaders.nextString(in));
+                    break;
+                case "latitude":
+                    user.setLatitude(JsonReaders.nextDouble(in));
+                    break;
+                case "longitude":
+                    user.setLongitude(JsonReaders.nextDouble(in));
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        return user;
+    }
+}
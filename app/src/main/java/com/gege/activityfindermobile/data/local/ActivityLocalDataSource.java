@@ -0,0 +1,139 @@
+package com.gege.activityfindermobile.data.local;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.gege.activityfindermobile.data.local.dao.ActivityDao;
+import com.gege.activityfindermobile.data.local.entity.ActivityCreatorEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityInterestEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityListEntryEntity;
+import com.gege.activityfindermobile.data.model.Activity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Disk cache for activity lists. Reads and writes run on a single background thread and results
+ * are delivered on the main thread, so callers can treat it like another API callback.
+ */
+@Singleton
+public class ActivityLocalDataSource {
+    private static final String TAG = "ActivityLocalDataSource";
+
+    public static final String LIST_NEARBY = "nearby";
+    public static final String LIST_RECOMMENDED = "recommended";
+    public static final String LIST_MY_ACTIVITIES = "my_activities";
+
+    private final ActivityDao activityDao;
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /** Receives a cached list on the main thread; not called when nothing is cached */
+    public interface CachedListCallback {
+        void onCachedList(List<Activity> activities);
+    }
+
+    @Inject
+    public ActivityLocalDataSource(ActivityDao activityDao) {
+        this.activityDao = activityDao;
+    }
+
+    /** Load a cached list and deliver it on the main thread */
+    public void loadList(String listKey, CachedListCallback callback) {
+        diskExecutor.execute(
+                () -> {
+                    List<Activity> activities;
+                    try {
+                        activities = readList(listKey);
+                    } catch (Exception e) {
+                        Log.e(TAG, "Failed to read cached list: " + listKey, e);
+                        return;
+                    }
+                    if (activities.isEmpty()) {
+                        return;
+                    }
+                    Log.d(TAG, "Loaded " + activities.size() + " cached activities: " + listKey);
+                    mainHandler.post(() -> callback.onCachedList(activities));
+                });
+    }
+
+    /** Persist a fresh API list in the background */
+    public void saveList(String listKey, List<Activity> activities) {
+        List<Activity> snapshot = new ArrayList<>(activities);
+        long cachedAt = System.currentTimeMillis();
+        diskExecutor.execute(
+                () -> {
+                    try {
+                        activityDao.replaceList(listKey, snapshot, cachedAt);
+                    } catch (Exception e) {
+                        Log.e(TAG, "Failed to cache list: " + listKey, e);
+                    }
+                });
+    }
+
+    /** Remove all cached activities (used on logout so the next user starts clean) */
+    public void clear() {
+        diskExecutor.execute(
+                () -> {
+                    try {
+                        activityDao.clearAll();
+                    } catch (Exception e) {
+                        Log.e(TAG, "Failed to clear activity cache", e);
+                    }
+                });
+    }
+
+    private List<Activity> readList(String listKey) {
+        List<ActivityEntity> rows = activityDao.getActivities(listKey);
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<ActivityListEntryEntity> entries = activityDao.getListEntries(listKey);
+        Map<Long, Double> distances = new HashMap<>();
+        for (ActivityListEntryEntity entry : entries) {
+            distances.put(entry.activityId, entry.distance);
+        }
+
+        Map<Long, ActivityCreatorEntity> creators = new HashMap<>();
+        for (ActivityCreatorEntity creator : activityDao.getCreators(listKey)) {
+            creators.put(creator.id, creator);
+        }
+
+        Map<Long, List<String>> interests = new HashMap<>();
+        for (ActivityInterestEntity interest : activityDao.getInterests(listKey)) {
+            List<String> tags = interests.get(interest.activityId);
+            if (tags == null) {
+                tags = new ArrayList<>();
+                interests.put(interest.activityId, tags);
+            }
+            tags.add(interest.interest);
+        }
+
+        List<Activity> activities = new ArrayList<>(rows.size());
+        for (ActivityEntity row : rows) {
+            Activity activity = row.toActivity();
+            activity.setDistance(distances.get(row.id));
+            if (row.creatorId != null && creators.containsKey(row.creatorId)) {
+                activity.setCreator(creators.get(row.creatorId).toUser());
+            }
+            activity.setInterests(interests.get(row.id));
+            activities.add(activity);
+        }
+        return activities;
+    }
+
+    /** Cache key for a user-specific list */
+    public static String userListKey(String listKey, Long userId) {
+        return listKey + ":" + userId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.gege.activityfindermobile.data.local;
+
+import androidx.room.Database;
+import androidx.room.RoomDatabase;
+
+import com.gege.activityfindermobile.data.local.dao.ActivityDao;
+import com.gege.activityfindermobile.data.local.entity.ActivityCreatorEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityInterestEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityListEntryEntity;
+
+@Database(
+        entities = {
+            ActivityEntity.class,
+            ActivityCreatorEntity.class,
+            ActivityInterestEntity.class,
+            ActivityListEntryEntity.class
+        },
+        version = 4,
+        exportSchema = false)
+public abstract class AppDatabase extends RoomDatabase {
+    public static final String DATABASE_NAME = "activity_finder.db";
+
+    public abstract ActivityDao activityDao();
+}
@@ -0,0 +1,21 @@
+package com.gege.activityfindermobile.data.local;
+
+import androidx.room.Database;
+import androidx.room.RoomDatabase;
+
+import com.gege.activityfindermobile.data.local.dao.UploadDao;
+import com.gege.activityfindermobile.data.local.entity.PendingUploadEntity;
+
+/**
+ * Photos waiting in the upload queue. Kept apart from {@link AppDatabase}, which only caches server
+ * data and is rebuilt on every schema change; schema changes here need a migration.
+ */
+@Database(
+        entities = {PendingUploadEntity.class},
+        version = 1,
+        exportSchema = false)
+public abstract class UploadDatabase extends RoomDatabase {
+    public static final String DATABASE_NAME = "upload_queue.db";
+
+    public abstract UploadDao uploadDao();
+}
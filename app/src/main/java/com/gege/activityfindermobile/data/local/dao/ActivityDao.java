@@ -0,0 +1,135 @@
+package com.gege.activityfindermobile.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import com.gege.activityfindermobile.data.local.entity.ActivityCreatorEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityInterestEntity;
+import com.gege.activityfindermobile.data.local.entity.ActivityListEntryEntity;
+import com.gege.activityfindermobile.data.model.Activity;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Dao
+public abstract class ActivityDao {
+
+    // Upsert instead of REPLACE: a REPLACE deletes the old row first, which would cascade into
+    // the list entries and interests of every other list that references the same activity.
+    @Upsert
+    abstract void upsertActivities(List<ActivityEntity> activities);
+
+    @Upsert
+    abstract void upsertCreators(List<ActivityCreatorEntity> creators);
+
+    @Query("DELETE FROM activity_interests WHERE activityId = :activityId")
+    abstract void deleteInterests(Long activityId);
+
+    @Insert
+    abstract void insertInterests(List<ActivityInterestEntity> interests);
+
+    @Query("DELETE FROM activity_list_entries WHERE listKey = :listKey")
+    abstract void deleteListEntries(String listKey);
+
+    @Insert
+    abstract void insertListEntries(List<ActivityListEntryEntity> entries);
+
+    @Query(
+            "DELETE FROM activities WHERE id NOT IN (SELECT activityId FROM"
+                    + " activity_list_entries)")
+    abstract void deleteUnlistedActivities();
+
+    @Query(
+            "DELETE FROM activity_creators WHERE id NOT IN (SELECT creatorId FROM activities"
+                    + " WHERE creatorId IS NOT NULL)")
+    abstract void deleteUnusedCreators();
+
+    @Query(
+            "SELECT a.* FROM activities a INNER JOIN activity_list_entries e ON e.activityId ="
+                    + " a.id WHERE e.listKey = :listKey ORDER BY e.position")
+    public abstract List<ActivityEntity> getActivities(String listKey);
+
+    @Query("SELECT * FROM activity_list_entries WHERE listKey = :listKey ORDER BY position")
+    public abstract List<ActivityListEntryEntity> getListEntries(String listKey);
+
+    @Query(
+            "SELECT DISTINCT c.* FROM activity_creators c INNER JOIN activities a ON a.creatorId ="
+                    + " c.id INNER JOIN activity_list_entries e ON e.activityId = a.id WHERE"
+                    + " e.listKey = :listKey")
+    public abstract List<ActivityCreatorEntity> getCreators(String listKey);
+
+    @Query(
+            "SELECT DISTINCT i.* FROM activity_interests i INNER JOIN activity_list_entries e ON"
+                    + " e.activityId = i.activityId WHERE e.listKey = :listKey ORDER BY"
+                    + " i.activityId, i.position")
+    public abstract List<ActivityInterestEntity> getInterests(String listKey);
+
+    @Query("DELETE FROM activity_list_entries")
+    abstract void deleteAllListEntries();
+
+    @Query("DELETE FROM activity_interests")
+    abstract void deleteAllInterests();
+
+    @Query("DELETE FROM activities")
+    abstract void deleteAllActivities();
+
+    @Query("DELETE FROM activity_creators")
+    abstract void deleteAllCreators();
+
+    /** Replace the contents of a cached list with a fresh API response */
+    @Transaction
+    public void replaceList(String listKey, List<Activity> activities, long cachedAt) {
+        List<ActivityEntity> activityRows = new ArrayList<>();
+        List<ActivityCreatorEntity> creatorRows = new ArrayList<>();
+        List<ActivityInterestEntity> interestRows = new ArrayList<>();
+        List<ActivityListEntryEntity> entryRows = new ArrayList<>();
+
+        Set<Long> seenIds = new HashSet<>();
+        int position = 0;
+        for (Activity activity : activities) {
+            if (activity == null || activity.getId() == null || !seenIds.add(activity.getId())) {
+                continue;
+            }
+            activityRows.add(ActivityEntity.fromActivity(activity));
+            if (activity.getCreator() != null && activity.getCreator().getId() != null) {
+                creatorRows.add(ActivityCreatorEntity.fromUser(activity.getCreator()));
+            }
+            List<String> interests = activity.getInterests();
+            if (interests != null) {
+                for (int i = 0; i < interests.size(); i++) {
+                    interestRows.add(
+                            new ActivityInterestEntity(activity.getId(), i, interests.get(i)));
+                }
+            }
+            entryRows.add(
+                    new ActivityListEntryEntity(
+                            listKey, position++, activity.getId(), activity.getDistance(), cachedAt));
+        }
+
+        upsertCreators(creatorRows);
+        upsertActivities(activityRows);
+        for (ActivityEntity row : activityRows) {
+            deleteInterests(row.id);
+        }
+        insertInterests(interestRows);
+        deleteListEntries(listKey);
+        insertListEntries(entryRows);
+        deleteUnlistedActivities();
+        deleteUnusedCreators();
+    }
+
+    /** Drop every cached activity, e.g. on logout */
+    @Transaction
+    public void clearAll() {
+        deleteAllListEntries();
+        deleteAllInterests();
+        deleteAllActivities();
+        deleteAllCreators();
+    }
+}
@@ -0,0 +1,33 @@
+package com.gege.activityfindermobile.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Update;
+
+import com.gege.activityfindermobile.data.local.entity.PendingUploadEntity;
+
+import java.util.List;
+
+@Dao
+public abstract class UploadDao {
+
+    @Insert
+    public abstract long insert(PendingUploadEntity upload);
+
+    @Update
+    public abstract void update(PendingUploadEntity upload);
+
+    @Query("SELECT * FROM pending_uploads ORDER BY id")
+    public abstract List<PendingUploadEntity> getAll();
+
+    /** Uploads that were running when the process died start over */
+    @Query("UPDATE pending_uploads SET state = :queued WHERE state = :uploading")
+    public abstract void requeue(String uploading, String queued);
+
+    @Query("DELETE FROM pending_uploads WHERE id = :id")
+    public abstract void delete(long id);
+
+    @Query("DELETE FROM pending_uploads")
+    public abstract void deleteAll();
+}
@@ -0,0 +1,42 @@
+package com.gege.activityfindermobile.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.gege.activityfindermobile.data.model.User;
+
+/** Creator summary shown on activity cards (not the full user profile) */
+@Entity(tableName = "activity_creators")
+public class ActivityCreatorEntity {
+    @PrimaryKey @NonNull public Long id;
+
+    public String fullName;
+    public String profileImageUrl;
+    public Double rating;
+    public String badge;
+
+    public ActivityCreatorEntity() {
+        this.id = 0L;
+    }
+
+    public static ActivityCreatorEntity fromUser(User user) {
+        ActivityCreatorEntity entity = new ActivityCreatorEntity();
+        entity.id = user.getId();
+        entity.fullName = user.getFullName();
+        entity.profileImageUrl = user.getProfileImageUrl();
+        entity.rating = user.getRating();
+        entity.badge = user.getBadge();
+        return entity;
+    }
+
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setFullName(fullName);
+        user.setProfileImageUrl(profileImageUrl);
+        user.setRating(rating);
+        user.setBadge(badge);
+        return user;
+    }
+}
@@ -0,0 +1,101 @@
+package com.gege.activityfindermobile.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import com.gege.activityfindermobile.data.model.Activity;
+
+/** Cached copy of an {@link Activity}. Creator and interests live in their own tables. */
+@Entity(tableName = "activities")
+public class ActivityEntity {
+    @PrimaryKey @NonNull public Long id;
+
+    public String title;
+    public String description;
+    public String activityDate;
+    public String location;
+    public String placeId;
+    public Double latitude;
+    public Double longitude;
+    public Integer totalSpots;
+    public Integer availableSpots;
+    public Integer reservedForFriendsSpots;
+    public String category;
+    public String status;
+    public Boolean trending;
+    public Long creatorId;
+    public String creatorName;
+    public String creatorAvatar;
+    public String creatorBadge;
+    public Integer participantsCount;
+    public String createdAt;
+    public String coverImageUrl;
+    public String coverThumbnailUrl;
+    public String coverMediumUrl;
+    public String currentUserStatus;
+
+    public ActivityEntity() {
+        this.id = 0L;
+    }
+
+    /** Copy the flat fields of an API activity into a cache row */
+    public static ActivityEntity fromActivity(Activity activity) {
+        ActivityEntity entity = new ActivityEntity();
+        entity.id = activity.getId();
+        entity.title = activity.getTitle();
+        entity.description = activity.getDescription();
+        entity.activityDate = activity.getActivityDate();
+        entity.location = activity.getLocation();
+        entity.placeId = activity.getPlaceId();
+        entity.latitude = activity.getLatitude();
+        entity.longitude = activity.getLongitude();
+        entity.totalSpots = activity.getTotalSpots();
+        entity.availableSpots = activity.getAvailableSpots();
+        entity.reservedForFriendsSpots = activity.getReservedForFriendsSpots();
+        entity.category = activity.getCategory();
+        entity.status = activity.getStatus();
+        entity.trending = activity.getTrending();
+        entity.creatorId = activity.getCreatorId();
+        entity.creatorName = activity.getCreatorName();
+        entity.creatorAvatar = activity.getCreatorAvatar();
+        entity.creatorBadge = activity.getCreatorBadge();
+        entity.participantsCount = activity.getInterestedUsersCount();
+        entity.createdAt = activity.getCreatedAt();
+        entity.coverImageUrl = activity.getCoverImageUrl();
+        entity.coverThumbnailUrl = activity.getCoverThumbnailUrl();
+        entity.coverMediumUrl = activity.getCoverMediumUrl();
+        entity.currentUserStatus = activity.getCurrentUserStatus();
+        return entity;
+    }
+
+    /** Rebuild an API activity from the cache row (creator and interests are attached later) */
+    public Activity toActivity() {
+        Activity activity = new Activity();
+        activity.setId(id);
+        activity.setTitle(title);
+        activity.setDescription(description);
+        activity.setActivityDate(activityDate);
+        activity.setLocation(location);
+        activity.setPlaceId(placeId);
+        activity.setLatitude(latitude);
+        activity.setLongitude(longitude);
+        activity.setTotalSpots(totalSpots);
+        activity.setAvailableSpots(availableSpots);
+        activity.setReservedForFriendsSpots(reservedForFriendsSpots);
+        activity.setCategory(category);
+        activity.setStatus(status);
+        activity.setTrending(trending);
+        activity.setCreatorId(creatorId);
+        activity.setCreatorName(creatorName);
+        activity.setCreatorAvatar(creatorAvatar);
+        activity.setCreatorBadge(creatorBadge);
+        activity.setInterestedUsersCount(participantsCount);
+        activity.setCreatedAt(createdAt);
+        activity.setCoverImageUrl(coverImageUrl);
+        activity.setCoverThumbnailUrl(coverThumbnailUrl);
+        activity.setCoverMediumUrl(coverMediumUrl);
+        activity.setCurrentUserStatus(currentUserStatus);
+        return activity;
+    }
+}
@@ -0,0 +1,33 @@
+package com.gege.activityfindermobile.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/** One interest tag of a cached activity, kept in the order the API returned them */
+@Entity(
+        tableName = "activity_interests",
+        primaryKeys = {"activityId", "position"},
+        foreignKeys =
+                @ForeignKey(
+                        entity = ActivityEntity.class,
+                        parentColumns = "id",
+                        childColumns = "activityId",
+                        onDelete = ForeignKey.CASCADE),
+        indices = @Index("activityId"))
+public class ActivityInterestEntity {
+    @NonNull public Long activityId;
+    public int position;
+    public String interest;
+
+    public ActivityInterestEntity() {
+        this.activityId = 0L;
+    }
+
+    public ActivityInterestEntity(@NonNull Long activityId, int position, String interest) {
+        this.activityId = activityId;
+        this.position = position;
+        this.interest = interest;
+    }
+}
@@ -0,0 +1,46 @@
+package com.gege.activityfindermobile.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * Membership of a cached activity in a list (nearby feed, my activities, recommended). Distance
+ * is stored here because it depends on where the list was requested from.
+ */
+@Entity(
+        tableName = "activity_list_entries",
+        primaryKeys = {"listKey", "position"},
+        foreignKeys =
+                @ForeignKey(
+                        entity = ActivityEntity.class,
+                        parentColumns = "id",
+                        childColumns = "activityId",
+                        onDelete = ForeignKey.CASCADE),
+        indices = @Index("activityId"))
+public class ActivityListEntryEntity {
+    @NonNull public String listKey;
+    public int position;
+    @NonNull public Long activityId;
+    public Double distance;
+    public long cachedAt;
+
+    public ActivityListEntryEntity() {
+        this.listKey = "";
+        this.activityId = 0L;
+    }
+
+    public ActivityListEntryEntity(
+            @NonNull String listKey,
+            int position,
+            @NonNull Long activityId,
+            Double distance,
+            long cachedAt) {
+        this.listKey = listKey;
+        this.position = position;
+        this.activityId = activityId;
+        this.distance = distance;
+        this.cachedAt = cachedAt;
+    }
+}
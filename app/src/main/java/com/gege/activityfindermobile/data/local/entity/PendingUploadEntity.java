@@ -0,0 +1,45 @@
+package com.gege.activityfindermobile.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * A photo waiting in the upload queue. The file lives in app storage until the upload succeeds
+ * or fails for good, so the queue survives the process being killed.
+ */
+@Entity(tableName = "pending_uploads")
+public class PendingUploadEntity {
+    @PrimaryKey(autoGenerate = true)
+    public long id;
+
+    /** Name of an {@code UploadStatus.Kind} */
+    @NonNull public String kind;
+
+    /** Activity id for gallery photos, null for the user's own photos */
+    public Long targetId;
+
+    @NonNull public String filePath;
+
+    /** Name of an {@code UploadStatus.State}; only QUEUED and UPLOADING are stored */
+    @NonNull public String state;
+
+    public int attempts;
+    public long nextAttemptAt;
+    public long createdAt;
+
+    public PendingUploadEntity() {
+        this.kind = "";
+        this.filePath = "";
+        this.state = "";
+    }
+
+    public PendingUploadEntity(
+            @NonNull String kind, Long targetId, @NonNull String filePath, @NonNull String state) {
+        this.kind = kind;
+        this.targetId = targetId;
+        this.filePath = filePath;
+        this.state = state;
+        this.createdAt = System.currentTimeMillis();
+    }
+}
@@ -1,10 +1,24 @@
 package com.gege.activityfindermobile.data.model;
 
+import com.gege.activityfindermobile.utils.DateUtil;
 import com.google.gson.annotations.SerializedName;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
 
 public class Activity {
+    // Immutable and thread-safe, shared by every instance
+    private static final DateTimeFormatter DISPLAY_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.US);
+    private static final DateTimeFormatter DISPLAY_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("hh:mm a", Locale.US);
+
     @SerializedName("id")
     private Long id;
 
@@ -88,9 +102,23 @@ public class Activity {
     @SerializedName("coverImageUrl")
     private String coverImageUrl; // User-selected cover image URL
 
+    // Smaller variants of the cover, sent by servers that generate them
+    @SerializedName("coverThumbnailUrl")
+    private String coverThumbnailUrl;
+
+    @SerializedName("coverMediumUrl")
+    private String coverMediumUrl;
+
     @SerializedName("currentUserStatus")
     private String currentUserStatus; // Current user's participation status (null if not participating)
 
+    // Parsed once from activityDate; display strings, expiry and sorting derive from these.
+    // The filter engine reads them off the main thread, so the volatile flag is written last and
+    // publishes both fields.
+    private transient LocalDate startDate;
+    private transient LocalTime startTime;
+    private transient volatile boolean activityDateParsed;
+
     // Constructor
     public Activity() {}
 
@@ -126,11 +154,16 @@ public class Activity {
     public void setActivityDate(String activityDate) {
         this.activityDate = activityDate;
         parseActivityDate();
+        date = startDate != null ? DISPLAY_DATE_FORMAT.format(startDate) : null;
+        time = startTime != null ? DISPLAY_TIME_FORMAT.format(startTime) : null;
     }
 
     public String getDate() {
         if (date == null && activityDate != null) {
-            parseActivityDate();
+            ensureActivityDateParsed();
+            if (startDate != null) {
+                date = DISPLAY_DATE_FORMAT.format(startDate);
+            }
         }
         return date;
     }
@@ -141,7 +174,10 @@ public class Activity {
 
     public String getTime() {
         if (time == null && activityDate != null) {
-            parseActivityDate();
+            ensureActivityDateParsed();
+            if (startTime != null) {
+                time = DISPLAY_TIME_FORMAT.format(startTime);
+            }
         }
         return time;
     }
@@ -150,51 +186,64 @@ public class Activity {
         this.time = time;
     }
 
-    /** Parse activityDate (ISO 8601 format: "2024-10-25T08:00:00") into separate date and time */
-    private void parseActivityDate() {
-        if (activityDate == null || activityDate.isEmpty()) {
-            return;
+    /**
+     * Start of the activity in local time, parsed once from activityDate
+     *
+     * @return Start date and time, midnight when activityDate has no time, or null if unknown
+     */
+    public LocalDateTime getStartDateTime() {
+        ensureActivityDateParsed();
+        if (startDate == null) {
+            return null;
         }
+        return startDate.atTime(startTime != null ? startTime : LocalTime.MIDNIGHT);
+    }
 
-        try {
-            // Expected format: "2024-10-25T08:00:00"
-            String[] parts = activityDate.split("T");
-            if (parts.length >= 1) {
-                // Parse date: "2024-10-25" -> "Oct 25, 2024"
-                String[] dateParts = parts[0].split("-");
-                if (dateParts.length == 3) {
-                    int year = Integer.parseInt(dateParts[0]);
-                    int month = Integer.parseInt(dateParts[1]);
-                    int day = Integer.parseInt(dateParts[2]);
-
-                    String[] monthNames = {
-                        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov",
-                        "Dec"
-                    };
-                    this.date = monthNames[month - 1] + " " + day + ", " + year;
-                }
+    /** Start of the activity as epoch millis in the device time zone, or null if unknown */
+    public Long getStartEpochMillis() {
+        LocalDateTime start = getStartDateTime();
+        if (start == null) {
+            return null;
+        }
+        return start.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 
-                if (parts.length >= 2) {
-                    // Parse time: "08:00:00" -> "08:00 AM"
-                    String timePart = parts[1];
-                    String[] timeParts = timePart.split(":");
-                    if (timeParts.length >= 2) {
-                        int hour = Integer.parseInt(timeParts[0]);
-                        int minute = Integer.parseInt(timeParts[1]);
+    /** True if the activity's date is before today; the time of day is ignored */
+    public boolean isExpired() {
+        ensureActivityDateParsed();
+        if (startDate != null) {
+            return startDate.isBefore(LocalDate.now());
+        }
+        // Only a server-provided display date is known
+        return DateUtil.isDisplayDateExpired(date);
+    }
 
-                        String amPm = hour >= 12 ? "PM" : "AM";
-                        int displayHour = hour % 12;
-                        if (displayHour == 0) displayHour = 12;
+    private void ensureActivityDateParsed() {
+        if (!activityDateParsed) {
+            parseActivityDate();
+        }
+    }
 
-                        this.time = String.format("%02d:%02d %s", displayHour, minute, amPm);
-                    }
+    /** Parse activityDate (ISO 8601 format: "2024-10-25T08:00:00") into start date and time */
+    private void parseActivityDate() {
+        String source = activityDate;
+        LocalDate parsedDate = null;
+        LocalTime parsedTime = null;
+        if (source != null && source.length() >= 10) {
+            try {
+                parsedDate = LocalDate.parse(source.substring(0, 10));
+                // Only hours and minutes are shown, seconds and offsets are ignored
+                int timeStart = source.indexOf('T');
+                if (timeStart >= 0 && source.length() >= timeStart + 6) {
+                    parsedTime = LocalTime.parse(source.substring(timeStart + 1, timeStart + 6));
                 }
+            } catch (DateTimeParseException e) {
+                // Keep whatever parsed; an unreadable time still leaves the date usable
             }
-        } catch (Exception e) {
-            // If parsing fails, leave date and time as null
-            this.date = null;
-            this.time = null;
         }
+        startDate = parsedDate;
+        startTime = parsedTime;
+        activityDateParsed = true;
     }
 
     public String getLocation() {
@@ -392,6 +441,33 @@ public class Activity {
         this.coverImageUrl = coverImageUrl;
     }
 
+    public String getCoverThumbnailUrl() {
+        return coverThumbnailUrl;
+    }
+
+    public void setCoverThumbnailUrl(String coverThumbnailUrl) {
+        this.coverThumbnailUrl = coverThumbnailUrl;
+    }
+
+    public String getCoverMediumUrl() {
+        return coverMediumUrl;
+    }
+
+    public void setCoverMediumUrl(String coverMediumUrl) {
+        this.coverMediumUrl = coverMediumUrl;
+    }
+
+    /** The custom cover with its size variants, or null if the activity uses its category image */
+    public CoverImage getCoverImage() {
+        if (coverImageUrl == null || coverImageUrl.isEmpty()) {
+            return null;
+        }
+        CoverImage cover = new CoverImage(null, coverImageUrl, null);
+        cover.setThumbnailUrl(coverThumbnailUrl);
+        cover.setMediumUrl(coverMediumUrl);
+        return cover;
+    }
+
     public String getCurrentUserStatus() {
         return currentUserStatus;
     }
@@ -399,4 +475,58 @@ public class Activity {
     public void setCurrentUserStatus(String currentUserStatus) {
         this.currentUserStatus = currentUserStatus;
     }
+
+    /**
+     * Copy the state of another instance of the same activity into this one, so every screen
+     * holding this object sees the update.
+     *
+     * @param other Newer copy of this activity
+     * @param partial True when other comes from a nested, trimmed representation; its null fields
+     *     then keep the current values instead of clearing them
+     */
+    public void mergeFrom(Activity other, boolean partial) {
+        if (other == null || other == this) {
+            return;
+        }
+        String previousActivityDate = activityDate;
+        title = pick(other.title, title, partial);
+        description = pick(other.description, description, partial);
+        activityDate = pick(other.activityDate, activityDate, partial);
+        location = pick(other.location, location, partial);
+        placeId = pick(other.placeId, placeId, partial);
+        latitude = pick(other.latitude, latitude, partial);
+        longitude = pick(other.longitude, longitude, partial);
+        totalSpots = pick(other.totalSpots, totalSpots, partial);
+        availableSpots = pick(other.availableSpots, availableSpots, partial);
+        reservedForFriendsSpots =
+                pick(other.reservedForFriendsSpots, reservedForFriendsSpots, partial);
+        category = pick(other.category, category, partial);
+        status = pick(other.status, status, partial);
+        trending = pick(other.trending, trending, partial);
+        creator = pick(other.creator, creator, partial);
+        creatorId = pick(other.creatorId, creatorId, partial);
+        creatorName = pick(other.creatorName, creatorName, partial);
+        creatorAvatar = pick(other.creatorAvatar, creatorAvatar, partial);
+        creatorBadge = pick(other.creatorBadge, creatorBadge, partial);
+        interestedUsersCount = pick(other.interestedUsersCount, interestedUsersCount, partial);
+        createdAt = pick(other.createdAt, createdAt, partial);
+        interests = pick(other.interests, interests, partial);
+        coverImageUrl = pick(other.coverImageUrl, coverImageUrl, partial);
+        coverThumbnailUrl = pick(other.coverThumbnailUrl, coverThumbnailUrl, partial);
+        coverMediumUrl = pick(other.coverMediumUrl, coverMediumUrl, partial);
+        currentUserStatus = pick(other.currentUserStatus, currentUserStatus, partial);
+        // Distance depends on where the list was requested from, only nearby results carry it
+        distance = pick(other.distance, distance, true);
+
+        if (activityDate == null || !activityDate.equals(previousActivityDate)) {
+            // Re-derive display date and time lazily from the new activityDate
+            date = other.date;
+            time = other.time;
+            activityDateParsed = false;
+        }
+    }
+
+    private static <T> T pick(T incoming, T current, boolean keepCurrentWhenNull) {
+        return incoming == null && keepCurrentWhenNull ? current : incoming;
+    }
 }
@@ -2,13 +2,22 @@ package com.gege.activityfindermobile.data.model;
 
 import com.google.gson.annotations.SerializedName;
 
-public class CoverImage {
+import java.util.Objects;
+
+public class CoverImage implements ImageVariants {
     @SerializedName("id")
     private Long id;
 
     @SerializedName("imageUrl")
     private String imageUrl;
 
+    // Smaller variants, sent by servers that generate them
+    @SerializedName("thumbnailUrl")
+    private String thumbnailUrl;
+
+    @SerializedName("mediumUrl")
+    private String mediumUrl;
+
     @SerializedName("displayName")
     private String displayName;
 
@@ -43,4 +52,51 @@ public class CoverImage {
     public void setDisplayName(String displayName) {
         this.displayName = displayName;
     }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getMediumUrl() {
+        return mediumUrl;
+    }
+
+    public void setMediumUrl(String mediumUrl) {
+        this.mediumUrl = mediumUrl;
+    }
+
+    @Override
+    public String getImageUrl(Size size) {
+        if (size == Size.THUMB && thumbnailUrl != null && !thumbnailUrl.isEmpty()) {
+            return thumbnailUrl;
+        }
+        if (size != Size.FULL && mediumUrl != null && !mediumUrl.isEmpty()) {
+            return mediumUrl;
+        }
+        return imageUrl;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CoverImage other = (CoverImage) o;
+        return Objects.equals(id, other.id)
+                && Objects.equals(imageUrl, other.imageUrl)
+                && Objects.equals(thumbnailUrl, other.thumbnailUrl)
+                && Objects.equals(mediumUrl, other.mediumUrl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, imageUrl, thumbnailUrl, mediumUrl);
+    }
 }
@@ -0,0 +1,45 @@
+package com.gege.activityfindermobile.data.model;
+
+/**
+ * Image the server can send in several sizes. The server may add "thumbnailUrl" and "mediumUrl"
+ * next to the full image URL; a variant it does not send falls back to the next larger one, so
+ * responses with only the full image keep working.
+ *
+ * <p>Implementations are equal when they carry the same URLs. Glide compares models to decide
+ * whether a view already shows the requested image, so a rebound list item with a fresh copy of the
+ * same photo keeps its bitmap instead of reloading it.
+ */
+public interface ImageVariants {
+
+    /** Server-side variants, by the longest edge in pixels */
+    enum Size {
+        THUMB(480),
+        MEDIUM(1280),
+        FULL(Integer.MAX_VALUE);
+
+        private final int maxPixels;
+
+        Size(int maxPixels) {
+            this.maxPixels = maxPixels;
+        }
+
+        /**
+         * Smallest variant whose longest edge covers the given number of pixels, or the full image
+         * if the size is unknown (zero or negative)
+         */
+        public static Size fitting(int pixels) {
+            if (pixels <= 0) {
+                return FULL;
+            }
+            for (Size size : values()) {
+                if (pixels <= size.maxPixels) {
+                    return size;
+                }
+            }
+            return FULL;
+        }
+    }
+
+    /** URL of the requested variant, or of a larger one when the server did not send it */
+    String getImageUrl(Size size);
+}
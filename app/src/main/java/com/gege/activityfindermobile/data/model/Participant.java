@@ -185,4 +185,24 @@ public class Participant {
     public void setApplicationAttempts(Integer applicationAttempts) {
         this.applicationAttempts = applicationAttempts;
     }
+
+    /** Copy the state of a newer instance of the same participation into this one */
+    public void mergeFrom(Participant other) {
+        if (other == null || other == this) {
+            return;
+        }
+        activity = other.activity;
+        activityId = other.activityId;
+        activityTitle = other.activityTitle;
+        user = other.user;
+        userId = other.userId;
+        userName = other.userName;
+        userAvatar = other.userAvatar;
+        userRating = other.userRating;
+        userBadge = other.userBadge;
+        status = other.status;
+        isFriend = other.isFriend;
+        joinedAt = other.joinedAt;
+        applicationAttempts = other.applicationAttempts;
+    }
 }
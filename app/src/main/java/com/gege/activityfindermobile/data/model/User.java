@@ -175,4 +175,35 @@ public class User {
     public void setLongitude(Double longitude) {
         this.longitude = longitude;
     }
+
+    /**
+     * Copy the state of another instance of the same user into this one
+     *
+     * @param other Newer copy of this user
+     * @param partial True when other is a trimmed representation (e.g. an activity creator); its
+     *     null fields then keep the current values
+     */
+    public void mergeFrom(User other, boolean partial) {
+        if (other == null || other == this) {
+            return;
+        }
+        fullName = pick(other.fullName, fullName, partial);
+        email = pick(other.email, email, partial);
+        bio = pick(other.bio, bio, partial);
+        profileImageUrl = pick(other.profileImageUrl, profileImageUrl, partial);
+        rating = pick(other.rating, rating, partial);
+        completedActivities = pick(other.completedActivities, completedActivities, partial);
+        interests = pick(other.interests, interests, partial);
+        badge = pick(other.badge, badge, partial);
+        createdAt = pick(other.createdAt, createdAt, partial);
+        photos = pick(other.photos, photos, partial);
+        city = pick(other.city, city, partial);
+        placeId = pick(other.placeId, placeId, partial);
+        latitude = pick(other.latitude, latitude, partial);
+        longitude = pick(other.longitude, longitude, partial);
+    }
+
+    private static <T> T pick(T incoming, T current, boolean keepCurrentWhenNull) {
+        return incoming == null && keepCurrentWhenNull ? current : incoming;
+    }
 }
@@ -2,13 +2,22 @@ package com.gege.activityfindermobile.data.model;
 
 import com.google.gson.annotations.SerializedName;
 
-public class UserPhoto {
+import java.util.Objects;
+
+public class UserPhoto implements ImageVariants {
     @SerializedName("id")
     private Long id;
 
     @SerializedName("photoUrl")
     private String photoUrl;
 
+    // Smaller variants, sent by servers that generate them
+    @SerializedName("thumbnailUrl")
+    private String thumbnailUrl;
+
+    @SerializedName("mediumUrl")
+    private String mediumUrl;
+
     @SerializedName("isProfilePicture")
     private Boolean isProfilePicture;
 
@@ -67,4 +76,51 @@ public class UserPhoto {
     public void setUploadedAt(String uploadedAt) {
         this.uploadedAt = uploadedAt;
     }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getMediumUrl() {
+        return mediumUrl;
+    }
+
+    public void setMediumUrl(String mediumUrl) {
+        this.mediumUrl = mediumUrl;
+    }
+
+    @Override
+    public String getImageUrl(Size size) {
+        if (size == Size.THUMB && thumbnailUrl != null && !thumbnailUrl.isEmpty()) {
+            return thumbnailUrl;
+        }
+        if (size != Size.FULL && mediumUrl != null && !mediumUrl.isEmpty()) {
+            return mediumUrl;
+        }
+        return photoUrl;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        UserPhoto other = (UserPhoto) o;
+        return Objects.equals(id, other.id)
+                && Objects.equals(photoUrl, other.photoUrl)
+                && Objects.equals(thumbnailUrl, other.thumbnailUrl)
+                && Objects.equals(mediumUrl, other.mediumUrl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, photoUrl, thumbnailUrl, mediumUrl);
+    }
 }
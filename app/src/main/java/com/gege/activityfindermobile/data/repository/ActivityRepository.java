@@ -1,516 +1,393 @@
 package com.gege.activityfindermobile.data.repository;
 
-import android.util.Log;
-
 import com.gege.activityfindermobile.data.api.ActivityApiService;
+import com.gege.activityfindermobile.data.cache.EntityCache;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
 import com.gege.activityfindermobile.data.dto.ActivityCreateRequest;
+import com.gege.activityfindermobile.data.dto.PageResponse;
+import com.gege.activityfindermobile.data.local.ActivityLocalDataSource;
 import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.di.HttpCachePolicy;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 @Singleton
 public class ActivityRepository {
     private static final String TAG = "ActivityRepository";
     private final ActivityApiService activityApiService;
+    private final ActivityLocalDataSource localDataSource;
+    private final RequestCoalescer requestCoalescer;
+    private final EntityCache entityCache;
+
+    // Set once the server answers 404 for the paged nearby feed; holds for the whole process
+    private volatile boolean pagedNearbyUnsupported;
 
     @Inject
-    public ActivityRepository(ActivityApiService activityApiService) {
+    public ActivityRepository(
+            ActivityApiService activityApiService,
+            ActivityLocalDataSource localDataSource,
+            RequestCoalescer requestCoalescer,
+            EntityCache entityCache) {
         this.activityApiService = activityApiService;
+        this.localDataSource = localDataSource;
+        this.requestCoalescer = requestCoalescer;
+        this.entityCache = entityCache;
     }
 
-    /** Create a new activity */
-    public void createActivity(
-            Long userId, ActivityCreateRequest request, ApiCallback<Activity> callback) {
-        activityApiService
-                .createActivity(userId, request)
-                .enqueue(
-                        new Callback<Activity>() {
-                            @Override
-                            public void onResponse(
-                                    Call<Activity> call, Response<Activity> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Activity created successfully: "
-                                                    + response.body().getTitle());
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to create activity: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
+    /**
+     * Serve the cached copy of a list through {@link ApiCallback#onCached} unless the network
+     * answer has already been delivered.
+     */
+    private void serveCachedList(
+            String listKey, AtomicBoolean networkDelivered, ApiCallback<List<Activity>> callback) {
+        localDataSource.loadList(
+                listKey,
+                cached -> {
+                    if (!networkDelivered.get()) {
+                        callback.onCached(cached);
+                    }
+                });
+    }
 
-                            @Override
-                            public void onFailure(Call<Activity> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    /**
+     * Run a list request backed by the offline cache. The cached copy is served through onCached
+     * until the network answers, and a successful answer replaces it.
+     */
+    private RequestHandle enqueueCachedList(
+            String listKey,
+            ApiRequest<List<Activity>, List<Activity>> request,
+            ApiCallback<List<Activity>> callback) {
+        AtomicBoolean networkDelivered = new AtomicBoolean(false);
+        serveCachedList(listKey, networkDelivered, callback);
+        return request.map(
+                        activities -> {
+                            localDataSource.saveList(listKey, activities);
+                            return entityCache.putActivities(activities);
+                        })
+                .enqueue(afterNetwork(networkDelivered, callback));
     }
 
-    /** Get activity by ID */
-    public void getActivityById(Long activityId, ApiCallback<Activity> callback) {
-        activityApiService
-                .getActivityById(activityId)
-                .enqueue(
-                        new Callback<Activity>() {
-                            @Override
-                            public void onResponse(
-                                    Call<Activity> call, Response<Activity> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Activity fetched successfully: "
-                                                    + response.body().getId());
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch activity: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
+    /** Callback that marks the network answer as delivered before passing it on */
+    private static <T> ApiCallback<T> afterNetwork(
+            AtomicBoolean networkDelivered, ApiCallback<T> callback) {
+        return new ApiCallback<T>() {
+            @Override
+            public void onSuccess(T data) {
+                networkDelivered.set(true);
+                callback.onSuccess(data);
+            }
+
+            @Override
+            public void onError(String errorMessage) {
+                networkDelivered.set(true);
+                callback.onError(errorMessage);
+            }
+        };
+    }
 
-                            @Override
-                            public void onFailure(Call<Activity> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    /** Show the last cached nearby feed, e.g. while the device location is still being resolved */
+    public void getCachedNearbyActivities(ApiCallback<List<Activity>> callback) {
+        localDataSource.loadList(ActivityLocalDataSource.LIST_NEARBY, callback::onCached);
     }
 
-    /** Get all open activities */
-    public void getAllOpenActivities(ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getAllOpenActivities()
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched "
-                                                    + response.body().size()
-                                                    + " open activities");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch open activities: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
+    /** Create a new activity */
+    public RequestHandle createActivity(
+            Long userId, ActivityCreateRequest request, ApiCallback<Activity> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "create activity",
+                        () -> activityApiService.createActivity(userId, request))
+                .map(entityCache::putActivity)
+                .enqueue(callback);
+    }
 
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    /** Get activity by ID. An activity already seen in another list is served first via onCached */
+    public RequestHandle getActivityById(Long activityId, ApiCallback<Activity> callback) {
+        Activity cached = entityCache.getActivity(activityId);
+        if (cached != null) {
+            callback.onCached(cached);
+        }
+
+        return ApiRequest.of(
+                        TAG, "fetch activity", () -> activityApiService.getActivityById(activityId))
+                .shared(requestCoalescer, RequestCoalescer.key("getActivityById", activityId))
+                .map(entityCache::putActivity)
+                .enqueue(callback);
     }
 
-    /** Get upcoming activities */
-    public void getUpcomingActivities(ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getUpcomingActivities()
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched "
-                                                    + response.body().size()
-                                                    + " upcoming activities");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch upcoming activities: "
-                                                    + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
+    /** Get all open activities */
+    public RequestHandle getAllOpenActivities(ApiCallback<List<Activity>> callback) {
+        return ApiRequest.of(TAG, "fetch open activities", activityApiService::getAllOpenActivities)
+                .map(entityCache::putActivities)
+                .enqueue(callback);
+    }
 
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    /** Get upcoming activities */
+    public RequestHandle getUpcomingActivities(ApiCallback<List<Activity>> callback) {
+        return ApiRequest.of(
+                        TAG, "fetch upcoming activities", activityApiService::getUpcomingActivities)
+                .map(entityCache::putActivities)
+                .enqueue(callback);
     }
 
     /** Get trending activities */
-    public void getTrendingActivities(ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getTrendingActivities()
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched "
-                                                    + response.body().size()
-                                                    + " trending activities");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch trending activities: "
-                                                    + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getTrendingActivities(ApiCallback<List<Activity>> callback) {
+        return ApiRequest.of(
+                        TAG, "fetch trending activities", activityApiService::getTrendingActivities)
+                .map(entityCache::putActivities)
+                .enqueue(callback);
     }
 
     /** Get activities by category */
-    public void getActivitiesByCategory(String category, ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getActivitiesByCategory(category)
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Fetched activities for category: " + category);
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch activities by category: "
-                                                    + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getActivitiesByCategory(
+            String category, ApiCallback<List<Activity>> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "fetch activities by category",
+                        () -> activityApiService.getActivitiesByCategory(category))
+                .map(entityCache::putActivities)
+                .enqueue(callback);
     }
 
     /** Get recommended activities based on user interests */
-    public void getRecommendedActivities(ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getRecommendedActivities()
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched "
-                                                    + response.body().size()
-                                                    + " recommended activities");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch recommended activities: "
-                                                    + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getRecommendedActivities(ApiCallback<List<Activity>> callback) {
+        return enqueueCachedList(
+                ActivityLocalDataSource.LIST_RECOMMENDED,
+                ApiRequest.of(
+                        TAG,
+                        "fetch recommended activities",
+                        activityApiService::getRecommendedActivities),
+                callback);
     }
 
     /** Get activities by location */
-    public void getActivitiesByLocation(String location, ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getActivitiesByLocation(location)
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Fetched activities for location: " + location);
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch activities by location: "
-                                                    + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getActivitiesByLocation(
+            String location, ApiCallback<List<Activity>> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "fetch activities by location",
+                        () -> activityApiService.getActivitiesByLocation(location))
+                .map(entityCache::putActivities)
+                .enqueue(callback);
     }
 
     /** Search activities by keyword */
-    public void searchActivities(String keyword, ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .searchActivities(keyword)
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Search returned "
-                                                    + response.body().size()
-                                                    + " activities");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to search activities: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle searchActivities(String keyword, ApiCallback<List<Activity>> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "search activities",
+                        () -> activityApiService.searchActivities(keyword))
+                .map(entityCache::putActivities)
+                .enqueue(callback);
     }
 
     /** Get user's own activities (all statuses including expired) */
-    public void getMyActivities(Long userId, ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getMyActivitiesAll()
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Fetched user's activities");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch user activities: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getMyActivities(Long userId, ApiCallback<List<Activity>> callback) {
+        return enqueueCachedList(
+                ActivityLocalDataSource.userListKey(
+                        ActivityLocalDataSource.LIST_MY_ACTIVITIES, userId),
+                ApiRequest.of(TAG, "fetch user activities", activityApiService::getMyActivitiesAll),
+                callback);
     }
 
     /** Get activities with available spots */
-    public void getActivitiesWithSpots(ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getActivitiesWithSpots()
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Fetched activities with available spots");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch activities with spots: "
-                                                    + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getActivitiesWithSpots(ApiCallback<List<Activity>> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "fetch activities with spots",
+                        activityApiService::getActivitiesWithSpots)
+                .map(entityCache::putActivities)
+                .enqueue(callback);
     }
 
     /** Update activity */
-    public void updateActivity(
+    public RequestHandle updateActivity(
             Long activityId,
             Long userId,
             ActivityCreateRequest request,
             ApiCallback<Activity> callback) {
-        activityApiService
-                .updateActivity(activityId, userId, request)
-                .enqueue(
-                        new Callback<Activity>() {
-                            @Override
-                            public void onResponse(
-                                    Call<Activity> call, Response<Activity> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Activity updated successfully");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to update activity: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<Activity> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+        return ApiRequest.of(
+                        TAG,
+                        "update activity",
+                        () -> activityApiService.updateActivity(activityId, userId, request))
+                .map(entityCache::putActivity)
+                .enqueue(callback);
     }
 
     /** Cancel activity */
-    public void cancelActivity(Long activityId, Long userId, ApiCallbackVoid callback) {
-        activityApiService
-                .cancelActivity(activityId, userId)
+    public RequestHandle cancelActivity(Long activityId, Long userId, ApiCallbackVoid callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "cancel activity",
+                        () -> activityApiService.cancelActivity(activityId, userId))
                 .enqueue(
-                        new Callback<Void>() {
+                        new ApiCallbackVoid() {
                             @Override
-                            public void onResponse(Call<Void> call, Response<Void> response) {
-                                if (response.isSuccessful()) {
-                                    Log.d(TAG, "Activity cancelled successfully");
-                                    callback.onSuccess();
-                                } else {
-                                    String errorMsg =
-                                            "Failed to cancel activity: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
+                            public void onSuccess() {
+                                entityCache.removeActivity(activityId);
+                                callback.onSuccess();
                             }
 
                             @Override
-                            public void onFailure(Call<Void> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
+                            public void onError(String errorMessage) {
+                                callback.onError(errorMessage);
                             }
                         });
     }
 
     /** Get nearby activities with custom radius */
-    public void getNearbyActivities(
+    public RequestHandle getNearbyActivities(
             double latitude,
             double longitude,
             float radiusKm,
             Long userId,
             ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getNearbyActivities(latitude, longitude, radiusKm, userId)
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched "
-                                                    + response.body().size()
-                                                    + " nearby activities within "
-                                                    + radiusKm
-                                                    + "km");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch nearby activities: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
+        return getNearbyActivities(latitude, longitude, radiusKm, userId, null, callback);
+    }
 
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    /**
+     * @param cacheControl Request Cache-Control, e.g. {@link HttpCachePolicy#FORCE_NETWORK}, or
+     *     null to let the HTTP cache answer
+     */
+    private RequestHandle getNearbyActivities(
+            double latitude,
+            double longitude,
+            float radiusKm,
+            Long userId,
+            String cacheControl,
+            ApiCallback<List<Activity>> callback) {
+        return enqueueCachedList(
+                ActivityLocalDataSource.LIST_NEARBY,
+                ApiRequest.of(
+                        TAG,
+                        "fetch nearby activities",
+                        () ->
+                                activityApiService.getNearbyActivities(
+                                        latitude, longitude, radiusKm, userId, cacheControl)),
+                callback);
+    }
+
+    /**
+     * Get one page of the nearby feed. The first page is served from the offline cache while the
+     * request is in flight and replaces it once it arrives. Falls back to the unpaged endpoint as a
+     * single last page when the server does not support paging, and goes straight to it on later
+     * loads.
+     *
+     * @param forceNetwork Bypass the HTTP cache's freshness window, for an explicit refresh
+     */
+    public RequestHandle getNearbyActivitiesPage(
+            double latitude,
+            double longitude,
+            float radiusKm,
+            Long userId,
+            int page,
+            int pageSize,
+            boolean forceNetwork,
+            ApiCallback<PageResponse<Activity>> callback) {
+        String cacheControl = forceNetwork ? HttpCachePolicy.FORCE_NETWORK : null;
+        AtomicBoolean networkDelivered = new AtomicBoolean(false);
+        if (page == 0) {
+            localDataSource.loadList(
+                    ActivityLocalDataSource.LIST_NEARBY,
+                    cached -> {
+                        if (!networkDelivered.get()) {
+                            callback.onCached(PageResponse.singlePage(cached));
+                        }
+                    });
+        }
+        if (pagedNearbyUnsupported) {
+            return getNearbyActivitiesAsSinglePage(
+                    latitude,
+                    longitude,
+                    radiusKm,
+                    userId,
+                    cacheControl,
+                    afterNetwork(networkDelivered, callback));
+        }
+
+        ApiRequest<PageResponse<Activity>, PageResponse<Activity>> request =
+                ApiRequest.of(
+                                TAG,
+                                "fetch nearby activities",
+                                () ->
+                                        activityApiService.getNearbyActivitiesPage(
+                                                latitude,
+                                                longitude,
+                                                radiusKm,
+                                                page,
+                                                pageSize,
+                                                userId,
+                                                cacheControl))
+                        .map(
+                                body -> {
+                                    if (page == 0) {
+                                        localDataSource.saveList(
+                                                ActivityLocalDataSource.LIST_NEARBY,
+                                                body.getContent());
+                                    }
+                                    body.setContent(entityCache.putActivities(body.getContent()));
+                                    return body;
+                                });
+        if (page == 0) {
+            request =
+                    request.fallback(
+                            404,
+                            fallbackCallback -> {
+                                pagedNearbyUnsupported = true;
+                                return getNearbyActivitiesAsSinglePage(
+                                        latitude,
+                                        longitude,
+                                        radiusKm,
+                                        userId,
+                                        cacheControl,
+                                        fallbackCallback);
+                            });
+        }
+        return request.enqueue(afterNetwork(networkDelivered, callback));
+    }
+
+    /** Load the whole nearby list and deliver it as the only page */
+    private RequestHandle getNearbyActivitiesAsSinglePage(
+            double latitude,
+            double longitude,
+            float radiusKm,
+            Long userId,
+            String cacheControl,
+            ApiCallback<PageResponse<Activity>> callback) {
+        return getNearbyActivities(
+                latitude,
+                longitude,
+                radiusKm,
+                userId,
+                cacheControl,
+                new ApiCallback<List<Activity>>() {
+                    @Override
+                    public void onSuccess(List<Activity> activities) {
+                        callback.onSuccess(PageResponse.singlePage(activities));
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        callback.onError(errorMessage);
+                    }
+                });
     }
 
     /** Get nearby activities with default radius (10 km) */
-    public void getNearbyActivitiesDefaultRadius(
+    public RequestHandle getNearbyActivitiesDefaultRadius(
             double latitude, double longitude, Long userId, ApiCallback<List<Activity>> callback) {
-        activityApiService
-                .getNearbyActivitiesDefaultRadius(latitude, longitude, userId)
-                .enqueue(
-                        new Callback<List<Activity>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Activity>> call, Response<List<Activity>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched "
-                                                    + response.body().size()
-                                                    + " nearby activities");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch nearby activities: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Activity>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+        return ApiRequest.of(
+                        TAG,
+                        "fetch nearby activities",
+                        () ->
+                                activityApiService.getNearbyActivitiesDefaultRadius(
+                                        latitude, longitude, userId))
+                .map(entityCache::putActivities)
+                .enqueue(callback);
     }
 }
@@ -0,0 +1,305 @@
+package com.gege.activityfindermobile.data.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.gege.activityfindermobile.data.callback.ApiCallback;
+import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Common execution pipeline for repository calls. It enqueues the Retrofit call, optionally joins
+ * an identical in-flight request, maps the response body, turns HTTP and network failures into the
+ * repository error messages, logs the outcome and stops delivering once the request is cancelled.
+ * Retrofit delivers responses on the main thread, so callbacks run there.
+ *
+ * <p>Requests are immutable; each configuration method returns a copy.
+ *
+ * @param <R> The response body type returned by the API service
+ * @param <T> The type delivered to callers
+ */
+public final class ApiRequest<R, T> {
+    private final String tag;
+    private final String action;
+    private final Supplier<Call<R>> callFactory;
+    private Function<R, T> mapper;
+    private Map<Integer, String> errorMessages = Collections.emptyMap();
+    private BiFunction<Integer, String, String> errorBodyParser;
+    private RequestCoalescer coalescer;
+    private String sharedKey;
+    private boolean fresh;
+    private int fallbackCode;
+    private Function<ApiCallback<T>, RequestHandle> fallback;
+    private Supplier<T> emptyValue;
+
+    private ApiRequest(
+            String tag, String action, Supplier<Call<R>> callFactory, Function<R, T> mapper) {
+        this.tag = tag;
+        this.action = action;
+        this.callFactory = callFactory;
+        this.mapper = mapper;
+    }
+
+    /** Copy everything except the settings that depend on the delivered type */
+    private <U> ApiRequest<R, U> copy(Function<R, U> mapper) {
+        ApiRequest<R, U> copy = new ApiRequest<>(tag, action, callFactory, mapper);
+        copy.errorMessages = errorMessages;
+        copy.errorBodyParser = errorBodyParser;
+        copy.coalescer = coalescer;
+        copy.sharedKey = sharedKey;
+        copy.fresh = fresh;
+        return copy;
+    }
+
+    private ApiRequest<R, T> copy() {
+        ApiRequest<R, T> copy = copy(mapper);
+        copy.fallbackCode = fallbackCode;
+        copy.fallback = fallback;
+        copy.emptyValue = emptyValue;
+        return copy;
+    }
+
+    /**
+     * Create a request
+     *
+     * @param tag Log tag of the repository
+     * @param action What the request does, e.g. "fetch reviews"; errors read "Failed to fetch
+     *     reviews: 500"
+     * @param callFactory Creates the Retrofit call; invoked once per network request
+     */
+    public static <T> ApiRequest<T, T> of(
+            String tag, String action, Supplier<Call<T>> callFactory) {
+        return new ApiRequest<>(tag, action, callFactory, body -> body);
+    }
+
+    /**
+     * Deliver a value derived from the response body instead of the body itself. Runs on the main
+     * thread once per caller, also for shared calls.
+     */
+    public <U> ApiRequest<R, U> map(Function<? super T, ? extends U> function) {
+        if (fallback != null || emptyValue != null) {
+            throw new IllegalStateException("Set the fallback and empty value after map()");
+        }
+        Function<R, T> current = mapper;
+        return copy(body -> function.apply(current.apply(body)));
+    }
+
+    /** Use a specific error message for an HTTP status code */
+    public ApiRequest<R, T> errorMessage(int code, String message) {
+        ApiRequest<R, T> copy = copy();
+        copy.errorMessages = new HashMap<>(errorMessages);
+        copy.errorMessages.put(code, message);
+        return copy;
+    }
+
+    /**
+     * Build the error message from the server's error body, e.g. to show its validation message.
+     * Not for shared requests, since the body can only be read once.
+     *
+     * @param parser Gets the status code and the error body; returns null to use the default
+     *     message
+     */
+    public ApiRequest<R, T> errorBody(BiFunction<Integer, String, String> parser) {
+        ApiRequest<R, T> copy = copy();
+        copy.errorBodyParser = parser;
+        return copy;
+    }
+
+    /**
+     * Share the network call with identical requests that are in flight. Only for idempotent GETs
+     * whose result callers do not mutate.
+     *
+     * @param key Request key from {@link RequestCoalescer#key(String, Object...)}
+     */
+    public ApiRequest<R, T> shared(RequestCoalescer coalescer, String key) {
+        ApiRequest<R, T> copy = copy();
+        copy.coalescer = coalescer;
+        copy.sharedKey = key;
+        return copy;
+    }
+
+    /**
+     * For shared requests: do not join a call that is already running, e.g. when reloading after a
+     * write that the running call may not reflect. Identical requests made later join this one.
+     */
+    public ApiRequest<R, T> fresh(boolean fresh) {
+        ApiRequest<R, T> copy = copy();
+        copy.fresh = fresh;
+        return copy;
+    }
+
+    /**
+     * Run another request instead of failing when the server answers with the given status, e.g. an
+     * older endpoint when a newer one returns 404. Cancelling the handle cancels whichever request
+     * is running.
+     */
+    public ApiRequest<R, T> fallback(int code, Function<ApiCallback<T>, RequestHandle> request) {
+        ApiRequest<R, T> copy = copy();
+        copy.fallbackCode = code;
+        copy.fallback = request;
+        return copy;
+    }
+
+    /**
+     * Deliver this value when a successful response has no body, e.g. an empty list. Gson fails on
+     * an empty document, so that failure counts as an empty response as well.
+     */
+    public ApiRequest<R, T> emptyValue(Supplier<T> value) {
+        ApiRequest<R, T> copy = copy();
+        copy.emptyValue = value;
+        return copy;
+    }
+
+    /** Run the request; onSuccess requires a response body */
+    public RequestHandle enqueue(ApiCallback<T> callback) {
+        return start(emptyValue == null, callback::onSuccess, callback::onError);
+    }
+
+    /** Run the request for its status only; any 2xx response counts as success */
+    public RequestHandle enqueue(ApiCallbackVoid callback) {
+        return start(false, data -> callback.onSuccess(), callback::onError);
+    }
+
+    /** Run the request when the returned stream is first observed */
+    public ResourceLiveData<T> asLiveData() {
+        return ResourceLiveData.of(this::enqueue);
+    }
+
+    private RequestHandle start(
+            boolean requireBody, Consumer<T> onSuccess, Consumer<String> onError) {
+        Delivery delivery = new Delivery();
+        Callback<R> callback =
+                new Callback<R>() {
+                    @Override
+                    public void onResponse(@NonNull Call<R> call, @NonNull Response<R> response) {
+                        if (fallback != null
+                                && response.code() == fallbackCode
+                                && !delivery.isFinished()) {
+                            Log.d(tag, "Falling back after " + fallbackCode + ": " + action);
+                            delivery.upstream =
+                                    fallback.apply(delivery.forward(onSuccess, onError));
+                            return;
+                        }
+                        if (!delivery.complete()) {
+                            return;
+                        }
+                        R body = response.body();
+                        if (response.isSuccessful() && (body != null || !requireBody)) {
+                            Log.d(tag, "Request succeeded: " + action);
+                            onSuccess.accept(body != null ? mapper.apply(body) : empty());
+                        } else {
+                            String errorMsg = errorMessage(response);
+                            Log.e(tag, errorMsg);
+                            onError.accept(errorMsg);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call<R> call, @NonNull Throwable t) {
+                        if (!delivery.complete()) {
+                            return;
+                        }
+                        if (emptyValue != null && t instanceof EOFException) {
+                            Log.d(tag, "Empty response: " + action);
+                            onSuccess.accept(emptyValue.get());
+                            return;
+                        }
+                        String errorMsg = "Network error: " + t.getMessage();
+                        Log.e(tag, errorMsg, t);
+                        onError.accept(errorMsg);
+                    }
+                };
+
+        if (coalescer != null) {
+            delivery.upstream = coalescer.enqueue(sharedKey, fresh, callFactory, callback);
+        } else {
+            Call<R> call = callFactory.get();
+            delivery.upstream = call::cancel;
+            call.enqueue(callback);
+        }
+        return delivery;
+    }
+
+    private T empty() {
+        return emptyValue != null ? emptyValue.get() : null;
+    }
+
+    private String errorMessage(Response<R> response) {
+        int code = response.code();
+        ResponseBody errorBody = response.errorBody();
+        if (errorBodyParser != null && errorBody != null) {
+            try {
+                String message = errorBodyParser.apply(code, errorBody.string());
+                if (message != null) {
+                    return message;
+                }
+            } catch (IOException e) {
+                Log.e(tag, "Error reading error body", e);
+            }
+        }
+        String message = errorMessages.get(code);
+        return message != null ? message : "Failed to " + action + ": " + code;
+    }
+
+    private static final class Delivery implements RequestHandle {
+        final AtomicBoolean finished = new AtomicBoolean();
+        volatile RequestHandle upstream;
+
+        /**
+         * @return False if the request was cancelled, so nothing may be delivered
+         */
+        boolean complete() {
+            return finished.compareAndSet(false, true);
+        }
+
+        boolean isFinished() {
+            return finished.get();
+        }
+
+        /** Callback for a fallback request that delivers through this handle */
+        <T> ApiCallback<T> forward(Consumer<T> onSuccess, Consumer<String> onError) {
+            return new ApiCallback<T>() {
+                @Override
+                public void onSuccess(T data) {
+                    if (complete()) {
+                        onSuccess.accept(data);
+                    }
+                }
+
+                @Override
+                public void onError(String errorMessage) {
+                    if (complete()) {
+                        onError.accept(errorMessage);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void cancel() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            RequestHandle handle = upstream;
+            if (handle != null) {
+                handle.cancel();
+            }
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.gege.activityfindermobile.data.repository;
 
-import android.util.Log;
-
 import com.gege.activityfindermobile.data.api.MessageApiService;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
@@ -10,177 +8,69 @@ import com.gege.activityfindermobile.data.dto.MessageRequest;
 import com.gege.activityfindermobile.data.model.ActivityMessage;
 
 import java.util.List;
-import java.util.Map;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 @Singleton
 public class MessageRepository {
     private static final String TAG = "MessageRepository";
     private final MessageApiService messageApiService;
+    private final RequestCoalescer requestCoalescer;
 
     @Inject
-    public MessageRepository(MessageApiService messageApiService) {
+    public MessageRepository(
+            MessageApiService messageApiService, RequestCoalescer requestCoalescer) {
         this.messageApiService = messageApiService;
+        this.requestCoalescer = requestCoalescer;
     }
 
     /** Send a message in an activity chat */
-    public void sendMessage(
+    public RequestHandle sendMessage(
             Long activityId, String messageText, ApiCallback<ActivityMessage> callback) {
         MessageRequest request = new MessageRequest(messageText);
-        messageApiService
-                .sendMessage(activityId, request)
-                .enqueue(
-                        new Callback<ActivityMessage>() {
-                            @Override
-                            public void onResponse(
-                                    Call<ActivityMessage> call,
-                                    Response<ActivityMessage> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Message sent successfully");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg = "Failed to send message: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<ActivityMessage> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+        return ApiRequest.of(
+                        TAG,
+                        "send message",
+                        () -> messageApiService.sendMessage(activityId, request))
+                .enqueue(callback);
     }
 
     /** Get all messages for an activity */
-    public void getMessages(Long activityId, ApiCallback<List<ActivityMessage>> callback) {
-        messageApiService
-                .getMessages(activityId)
-                .enqueue(
-                        new Callback<List<ActivityMessage>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<ActivityMessage>> call,
-                                    Response<List<ActivityMessage>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Fetched " + response.body().size() + " messages");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch messages: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<ActivityMessage>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getMessages(
+            Long activityId, ApiCallback<List<ActivityMessage>> callback) {
+        return ApiRequest.of(TAG, "fetch messages", () -> messageApiService.getMessages(activityId))
+                .shared(requestCoalescer, RequestCoalescer.key("getMessages", activityId))
+                .enqueue(callback);
     }
 
     /** Get messages since a specific timestamp (for polling) */
-    public void getMessagesSince(
+    public RequestHandle getMessagesSince(
             Long activityId, String timestamp, ApiCallback<List<ActivityMessage>> callback) {
-        messageApiService
-                .getMessagesSince(activityId, timestamp)
-                .enqueue(
-                        new Callback<List<ActivityMessage>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<ActivityMessage>> call,
-                                    Response<List<ActivityMessage>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched " + response.body().size() + " new messages");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch new messages: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<ActivityMessage>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+        return ApiRequest.of(
+                        TAG,
+                        "fetch new messages",
+                        () -> messageApiService.getMessagesSince(activityId, timestamp))
+                .enqueue(callback);
     }
 
     /** Get message count for an activity */
-    public void getMessageCount(Long activityId, ApiCallback<Integer> callback) {
-        messageApiService
-                .getMessageCount(activityId)
-                .enqueue(
-                        new Callback<MessageCountResponse>() {
-                            @Override
-                            public void onResponse(
-                                    Call<MessageCountResponse> call,
-                                    Response<MessageCountResponse> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Integer count = response.body().getMessageCount();
-                                    Log.d(TAG, "Message count: " + count);
-                                    callback.onSuccess(count);
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch message count: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<MessageCountResponse> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getMessageCount(Long activityId, ApiCallback<Integer> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "fetch message count",
+                        () -> messageApiService.getMessageCount(activityId))
+                .map(MessageCountResponse::getMessageCount)
+                .enqueue(callback);
     }
 
     /** Delete a message */
-    public void deleteMessage(Long activityId, Long messageId, ApiCallbackVoid callback) {
-        messageApiService
-                .deleteMessage(activityId, messageId)
-                .enqueue(
-                        new Callback<Map<String, String>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<Map<String, String>> call,
-                                    Response<Map<String, String>> response) {
-                                if (response.isSuccessful()) {
-                                    Log.d(TAG, "Message deleted successfully");
-                                    callback.onSuccess();
-                                } else {
-                                    String errorMsg =
-                                            "Failed to delete message: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<Map<String, String>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle deleteMessage(
+            Long activityId, Long messageId, ApiCallbackVoid callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "delete message",
+                        () -> messageApiService.deleteMessage(activityId, messageId))
+                .enqueue(callback);
     }
 }
@@ -1,9 +1,8 @@
 package com.gege.activityfindermobile.data.repository;
 
-import android.util.Log;
-
 import com.gege.activityfindermobile.data.api.ParticipantApiService;
 import com.gege.activityfindermobile.data.api.ParticipantStatusUpdateRequest;
+import com.gege.activityfindermobile.data.cache.EntityCache;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
 import com.gege.activityfindermobile.data.dto.ExpressInterestRequest;
@@ -14,233 +13,133 @@ import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 @Singleton
 public class ParticipantRepository {
     private static final String TAG = "ParticipantRepository";
     private final ParticipantApiService participantApiService;
+    private final RequestCoalescer requestCoalescer;
+    private final EntityCache entityCache;
 
     @Inject
-    public ParticipantRepository(ParticipantApiService participantApiService) {
+    public ParticipantRepository(
+            ParticipantApiService participantApiService,
+            RequestCoalescer requestCoalescer,
+            EntityCache entityCache) {
         this.participantApiService = participantApiService;
+        this.requestCoalescer = requestCoalescer;
+        this.entityCache = entityCache;
     }
 
     /** Express interest in an activity */
-    public void expressInterest(
+    public RequestHandle expressInterest(
             Long activityId,
             Long userId,
             ExpressInterestRequest request,
             ApiCallback<Participant> callback) {
-        participantApiService
-                .expressInterest(activityId, userId, request)
-                .enqueue(
-                        new Callback<Participant>() {
-                            @Override
-                            public void onResponse(
-                                    Call<Participant> call, Response<Participant> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Interest expressed successfully");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg;
-                                    try {
-                                        if (response.errorBody() != null) {
-                                            String errorBody = response.errorBody().string();
-                                            // Try to extract the message from error body
-                                            if (errorBody.contains("already expressed interest")) {
-                                                errorMsg = "You have already joined this activity";
-                                            } else if (errorBody.contains("message")) {
-                                                // Try to parse JSON error message
-                                                int msgStart =
-                                                        errorBody.indexOf("\"message\":\"") + 11;
-                                                int msgEnd = errorBody.indexOf("\"", msgStart);
-                                                if (msgStart > 10 && msgEnd > msgStart) {
-                                                    errorMsg =
-                                                            errorBody.substring(msgStart, msgEnd);
-                                                } else {
-                                                    errorMsg = "Failed to join activity";
-                                                }
-                                            } else {
-                                                errorMsg = "Failed to join activity";
-                                            }
-                                        } else {
-                                            errorMsg =
-                                                    "Failed to express interest: "
-                                                            + response.code();
-                                        }
-                                    } catch (Exception e) {
-                                        errorMsg = "Failed to join activity";
-                                        Log.e(TAG, "Error parsing error body", e);
-                                    }
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
+        return ApiRequest.of(
+                        TAG,
+                        "express interest",
+                        () -> participantApiService.expressInterest(activityId, userId, request))
+                .errorBody((code, body) -> joinErrorMessage(body))
+                .map(entityCache::putParticipant)
+                .enqueue(callback);
+    }
 
-                            @Override
-                            public void onFailure(Call<Participant> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    /** Turn the server's error body into a message the join button can show */
+    private static String joinErrorMessage(String errorBody) {
+        if (errorBody.contains("already expressed interest")) {
+            return "You have already joined this activity";
+        }
+        // Try to pull the message out of the JSON error
+        int msgStart = errorBody.indexOf("\"message\":\"") + 11;
+        int msgEnd = errorBody.indexOf("\"", msgStart);
+        if (msgStart > 10 && msgEnd > msgStart) {
+            return errorBody.substring(msgStart, msgEnd);
+        }
+        return "Failed to join activity";
     }
 
     /** Get all participants for an activity */
-    public void getActivityParticipants(Long activityId, ApiCallback<List<Participant>> callback) {
-        participantApiService
-                .getActivityParticipants(activityId)
-                .enqueue(
-                        new Callback<List<Participant>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Participant>> call,
-                                    Response<List<Participant>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched " + response.body().size() + " participants");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch participants: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
+    public RequestHandle getActivityParticipants(
+            Long activityId, ApiCallback<List<Participant>> callback) {
+        return getActivityParticipants(activityId, false, callback);
+    }
 
-                            @Override
-                            public void onFailure(Call<List<Participant>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    /**
+     * Get all participants for an activity
+     *
+     * @param fresh Do not join a request that started before a join or leave
+     */
+    public RequestHandle getActivityParticipants(
+            Long activityId, boolean fresh, ApiCallback<List<Participant>> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "fetch participants",
+                        () -> participantApiService.getActivityParticipants(activityId))
+                .shared(
+                        requestCoalescer,
+                        RequestCoalescer.key("getActivityParticipants", activityId))
+                .fresh(fresh)
+                .map(entityCache::putParticipants)
+                .enqueue(callback);
     }
 
     /** Get interested users for an activity (creator only) */
-    public void getInterestedUsers(
+    public RequestHandle getInterestedUsers(
             Long activityId, Long creatorId, ApiCallback<List<Participant>> callback) {
-        participantApiService
-                .getInterestedUsers(activityId, creatorId)
-                .enqueue(
-                        new Callback<List<Participant>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Participant>> call,
-                                    Response<List<Participant>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched "
-                                                    + response.body().size()
-                                                    + " interested users");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch interested users: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Participant>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+        return ApiRequest.of(
+                        TAG,
+                        "fetch interested users",
+                        () -> participantApiService.getInterestedUsers(activityId, creatorId))
+                .shared(
+                        requestCoalescer,
+                        RequestCoalescer.key("getInterestedUsers", activityId, creatorId))
+                .map(entityCache::putParticipants)
+                .enqueue(callback);
     }
 
     /** Get user's participations */
-    public void getMyParticipations(Long userId, ApiCallback<List<Participant>> callback) {
-        participantApiService
-                .getMyParticipations(userId)
-                .enqueue(
-                        new Callback<List<Participant>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Participant>> call,
-                                    Response<List<Participant>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Fetched user's participations");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch participations: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
+    public RequestHandle getMyParticipations(Long userId, ApiCallback<List<Participant>> callback) {
+        return getMyParticipations(userId, false, callback);
+    }
 
-                            @Override
-                            public void onFailure(Call<List<Participant>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    /**
+     * Get user's participations
+     *
+     * @param fresh Do not join a request that started before a join or leave
+     */
+    public RequestHandle getMyParticipations(
+            Long userId, boolean fresh, ApiCallback<List<Participant>> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "fetch participations",
+                        () -> participantApiService.getMyParticipations(userId))
+                .shared(requestCoalescer, RequestCoalescer.key("getMyParticipations", userId))
+                .fresh(fresh)
+                .map(entityCache::putParticipants)
+                .enqueue(callback);
     }
 
     /** Update participant status (Accept/Decline) */
-    public void updateParticipantStatus(
+    public RequestHandle updateParticipantStatus(
             Long participantId, Long creatorId, String status, ApiCallback<Participant> callback) {
         ParticipantStatusUpdateRequest request = new ParticipantStatusUpdateRequest(status);
-        participantApiService
-                .updateParticipantStatus(participantId, creatorId, request)
-                .enqueue(
-                        new Callback<Participant>() {
-                            @Override
-                            public void onResponse(
-                                    Call<Participant> call, Response<Participant> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Participant status updated to: " + status);
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg = "Failed to update status: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<Participant> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+        return ApiRequest.of(
+                        TAG,
+                        "update status",
+                        () ->
+                                participantApiService.updateParticipantStatus(
+                                        participantId, creatorId, request))
+                .map(entityCache::putParticipant)
+                .enqueue(callback);
     }
 
     /** Leave an activity */
-    public void leaveActivity(Long activityId, Long userId, ApiCallbackVoid callback) {
-        participantApiService
-                .leaveActivity(activityId, userId)
-                .enqueue(
-                        new Callback<Void>() {
-                            @Override
-                            public void onResponse(Call<Void> call, Response<Void> response) {
-                                if (response.isSuccessful()) {
-                                    Log.d(TAG, "Left activity successfully");
-                                    callback.onSuccess();
-                                } else {
-                                    String errorMsg =
-                                            "Failed to leave activity: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<Void> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle leaveActivity(Long activityId, Long userId, ApiCallbackVoid callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "leave activity",
+                        () -> participantApiService.leaveActivity(activityId, userId))
+                .enqueue(callback);
     }
 }
@@ -1,7 +1,5 @@
 package com.gege.activityfindermobile.data.repository;
 
-import android.util.Log;
-
 import com.gege.activityfindermobile.data.api.ReportApiService;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.dto.ReportCountResponse;
@@ -13,10 +11,6 @@ import java.util.List;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 @Singleton
 public class ReportRepository {
     private static final String TAG = "ReportRepository";
@@ -28,229 +22,80 @@ public class ReportRepository {
     }
 
     /** Submit a report */
-    public void submitReport(ReportRequest request, ApiCallback<Report> callback) {
-        reportApiService
-                .submitReport(request)
-                .enqueue(
-                        new Callback<Report>() {
-                            @Override
-                            public void onResponse(Call<Report> call, Response<Report> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Report submitted successfully");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg = "Failed to submit report: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<Report> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle submitReport(ReportRequest request, ApiCallback<Report> callback) {
+        return ApiRequest.of(TAG, "submit report", () -> reportApiService.submitReport(request))
+                .enqueue(callback);
     }
 
     /** Report an activity */
-    public void reportActivity(Long activityId, String reason, ApiCallback<Report> callback) {
+    public RequestHandle reportActivity(
+            Long activityId, String reason, ApiCallback<Report> callback) {
         ReportRequest request = ReportRequest.forActivity(activityId, reason);
-        submitReport(request, callback);
+        return submitReport(request, callback);
     }
 
     /** Report a message */
-    public void reportMessage(Long messageId, String reason, ApiCallback<Report> callback) {
+    public RequestHandle reportMessage(
+            Long messageId, String reason, ApiCallback<Report> callback) {
         ReportRequest request = ReportRequest.forMessage(messageId, reason);
-        submitReport(request, callback);
+        return submitReport(request, callback);
     }
 
     /** Report a user */
-    public void reportUser(Long userId, String reason, ApiCallback<Report> callback) {
+    public RequestHandle reportUser(Long userId, String reason, ApiCallback<Report> callback) {
         ReportRequest request = ReportRequest.forUser(userId, reason);
-        submitReport(request, callback);
+        return submitReport(request, callback);
     }
 
     /** Get my reports */
-    public void getMyReports(ApiCallback<List<Report>> callback) {
-        reportApiService
-                .getMyReports()
-                .enqueue(
-                        new Callback<List<Report>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Report>> call, Response<List<Report>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Fetched " + response.body().size() + " reports");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg = "Failed to fetch reports: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Report>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getMyReports(ApiCallback<List<Report>> callback) {
+        return ApiRequest.of(TAG, "fetch reports", reportApiService::getMyReports)
+                .enqueue(callback);
     }
 
     /** Get pending reports (admin only) */
-    public void getPendingReports(ApiCallback<List<Report>> callback) {
-        reportApiService
-                .getPendingReports()
-                .enqueue(
-                        new Callback<List<Report>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Report>> call, Response<List<Report>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(
-                                            TAG,
-                                            "Fetched "
-                                                    + response.body().size()
-                                                    + " pending reports");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch pending reports: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Report>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getPendingReports(ApiCallback<List<Report>> callback) {
+        return ApiRequest.of(TAG, "fetch pending reports", reportApiService::getPendingReports)
+                .enqueue(callback);
     }
 
     /** Get reports by type and status (admin only) */
-    public void getReportsByTypeAndStatus(
+    public RequestHandle getReportsByTypeAndStatus(
             String reportType, String status, ApiCallback<List<Report>> callback) {
-        reportApiService
-                .getReportsByTypeAndStatus(reportType, status)
-                .enqueue(
-                        new Callback<List<Report>>() {
-                            @Override
-                            public void onResponse(
-                                    Call<List<Report>> call, Response<List<Report>> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Fetched filtered reports");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg = "Failed to fetch reports: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<List<Report>> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+        return ApiRequest.of(
+                        TAG,
+                        "fetch reports",
+                        () -> reportApiService.getReportsByTypeAndStatus(reportType, status))
+                .enqueue(callback);
     }
 
     /** Update report status (admin only) */
-    public void updateReportStatus(Long reportId, String status, ApiCallback<Report> callback) {
-        reportApiService
-                .updateReportStatus(reportId, status)
-                .enqueue(
-                        new Callback<Report>() {
-                            @Override
-                            public void onResponse(Call<Report> call, Response<Report> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Log.d(TAG, "Report status updated");
-                                    callback.onSuccess(response.body());
-                                } else {
-                                    String errorMsg =
-                                            "Failed to update report status: " + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<Report> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle updateReportStatus(
+            Long reportId, String status, ApiCallback<Report> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "update report status",
+                        () -> reportApiService.updateReportStatus(reportId, status))
+                .enqueue(callback);
     }
 
     /** Get activity report count */
-    public void getActivityReportCount(Long activityId, ApiCallback<Integer> callback) {
-        reportApiService
-                .getActivityReportCount(activityId)
-                .enqueue(
-                        new Callback<ReportCountResponse>() {
-                            @Override
-                            public void onResponse(
-                                    Call<ReportCountResponse> call,
-                                    Response<ReportCountResponse> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Integer count = response.body().getReportCount();
-                                    Log.d(TAG, "Activity report count: " + count);
-                                    callback.onSuccess(count);
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch activity report count: "
-                                                    + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<ReportCountResponse> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getActivityReportCount(Long activityId, ApiCallback<Integer> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "fetch activity report count",
+                        () -> reportApiService.getActivityReportCount(activityId))
+                .map(ReportCountResponse::getReportCount)
+                .enqueue(callback);
     }
 
     /** Get message report count */
-    public void getMessageReportCount(Long messageId, ApiCallback<Integer> callback) {
-        reportApiService
-                .getMessageReportCount(messageId)
-                .enqueue(
-                        new Callback<ReportCountResponse>() {
-                            @Override
-                            public void onResponse(
-                                    Call<ReportCountResponse> call,
-                                    Response<ReportCountResponse> response) {
-                                if (response.isSuccessful() && response.body() != null) {
-                                    Integer count = response.body().getReportCount();
-                                    Log.d(TAG, "Message report count: " + count);
-                                    callback.onSuccess(count);
-                                } else {
-                                    String errorMsg =
-                                            "Failed to fetch message report count: "
-                                                    + response.code();
-                                    Log.e(TAG, errorMsg);
-                                    callback.onError(errorMsg);
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Call<ReportCountResponse> call, Throwable t) {
-                                String errorMsg = "Network error: " + t.getMessage();
-                                Log.e(TAG, errorMsg, t);
-                                callback.onError(errorMsg);
-                            }
-                        });
+    public RequestHandle getMessageReportCount(Long messageId, ApiCallback<Integer> callback) {
+        return ApiRequest.of(
+                        TAG,
+                        "fetch message report count",
+                        () -> reportApiService.getMessageReportCount(messageId))
+                .map(ReportCountResponse::getReportCount)
+                .enqueue(callback);
     }
 }
@@ -0,0 +1,158 @@
+package com.gege.activityfindermobile.data.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Single-flight layer for read-only requests. While a request with the same key is in flight,
+ * later callers are attached to it instead of starting another network call, and every caller
+ * receives the same response.
+ *
+ * <p>Only use this for idempotent GETs; callers share the response body, so they must not mutate
+ * it. A caller that cancels is detached from the shared call, which is cancelled once no caller is
+ * left. A read that must see an earlier write is enqueued fresh: it never joins a call that was
+ * already running, but later callers join it.
+ */
+@Singleton
+public class RequestCoalescer {
+    private static final String TAG = "RequestCoalescer";
+
+    private final Map<String, Flight> inFlight = new HashMap<>();
+    private final AtomicLong networkCalls = new AtomicLong();
+    private final AtomicLong deduplicatedCalls = new AtomicLong();
+
+    @Inject
+    public RequestCoalescer() {}
+
+    /**
+     * Build a key from the API method name and its arguments
+     *
+     * @param method API method name, e.g. "getUserById"
+     * @param args Arguments that identify the request
+     */
+    public static String key(String method, Object... args) {
+        StringBuilder builder = new StringBuilder(method);
+        for (Object arg : args) {
+            builder.append('|').append(arg);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Enqueue a call, or join an identical call that is already in flight
+     *
+     * @param key Request key from {@link #key(String, Object...)}
+     * @param callFactory Creates the Retrofit call; only invoked when no identical call is running
+     * @param callback Receives the shared response
+     * @return Handle that detaches this caller from the shared call
+     */
+    public <T> RequestHandle enqueue(
+            String key, Supplier<Call<T>> callFactory, Callback<T> callback) {
+        return enqueue(key, false, callFactory, callback);
+    }
+
+    /**
+     * Enqueue a call, joining an identical call in flight unless {@code fresh} is set
+     *
+     * @param fresh Start a new call even if one is running, e.g. to reload after a write; the
+     *     running call may have been answered before the write landed
+     */
+    public <T> RequestHandle enqueue(
+            String key, boolean fresh, Supplier<Call<T>> callFactory, Callback<T> callback) {
+        Flight flight;
+        Call<T> call;
+        synchronized (inFlight) {
+            flight = fresh ? null : inFlight.get(key);
+            if (flight != null) {
+                flight.waiters.add(callback);
+                deduplicatedCalls.incrementAndGet();
+                Log.d(TAG, "Joined in-flight request: " + key);
+                return detach(key, flight, callback);
+            }
+            call = callFactory.get();
+            flight = new Flight(call);
+            flight.waiters.add(callback);
+            // Replaces a stale flight, which still delivers to its own waiters
+            inFlight.put(key, flight);
+        }
+
+        networkCalls.incrementAndGet();
+        Flight started = flight;
+        call.enqueue(
+                new Callback<T>() {
+                    @Override
+                    public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+                        for (Callback<T> waiter : RequestCoalescer.this.<T>complete(key, started)) {
+                            waiter.onResponse(call, response);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+                        for (Callback<T> waiter : RequestCoalescer.this.<T>complete(key, started)) {
+                            waiter.onFailure(call, t);
+                        }
+                    }
+                });
+        return detach(key, flight, callback);
+    }
+
+    private RequestHandle detach(String key, Flight flight, Callback<?> callback) {
+        return () -> {
+            synchronized (inFlight) {
+                if (!flight.waiters.remove(callback) || !flight.waiters.isEmpty()) {
+                    return;
+                }
+                inFlight.remove(key, flight);
+            }
+            flight.call.cancel();
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<Callback<T>> complete(String key, Flight flight) {
+        List<Callback<T>> typed = new ArrayList<>();
+        synchronized (inFlight) {
+            inFlight.remove(key, flight);
+            for (Callback<?> waiter : flight.waiters) {
+                typed.add((Callback<T>) waiter);
+            }
+            flight.waiters.clear();
+        }
+        return typed;
+    }
+
+    /** Number of requests that actually went to the network */
+    public long getNetworkCallCount() {
+        return networkCalls.get();
+    }
+
+    /** Number of requests that were served by joining an in-flight call */
+    public long getDeduplicatedCallCount() {
+        return deduplicatedCalls.get();
+    }
+
+    private static final class Flight {
+        final Call<?> call;
+        final List<Callback<?>> waiters = new ArrayList<>();
+
+        Flight(Call<?> call) {
+            this.call = call;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.gege.activityfindermobile.data.repository;
+
+/** Handle to a running repository request */
+public interface RequestHandle {
+
+    /** Handle for requests that finished synchronously or were never started */
+    RequestHandle NONE = () -> {};
+
+    /**
+     * Stop the request and drop its callbacks. Safe to call more than once and after the request
+     * has finished.
+     */
+    void cancel();
+}
@@ -0,0 +1,69 @@
+package com.gege.activityfindermobile.data.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Counts HTTP calls that were cancelled before their response arrived and callbacks dropped because
+ * their screen was gone. Cancellations are reported by the OkHttp event listener, so a caller that
+ * only detaches from a shared call that others still wait for is not counted. Bytes saved are
+ * estimated from the typical response size of the same endpoint, since a cancelled response has no
+ * size of its own.
+ */
+@Singleton
+public class RequestSavings {
+    private final Map<String, Long> typicalResponseBytes = new ConcurrentHashMap<>();
+    private final AtomicLong cancelledCalls = new AtomicLong();
+    private final AtomicLong droppedCallbacks = new AtomicLong();
+    private final AtomicLong estimatedBytesSaved = new AtomicLong();
+
+    @Inject
+    public RequestSavings() {}
+
+    /**
+     * Remember a response size
+     *
+     * @param endpoint Endpoint key, e.g. "GET /api/users/{id}"
+     * @param bytes Body size; -1 (unknown length) is ignored
+     */
+    public void recordResponse(String endpoint, long bytes) {
+        if (bytes < 0) {
+            return;
+        }
+        // Moving average, so one unusually large page does not dominate
+        typicalResponseBytes.merge(
+                endpoint, bytes, (typical, latest) -> (typical * 3 + latest) / 4);
+    }
+
+    /** An HTTP call to the endpoint was cancelled */
+    public void recordCancelled(String endpoint) {
+        cancelledCalls.incrementAndGet();
+        Long typical = typicalResponseBytes.get(endpoint);
+        if (typical != null) {
+            estimatedBytesSaved.addAndGet(typical);
+        }
+    }
+
+    void recordDroppedCallback() {
+        droppedCallbacks.incrementAndGet();
+    }
+
+    /** HTTP calls cancelled before their response arrived */
+    public long getCancelledCallCount() {
+        return cancelledCalls.get();
+    }
+
+    /** Responses that arrived after their screen was destroyed and were not delivered */
+    public long getDroppedCallbackCount() {
+        return droppedCallbacks.get();
+    }
+
+    /** Estimated response bytes not downloaded because of cancellation */
+    public long getEstimatedBytesSaved() {
+        return estimatedBytesSaved.get();
+    }
+}
@@ -0,0 +1,187 @@
+package com.gege.activityfindermobile.data.repository;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.gege.activityfindermobile.data.callback.ApiCallback;
+import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Repository requests bound to a lifecycle, normally a Fragment's view lifecycle owner. When the
+ * lifecycle is destroyed, outstanding requests are cancelled and late responses are dropped, so a
+ * screen the user has left stops downloading and its callbacks never touch a destroyed view.
+ *
+ * <p>Use from the main thread, where repository callbacks are delivered.
+ */
+public final class RequestScope implements LifecycleEventObserver {
+    private static final String TAG = "RequestScope";
+
+    private final Set<ScopedRequest> outstanding = new HashSet<>();
+    private final RequestSavings savings;
+    private boolean closed;
+
+    private RequestScope(RequestSavings savings) {
+        this.savings = savings;
+    }
+
+    /**
+     * Create a scope that closes when the owner's lifecycle is destroyed
+     *
+     * @param savings Counts the responses this scope drops after closing
+     */
+    public static RequestScope of(LifecycleOwner owner, RequestSavings savings) {
+        RequestScope scope = new RequestScope(savings);
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            scope.closed = true;
+        } else {
+            lifecycle.addObserver(scope);
+        }
+        return scope;
+    }
+
+    /**
+     * Start a request in this scope, e.g. {@code scope.launch(cb ->
+     * reviewRepository.getReviewsForActivity(id, cb), callback)}
+     *
+     * @return Handle to cancel the request early; closing the scope cancels it as well
+     */
+    public <T> RequestHandle launch(
+            Function<ApiCallback<T>, RequestHandle> request, ApiCallback<T> callback) {
+        if (closed) {
+            return RequestHandle.NONE;
+        }
+        ScopedRequest scoped = new ScopedRequest();
+        outstanding.add(scoped);
+        scoped.upstream =
+                request.apply(
+                        new ApiCallback<T>() {
+                            @Override
+                            public void onCached(T data) {
+                                if (!closed && !scoped.done) {
+                                    callback.onCached(data);
+                                }
+                            }
+
+                            @Override
+                            public void onSuccess(T data) {
+                                if (finish(scoped)) {
+                                    callback.onSuccess(data);
+                                }
+                            }
+
+                            @Override
+                            public void onError(String errorMessage) {
+                                if (finish(scoped)) {
+                                    callback.onError(errorMessage);
+                                }
+                            }
+                        });
+        return scoped;
+    }
+
+    /** {@link #launch} for requests without response data */
+    public RequestHandle launchVoid(
+            Function<ApiCallbackVoid, RequestHandle> request, ApiCallbackVoid callback) {
+        if (closed) {
+            return RequestHandle.NONE;
+        }
+        ScopedRequest scoped = new ScopedRequest();
+        outstanding.add(scoped);
+        scoped.upstream =
+                request.apply(
+                        new ApiCallbackVoid() {
+                            @Override
+                            public void onSuccess() {
+                                if (finish(scoped)) {
+                                    callback.onSuccess();
+                                }
+                            }
+
+                            @Override
+                            public void onError(String errorMessage) {
+                                if (finish(scoped)) {
+                                    callback.onError(errorMessage);
+                                }
+                            }
+                        });
+        return scoped;
+    }
+
+    /** False once the lifecycle has been destroyed */
+    public boolean isActive() {
+        return !closed;
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event == Lifecycle.Event.ON_DESTROY) {
+            source.getLifecycle().removeObserver(this);
+            close();
+        }
+    }
+
+    /** Cancel every outstanding request and drop any response that still arrives */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<ScopedRequest> pending = new ArrayList<>(outstanding);
+        outstanding.clear();
+        for (ScopedRequest request : pending) {
+            request.cancel();
+        }
+        if (!pending.isEmpty()) {
+            Log.d(
+                    TAG,
+                    "Cancelled "
+                            + pending.size()
+                            + " requests; total cancelled "
+                            + savings.getCancelledCallCount()
+                            + ", ~"
+                            + savings.getEstimatedBytesSaved() / 1024
+                            + " KB saved");
+        }
+    }
+
+    private boolean finish(ScopedRequest request) {
+        if (request.done) {
+            return false;
+        }
+        request.done = true;
+        outstanding.remove(request);
+        if (closed) {
+            savings.recordDroppedCallback();
+            return false;
+        }
+        return true;
+    }
+
+    private final class ScopedRequest implements RequestHandle {
+        RequestHandle upstream;
+        boolean done;
+
+        @Override
+        public void cancel() {
+            if (done) {
+                return;
+            }
+            done = true;
+            outstanding.remove(this);
+            if (upstream != null) {
+                upstream.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.gege.activityfindermobile.data.repository;
+
+/**
+ * One state of a repository request: loading, cached data, fresh data or an error
+ *
+ * @param <T> The type of data the request produces
+ */
+public final class Resource<T> {
+
+    public enum Status {
+        LOADING,
+        CACHED,
+        SUCCESS,
+        ERROR
+    }
+
+    private final Status status;
+    private final T data;
+    private final String errorMessage;
+
+    private Resource(Status status, T data, String errorMessage) {
+        this.status = status;
+        this.data = data;
+        this.errorMessage = errorMessage;
+    }
+
+    public static <T> Resource<T> loading() {
+        return new Resource<>(Status.LOADING, null, null);
+    }
+
+    /** Locally cached data; fresh data or an error follows */
+    public static <T> Resource<T> cached(T data) {
+        return new Resource<>(Status.CACHED, data, null);
+    }
+
+    public static <T> Resource<T> success(T data) {
+        return new Resource<>(Status.SUCCESS, data, null);
+    }
+
+    /**
+     * @param errorMessage The error message describing what went wrong
+     * @param staleData Data shown before the error, e.g. the cached copy, or null
+     */
+    public static <T> Resource<T> error(String errorMessage, T staleData) {
+        return new Resource<>(Status.ERROR, staleData, errorMessage);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /** True once the request has finished, successfully or not */
+    public boolean isFinal() {
+        return status == Status.SUCCESS || status == Status.ERROR;
+    }
+}
@@ -0,0 +1,107 @@
+package com.gege.activityfindermobile.data.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+
+import com.gege.activityfindermobile.data.callback.ApiCallback;
+
+import java.util.function.Function;
+
+/**
+ * Stream of {@link Resource} states for one repository request. The request starts when the stream
+ * is first observed and is cancelled when the last observer is removed before it finished, so a
+ * stream observed with a Fragment's view lifecycle owner stops its network call when the view is
+ * destroyed.
+ *
+ * <p>Each stream runs its request once; create a new stream to reload. A stream cancelled before it
+ * finished starts the request again when it is observed again.
+ */
+public final class ResourceLiveData<T> extends LiveData<Resource<T>> {
+    private final Function<ApiCallback<T>, RequestHandle> request;
+    private RequestHandle handle;
+    private boolean finished;
+    // Bumped on every start, so a cancelled request that still calls back is ignored
+    private int generation;
+
+    private ResourceLiveData(Function<ApiCallback<T>, RequestHandle> request) {
+        this.request = request;
+    }
+
+    /**
+     * Wrap any callback-based repository method, e.g. {@code ResourceLiveData.of(callback ->
+     * reviewRepository.getReviewsForUser(userId, callback))}
+     */
+    public static <T> ResourceLiveData<T> of(Function<ApiCallback<T>, RequestHandle> request) {
+        return new ResourceLiveData<>(request);
+    }
+
+    @Override
+    protected void onActive() {
+        if (handle != null) {
+            return;
+        }
+        setValue(Resource.loading());
+        handle = RequestHandle.NONE;
+        int started = ++generation;
+        RequestHandle running =
+                request.apply(
+                        new ApiCallback<T>() {
+                            @Override
+                            public void onCached(T data) {
+                                publish(started, Resource.cached(data));
+                            }
+
+                            @Override
+                            public void onSuccess(T data) {
+                                publish(started, Resource.success(data));
+                            }
+
+                            @Override
+                            public void onError(String errorMessage) {
+                                Resource<T> current = getValue();
+                                publish(
+                                        started,
+                                        Resource.error(
+                                                errorMessage,
+                                                current != null ? current.getData() : null));
+                            }
+                        });
+        if (running != null && started == generation && handle == RequestHandle.NONE) {
+            handle = running;
+        }
+    }
+
+    @Override
+    public void removeObserver(@NonNull Observer<? super Resource<T>> observer) {
+        super.removeObserver(observer);
+        if (!hasObservers()) {
+            cancel();
+        }
+    }
+
+    /** Cancel the request if it is still running; observing the stream again restarts it */
+    public void cancel() {
+        if (handle != null && !finished) {
+            RequestHandle running = handle;
+            handle = null;
+            generation++;
+            running.cancel();
+        }
+    }
+
+    private void publish(int started, Resource<T> resource) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            new Handler(Looper.getMainLooper()).post(() -> publish(started, resource));
+            return;
+        }
+        if (started != generation) {
+            return;
+        }
+        finished = resource.isFinal();
+        setValue(resource);
+    }
+}
@@ -0,0 +1,73 @@
+package com.gege.activityfindermobile.data.upload;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.Okio;
+
+/**
+ * Wraps a request body and reports how many bytes have been written. The body is one-shot, so
+ * OkHttp never silently sends it again after a failure; UploadQueue decides what to retry.
+ */
+final class ProgressRequestBody extends RequestBody {
+    interface ProgressListener {
+        void onProgress(long bytesSent, long totalBytes);
+    }
+
+    private static final long REPORT_EVERY_BYTES = 64 * 1024;
+
+    private final RequestBody delegate;
+    private final ProgressListener listener;
+
+    ProgressRequestBody(RequestBody delegate, ProgressListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return delegate.contentType();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return delegate.contentLength();
+    }
+
+    @Override
+    public boolean isOneShot() {
+        return true;
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        long total = contentLength();
+        listener.onProgress(0, total);
+        BufferedSink counting =
+                Okio.buffer(
+                        new ForwardingSink(sink) {
+                            private long sent;
+                            private long reported;
+
+                            @Override
+                            public void write(@NonNull Buffer source, long byteCount)
+                                    throws IOException {
+                                super.write(source, byteCount);
+                                sent += byteCount;
+                                if (sent - reported >= REPORT_EVERY_BYTES || sent == total) {
+                                    reported = sent;
+                                    listener.onProgress(sent, total);
+                                }
+                            }
+                        });
+        delegate.writeTo(counting);
+        // Push what is left through without closing the connection's sink
+        counting.emit();
+    }
+}
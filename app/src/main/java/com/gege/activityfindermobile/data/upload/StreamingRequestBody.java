@@ -0,0 +1,96 @@
+package com.gege.activityfindermobile.data.upload;
+
+import android.content.ContentResolver;
+import android.content.res.AssetFileDescriptor;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+/**
+ * Request body that streams a file or content URI straight into the connection in large chunks,
+ * without staging a copy. The source is reopened on every write, so retried requests work.
+ */
+public final class StreamingRequestBody extends RequestBody {
+    private interface Opener {
+        InputStream open() throws IOException;
+    }
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final MediaType contentType;
+    private final long contentLength;
+    private final Opener opener;
+
+    private StreamingRequestBody(MediaType contentType, long contentLength, Opener opener) {
+        this.contentType = contentType;
+        this.contentLength = contentLength;
+        this.opener = opener;
+    }
+
+    /** Stream a file; the length is known up front */
+    public static StreamingRequestBody fromFile(File file, MediaType contentType) {
+        return new StreamingRequestBody(
+                contentType, file.length(), () -> new FileInputStream(file));
+    }
+
+    /**
+     * Stream a content URI from its file descriptor. The length comes from the descriptor when the
+     * provider knows it, otherwise the body is sent chunked. Opens the URI, so call it off the
+     * main thread.
+     */
+    public static StreamingRequestBody fromUri(
+            ContentResolver resolver, Uri uri, MediaType contentType) throws IOException {
+        long length;
+        try (AssetFileDescriptor descriptor = open(resolver, uri)) {
+            length = descriptor.getLength();
+            if (length == AssetFileDescriptor.UNKNOWN_LENGTH) {
+                // Pipes and sockets report -1 here as well
+                ParcelFileDescriptor parcel = descriptor.getParcelFileDescriptor();
+                length = parcel.getStatSize();
+            }
+        }
+        return new StreamingRequestBody(
+                contentType, length, () -> open(resolver, uri).createInputStream());
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void writeTo(@NonNull BufferedSink sink) throws IOException {
+        byte[] chunk = new byte[CHUNK_BYTES];
+        try (InputStream in = opener.open()) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                sink.write(chunk, 0, read);
+            }
+        }
+    }
+
+    private static AssetFileDescriptor open(ContentResolver resolver, Uri uri)
+            throws IOException {
+        AssetFileDescriptor descriptor = resolver.openAssetFileDescriptor(uri, "r");
+        if (descriptor == null) {
+            throw new FileNotFoundException("Cannot open " + uri);
+        }
+        return descriptor;
+    }
+}
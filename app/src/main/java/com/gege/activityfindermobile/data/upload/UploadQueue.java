@@ -0,0 +1,423 @@
+package com.gege.activityfindermobile.data.upload;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.gege.activityfindermobile.data.api.ActivityPhotoApiService;
+import com.gege.activityfindermobile.data.api.UserPhotoApiService;
+import com.gege.activityfindermobile.data.local.dao.UploadDao;
+import com.gege.activityfindermobile.data.local.entity.PendingUploadEntity;
+import com.gege.activityfindermobile.data.upload.UploadStatus.Kind;
+import com.gege.activityfindermobile.data.upload.UploadStatus.State;
+import com.gege.activityfindermobile.di.ConnectivityMonitor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Persistent queue that uploads photos one request per photo, at most {@link #MAX_CONCURRENT} at a
+ * time. Queued photos are moved into app storage and recorded in the database, so uploads carry on
+ * after the screen that started them is gone and resume after the process is killed. Network errors
+ * before a photo is fully sent and 408, 429 and 5xx responses are retried with exponential backoff
+ * and jitter, and nothing is attempted while the device is offline; other errors fail the photo at
+ * once. The upload endpoints take no idempotency key, so a photo whose response was lost after it
+ * was sent is not retried, as the server may already have stored it.
+ *
+ * <p>Queue state is only touched on the queue's own thread. Listeners are called on the main
+ * thread.
+ */
+@Singleton
+public class UploadQueue {
+    private static final String TAG = "UploadQueue";
+    private static final String QUEUE_DIR = "upload_queue";
+    private static final MediaType JPEG = MediaType.parse("image/jpeg");
+
+    /** Matches the dispatcher limit of the upload client profile */
+    static final int MAX_CONCURRENT = 2;
+
+    static final int MAX_ATTEMPTS = 8;
+    static final long BASE_BACKOFF_MS = 2000;
+    static final long MAX_BACKOFF_MS = 5 * 60 * 1000;
+
+    /** Receives every change of every upload on the main thread */
+    public interface Listener {
+        void onUploadChanged(UploadStatus status);
+    }
+
+    private final UploadDao uploadDao;
+    private final ActivityPhotoApiService activityPhotoApiService;
+    private final UserPhotoApiService userPhotoApiService;
+    private final ConnectivityMonitor connectivityMonitor;
+    private final File queueDir;
+
+    private final ScheduledExecutorService queueExecutor =
+            Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService uploadExecutor = Executors.newFixedThreadPool(MAX_CONCURRENT);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Latest status of every unfinished upload, replayed to new listeners */
+    private final Map<Long, UploadStatus> latest = new ConcurrentHashMap<>();
+
+    // Queue thread only
+    private final Map<Long, Call<?>> running = new HashMap<>();
+    private ScheduledFuture<?> wakeUp;
+    private boolean waitingForNetwork;
+
+    @Inject
+    public UploadQueue(
+            @ApplicationContext Context context,
+            UploadDao uploadDao,
+            ActivityPhotoApiService activityPhotoApiService,
+            UserPhotoApiService userPhotoApiService,
+            ConnectivityMonitor connectivityMonitor) {
+        this.uploadDao = uploadDao;
+        this.activityPhotoApiService = activityPhotoApiService;
+        this.userPhotoApiService = userPhotoApiService;
+        this.connectivityMonitor = connectivityMonitor;
+        this.queueDir = new File(context.getFilesDir(), QUEUE_DIR);
+    }
+
+    /** Pick up uploads left over from a previous process; call once at startup */
+    public void resume() {
+        queueExecutor.execute(
+                () -> {
+                    uploadDao.requeue(State.UPLOADING.name(), State.QUEUED.name());
+                    Set<String> queuedFiles = new HashSet<>();
+                    for (PendingUploadEntity upload : uploadDao.getAll()) {
+                        queuedFiles.add(upload.filePath);
+                        publish(status(upload, State.QUEUED, null));
+                    }
+                    deleteOrphans(queuedFiles);
+                    pump();
+                });
+    }
+
+    /** Queue photos for an activity gallery. The queue takes ownership of the files. */
+    public void enqueueActivityPhotos(Long activityId, List<File> files) {
+        queueExecutor.execute(
+                () -> {
+                    for (File file : files) {
+                        add(Kind.ACTIVITY_PHOTO, activityId, file);
+                    }
+                    pump();
+                });
+    }
+
+    /** Queue a photo for the current user's gallery. The queue takes ownership of the file. */
+    public void enqueueUserPhoto(File file) {
+        queueExecutor.execute(
+                () -> {
+                    add(Kind.USER_PHOTO, null, file);
+                    pump();
+                });
+    }
+
+    /** Stop and drop every upload, e.g. on logout; safe to call from any thread */
+    public void clear() {
+        queueExecutor.execute(
+                () -> {
+                    for (Call<?> call : running.values()) {
+                        call.cancel();
+                    }
+                    running.clear();
+                    uploadDao.deleteAll();
+                    latest.clear();
+                    File[] files = queueDir.listFiles();
+                    if (files != null) {
+                        for (File file : files) {
+                            file.delete();
+                        }
+                    }
+                });
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Listen until the owner is destroyed, normally a Fragment's view lifecycle owner. The listener
+     * first receives the current status of every unfinished upload. Call on the main thread.
+     */
+    public void observe(LifecycleOwner owner, Listener listener) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+        listeners.add(listener);
+        lifecycle.addObserver(
+                (LifecycleEventObserver)
+                        (source, event) -> {
+                            if (event == Lifecycle.Event.ON_DESTROY) {
+                                listeners.remove(listener);
+                            }
+                        });
+        for (UploadStatus status : latest.values()) {
+            listener.onUploadChanged(status);
+        }
+    }
+
+    private void add(Kind kind, Long targetId, File file) {
+        File owned;
+        try {
+            owned = adopt(file);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to queue " + file, e);
+            return;
+        }
+        PendingUploadEntity upload =
+                new PendingUploadEntity(
+                        kind.name(), targetId, owned.getAbsolutePath(), State.QUEUED.name());
+        upload.id = uploadDao.insert(upload);
+        publish(status(upload, State.QUEUED, null));
+    }
+
+    /**
+     * Delete queue files without a row, left behind when the process died between adopting a file
+     * and recording it or between finishing an upload and deleting its file
+     */
+    private void deleteOrphans(Set<String> queuedFiles) {
+        File[] files = queueDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!queuedFiles.contains(file.getAbsolutePath()) && file.delete()) {
+                Log.d(TAG, "Deleted orphaned upload file " + file.getName());
+            }
+        }
+    }
+
+    /** Move a file into the queue directory, where the system will not clear it like the cache */
+    private File adopt(File file) throws IOException {
+        if (!queueDir.isDirectory() && !queueDir.mkdirs()) {
+            throw new IOException("Cannot create " + queueDir);
+        }
+        File owned = File.createTempFile("upload_", "_" + file.getName(), queueDir);
+        if (!file.renameTo(owned)) {
+            Files.copy(file.toPath(), owned.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            file.delete();
+        }
+        return owned;
+    }
+
+    /** Start as many due uploads as the limit allows and schedule a wake-up for the rest */
+    private void pump() {
+        if (running.size() >= MAX_CONCURRENT) {
+            return;
+        }
+        if (!connectivityMonitor.isOnline()) {
+            if (!waitingForNetwork) {
+                waitingForNetwork = true;
+                connectivityMonitor.runWhenOnline(
+                        () ->
+                                queueExecutor.execute(
+                                        () -> {
+                                            waitingForNetwork = false;
+                                            pump();
+                                        }));
+            }
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long nextAttemptAt = Long.MAX_VALUE;
+        for (PendingUploadEntity upload : uploadDao.getAll()) {
+            if (running.size() >= MAX_CONCURRENT) {
+                return;
+            }
+            if (!State.QUEUED.name().equals(upload.state) || running.containsKey(upload.id)) {
+                continue;
+            }
+            if (upload.nextAttemptAt > now) {
+                nextAttemptAt = Math.min(nextAttemptAt, upload.nextAttemptAt);
+                continue;
+            }
+            start(upload);
+        }
+        if (nextAttemptAt != Long.MAX_VALUE) {
+            if (wakeUp != null) {
+                wakeUp.cancel(false);
+            }
+            wakeUp = queueExecutor.schedule(this::pump, nextAttemptAt - now, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void start(PendingUploadEntity upload) {
+        File file = new File(upload.filePath);
+        if (!file.isFile()) {
+            finish(upload, "Photo file is missing");
+            return;
+        }
+        upload.state = State.UPLOADING.name();
+        upload.attempts++;
+        uploadDao.update(upload);
+        UploadStatus uploading = status(upload, State.UPLOADING, null);
+        publish(uploading);
+
+        AtomicBoolean photoSent = new AtomicBoolean();
+        ProgressRequestBody body =
+                new ProgressRequestBody(
+                        StreamingRequestBody.fromFile(file, JPEG),
+                        (bytesSent, totalBytes) -> {
+                            if (bytesSent == totalBytes) {
+                                photoSent.set(true);
+                            }
+                            publish(uploading.withProgress(bytesSent, totalBytes));
+                        });
+        Call<?> call;
+        if (Kind.valueOf(upload.kind) == Kind.ACTIVITY_PHOTO) {
+            call =
+                    activityPhotoApiService.uploadPhotos(
+                            upload.targetId,
+                            Collections.singletonList(
+                                    MultipartBody.Part.createFormData(
+                                            "files", file.getName(), body)));
+        } else {
+            call =
+                    userPhotoApiService.uploadPhoto(
+                            MultipartBody.Part.createFormData("file", file.getName(), body));
+        }
+        running.put(upload.id, call);
+        uploadExecutor.execute(
+                () -> {
+                    Response<?> response = null;
+                    IOException error = null;
+                    try {
+                        response = call.execute();
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                    Response<?> result = response;
+                    IOException failure = error;
+                    queueExecutor.execute(
+                            () -> onAttemptDone(upload, call, result, failure, photoSent.get()));
+                });
+    }
+
+    private void onAttemptDone(
+            PendingUploadEntity upload,
+            Call<?> call,
+            Response<?> response,
+            IOException error,
+            boolean photoSent) {
+        if (running.remove(upload.id) != call) {
+            // Dropped by clear() while running
+            return;
+        }
+        if (response != null && response.isSuccessful()) {
+            Log.d(TAG, "Uploaded " + upload.kind + " " + upload.id);
+            finish(upload, null);
+        } else {
+            String message;
+            if (response != null) {
+                message = "Failed to upload photo: " + response.code();
+            } else if (photoSent) {
+                message = "Network error after sending photo: " + error.getMessage();
+            } else {
+                message = "Network error: " + error.getMessage();
+            }
+            if (isTransient(response, photoSent) && upload.attempts < MAX_ATTEMPTS) {
+                long delay = backoffMillis(upload.attempts);
+                Log.w(TAG, message + ", retrying " + upload.id + " in " + delay + " ms");
+                upload.state = State.QUEUED.name();
+                upload.nextAttemptAt = System.currentTimeMillis() + delay;
+                uploadDao.update(upload);
+                publish(status(upload, State.QUEUED, message));
+            } else {
+                Log.e(TAG, message + ", giving up on " + upload.id);
+                finish(upload, message);
+            }
+        }
+        pump();
+    }
+
+    /** Remove a finished upload and its file; a null error means it succeeded */
+    private void finish(PendingUploadEntity upload, String error) {
+        UploadStatus status = status(upload, error == null ? State.SUCCEEDED : State.FAILED, error);
+        uploadDao.delete(upload.id);
+        new File(upload.filePath).delete();
+        publish(status);
+    }
+
+    private void publish(UploadStatus status) {
+        if (status.isFinal()) {
+            latest.remove(status.getId());
+        } else {
+            latest.put(status.getId(), status);
+        }
+        mainHandler.post(
+                () -> {
+                    for (Listener listener : listeners) {
+                        listener.onUploadChanged(status);
+                    }
+                });
+    }
+
+    private static UploadStatus status(PendingUploadEntity upload, State state, String error) {
+        long size = new File(upload.filePath).length();
+        return new UploadStatus(
+                upload.id,
+                Kind.valueOf(upload.kind),
+                upload.targetId,
+                state,
+                state == State.SUCCEEDED ? size : 0,
+                size,
+                upload.attempts,
+                error);
+    }
+
+    /**
+     * No response to a request whose photo was not fully sent, so the server cannot have stored it,
+     * or a response the server may answer differently next time
+     */
+    private static boolean isTransient(Response<?> response, boolean photoSent) {
+        if (response == null) {
+            return !photoSent;
+        }
+        int code = response.code();
+        return code == 408 || code == 429 || code >= 500;
+    }
+
+    /** Delay before the given retry (1-based): half fixed, half random, doubling up to a cap */
+    static long backoffMillis(int retry) {
+        long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << Math.min(retry - 1, 16));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+}
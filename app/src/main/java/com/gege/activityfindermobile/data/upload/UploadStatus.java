@@ -0,0 +1,103 @@
+package com.gege.activityfindermobile.data.upload;
+
+/** Snapshot of one photo in the {@link UploadQueue} */
+public final class UploadStatus {
+    public enum Kind {
+        /** Photo for an activity gallery; the target id is the activity */
+        ACTIVITY_PHOTO,
+        /** Photo for the current user's profile gallery */
+        USER_PHOTO
+    }
+
+    public enum State {
+        QUEUED,
+        UPLOADING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private final long id;
+    private final Kind kind;
+    private final Long targetId;
+    private final State state;
+    private final long bytesSent;
+    private final long totalBytes;
+    private final int attempts;
+    private final String error;
+
+    UploadStatus(
+            long id,
+            Kind kind,
+            Long targetId,
+            State state,
+            long bytesSent,
+            long totalBytes,
+            int attempts,
+            String error) {
+        this.id = id;
+        this.kind = kind;
+        this.targetId = targetId;
+        this.state = state;
+        this.bytesSent = bytesSent;
+        this.totalBytes = totalBytes;
+        this.attempts = attempts;
+        this.error = error;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /** Progress of the current attempt, 0 to 100 */
+    public int getProgressPercent() {
+        if (state == State.SUCCEEDED) {
+            return 100;
+        }
+        return totalBytes <= 0 ? 0 : (int) (bytesSent * 100 / totalBytes);
+    }
+
+    /** Attempts started so far, including the current one */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /** Why the last attempt failed, or null */
+    public String getError() {
+        return error;
+    }
+
+    /** True once the upload has succeeded or been given up */
+    public boolean isFinal() {
+        return state == State.SUCCEEDED || state == State.FAILED;
+    }
+
+    /** True if this upload goes to the given activity's gallery */
+    public boolean isForActivity(Long activityId) {
+        return kind == Kind.ACTIVITY_PHOTO && targetId != null && targetId.equals(activityId);
+    }
+
+    UploadStatus withProgress(long bytesSent, long totalBytes) {
+        return new UploadStatus(
+                id, kind, targetId, state, bytesSent, totalBytes, attempts, error);
+    }
+}
@@ -0,0 +1,101 @@
+package com.gege.activityfindermobile.di;
+
+import com.gege.activityfindermobile.di.RoutePolicy.ClientProfile;
+
+/**
+ * Route policy table for the backend API, compiled once. Interceptors look up the request path
+ * here instead of matching path literals themselves; adding an endpoint with special behaviour
+ * means adding a line below.
+ */
+public final class ApiRoutes {
+
+    private static final int ONE_MINUTE = 60;
+    private static final int ONE_DAY = 24 * 60 * 60;
+
+    private static final RoutePolicy PUBLIC = RoutePolicy.DEFAULT.withoutAuth();
+    private static final RoutePolicy UPLOAD =
+            RoutePolicy.DEFAULT.withClientProfile(ClientProfile.UPLOAD).withoutRetry();
+    private static final RoutePolicy BACKGROUND =
+            RoutePolicy.DEFAULT.withClientProfile(ClientProfile.BACKGROUND);
+
+    private static final RouteTable TABLE =
+            new RouteTable.Builder(RoutePolicy.DEFAULT)
+                    // Session endpoints run before a token exists
+                    .route("/api/users/login/**", PUBLIC)
+                    .route("/api/users/register/**", PUBLIC)
+                    .route("/api/users/refresh-token/**", PUBLIC.withoutRetry())
+                    .route("/api/auth/login/**", PUBLIC)
+                    .route("/api/auth/register/**", PUBLIC)
+                    // Reference data changes rarely
+                    .route("/api/categories/**", PUBLIC.withMaxAge(ONE_DAY))
+                    .route("/api/covers/**", RoutePolicy.DEFAULT.withMaxAge(ONE_DAY))
+                    // Feeds are refreshed often but tolerate a short reuse window
+                    .route("/api/activities/trending", RoutePolicy.DEFAULT.withMaxAge(30))
+                    .route("/api/activities/nearby/**", RoutePolicy.DEFAULT.withMaxAge(30))
+                    .route("/api/users/{id}", RoutePolicy.DEFAULT.withMaxAge(ONE_MINUTE))
+                    // Multipart uploads
+                    .route("/api/covers/v2/upload", UPLOAD)
+                    .route("/api/users/{id}/profile-image", UPLOAD)
+                    .route("/api/users/photos/upload", UPLOAD)
+                    .route("/api/activities/{id}/gallery/upload", UPLOAD)
+                    // Badge polling and reporting must not delay what the user is waiting for
+                    .route("/api/notifications/unread/count", BACKGROUND)
+                    .route("/api/notifications/device-token", BACKGROUND)
+                    .route("/api/crash-logs", BACKGROUND)
+                    .build();
+
+    private ApiRoutes() {}
+
+    /**
+     * Get the policy for a request
+     *
+     * @param path Encoded URL path, e.g. "/api/activities/trending"
+     * @return Policy of the most specific matching route
+     */
+    public static RoutePolicy lookup(String path) {
+        return TABLE.lookup(path);
+    }
+
+    /**
+     * Key that groups requests to the same endpoint in metrics
+     *
+     * @return Method and path with numeric segments folded into "{id}" and file names into
+     *     "{file}", e.g. "GET /api/users/{id}"
+     */
+    public static String endpointKey(String method, String path) {
+        StringBuilder key = new StringBuilder(method.length() + 1 + path.length());
+        key.append(method).append(' ');
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (isNumber(path, start, end)) {
+                key.append("{id}");
+            } else if (path.lastIndexOf('.', end - 1) >= start) {
+                // Image downloads, one key per file would grow the metrics without bound
+                key.append("{file}");
+            } else {
+                key.append(path, start, end);
+            }
+            if (end < path.length()) {
+                key.append('/');
+            }
+            start = end + 1;
+        }
+        return key.toString();
+    }
+
+    private static boolean isNumber(String path, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!Character.isDigit(path.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
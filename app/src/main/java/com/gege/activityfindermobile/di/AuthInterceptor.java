@@ -4,10 +4,9 @@ import android.content.Context;
 import android.content.Intent;
 import android.util.Log;
 
-import com.gege.activityfindermobile.data.api.UserApiService;
-import com.gege.activityfindermobile.data.dto.LoginResponse;
-import com.gege.activityfindermobile.data.dto.RefreshTokenRequest;
+import com.gege.activityfindermobile.data.cache.SessionCacheCleaner;
 import com.gege.activityfindermobile.ui.main.MainActivity;
+import com.gege.activityfindermobile.utils.CredentialStore;
 import com.gege.activityfindermobile.utils.SharedPreferencesManager;
 
 import java.io.IOException;
@@ -19,21 +18,30 @@ import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
 
-/** OkHttp Interceptor that adds JWT Bearer token to all API requests and handles auth errors */
+/**
+ * OkHttp Interceptor that adds JWT Bearer token to all API requests and handles auth errors.
+ * Tokens close to expiry are refreshed before the request is sent.
+ */
 public class AuthInterceptor implements Interceptor {
     private static final String TAG = "AuthInterceptor";
     private final SharedPreferencesManager prefsManager;
+    private final CredentialStore credentialStore;
     private final Context context;
-    private final dagger.Lazy<UserApiService> userApiServiceLazy;
+    private final TokenRefresher tokenRefresher;
+    private final SessionCacheCleaner sessionCacheCleaner;
 
     @Inject
     public AuthInterceptor(
             SharedPreferencesManager prefsManager,
+            CredentialStore credentialStore,
             @ApplicationContext Context context,
-            dagger.Lazy<UserApiService> userApiServiceLazy) {
+            TokenRefresher tokenRefresher,
+            SessionCacheCleaner sessionCacheCleaner) {
         this.prefsManager = prefsManager;
+        this.credentialStore = credentialStore;
         this.context = context;
-        this.userApiServiceLazy = userApiServiceLazy;
+        this.tokenRefresher = tokenRefresher;
+        this.sessionCacheCleaner = sessionCacheCleaner;
     }
 
     @Override
@@ -42,91 +50,77 @@ public class AuthInterceptor implements Interceptor {
 
         // Skip auth header for public endpoints
         String path = originalRequest.url().encodedPath();
-        if (path.contains("/api/users/login")
-                || path.contains("/api/users/register")
-                || path.contains("/api/auth/login")
-                || path.contains("/api/auth/register")
-                || path.contains("/api/users/refresh-token")
-                || path.contains("/api/categories")) {
+        if (!ApiRoutes.lookup(path).isAuthRequired()) {
             return chain.proceed(originalRequest);
         }
 
-        // Get token from SharedPreferences
-        String token = prefsManager.getUserToken();
+        // Tokens are kept in memory, no SharedPreferences read per request
+        CredentialStore.Credentials credentials = credentialStore.get();
+        String token = credentials.getAccessToken();
 
         // If no token available, proceed without Authorization header
         if (token == null || token.isEmpty()) {
             return chain.proceed(originalRequest);
         }
 
+        String authorization = credentials.getAuthorizationHeader();
+
+        // Refresh ahead of expiry instead of paying for a rejected round trip first
+        if (tokenRefresher.isExpiringSoon(credentials)) {
+            String refreshedToken = tokenRefresher.refreshAhead(token);
+            if (refreshedToken != null) {
+                token = refreshedToken;
+                authorization = "Bearer " + refreshedToken;
+            }
+        }
+
         // Add Authorization header with Bearer token
         Request authenticatedRequest =
-                originalRequest.newBuilder().header("Authorization", "Bearer " + token).build();
-
+                originalRequest.newBuilder().header("Authorization", authorization).build();
         Response response = chain.proceed(authenticatedRequest);
 
         // Handle 401 Unauthorized or 403 Forbidden - try to refresh token
         if (response.code() == 401 || response.code() == 403) {
             Log.w(TAG, "Received " + response.code() + " - Attempting to refresh token");
-
-            synchronized (this) {
-                // Close the failed response
-                response.close();
-
-                // Try to refresh the token
-                String refreshToken = prefsManager.getRefreshToken();
-                if (refreshToken != null && !refreshToken.isEmpty()) {
-                    try {
-                        // Get the UserApiService lazily to avoid circular dependency
-                        UserApiService userApiService = userApiServiceLazy.get();
-
-                        // Call refresh token endpoint with request body
-                        RefreshTokenRequest refreshRequest = new RefreshTokenRequest(refreshToken);
-                        retrofit2.Response<LoginResponse> refreshResponse =
-                                userApiService.refreshToken(refreshRequest).execute();
-
-                        if (refreshResponse.isSuccessful() && refreshResponse.body() != null) {
-                            LoginResponse loginResponse = refreshResponse.body();
-                            Log.i(TAG, "Token refreshed successfully");
-
-                            // Save new tokens
-                            prefsManager.saveUserToken(loginResponse.getAccessToken());
-                            if (loginResponse.getRefreshToken() != null) {
-                                prefsManager.saveRefreshToken(loginResponse.getRefreshToken());
-                            }
-
-                            // Retry the original request with new token
-                            Request newRequest =
-                                    originalRequest
-                                            .newBuilder()
-                                            .header(
-                                                    "Authorization",
-                                                    "Bearer " + loginResponse.getAccessToken())
-                                            .build();
-                            return chain.proceed(newRequest);
-                        } else {
-                            Log.e(TAG, "Token refresh failed: " + refreshResponse.code());
-                        }
-                    } catch (IOException e) {
-                        Log.e(TAG, "Error refreshing token", e);
-                    }
-                }
-
-                // If refresh failed or no refresh token, log out
-                Log.w(TAG, "Token refresh failed, logging out user");
-                prefsManager.clearUserData();
-
-                // Restart MainActivity which will redirect to LoginFragment since user is logged
-                // out
-                Intent intent = new Intent(context, MainActivity.class);
-                intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
-                context.startActivity(intent);
-
-                // Return the original failed response
-                return response;
+            response.close();
+
+            // Concurrent failures share one refresh, or reuse a token another request rotated
+            String newToken = tokenRefresher.refresh(token);
+            if (newToken != null) {
+                // Retry the original request with new token
+                return chain.proceed(
+                        originalRequest
+                                .newBuilder()
+                                .header("Authorization", "Bearer " + newToken)
+                                .build());
             }
+
+            logOut(token);
+
+            // Return the original failed response
+            return response;
         }
 
         return response;
     }
+
+    /** Log out once per session, even when several requests fail together */
+    private void logOut(String staleToken) {
+        synchronized (this) {
+            if (!staleToken.equals(credentialStore.getAccessToken())) {
+                // Already logged out, or a new session started meanwhile
+                return;
+            }
+
+            // If refresh failed or no refresh token, log out
+            Log.w(TAG, "Token refresh failed, logging out user");
+            prefsManager.clearUserData();
+            sessionCacheCleaner.clearAll();
+        }
+
+        // Restart MainActivity which will redirect to LoginFragment since user is logged out
+        Intent intent = new Intent(context, MainActivity.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        context.startActivity(intent);
+    }
 }
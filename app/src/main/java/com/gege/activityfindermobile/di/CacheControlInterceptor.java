@@ -0,0 +1,36 @@
+package com.gege.activityfindermobile.di;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that applies {@link HttpCachePolicy} freshness to successful GET responses
+ * so the OkHttp cache can reuse them. Validators (ETag, Last-Modified) from the server are kept,
+ * which lets OkHttp revalidate with If-None-Match / If-Modified-Since once the response is stale.
+ */
+public class CacheControlInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method()) || !response.isSuccessful()) {
+            return response;
+        }
+
+        int maxAge = HttpCachePolicy.maxAgeSeconds(request.url().encodedPath());
+        if (maxAge < 0) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .header("Cache-Control", "private, max-age=" + maxAge)
+                .build();
+    }
+}
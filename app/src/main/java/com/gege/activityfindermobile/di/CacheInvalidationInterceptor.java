@@ -0,0 +1,50 @@
+package com.gege.activityfindermobile.di;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that evicts cached GET responses made stale by a successful write: the
+ * written resource and the resource it belongs to. A PUT to /api/users/5 or a POST to
+ * /api/users/5/profile-image both evict GET /api/users/5. Only paths with a client-side max age are
+ * looked up, so writes to uncached resources never touch the cache.
+ */
+public class CacheInvalidationInterceptor implements Interceptor {
+    private final HttpCacheManager httpCacheManager;
+
+    public CacheInvalidationInterceptor(HttpCacheManager httpCacheManager) {
+        this.httpCacheManager = httpCacheManager;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        if ("GET".equals(request.method()) || !response.isSuccessful()) {
+            return response;
+        }
+
+        String path = request.url().encodedPath();
+        Set<String> stale = new HashSet<>();
+        addIfCached(stale, path);
+        int parentEnd = path.lastIndexOf('/');
+        if (parentEnd > 0) {
+            addIfCached(stale, path.substring(0, parentEnd));
+        }
+        if (!stale.isEmpty()) {
+            httpCacheManager.evict(stale);
+        }
+        return response;
+    }
+
+    private static void addIfCached(Set<String> paths, String path) {
+        if (HttpCachePolicy.maxAgeSeconds(path) >= 0) {
+            paths.add(path);
+        }
+    }
+}
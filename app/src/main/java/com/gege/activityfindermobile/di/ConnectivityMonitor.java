@@ -0,0 +1,96 @@
+package com.gege.activityfindermobile.di;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import dagger.hilt.android.qualifiers.ApplicationContext;
+
+/** Tracks whether the device has a usable network and runs deferred work when it comes back */
+@Singleton
+public class ConnectivityMonitor {
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<Runnable> pendingUntilOnline = new ArrayList<>();
+    private volatile boolean online = true;
+
+    @Inject
+    public ConnectivityMonitor(@ApplicationContext Context context) {
+        ConnectivityManager connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager == null) {
+            return;
+        }
+        online = connectivityManager.getActiveNetwork() != null;
+        connectivityManager.registerDefaultNetworkCallback(
+                new ConnectivityManager.NetworkCallback() {
+                    @Override
+                    public void onAvailable(@NonNull Network network) {
+                        // Samples from the previous network say nothing about this one
+                        NetworkQualityEstimator.getInstance().reset();
+                    }
+
+                    @Override
+                    public void onCapabilitiesChanged(
+                            @NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+                        setOnline(
+                                capabilities.hasCapability(
+                                        NetworkCapabilities.NET_CAPABILITY_INTERNET));
+                    }
+
+                    @Override
+                    public void onLost(@NonNull Network network) {
+                        setOnline(false);
+                    }
+                });
+    }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    /**
+     * Run an action on the main thread as soon as the device is online
+     *
+     * @return Handle that drops the action if it has not run yet
+     */
+    public Runnable runWhenOnline(Runnable action) {
+        synchronized (pendingUntilOnline) {
+            if (!online) {
+                pendingUntilOnline.add(action);
+                return () -> {
+                    synchronized (pendingUntilOnline) {
+                        pendingUntilOnline.remove(action);
+                    }
+                };
+            }
+        }
+        mainHandler.post(action);
+        return () -> mainHandler.removeCallbacks(action);
+    }
+
+    private void setOnline(boolean isOnline) {
+        List<Runnable> ready;
+        synchronized (pendingUntilOnline) {
+            online = isOnline;
+            if (!isOnline || pendingUntilOnline.isEmpty()) {
+                return;
+            }
+            ready = new ArrayList<>(pendingUntilOnline);
+            pendingUntilOnline.clear();
+        }
+        for (Runnable action : ready) {
+            mainHandler.post(action);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.gege.activityfindermobile.di;
+
+import android.content.Context;
+
+import androidx.room.Room;
+
+import com.gege.activityfindermobile.data.local.AppDatabase;
+import com.gege.activityfindermobile.data.local.UploadDatabase;
+import com.gege.activityfindermobile.data.local.dao.ActivityDao;
+import com.gege.activityfindermobile.data.local.dao.UploadDao;
+
+import javax.inject.Singleton;
+
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import dagger.hilt.components.SingletonComponent;
+
+@Module
+@InstallIn(SingletonComponent.class)
+public class DatabaseModule {
+
+    @Provides
+    @Singleton
+    public AppDatabase provideAppDatabase(@ApplicationContext Context context) {
+        // The database only holds a cache of server data, so a schema change can simply rebuild it
+        return Room.databaseBuilder(context, AppDatabase.class, AppDatabase.DATABASE_NAME)
+                .fallbackToDestructiveMigration(true)
+                .build();
+    }
+
+    @Provides
+    public ActivityDao provideActivityDao(AppDatabase database) {
+        return database.activityDao();
+    }
+
+    @Provides
+    @Singleton
+    public UploadDatabase provideUploadDatabase(@ApplicationContext Context context) {
+        // No destructive fallback: losing this database would drop photos the user queued
+        return Room.databaseBuilder(context, UploadDatabase.class, UploadDatabase.DATABASE_NAME)
+                .build();
+    }
+
+    @Provides
+    public UploadDao provideUploadDao(UploadDatabase database) {
+        return database.uploadDao();
+    }
+}
@@ -0,0 +1,54 @@
+package com.gege.activityfindermobile.di;
+
+import androidx.annotation.NonNull;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Wraps a converter factory to record how long response bodies take to convert, attributed to the
+ * endpoint in {@link NetworkMetrics}. Request converters are passed through unchanged.
+ */
+public final class DecodeTimingConverterFactory extends Converter.Factory {
+    private final Converter.Factory delegate;
+
+    public DecodeTimingConverterFactory(Converter.Factory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(
+            @NonNull Type type, @NonNull Annotation[] annotations, @NonNull Retrofit retrofit) {
+        Converter<ResponseBody, ?> converter =
+                delegate.responseBodyConverter(type, annotations, retrofit);
+        if (converter == null) {
+            return null;
+        }
+        return body -> {
+            NetworkMetrics.EndpointStats endpoint = NetworkMetrics.currentEndpoint();
+            long start = System.nanoTime();
+            try {
+                return converter.convert(body);
+            } finally {
+                if (endpoint != null) {
+                    endpoint.recordDecode(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(
+            @NonNull Type type,
+            @NonNull Annotation[] parameterAnnotations,
+            @NonNull Annotation[] methodAnnotations,
+            @NonNull Retrofit retrofit) {
+        return delegate.requestBodyConverter(
+                type, parameterAnnotations, methodAnnotations, retrofit);
+    }
+}
@@ -0,0 +1,112 @@
+package com.gege.activityfindermobile.di;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-bucket histogram that can be recorded into from any thread without locking. Percentiles
+ * are reported as the upper bound of the bucket they fall in, which is precise enough to tell a
+ * 50 ms phase from a 500 ms one.
+ */
+public final class Histogram {
+    /** Bucket upper bounds for durations in milliseconds */
+    static final long[] MILLIS_BOUNDS = {
+        1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000
+    };
+
+    /** Bucket upper bounds for sizes in bytes */
+    static final long[] BYTES_BOUNDS = {
+        256, 1024, 4 * 1024, 16 * 1024, 64 * 1024, 256 * 1024, 1024 * 1024, 4 * 1024 * 1024
+    };
+
+    private final long[] bounds;
+    // One extra bucket for values above the last bound
+    private final AtomicLongArray buckets;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(long[] bounds) {
+        this.bounds = bounds;
+        this.buckets = new AtomicLongArray(bounds.length + 1);
+    }
+
+    void record(long value) {
+        if (value < 0) {
+            return;
+        }
+        int bucket = 0;
+        while (bucket < bounds.length && value > bounds[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        long previous = max.get();
+        while (value > previous && !max.compareAndSet(previous, value)) {
+            previous = max.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    /** Mean of the recorded values, or 0 if there are none */
+    public long getMean() {
+        long n = count.get();
+        return n == 0 ? 0 : sum.get() / n;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Estimate a percentile
+     *
+     * @param percentile Between 0 and 100
+     * @return Upper bound of the bucket holding the percentile, or the maximum for the overflow
+     *     bucket; 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(n * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bounds[i], max.get());
+            }
+        }
+        return max.get();
+    }
+
+    JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("count", getCount());
+        json.put("mean", getMean());
+        json.put("p50", getPercentile(50));
+        json.put("p90", getPercentile(90));
+        json.put("p99", getPercentile(99));
+        json.put("max", getMax());
+        JSONArray counts = new JSONArray();
+        for (int i = 0; i < buckets.length(); i++) {
+            counts.put(buckets.get(i));
+        }
+        JSONArray upperBounds = new JSONArray();
+        for (long bound : bounds) {
+            upperBounds.put(bound);
+        }
+        json.put("bucketUpperBounds", upperBounds);
+        json.put("bucketCounts", counts);
+        return json;
+    }
+}
@@ -0,0 +1,59 @@
+package com.gege.activityfindermobile.di;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Cache;
+import okhttp3.HttpUrl;
+
+/** Owns the OkHttp response cache so it can be wiped when the session ends or a write stales it */
+@Singleton
+public class HttpCacheManager {
+    private static final String TAG = "HttpCacheManager";
+    private final Cache cache;
+
+    @Inject
+    public HttpCacheManager(Cache cache) {
+        this.cache = cache;
+    }
+
+    /** Remove every cached response in the background (responses are user specific) */
+    public void clear() {
+        new Thread(
+                        () -> {
+                            try {
+                                cache.evictAll();
+                            } catch (IOException e) {
+                                Log.e(TAG, "Failed to clear HTTP cache", e);
+                            }
+                        })
+                .start();
+    }
+
+    /**
+     * Remove cached responses for the given paths, whatever their query. Reads the cache index, so
+     * call it off the main thread.
+     *
+     * @param paths Encoded URL paths, e.g. "/api/users/5"
+     */
+    public void evict(Set<String> paths) {
+        try {
+            Iterator<String> urls = cache.urls();
+            while (urls.hasNext()) {
+                HttpUrl url = HttpUrl.parse(urls.next());
+                if (url != null && paths.contains(url.encodedPath())) {
+                    urls.remove();
+                    Log.d(TAG, "Evicted cached " + url.encodedPath());
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to evict cached responses", e);
+        }
+    }
+}
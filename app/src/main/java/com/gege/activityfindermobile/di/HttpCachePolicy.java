@@ -0,0 +1,39 @@
+package com.gege.activityfindermobile.di;
+
+import okhttp3.CacheControl;
+
+/**
+ * Client-side freshness rules for GET endpoints stored in the OkHttp disk cache. The backend marks
+ * most responses as non-cacheable, so the client decides how long a response may be reused before
+ * it is revalidated with the server (ETag / Last-Modified). Per-route freshness is declared in
+ * {@link ApiRoutes}.
+ */
+public final class HttpCachePolicy {
+
+    /** Disk budget for cached HTTP responses */
+    public static final long CACHE_SIZE_BYTES = 20L * 1024 * 1024;
+
+    /** Directory name under the app cache dir */
+    public static final String CACHE_DIR_NAME = "http_cache";
+
+    /** How old a cached response may be when served because the network failed */
+    public static final int MAX_STALE_ON_ERROR_SECONDS = 7 * 24 * 60 * 60;
+
+    /**
+     * Request Cache-Control for an explicit refresh such as swipe-to-refresh. Skips the freshness
+     * window but keeps the validators, so an unchanged response costs a 304.
+     */
+    public static final String FORCE_NETWORK = CacheControl.FORCE_NETWORK.toString();
+
+    private HttpCachePolicy() {}
+
+    /**
+     * Get the max-age for a GET path
+     *
+     * @param path Encoded URL path, e.g. "/api/activities/trending"
+     * @return Seconds the response stays fresh, or -1 to keep the server's cache headers
+     */
+    public static int maxAgeSeconds(String path) {
+        return ApiRoutes.lookup(path).getMaxAgeSeconds();
+    }
+}
@@ -0,0 +1,107 @@
+package com.gege.activityfindermobile.di;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.logging.HttpLoggingInterceptor;
+
+/**
+ * HTTP logging that depends on the build type. Debug builds log full bodies; release builds log
+ * headers of a sample of requests, so bodies are never buffered for logging. Requests that are not
+ * logged go straight to the chain. Credentials are redacted in both modes.
+ */
+public class NetworkLoggingInterceptor implements Interceptor {
+    private static final String TAG = "OkHttp";
+
+    /** In release builds one request out of this many is logged */
+    private static final int RELEASE_SAMPLE_RATE = 20;
+
+    private static final String[] REDACTED_HEADERS = {"Authorization", "Cookie", "Set-Cookie"};
+
+    // Token and password values in JSON bodies, masked like OkHttp masks redacted headers
+    private static final Pattern SECRET_JSON_FIELD =
+            Pattern.compile(
+                    "(\"(?:accessToken|refreshToken|token|password|fcmToken)\""
+                            + "\\s*:\\s*\")[^\"]*\"");
+
+    private final HttpLoggingInterceptor delegate;
+    private final HttpLoggingInterceptor.Logger logger;
+    private final int sampleRate;
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private NetworkLoggingInterceptor(
+            HttpLoggingInterceptor delegate, HttpLoggingInterceptor.Logger logger, int sampleRate) {
+        this.delegate = delegate;
+        this.logger = logger;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Create the interceptor for a build type
+     *
+     * @param debug True for debug builds, see BuildConfig.DEBUG
+     * @return Full body logging for debug, sampled header logging otherwise
+     */
+    public static NetworkLoggingInterceptor create(boolean debug) {
+        return create(debug, message -> Log.d(TAG, message));
+    }
+
+    /**
+     * Create the interceptor for a build type with its own log output
+     *
+     * @param debug True for debug builds, see BuildConfig.DEBUG
+     * @param logger Receives each log line after credentials are redacted
+     * @return Full body logging for debug, sampled header logging otherwise
+     */
+    public static NetworkLoggingInterceptor create(
+            boolean debug, HttpLoggingInterceptor.Logger logger) {
+        if (debug) {
+            return new NetworkLoggingInterceptor(
+                    delegate(logger, HttpLoggingInterceptor.Level.BODY), logger, 1);
+        }
+        return new NetworkLoggingInterceptor(
+                delegate(logger, HttpLoggingInterceptor.Level.HEADERS),
+                logger,
+                RELEASE_SAMPLE_RATE);
+    }
+
+    /**
+     * Same logging without bodies, for responses too large to buffer such as image downloads. The
+     * sample rate is kept.
+     */
+    public NetworkLoggingInterceptor headersOnly() {
+        if (delegate.getLevel() == HttpLoggingInterceptor.Level.HEADERS) {
+            return this;
+        }
+        return new NetworkLoggingInterceptor(
+                delegate(logger, HttpLoggingInterceptor.Level.HEADERS), logger, sampleRate);
+    }
+
+    private static HttpLoggingInterceptor delegate(
+            HttpLoggingInterceptor.Logger logger, HttpLoggingInterceptor.Level level) {
+        HttpLoggingInterceptor logging =
+                new HttpLoggingInterceptor(message -> logger.log(redactSecrets(message)));
+        for (String header : REDACTED_HEADERS) {
+            logging.redactHeader(header);
+        }
+        logging.setLevel(level);
+        return logging;
+    }
+
+    private static String redactSecrets(String message) {
+        return SECRET_JSON_FIELD.matcher(message).replaceAll("$1██\"");
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (sampleRate > 1 && requestCount.getAndIncrement() % sampleRate != 0) {
+            return chain.proceed(chain.request());
+        }
+        return delegate.intercept(chain);
+    }
+}
@@ -0,0 +1,374 @@
+package com.gege.activityfindermobile.di;
+
+import androidx.annotation.NonNull;
+
+import com.gege.activityfindermobile.data.repository.RequestSavings;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Per-endpoint timing of HTTP calls: DNS, connect, TLS, time to first byte, body download, JSON
+ * decode and total call time, plus bytes sent and received and status codes. Fed by an OkHttp event
+ * listener on the shared client and by {@link DecodeTimingConverterFactory}; the same samples also
+ * feed the {@link NetworkQualityEstimator}, and response sizes and cancelled calls feed {@link
+ * RequestSavings}.
+ *
+ * <p>Gson parses while the body streams in, so download and decode overlap: download is the time
+ * from the first to the last body byte, decode the time spent in the converter. On a fast link
+ * decode is mostly parsing; on a slow one both are mostly waiting for bytes.
+ */
+@Singleton
+public class NetworkMetrics {
+    /** Endpoint whose response is being read on this thread; used to attribute decode time */
+    private static final ThreadLocal<EndpointStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final NetworkQualityEstimator networkQuality;
+    private final RequestSavings requestSavings;
+    private final long startedAtMillis = System.currentTimeMillis();
+
+    @Inject
+    public NetworkMetrics(NetworkQualityEstimator networkQuality, RequestSavings requestSavings) {
+        this.networkQuality = networkQuality;
+        this.requestSavings = requestSavings;
+    }
+
+    /** Factory for the per-call listeners; install it on the OkHttpClient */
+    public EventListener.Factory eventListenerFactory() {
+        return call -> {
+            Request request = call.request();
+            String key = endpointKey(request);
+            return new CallListener(
+                    key,
+                    endpoints.computeIfAbsent(key, k -> new EndpointStats()),
+                    isRttProbe(request));
+        };
+    }
+
+    /** Snapshot of every endpoint seen so far, keyed like "GET /api/users/{id}" */
+    public Map<String, EndpointStats> getEndpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    /** Forget everything recorded so far */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /** Everything recorded so far as a JSON document, for export */
+    public JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("recordingSince", startedAtMillis);
+        json.put("exportedAt", System.currentTimeMillis());
+        json.put("networkQuality", networkQuality.getQuality().name());
+        json.put("rttMillis", networkQuality.getRttMillis());
+        json.put("downstreamKbps", networkQuality.getDownstreamKbps());
+        JSONObject byEndpoint = new JSONObject();
+        for (Map.Entry<String, EndpointStats> entry : getEndpoints().entrySet()) {
+            byEndpoint.put(entry.getKey(), entry.getValue().toJson());
+        }
+        json.put("endpoints", byEndpoint);
+        return json;
+    }
+
+    /**
+     * Endpoint whose response headers just arrived on this thread, or null. Read it before
+     * converting the body: the call ends, and this is cleared, as soon as the body is consumed.
+     */
+    static EndpointStats currentEndpoint() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Whether the time to first byte of this request approximates the round trip. Uploads and other
+     * bodied requests include the server's time to store the body, so they are left out.
+     */
+    private static boolean isRttProbe(Request request) {
+        RoutePolicy policy = ApiRoutes.lookup(request.url().encodedPath());
+        return request.body() == null
+                && policy.getClientProfile() != RoutePolicy.ClientProfile.UPLOAD;
+    }
+
+    private static String endpointKey(Request request) {
+        return ApiRoutes.endpointKey(request.method(), request.url().encodedPath());
+    }
+
+    /** Histograms and counters of one endpoint; durations in ms, sizes in bytes */
+    public static final class EndpointStats {
+        final Histogram dns = new Histogram(Histogram.MILLIS_BOUNDS);
+        final Histogram connect = new Histogram(Histogram.MILLIS_BOUNDS);
+        final Histogram tls = new Histogram(Histogram.MILLIS_BOUNDS);
+        final Histogram timeToFirstByte = new Histogram(Histogram.MILLIS_BOUNDS);
+        final Histogram download = new Histogram(Histogram.MILLIS_BOUNDS);
+        final Histogram decode = new Histogram(Histogram.MILLIS_BOUNDS);
+        final Histogram total = new Histogram(Histogram.MILLIS_BOUNDS);
+        final Histogram responseBytes = new Histogram(Histogram.BYTES_BOUNDS);
+        final AtomicLong bytesSent = new AtomicLong();
+        final AtomicLong bytesReceived = new AtomicLong();
+        final AtomicLong cacheHits = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final Map<Integer, AtomicLong> statusCodes = new ConcurrentHashMap<>();
+
+        public Histogram getDns() {
+            return dns;
+        }
+
+        /** TCP connect including TLS */
+        public Histogram getConnect() {
+            return connect;
+        }
+
+        public Histogram getTls() {
+            return tls;
+        }
+
+        /** From the request being sent to the first response byte */
+        public Histogram getTimeToFirstByte() {
+            return timeToFirstByte;
+        }
+
+        public Histogram getDownload() {
+            return download;
+        }
+
+        /** Time in the response converter, including reading the streamed body */
+        public Histogram getDecode() {
+            return decode;
+        }
+
+        /** Whole call, from start to the end of the response body */
+        public Histogram getTotal() {
+            return total;
+        }
+
+        public Histogram getResponseBytes() {
+            return responseBytes;
+        }
+
+        public long getBytesSent() {
+            return bytesSent.get();
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived.get();
+        }
+
+        /** Calls answered from the HTTP cache without touching the network */
+        public long getCacheHits() {
+            return cacheHits.get();
+        }
+
+        /** Calls that ended with an I/O error or were cancelled */
+        public long getFailures() {
+            return failures.get();
+        }
+
+        /** Count per HTTP status code */
+        public Map<Integer, Long> getStatusCodes() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            for (Map.Entry<Integer, AtomicLong> entry : statusCodes.entrySet()) {
+                counts.put(entry.getKey(), entry.getValue().get());
+            }
+            return counts;
+        }
+
+        void recordDecode(long nanos) {
+            decode.record(TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+
+        JSONObject toJson() throws JSONException {
+            JSONObject json = new JSONObject();
+            json.put("dnsMs", dns.toJson());
+            json.put("connectMs", connect.toJson());
+            json.put("tlsMs", tls.toJson());
+            json.put("timeToFirstByteMs", timeToFirstByte.toJson());
+            json.put("downloadMs", download.toJson());
+            json.put("decodeMs", decode.toJson());
+            json.put("totalMs", total.toJson());
+            json.put("responseBytes", responseBytes.toJson());
+            json.put("bytesSent", getBytesSent());
+            json.put("bytesReceived", getBytesReceived());
+            json.put("cacheHits", getCacheHits());
+            json.put("failures", getFailures());
+            JSONObject codes = new JSONObject();
+            for (Map.Entry<Integer, Long> entry : getStatusCodes().entrySet()) {
+                codes.put(String.valueOf(entry.getKey()), entry.getValue());
+            }
+            json.put("statusCodes", codes);
+            return json;
+        }
+    }
+
+    /** Listener for one call; OkHttp never delivers events of one call concurrently */
+    private final class CallListener extends EventListener {
+        private final String endpoint;
+        private final EndpointStats stats;
+        private final boolean rttProbe;
+        private long callStart;
+        private long dnsStart;
+        private long connectStart;
+        private long secureConnectStart;
+        private long requestSent = -1;
+        private long bodyStart = -1;
+
+        CallListener(String endpoint, EndpointStats stats, boolean rttProbe) {
+            this.endpoint = endpoint;
+            this.stats = stats;
+            this.rttProbe = rttProbe;
+        }
+
+        @Override
+        public void callStart(@NonNull Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(
+                @NonNull Call call,
+                @NonNull String domainName,
+                @NonNull List<InetAddress> inetAddressList) {
+            stats.dns.record(millisSince(dnsStart));
+        }
+
+        @Override
+        public void connectStart(
+                @NonNull Call call,
+                @NonNull InetSocketAddress inetSocketAddress,
+                @NonNull Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(@NonNull Call call) {
+            secureConnectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(@NonNull Call call, Handshake handshake) {
+            stats.tls.record(millisSince(secureConnectStart));
+        }
+
+        @Override
+        public void connectEnd(
+                @NonNull Call call,
+                @NonNull InetSocketAddress inetSocketAddress,
+                @NonNull Proxy proxy,
+                Protocol protocol) {
+            stats.connect.record(millisSince(connectStart));
+        }
+
+        @Override
+        public void requestHeadersEnd(@NonNull Call call, @NonNull Request request) {
+            requestSent = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(@NonNull Call call, long byteCount) {
+            requestSent = System.nanoTime();
+            stats.bytesSent.addAndGet(byteCount);
+        }
+
+        @Override
+        public void responseHeadersStart(@NonNull Call call) {
+            if (requestSent >= 0) {
+                long millis = millisSince(requestSent);
+                stats.timeToFirstByte.record(millis);
+                if (rttProbe) {
+                    networkQuality.addRttSample(millis);
+                }
+                requestSent = -1;
+            }
+        }
+
+        @Override
+        public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+            statusCode(response.code());
+            // The response is converted on this thread once the headers are in
+            CURRENT.set(stats);
+        }
+
+        @Override
+        public void responseBodyStart(@NonNull Call call) {
+            bodyStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(@NonNull Call call, long byteCount) {
+            requestSavings.recordResponse(endpoint, byteCount);
+            stats.bytesReceived.addAndGet(byteCount);
+            stats.responseBytes.record(byteCount);
+            if (bodyStart >= 0) {
+                long nanos = System.nanoTime() - bodyStart;
+                stats.download.record(TimeUnit.NANOSECONDS.toMillis(nanos));
+                networkQuality.addThroughputSample(byteCount, nanos);
+            }
+        }
+
+        @Override
+        public void cacheHit(@NonNull Call call, @NonNull Response cachedResponse) {
+            stats.cacheHits.incrementAndGet();
+            statusCode(cachedResponse.code());
+        }
+
+        @Override
+        public void callEnd(@NonNull Call call) {
+            stats.total.record(millisSince(callStart));
+            clearCurrent();
+        }
+
+        @Override
+        public void canceled(@NonNull Call call) {
+            // Only fires when the call itself is cancelled, not when one of several callers
+            // sharing it detaches
+            requestSavings.recordCancelled(endpoint);
+        }
+
+        @Override
+        public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+            stats.failures.incrementAndGet();
+            stats.total.record(millisSince(callStart));
+            clearCurrent();
+        }
+
+        private void statusCode(int code) {
+            stats.statusCodes.computeIfAbsent(code, key -> new AtomicLong()).incrementAndGet();
+        }
+
+        private void clearCurrent() {
+            if (CURRENT.get() == stats) {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -1,5 +1,6 @@
 package com.gege.activityfindermobile.di;
 
+import com.gege.activityfindermobile.BuildConfig;
 import com.gege.activityfindermobile.data.api.ActivityApiService;
 import com.gege.activityfindermobile.data.api.ActivityPhotoApiService;
 import com.gege.activityfindermobile.data.api.CategoryApiService;
@@ -12,10 +13,13 @@ import com.gege.activityfindermobile.data.api.ReportApiService;
 import com.gege.activityfindermobile.data.api.ReviewApiService;
 import com.gege.activityfindermobile.data.api.UserApiService;
 import com.gege.activityfindermobile.data.api.UserPhotoApiService;
+import com.gege.activityfindermobile.data.json.StreamingTypeAdapterFactory;
 import com.gege.activityfindermobile.utils.Constants;
+import com.gege.activityfindermobile.utils.CredentialStore;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.io.File;
 import java.util.concurrent.TimeUnit;
 
 import javax.inject.Singleton;
@@ -24,8 +28,9 @@ import dagger.Module;
 import dagger.Provides;
 import dagger.hilt.InstallIn;
 import dagger.hilt.components.SingletonComponent;
+import okhttp3.Cache;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -36,34 +41,76 @@ public class NetworkModule {
     @Provides
     @Singleton
     public Gson provideGson() {
-        return new GsonBuilder().setLenient().create();
+        return new GsonBuilder()
+                .setLenient()
+                .registerTypeAdapterFactory(new StreamingTypeAdapterFactory())
+                .create();
     }
 
     @Provides
     @Singleton
-    public HttpLoggingInterceptor provideLoggingInterceptor() {
-        HttpLoggingInterceptor interceptor = new HttpLoggingInterceptor();
-        interceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
-        return interceptor;
+    public NetworkLoggingInterceptor provideLoggingInterceptor() {
+        return NetworkLoggingInterceptor.create(BuildConfig.DEBUG);
     }
 
     @Provides
     @Singleton
     public AuthInterceptor provideAuthInterceptor(
             com.gege.activityfindermobile.utils.SharedPreferencesManager prefsManager,
+            CredentialStore credentialStore,
             @dagger.hilt.android.qualifiers.ApplicationContext android.content.Context context,
-            dagger.Lazy<UserApiService> userApiServiceLazy) {
-        return new AuthInterceptor(prefsManager, context, userApiServiceLazy);
+            TokenRefresher tokenRefresher,
+            com.gege.activityfindermobile.data.cache.SessionCacheCleaner sessionCacheCleaner) {
+        return new AuthInterceptor(
+                prefsManager, credentialStore, context, tokenRefresher, sessionCacheCleaner);
+    }
+
+    @Provides
+    @Singleton
+    public CredentialStore provideCredentialStore(
+            @dagger.hilt.android.qualifiers.ApplicationContext android.content.Context context) {
+        return CredentialStore.getInstance(context);
+    }
+
+    @Provides
+    @Singleton
+    public NetworkQualityEstimator provideNetworkQualityEstimator() {
+        return NetworkQualityEstimator.getInstance();
+    }
+
+    @Provides
+    @Singleton
+    public Cache provideHttpCache(
+            @dagger.hilt.android.qualifiers.ApplicationContext android.content.Context context) {
+        return new Cache(
+                new File(context.getCacheDir(), HttpCachePolicy.CACHE_DIR_NAME),
+                HttpCachePolicy.CACHE_SIZE_BYTES);
     }
 
     @Provides
     @Singleton
     public OkHttpClient provideOkHttpClient(
-            HttpLoggingInterceptor loggingInterceptor, AuthInterceptor authInterceptor) {
+            NetworkLoggingInterceptor loggingInterceptor,
+            AuthInterceptor authInterceptor,
+            NetworkMetrics networkMetrics,
+            Cache cache,
+            HttpCacheManager httpCacheManager) {
+        Dispatcher dispatcher = new Dispatcher();
+        // All API calls go to one host, the default of 5 per host would queue a busy feed
+        dispatcher.setMaxRequestsPerHost(10);
+
         return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .cache(cache)
+                .addInterceptor(new OfflineCacheInterceptor()) // Serve stale cache on errors
+                .addInterceptor(new CacheInvalidationInterceptor(httpCacheManager))
                 .addInterceptor(authInterceptor) // Add auth interceptor first
                 .addInterceptor(loggingInterceptor)
-                .connectTimeout(30, TimeUnit.SECONDS)
+                .addNetworkInterceptor(new CacheControlInterceptor())
+                // Phase timings per endpoint; also feeds the network quality estimator
+                .eventListenerFactory(networkMetrics.eventListenerFactory())
+                // Interactive profile; fail fast on connect so the user can retry
+                .connectTimeout(15, TimeUnit.SECONDS)
                 .readTimeout(30, TimeUnit.SECONDS)
                 .writeTimeout(30, TimeUnit.SECONDS)
                 .build();
@@ -71,11 +118,22 @@ public class NetworkModule {
 
     @Provides
     @Singleton
-    public Retrofit provideRetrofit(OkHttpClient okHttpClient, Gson gson) {
+    public ProfiledCallFactory provideProfiledCallFactory(OkHttpClient okHttpClient) {
+        return new ProfiledCallFactory(okHttpClient);
+    }
+
+    @Provides
+    @Singleton
+    public Retrofit provideRetrofit(
+            ProfiledCallFactory callFactory,
+            RetryCallAdapterFactory retryCallAdapterFactory,
+            Gson gson) {
         return new Retrofit.Builder()
                 .baseUrl(Constants.BASE_URL)
-                .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create(gson))
+                .callFactory(callFactory)
+                .addCallAdapterFactory(retryCallAdapterFactory)
+                .addConverterFactory(
+                        new DecodeTimingConverterFactory(GsonConverterFactory.create(gson)))
                 .build();
     }
 
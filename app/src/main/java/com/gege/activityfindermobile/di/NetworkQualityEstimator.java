@@ -0,0 +1,166 @@
+package com.gege.activityfindermobile.di;
+
+/**
+ * Estimates round-trip time and downstream bandwidth from the timings of real HTTP calls, and tells
+ * callers how much to ask for: page sizes, prefetch depth, polling intervals and image scale shrink
+ * on slow links. Samples come from the {@link NetworkMetrics} event listener; cache hits never
+ * reach the network and are not sampled.
+ *
+ * <p>Both estimates are exponentially weighted, so the classification follows a change of network
+ * within a few calls. Until enough samples exist the quality is {@link Quality#UNKNOWN} and every
+ * method returns the caller's default.
+ */
+public final class NetworkQualityEstimator {
+    private static volatile NetworkQualityEstimator instance;
+
+    public enum Quality {
+        UNKNOWN,
+        POOR,
+        MODERATE,
+        GOOD
+    }
+
+    // Thresholds follow the usual connection classes: under 150 kbps is 2G-like, under 550 kbps
+    // is a slow 3G link
+    static final long POOR_KBPS = 150;
+    static final long MODERATE_KBPS = 550;
+    static final long POOR_RTT_MS = 1000;
+    static final long MODERATE_RTT_MS = 400;
+
+    /** Bodies smaller than this are mostly latency and say little about bandwidth */
+    static final long MIN_THROUGHPUT_SAMPLE_BYTES = 16 * 1024;
+
+    private static final int MIN_SAMPLES = 3;
+    private static final double WEIGHT = 0.3;
+
+    private double rttMillis = -1;
+    private double kbps = -1;
+    private int rttSamples;
+    private int throughputSamples;
+
+    /** Standalone estimator, e.g. for tests; the app uses {@link #getInstance()} */
+    public NetworkQualityEstimator() {}
+
+    /** Process-wide estimator shared by the HTTP client and image loading */
+    public static NetworkQualityEstimator getInstance() {
+        NetworkQualityEstimator estimator = instance;
+        if (estimator == null) {
+            synchronized (NetworkQualityEstimator.class) {
+                estimator = instance;
+                if (estimator == null) {
+                    estimator = new NetworkQualityEstimator();
+                    instance = estimator;
+                }
+            }
+        }
+        return estimator;
+    }
+
+    public synchronized Quality getQuality() {
+        Quality byRtt = Quality.UNKNOWN;
+        if (rttSamples >= MIN_SAMPLES) {
+            byRtt =
+                    rttMillis >= POOR_RTT_MS
+                            ? Quality.POOR
+                            : rttMillis >= MODERATE_RTT_MS ? Quality.MODERATE : Quality.GOOD;
+        }
+        Quality byThroughput = Quality.UNKNOWN;
+        if (throughputSamples >= MIN_SAMPLES) {
+            byThroughput =
+                    kbps < POOR_KBPS
+                            ? Quality.POOR
+                            : kbps < MODERATE_KBPS ? Quality.MODERATE : Quality.GOOD;
+        }
+        if (byRtt == Quality.UNKNOWN) {
+            return byThroughput;
+        }
+        if (byThroughput == Quality.UNKNOWN) {
+            return byRtt;
+        }
+        // The slower of the two limits what the user sees
+        return byRtt.ordinal() < byThroughput.ordinal() ? byRtt : byThroughput;
+    }
+
+    /**
+     * Smoothed time to first response byte of requests without a body in milliseconds, or -1 if not
+     * measured yet
+     */
+    public synchronized long getRttMillis() {
+        return Math.round(rttMillis);
+    }
+
+    /** Smoothed downstream bandwidth in kilobits per second, or -1 if not measured yet */
+    public synchronized long getDownstreamKbps() {
+        return Math.round(kbps);
+    }
+
+    /** Number of items to request per page */
+    public int pageSize(int defaultSize) {
+        switch (getQuality()) {
+            case POOR:
+                return Math.max(5, defaultSize / 4);
+            case MODERATE:
+                return Math.max(5, defaultSize / 2);
+            default:
+                return defaultSize;
+        }
+    }
+
+    /** How far ahead of the viewport to load the next page */
+    public int prefetchDistance(int defaultDistance) {
+        switch (getQuality()) {
+            case POOR:
+                return Math.min(2, defaultDistance);
+            case MODERATE:
+                return Math.max(2, defaultDistance / 2);
+            default:
+                return defaultDistance;
+        }
+    }
+
+    /** Delay between polls */
+    public long pollIntervalMillis(long defaultMillis) {
+        switch (getQuality()) {
+            case POOR:
+                return defaultMillis * 4;
+            case MODERATE:
+                return defaultMillis * 2;
+            default:
+                return defaultMillis;
+        }
+    }
+
+    /** Fraction of the view size used to pick a server image variant */
+    public float imageScale() {
+        switch (getQuality()) {
+            case POOR:
+                return 0.5f;
+            case MODERATE:
+                return 0.75f;
+            default:
+                return 1f;
+        }
+    }
+
+    /** Forget all samples, e.g. after switching networks */
+    public synchronized void reset() {
+        rttMillis = -1;
+        kbps = -1;
+        rttSamples = 0;
+        throughputSamples = 0;
+    }
+
+    synchronized void addRttSample(long millis) {
+        rttMillis = rttSamples == 0 ? millis : rttMillis + WEIGHT * (millis - rttMillis);
+        rttSamples++;
+    }
+
+    synchronized void addThroughputSample(long bytes, long nanos) {
+        if (bytes < MIN_THROUGHPUT_SAMPLE_BYTES || nanos <= 0) {
+            return;
+        }
+        double sample = bytes * 8.0 / 1000 / (nanos / 1e9);
+        kbps = throughputSamples == 0 ? sample : kbps + WEIGHT * (sample - kbps);
+        throughputSamples++;
+    }
+}
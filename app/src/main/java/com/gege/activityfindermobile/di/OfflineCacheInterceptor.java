@@ -0,0 +1,50 @@
+package com.gege.activityfindermobile.di;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Application interceptor that serves a stale cached response when a GET fails with a network
+ * error (stale-if-error). If nothing is cached the original error is rethrown.
+ */
+public class OfflineCacheInterceptor implements Interceptor {
+    private static final String TAG = "OfflineCacheInterceptor";
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        try {
+            return chain.proceed(request);
+        } catch (IOException e) {
+            if (!"GET".equals(request.method())) {
+                throw e;
+            }
+
+            Request cachedRequest =
+                    request.newBuilder()
+                            .cacheControl(
+                                    new CacheControl.Builder()
+                                            .onlyIfCached()
+                                            .maxStale(
+                                                    HttpCachePolicy.MAX_STALE_ON_ERROR_SECONDS,
+                                                    TimeUnit.SECONDS)
+                                            .build())
+                            .build();
+            Response cachedResponse = chain.proceed(cachedRequest);
+            if (cachedResponse.isSuccessful()) {
+                Log.w(TAG, "Network error, serving cached " + request.url().encodedPath());
+                return cachedResponse;
+            }
+            // 504 Unsatisfiable Request: nothing usable in the cache
+            cachedResponse.close();
+            throw e;
+        }
+    }
+}
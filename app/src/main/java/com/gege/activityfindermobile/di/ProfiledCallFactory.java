@@ -0,0 +1,129 @@
+package com.gege.activityfindermobile.di;
+
+import android.os.Process;
+
+import com.gege.activityfindermobile.di.RoutePolicy.ClientProfile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+/**
+ * Retrofit call factory that runs each request on the OkHttpClient of its route's {@link
+ * ClientProfile}. The profiles are derived from one client, so they share its connection pool,
+ * cache and interceptors, but each has its own timeouts and dispatcher. The image profile keeps
+ * only the pool, header logging and metrics. Background and upload calls have small concurrency
+ * limits and run on low-priority threads, so they cannot take the per-host slots or the CPU that
+ * interactive requests need.
+ */
+public final class ProfiledCallFactory implements Call.Factory {
+
+    private final OkHttpClient interactive;
+    private final OkHttpClient background;
+    private final OkHttpClient upload;
+    private final OkHttpClient image;
+
+    /**
+     * @param base Fully configured client, used as the interactive profile
+     */
+    public ProfiledCallFactory(OkHttpClient base) {
+        this.interactive = base;
+
+        this.background =
+                base.newBuilder()
+                        .dispatcher(dispatcher("OkHttp Background", 2))
+                        .connectTimeout(30, TimeUnit.SECONDS)
+                        .readTimeout(30, TimeUnit.SECONDS)
+                        .writeTimeout(30, TimeUnit.SECONDS)
+                        .build();
+
+        // A few MB over a weak uplink easily exceeds 30s between writes
+        this.upload =
+                base.newBuilder()
+                        .dispatcher(dispatcher("OkHttp Upload", 2))
+                        .connectTimeout(30, TimeUnit.SECONDS)
+                        .readTimeout(60, TimeUnit.SECONDS)
+                        .writeTimeout(120, TimeUnit.SECONDS)
+                        .build();
+
+        // A scrolling grid starts many loads at once; cap them so API calls still get through
+        Dispatcher imageDispatcher = new Dispatcher();
+        imageDispatcher.setMaxRequestsPerHost(6);
+        // Glide keeps its own disk cache, and image URLs may point at other hosts: no HTTP cache,
+        // no offline JSON fallback and no API auth, whose 401 handling would end the session.
+        // Loaders add the token themselves for images on the API host.
+        OkHttpClient.Builder imageBuilder =
+                base.newBuilder().dispatcher(imageDispatcher).cache(null);
+        imageBuilder
+                .interceptors()
+                .removeIf(
+                        interceptor ->
+                                interceptor instanceof AuthInterceptor
+                                        || interceptor instanceof OfflineCacheInterceptor
+                                        || interceptor instanceof CacheInvalidationInterceptor);
+        imageBuilder
+                .networkInterceptors()
+                .removeIf(interceptor -> interceptor instanceof CacheControlInterceptor);
+        // Body logging would buffer every downloaded image in debug builds
+        imageBuilder
+                .interceptors()
+                .replaceAll(
+                        interceptor ->
+                                interceptor instanceof NetworkLoggingInterceptor
+                                        ? ((NetworkLoggingInterceptor) interceptor).headersOnly()
+                                        : interceptor);
+        this.image = imageBuilder.build();
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        return client(ApiRoutes.lookup(request.url().encodedPath()).getClientProfile())
+                .newCall(request);
+    }
+
+    /** Client for a profile, for callers that build requests themselves */
+    public OkHttpClient client(ClientProfile profile) {
+        switch (profile) {
+            case BACKGROUND:
+                return background;
+            case UPLOAD:
+                return upload;
+            case IMAGE:
+                return image;
+            default:
+                return interactive;
+        }
+    }
+
+    private static Dispatcher dispatcher(String threadName, int maxRequests) {
+        Dispatcher dispatcher = new Dispatcher(lowPriorityExecutor(threadName));
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequests);
+        return dispatcher;
+    }
+
+    /** Same pool shape as OkHttp's default dispatcher executor, with background-priority threads */
+    private static ExecutorService lowPriorityExecutor(String threadName) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                0,
+                Integer.MAX_VALUE,
+                60,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable ->
+                        new Thread(
+                                () -> {
+                                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                                    runnable.run();
+                                },
+                                threadName + " " + threadCount.incrementAndGet()));
+    }
+}
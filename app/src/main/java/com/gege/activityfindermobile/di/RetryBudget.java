@@ -0,0 +1,34 @@
+package com.gege.activityfindermobile.di;
+
+/**
+ * Token bucket that caps retries to a fraction of successful traffic, so a failing backend gets
+ * at most a small amount of extra load instead of every call tripled.
+ */
+final class RetryBudget {
+    private final double maxTokens;
+    private final double tokensPerSuccess;
+    private double tokens;
+
+    /**
+     * @param maxTokens Retries that may happen back to back when the budget is full
+     * @param tokensPerSuccess Budget earned per successful call, e.g. 0.1 for one retry per ten
+     */
+    RetryBudget(double maxTokens, double tokensPerSuccess) {
+        this.maxTokens = maxTokens;
+        this.tokensPerSuccess = tokensPerSuccess;
+        this.tokens = maxTokens;
+    }
+
+    synchronized void onSuccess() {
+        tokens = Math.min(maxTokens, tokens + tokensPerSuccess);
+    }
+
+    /** Take one retry from the budget; false if it is exhausted */
+    synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
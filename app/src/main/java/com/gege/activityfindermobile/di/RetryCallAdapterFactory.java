@@ -0,0 +1,83 @@
+package com.gege.activityfindermobile.di;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+
+/**
+ * Retrofit call adapter that retries idempotent GETs after network errors and 502/503/504
+ * responses, with exponential backoff and jitter. Retries wait while the device is offline and
+ * are capped by a shared budget. Repositories keep using {@code enqueue} and only see the final
+ * outcome; synchronous {@code execute} calls are not retried.
+ */
+@Singleton
+public class RetryCallAdapterFactory extends CallAdapter.Factory {
+    static final int MAX_RETRIES = 3;
+    private static final long BASE_DELAY_MS = 500;
+    private static final long MAX_DELAY_MS = 8_000;
+    // Give up waiting for connectivity after this long and let the attempt fail
+    static final long OFFLINE_WAIT_MS = 30_000;
+
+    final ConnectivityMonitor connectivityMonitor;
+    final RetryMetrics metrics;
+    final RetryBudget budget = new RetryBudget(10, 0.1);
+    final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    @Inject
+    public RetryCallAdapterFactory(ConnectivityMonitor connectivityMonitor, RetryMetrics metrics) {
+        this.connectivityMonitor = connectivityMonitor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<Object>> delegate =
+                (CallAdapter<Object, Call<Object>>)
+                        retrofit.nextCallAdapter(this, returnType, annotations);
+        return new CallAdapter<Object, Call<Object>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Call<Object> adapt(Call<Object> call) {
+                Call<Object> adapted = delegate.adapt(call);
+                Request request = call.request();
+                if (!isRetryable(request)) {
+                    return adapted;
+                }
+                return new RetryingCall<>(
+                        adapted,
+                        RetryCallAdapterFactory.this,
+                        metrics.endpoint(request.method(), request.url().encodedPath()));
+            }
+        };
+    }
+
+    private static boolean isRetryable(Request request) {
+        return "GET".equals(request.method())
+                && ApiRoutes.lookup(request.url().encodedPath()).isRetryable();
+    }
+
+    /** Delay before the given retry (1-based): half fixed, half random, doubling up to a cap */
+    static long backoffMillis(int retry) {
+        long ceiling = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << Math.min(retry - 1, 16));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.gege.activityfindermobile.di;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/** Per-endpoint counters for calls that go through automatic retry */
+@Singleton
+public class RetryMetrics {
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Inject
+    public RetryMetrics() {}
+
+    /** Counters of one endpoint; numeric path segments are folded into "{id}" */
+    public static final class Endpoint {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger retries = new AtomicInteger();
+        final AtomicInteger successes = new AtomicInteger();
+        final AtomicInteger successesAfterRetry = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+
+        public int getCalls() {
+            return calls.get();
+        }
+
+        public int getRetries() {
+            return retries.get();
+        }
+
+        public int getSuccesses() {
+            return successes.get();
+        }
+
+        /** Calls that succeeded only because they were retried */
+        public int getSuccessesAfterRetry() {
+            return successesAfterRetry.get();
+        }
+
+        public int getFailures() {
+            return failures.get();
+        }
+    }
+
+    /** Snapshot of every endpoint seen so far, keyed like "GET /api/users/{id}" */
+    public Map<String, Endpoint> getEndpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    Endpoint endpoint(String method, String path) {
+        return endpoints.computeIfAbsent(
+                ApiRoutes.endpointKey(method, path), key -> new Endpoint());
+    }
+}
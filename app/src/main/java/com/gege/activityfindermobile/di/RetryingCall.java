@@ -0,0 +1,200 @@
+package com.gege.activityfindermobile.di;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/** Call that re-enqueues a fresh clone of itself after transient failures */
+final class RetryingCall<T> implements Call<T> {
+    private final Call<T> original;
+    private final RetryCallAdapterFactory retry;
+    private final RetryMetrics.Endpoint metrics;
+
+    private volatile Call<T> current;
+    private volatile boolean canceled;
+    private volatile PendingRetry pendingRetry;
+
+    RetryingCall(Call<T> call, RetryCallAdapterFactory retry, RetryMetrics.Endpoint metrics) {
+        this.original = call;
+        this.current = call;
+        this.retry = retry;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        return current.execute();
+    }
+
+    @Override
+    public void enqueue(@NonNull Callback<T> callback) {
+        metrics.calls.incrementAndGet();
+        current.enqueue(new RetryCallback(callback));
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return current.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        current.cancel();
+        PendingRetry pending = pendingRetry;
+        if (pending != null) {
+            retry.mainHandler.post(pending::cancel);
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled || current.isCanceled();
+    }
+
+    @NonNull
+    @Override
+    public Call<T> clone() {
+        return new RetryingCall<>(original.clone(), retry, metrics);
+    }
+
+    @NonNull
+    @Override
+    public Request request() {
+        return current.request();
+    }
+
+    @NonNull
+    @Override
+    public Timeout timeout() {
+        return current.timeout();
+    }
+
+    private static boolean isTransientStatus(int code) {
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    private final class RetryCallback implements Callback<T> {
+        private final Callback<T> callback;
+        private int retries;
+
+        RetryCallback(Callback<T> callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void onResponse(@NonNull Call<T> call, @NonNull Response<T> response) {
+            if (isTransientStatus(response.code()) && scheduleRetry()) {
+                if (response.errorBody() != null) {
+                    response.errorBody().close();
+                }
+                return;
+            }
+            if (response.isSuccessful()) {
+                retry.budget.onSuccess();
+                metrics.successes.incrementAndGet();
+                if (retries > 0) {
+                    metrics.successesAfterRetry.incrementAndGet();
+                }
+            } else {
+                metrics.failures.incrementAndGet();
+            }
+            callback.onResponse(RetryingCall.this, response);
+        }
+
+        @Override
+        public void onFailure(@NonNull Call<T> call, @NonNull Throwable t) {
+            if (t instanceof IOException && scheduleRetry()) {
+                return;
+            }
+            metrics.failures.incrementAndGet();
+            callback.onFailure(RetryingCall.this, t);
+        }
+
+        /** Runs on the main thread, where Retrofit delivers callbacks */
+        private boolean scheduleRetry() {
+            if (canceled
+                    || retries >= RetryCallAdapterFactory.MAX_RETRIES
+                    || !retry.budget.tryAcquire()) {
+                return false;
+            }
+            retries++;
+            metrics.retries.incrementAndGet();
+            PendingRetry pending = new PendingRetry(this);
+            pendingRetry = pending;
+            pending.schedule(RetryCallAdapterFactory.backoffMillis(retries));
+            return true;
+        }
+
+        void deliverCanceled() {
+            metrics.failures.incrementAndGet();
+            callback.onFailure(RetryingCall.this, new IOException("Canceled"));
+        }
+    }
+
+    /**
+     * A retry waiting for its backoff and then for connectivity. Every method runs on the main
+     * thread, so exactly one of run() and cancel() takes effect.
+     */
+    private final class PendingRetry implements Runnable {
+        private final RetryCallback callback;
+        private final Runnable afterBackoff = this::waitForNetwork;
+        private Runnable cancelNetworkWait;
+        private boolean done;
+
+        PendingRetry(RetryCallback callback) {
+            this.callback = callback;
+        }
+
+        void schedule(long delayMillis) {
+            retry.mainHandler.postDelayed(afterBackoff, delayMillis);
+        }
+
+        private void waitForNetwork() {
+            if (done) {
+                return;
+            }
+            cancelNetworkWait = retry.connectivityMonitor.runWhenOnline(this);
+            // Still offline after the wait: try anyway and let the attempt fail
+            retry.mainHandler.postDelayed(this, RetryCallAdapterFactory.OFFLINE_WAIT_MS);
+        }
+
+        @Override
+        public void run() {
+            if (done) {
+                return;
+            }
+            finish();
+            if (canceled) {
+                callback.deliverCanceled();
+                return;
+            }
+            current = current.clone();
+            current.enqueue(callback);
+        }
+
+        void cancel() {
+            if (done) {
+                return;
+            }
+            finish();
+            callback.deliverCanceled();
+        }
+
+        private void finish() {
+            done = true;
+            pendingRetry = null;
+            retry.mainHandler.removeCallbacks(afterBackoff);
+            retry.mainHandler.removeCallbacks(this);
+            if (cancelNetworkWait != null) {
+                cancelNetworkWait.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.gege.activityfindermobile.di;
+
+/**
+ * Per-endpoint HTTP behaviour looked up from {@link ApiRoutes}. Instances are immutable; the
+ * with/without methods return modified copies so route declarations read as data.
+ */
+public final class RoutePolicy {
+
+    /** OkHttpClient a request runs on, which sets its timeouts and concurrency */
+    public enum ClientProfile {
+        /** Requests the user is waiting for */
+        INTERACTIVE,
+        /** Polling and reporting the user does not wait for */
+        BACKGROUND,
+        /** Multipart uploads that stream large bodies over slow uplinks */
+        UPLOAD,
+        /** Image downloads for Glide: own dispatcher, no HTTP cache or API auth */
+        IMAGE
+    }
+
+    /** Marker for routes that keep the server's cache headers */
+    public static final int NO_MAX_AGE = -1;
+
+    /** Authenticated, server cache headers, retryable when idempotent, interactive */
+    public static final RoutePolicy DEFAULT =
+            new RoutePolicy(true, NO_MAX_AGE, true, ClientProfile.INTERACTIVE);
+
+    private final boolean authRequired;
+    private final int maxAgeSeconds;
+    private final boolean retryable;
+    private final ClientProfile clientProfile;
+
+    private RoutePolicy(
+            boolean authRequired,
+            int maxAgeSeconds,
+            boolean retryable,
+            ClientProfile clientProfile) {
+        this.authRequired = authRequired;
+        this.maxAgeSeconds = maxAgeSeconds;
+        this.retryable = retryable;
+        this.clientProfile = clientProfile;
+    }
+
+    /** Copy that is sent without an Authorization header */
+    public RoutePolicy withoutAuth() {
+        return new RoutePolicy(false, maxAgeSeconds, retryable, clientProfile);
+    }
+
+    /** Copy whose successful GET responses stay fresh for the given time */
+    public RoutePolicy withMaxAge(int seconds) {
+        return new RoutePolicy(authRequired, seconds, retryable, clientProfile);
+    }
+
+    /** Copy that is never retried automatically */
+    public RoutePolicy withoutRetry() {
+        return new RoutePolicy(authRequired, maxAgeSeconds, false, clientProfile);
+    }
+
+    public RoutePolicy withClientProfile(ClientProfile clientProfile) {
+        return new RoutePolicy(authRequired, maxAgeSeconds, retryable, clientProfile);
+    }
+
+    public boolean isAuthRequired() {
+        return authRequired;
+    }
+
+    /** Seconds a GET response stays fresh, or {@link #NO_MAX_AGE} */
+    public int getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    /** True if a failed idempotent request on this route may be retried */
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    public ClientProfile getClientProfile() {
+        return clientProfile;
+    }
+}
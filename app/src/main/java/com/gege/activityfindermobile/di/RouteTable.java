@@ -0,0 +1,139 @@
+package com.gege.activityfindermobile.di;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trie over URL path segments mapping routes to {@link RoutePolicy}. Lookups walk the path once,
+ * so the cost depends on the path length rather than on the number of routes.
+ *
+ * <p>Route patterns are "/"-separated segments where "{id}" matches one all-digit segment, "*"
+ * matches any one segment and a trailing "**" matches the route itself and everything below it.
+ * Literal segments win over "{id}", which wins over "*"; the most specific match is returned.
+ */
+public final class RouteTable {
+    private final Node root = new Node();
+    private final RoutePolicy defaultPolicy;
+
+    private RouteTable(RoutePolicy defaultPolicy) {
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    /**
+     * Get the policy for a path
+     *
+     * @param path Encoded URL path, e.g. "/api/users/42"
+     * @return Policy of the most specific matching route, or the default policy
+     */
+    public RoutePolicy lookup(String path) {
+        Node node = root;
+        RoutePolicy subtreeMatch = root.subtreePolicy;
+        int length = path.length();
+        int start = 0;
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                node = node.child(path, start, end);
+                if (node == null) {
+                    break;
+                }
+                if (node.subtreePolicy != null) {
+                    subtreeMatch = node.subtreePolicy;
+                }
+            }
+            start = end + 1;
+        }
+
+        if (node != null && node.policy != null) {
+            return node.policy;
+        }
+        return subtreeMatch != null ? subtreeMatch : defaultPolicy;
+    }
+
+    /** Collects route declarations and compiles them into a table */
+    public static final class Builder {
+        private final RouteTable table;
+
+        public Builder(RoutePolicy defaultPolicy) {
+            table = new RouteTable(defaultPolicy);
+        }
+
+        public Builder route(String pattern, RoutePolicy policy) {
+            Node node = table.root;
+            String[] segments = pattern.split("/");
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                if (segment.equals("**")) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("** must be last: " + pattern);
+                    }
+                    node.subtreePolicy = policy;
+                    return this;
+                }
+                node = node.getOrCreate(segment);
+            }
+            node.policy = policy;
+            return this;
+        }
+
+        public RouteTable build() {
+            return table;
+        }
+    }
+
+    private static final class Node {
+        Map<String, Node> literals;
+        Node numeric;
+        Node wildcard;
+        RoutePolicy policy;
+        RoutePolicy subtreePolicy;
+
+        Node getOrCreate(String segment) {
+            if (segment.equals("{id}")) {
+                if (numeric == null) {
+                    numeric = new Node();
+                }
+                return numeric;
+            }
+            if (segment.equals("*")) {
+                if (wildcard == null) {
+                    wildcard = new Node();
+                }
+                return wildcard;
+            }
+            if (literals == null) {
+                literals = new HashMap<>();
+            }
+            return literals.computeIfAbsent(segment, key -> new Node());
+        }
+
+        Node child(String path, int start, int end) {
+            if (literals != null) {
+                Node literal = literals.get(path.substring(start, end));
+                if (literal != null) {
+                    return literal;
+                }
+            }
+            if (numeric != null && isDigits(path, start, end)) {
+                return numeric;
+            }
+            return wildcard;
+        }
+
+        private static boolean isDigits(String path, int start, int end) {
+            for (int i = start; i < end; i++) {
+                char c = path.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
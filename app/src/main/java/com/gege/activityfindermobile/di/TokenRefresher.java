@@ -0,0 +1,189 @@
+package com.gege.activityfindermobile.di;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.gege.activityfindermobile.data.api.UserApiService;
+import com.gege.activityfindermobile.data.dto.LoginResponse;
+import com.gege.activityfindermobile.data.dto.RefreshTokenRequest;
+import com.gege.activityfindermobile.utils.CredentialStore;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Refreshes the access token at most once at a time. The first caller performs the refresh, every
+ * caller arriving meanwhile waits on the same future instead of starting its own round trip.
+ */
+@Singleton
+public class TokenRefresher {
+    private static final String TAG = "TokenRefresher";
+
+    // Refresh this long before the access token expires
+    private static final long REFRESH_AHEAD_MS = TimeUnit.SECONDS.toMillis(60);
+
+    // Skip refreshes ahead of expiry for this long after one failed
+    private static final long FAILED_REFRESH_BACKOFF_MS = TimeUnit.SECONDS.toMillis(10);
+
+    private final CredentialStore credentialStore;
+    private final dagger.Lazy<UserApiService> userApiServiceLazy;
+    private final AtomicReference<CompletableFuture<String>> inFlight = new AtomicReference<>();
+    private volatile long backoffUntil;
+
+    private final AtomicInteger refreshCount = new AtomicInteger();
+    private final AtomicInteger failedRefreshCount = new AtomicInteger();
+    private final AtomicInteger sharedWaitCount = new AtomicInteger();
+    private final AtomicLong blockedNanos = new AtomicLong();
+
+    @Inject
+    public TokenRefresher(
+            CredentialStore credentialStore, dagger.Lazy<UserApiService> userApiServiceLazy) {
+        this.credentialStore = credentialStore;
+        this.userApiServiceLazy = userApiServiceLazy;
+    }
+
+    /** True if the access token expires within the refresh window; tokens without exp never do */
+    public boolean isExpiringSoon(CredentialStore.Credentials credentials) {
+        long expiresAt = credentials.getAccessTokenExpiryMillis();
+        return expiresAt > 0 && expiresAt - System.currentTimeMillis() <= REFRESH_AHEAD_MS;
+    }
+
+    /**
+     * Refresh a token that is about to expire. While offline or while the refresh endpoint fails,
+     * every request in the refresh window would otherwise send its own refresh, so this does
+     * nothing for a short while after a failed refresh and the request goes out with the current
+     * token. A request the server then rejects still refreshes through {@link #refresh(String)}.
+     *
+     * @param token Token that is about to expire
+     * @return New access token, or null if none was obtained
+     */
+    public String refreshAhead(String token) {
+        if (SystemClock.elapsedRealtime() < backoffUntil) {
+            return getRotatedToken(token);
+        }
+        return refresh(token);
+    }
+
+    /**
+     * Get an access token newer than the given one, refreshing it if no other thread already did
+     *
+     * @param staleToken Token that expired or was rejected
+     * @return New access token, or null if the refresh failed
+     */
+    public String refresh(String staleToken) {
+        String rotated = getRotatedToken(staleToken);
+        if (rotated != null) {
+            return rotated;
+        }
+
+        CompletableFuture<String> ownFuture = new CompletableFuture<>();
+        while (!inFlight.compareAndSet(null, ownFuture)) {
+            CompletableFuture<String> existing = inFlight.get();
+            if (existing != null) {
+                return awaitSharedRefresh(existing);
+            }
+        }
+
+        String newToken = null;
+        try {
+            // A refresh may have finished between the first check and taking ownership
+            newToken = getRotatedToken(staleToken);
+            if (newToken == null) {
+                newToken = performRefresh();
+            }
+        } finally {
+            // Clear before completing so later expiries start a fresh refresh
+            inFlight.set(null);
+            ownFuture.complete(newToken);
+        }
+        return newToken;
+    }
+
+    /** Current token if another request already replaced the stale one, otherwise null */
+    private String getRotatedToken(String staleToken) {
+        String current = credentialStore.getAccessToken();
+        if (current != null && !current.isEmpty() && !current.equals(staleToken)) {
+            return current;
+        }
+        return null;
+    }
+
+    private String awaitSharedRefresh(CompletableFuture<String> future) {
+        sharedWaitCount.incrementAndGet();
+        long start = SystemClock.elapsedRealtimeNanos();
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        } finally {
+            blockedNanos.addAndGet(SystemClock.elapsedRealtimeNanos() - start);
+        }
+    }
+
+    private String performRefresh() {
+        String refreshToken = credentialStore.getRefreshToken();
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            return null;
+        }
+
+        refreshCount.incrementAndGet();
+        try {
+            // Get the UserApiService lazily to avoid circular dependency
+            retrofit2.Response<LoginResponse> refreshResponse =
+                    userApiServiceLazy
+                            .get()
+                            .refreshToken(new RefreshTokenRequest(refreshToken))
+                            .execute();
+
+            if (refreshResponse.isSuccessful() && refreshResponse.body() != null) {
+                LoginResponse loginResponse = refreshResponse.body();
+                Log.i(TAG, "Token refreshed successfully");
+
+                // Swap both tokens at once so no request sees a half-updated pair
+                String newRefreshToken = loginResponse.getRefreshToken();
+                credentialStore.update(
+                        loginResponse.getAccessToken(),
+                        newRefreshToken != null ? newRefreshToken : refreshToken);
+                backoffUntil = 0;
+                return loginResponse.getAccessToken();
+            }
+            Log.e(TAG, "Token refresh failed: " + refreshResponse.code());
+        } catch (IOException e) {
+            Log.e(TAG, "Error refreshing token", e);
+        }
+        failedRefreshCount.incrementAndGet();
+        backoffUntil = SystemClock.elapsedRealtime() + FAILED_REFRESH_BACKOFF_MS;
+        return null;
+    }
+
+    /** Refresh round trips made since startup */
+    public int getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /** Refresh round trips that did not produce a new token */
+    public int getFailedRefreshCount() {
+        return failedRefreshCount.get();
+    }
+
+    /** Callers that waited for another thread's refresh instead of starting their own */
+    public int getSharedWaitCount() {
+        return sharedWaitCount.get();
+    }
+
+    /** Total time callers spent waiting for another thread's refresh */
+    public long getBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(blockedNanos.get());
+    }
+}
@@ -9,24 +9,33 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.data.model.CoverImage;
 import com.gege.activityfindermobile.data.repository.ParticipantRepository;
 import com.gege.activityfindermobile.utils.CategoryManager;
-import com.gege.activityfindermobile.utils.DateUtil;
 import com.gege.activityfindermobile.utils.DistanceFormatter;
 import com.gege.activityfindermobile.utils.ImageLoader;
 import com.google.android.material.chip.Chip;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHolder> {
 
-    private List<Activity> activities = new ArrayList<>();
+    // Partial-bind payloads, OR-ed together when several parts of a card change
+    private static final int PAYLOAD_DISTANCE = 1;
+    private static final int PAYLOAD_SPOTS = 1 << 1;
+    private static final int PAYLOAD_STATUS = 1 << 2;
+
+    private final SnapshotListDiffer<Activity> differ =
+            new SnapshotListDiffer<>(
+                    this, Activity::getId, CardState::new, ActivityAdapter::getChangePayload);
     private OnActivityClickListener listener;
     private ParticipantRepository participantRepository;
     private Long currentUserId;
@@ -38,22 +47,19 @@ public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHo
     }
 
     public ActivityAdapter(OnActivityClickListener listener) {
-        this.listener = listener;
+        this(listener, null, null, null);
     }
 
     public ActivityAdapter(
             OnActivityClickListener listener, ParticipantRepository participantRepository) {
-        this.listener = listener;
-        this.participantRepository = participantRepository;
+        this(listener, participantRepository, null, null);
     }
 
     public ActivityAdapter(
             OnActivityClickListener listener,
             ParticipantRepository participantRepository,
             Long currentUserId) {
-        this.listener = listener;
-        this.participantRepository = participantRepository;
-        this.currentUserId = currentUserId;
+        this(listener, participantRepository, currentUserId, null);
     }
 
     public ActivityAdapter(
@@ -65,24 +71,51 @@ public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHo
         this.participantRepository = participantRepository;
         this.currentUserId = currentUserId;
         this.categoryManager = categoryManager;
+        setHasStableIds(true);
     }
 
     public void setCurrentUserId(Long currentUserId) {
-        this.currentUserId = currentUserId;
+        if (!Objects.equals(this.currentUserId, currentUserId)) {
+            this.currentUserId = currentUserId;
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_STATUS);
+        }
     }
 
     public void setUseKilometers(boolean useKilometers) {
-        this.useKilometers = useKilometers;
+        if (this.useKilometers != useKilometers) {
+            this.useKilometers = useKilometers;
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_DISTANCE);
+        }
     }
 
+    /** Show a new list; only rows that were added, moved or changed are rebound */
     public void setActivities(List<Activity> activities) {
-        this.activities = activities;
         android.util.Log.d(
                 "ActivityAdapter",
                 "setActivities called with "
                         + (activities != null ? activities.size() : 0)
                         + " items");
-        notifyDataSetChanged();
+        differ.submitList(activities);
+    }
+
+    @Nullable
+    private static Object getChangePayload(Object oldContent, Object newContent) {
+        CardState oldState = (CardState) oldContent;
+        CardState newState = (CardState) newContent;
+        if (!oldState.body.equals(newState.body)) {
+            return null;
+        }
+        int payload = 0;
+        if (!Objects.equals(oldState.distance, newState.distance)) {
+            payload |= PAYLOAD_DISTANCE;
+        }
+        if (!oldState.spots.equals(newState.spots)) {
+            payload |= PAYLOAD_SPOTS;
+        }
+        if (!oldState.status.equals(newState.status)) {
+            payload |= PAYLOAD_STATUS;
+        }
+        return payload;
     }
 
     @NonNull
@@ -96,7 +129,7 @@ public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHo
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Activity activity = activities.get(position);
+        Activity activity = differ.get(position);
         android.util.Log.d(
                 "ActivityAdapter",
                 "onBindViewHolder called for position "
@@ -106,13 +139,86 @@ public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHo
         holder.bind(activity);
     }
 
+    @Override
+    public void onBindViewHolder(
+            @NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        int changed = 0;
+        for (Object payload : payloads) {
+            changed |= (Integer) payload;
+        }
+        Activity activity = differ.get(position);
+        Context context = holder.itemView.getContext();
+        if ((changed & PAYLOAD_DISTANCE) != 0) {
+            holder.bindDistance(activity);
+        }
+        if ((changed & PAYLOAD_SPOTS) != 0) {
+            holder.bindSpots(activity);
+        }
+        if ((changed & PAYLOAD_STATUS) != 0) {
+            holder.updateStatusChip(activity, holder.chipStatus, context);
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getItemId(position);
+    }
+
     @Override
     public int getItemCount() {
-        int count = activities.size();
+        int count = differ.size();
         android.util.Log.d("ActivityAdapter", "getItemCount: " + count);
         return count;
     }
 
+    /** Displayed state of a card, split so that small changes can be rebound on their own */
+    private static final class CardState {
+        final List<Object> body;
+        final Double distance;
+        final List<Object> spots;
+        final List<Object> status;
+
+        CardState(Activity activity) {
+            body =
+                    Arrays.asList(
+                            activity.getTitle(),
+                            activity.getDescription(),
+                            activity.getDate(),
+                            activity.getTime(),
+                            activity.getLocation(),
+                            activity.getCategory(),
+                            activity.getCoverImageUrl(),
+                            activity.getCoverThumbnailUrl(),
+                            activity.getCoverMediumUrl(),
+                            activity.getCreatorAvatar(),
+                            activity.getCreatorName(),
+                            activity.getCreatorRating());
+            distance = activity.getDistance();
+            spots = Arrays.asList(activity.getParticipantsCount(), activity.getTotalSpots());
+            status = Arrays.asList(activity.getCreatorId(), activity.getCurrentUserStatus());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CardState)) return false;
+            CardState that = (CardState) o;
+            return body.equals(that.body)
+                    && Objects.equals(distance, that.distance)
+                    && spots.equals(that.spots)
+                    && status.equals(that.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(body, distance, spots, status);
+        }
+    }
+
     class ViewHolder extends RecyclerView.ViewHolder {
         ImageView ivActivityImage;
         ImageView ivCreatorAvatar;
@@ -146,8 +252,9 @@ public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHo
 
             itemView.setOnClickListener(
                     v -> {
-                        if (listener != null) {
-                            listener.onActivityClick(activities.get(getAdapterPosition()));
+                        int position = getAdapterPosition();
+                        if (position != RecyclerView.NO_POSITION && listener != null) {
+                            listener.onActivityClick(differ.get(position));
                         }
                     });
         }
@@ -160,7 +267,7 @@ public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHo
                     "ItemView height: " + itemView.getHeight() + ", width: " + itemView.getWidth());
 
             // Load cover image (custom or category-based)
-            loadCategoryImage(activity.getCategory(), activity.getCoverImageUrl(), context);
+            loadCategoryImage(activity.getCategory(), activity.getCoverImage(), context);
 
             // Load creator avatar
             ImageLoader.loadCircularProfileImage(
@@ -191,28 +298,14 @@ public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHo
 
             tvLocation.setText(activity.getLocation());
 
-            // Display distance if available (respects user's km/miles preference)
-            String formattedDistance = DistanceFormatter.format(activity.getDistance(), useKilometers);
-            if (formattedDistance != null) {
-                tvDistance.setText(formattedDistance);
-                tvDistance.setVisibility(View.VISIBLE);
-            } else {
-                tvDistance.setVisibility(View.GONE);
-            }
+            bindDistance(activity);
 
             tvCreatorName.setText(activity.getCreatorName());
 
             // Display creator rating if available
             displayCreatorRating(activity.getCreatorRating(), tvCreatorRating);
 
-            // Display participants count from server response (no extra API call needed)
-            int totalSpots = activity.getTotalSpots() != null ? activity.getTotalSpots() : 0;
-            int currentParticipants = activity.getParticipantsCount();
-            String spotsText = currentParticipants + "/" + totalSpots + " spots";
-            tvSpotsAvailable.setText(spotsText);
-            if (tvSpotsDisplay != null) {
-                tvSpotsDisplay.setText(spotsText);
-            }
+            bindSpots(activity);
 
             // Set category with dynamic color
             String category = activity.getCategory();
@@ -233,7 +326,29 @@ public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHo
             updateStatusChip(activity, chipStatus, context);
         }
 
-        private void updateStatusChip(Activity activity, Chip chipStatus, Context context) {
+        void bindDistance(Activity activity) {
+            // Display distance if available (respects user's km/miles preference)
+            String formattedDistance = DistanceFormatter.format(activity.getDistance(), useKilometers);
+            if (formattedDistance != null) {
+                tvDistance.setText(formattedDistance);
+                tvDistance.setVisibility(View.VISIBLE);
+            } else {
+                tvDistance.setVisibility(View.GONE);
+            }
+        }
+
+        void bindSpots(Activity activity) {
+            // Display participants count from server response (no extra API call needed)
+            int totalSpots = activity.getTotalSpots() != null ? activity.getTotalSpots() : 0;
+            int currentParticipants = activity.getParticipantsCount();
+            String spotsText = currentParticipants + "/" + totalSpots + " spots";
+            tvSpotsAvailable.setText(spotsText);
+            if (tvSpotsDisplay != null) {
+                tvSpotsDisplay.setText(spotsText);
+            }
+        }
+
+        void updateStatusChip(Activity activity, Chip chipStatus, Context context) {
             // Hide by default
             chipStatus.setVisibility(View.GONE);
 
@@ -367,14 +482,15 @@ public class ActivityAdapter extends RecyclerView.Adapter<ActivityAdapter.ViewHo
         }
 
         private boolean isActivityExpired(Activity activity) {
-            return DateUtil.isDisplayDateExpired(activity.getDate());
+            return activity.isExpired();
         }
 
-        private void loadCategoryImage(String category, String coverImageUrl, Context context) {
-            // Check if activity has a custom cover image
-            if (coverImageUrl != null && !coverImageUrl.isEmpty()) {
-                android.util.Log.d("ActivityAdapter", "Loading cover image from: " + coverImageUrl);
-                ImageLoader.loadCoverImage(context, coverImageUrl, ivActivityImage);
+        private void loadCategoryImage(String category, CoverImage coverImage, Context context) {
+            // Check if activity has a custom cover image; the card takes the variant that fits it
+            if (coverImage != null) {
+                android.util.Log.d(
+                        "ActivityAdapter", "Loading cover image from: " + coverImage.getImageUrl());
+                ImageLoader.loadCoverImage(context, coverImage, ivActivityImage);
                 return;
             }
 
@@ -13,7 +13,7 @@ import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.model.ActivityPhoto;
 import com.gege.activityfindermobile.utils.ImageLoader;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import de.hdodenhof.circleimageview.CircleImageView;
@@ -21,7 +21,16 @@ import de.hdodenhof.circleimageview.CircleImageView;
 public class ActivityGalleryAdapter
         extends RecyclerView.Adapter<ActivityGalleryAdapter.PhotoViewHolder> {
 
-    private List<ActivityPhoto> photos;
+    private final SnapshotListDiffer<ActivityPhoto> differ =
+            new SnapshotListDiffer<>(
+                    this,
+                    ActivityPhoto::getId,
+                    photo ->
+                            Arrays.asList(
+                                    photo.getPhotoUrl(),
+                                    photo.getUserAvatar(),
+                                    photo.getUserName(),
+                                    photo.getUserId()));
     private final OnPhotoClickListener listener;
     private final Long currentUserId;
 
@@ -32,14 +41,13 @@ public class ActivityGalleryAdapter
     }
 
     public ActivityGalleryAdapter(Long currentUserId, OnPhotoClickListener listener) {
-        this.photos = new ArrayList<>();
         this.currentUserId = currentUserId;
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void setPhotos(List<ActivityPhoto> photos) {
-        this.photos = photos != null ? photos : new ArrayList<>();
-        notifyDataSetChanged();
+        differ.submitList(photos);
     }
 
     @NonNull
@@ -53,13 +61,18 @@ public class ActivityGalleryAdapter
 
     @Override
     public void onBindViewHolder(@NonNull PhotoViewHolder holder, int position) {
-        ActivityPhoto photo = photos.get(position);
+        ActivityPhoto photo = differ.get(position);
         holder.bind(photo);
     }
 
+    @Override
+    public long getItemId(int position) {
+        return differ.getItemId(position);
+    }
+
     @Override
     public int getItemCount() {
-        return photos.size();
+        return differ.size();
     }
 
     class PhotoViewHolder extends RecyclerView.ViewHolder {
@@ -78,7 +91,7 @@ public class ActivityGalleryAdapter
 
         public void bind(ActivityPhoto photo) {
             // Load photo
-            ImageLoader.loadGalleryPhoto(itemView.getContext(), photo.getPhotoUrl(), ivPhoto);
+            ImageLoader.loadGalleryPhoto(itemView.getContext(), photo, ivPhoto);
 
             // Load user avatar and name
             if (photo.getUserAvatar() != null && !photo.getUserAvatar().isEmpty()) {
@@ -113,6 +126,6 @@ public class ActivityGalleryAdapter
     }
 
     public List<ActivityPhoto> getPhotos() {
-        return photos;
+        return differ.getLatestItems();
     }
 }
@@ -13,23 +13,32 @@ import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.model.ActivityMessage;
 import com.gege.activityfindermobile.utils.ImageLoader;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import de.hdodenhof.circleimageview.CircleImageView;
 
 public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.ViewHolder> {
 
-    private List<ActivityMessage> comments = new ArrayList<>();
+    private final SnapshotListDiffer<ActivityMessage> differ =
+            new SnapshotListDiffer<>(
+                    this,
+                    ActivityMessage::getId,
+                    comment ->
+                            Arrays.asList(
+                                    comment.getUserAvatar(),
+                                    comment.getUserName(),
+                                    comment.getMessageText(),
+                                    comment.getCreatedAt()));
     private Context context;
 
     public CommentAdapter(Context context) {
         this.context = context;
+        setHasStableIds(true);
     }
 
     public void setComments(List<ActivityMessage> comments) {
-        this.comments = comments;
-        notifyDataSetChanged();
+        differ.submitList(comments);
     }
 
     @NonNull
@@ -43,13 +52,18 @@ public class CommentAdapter extends RecyclerView.Adapter<CommentAdapter.ViewHold
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        ActivityMessage comment = comments.get(position);
+        ActivityMessage comment = differ.get(position);
         holder.bind(comment);
     }
 
+    @Override
+    public long getItemId(int position) {
+        return differ.getItemId(position);
+    }
+
     @Override
     public int getItemCount() {
-        return comments.size();
+        return differ.size();
     }
 
     class ViewHolder extends RecyclerView.ViewHolder {
@@ -10,11 +10,9 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.model.CoverImage;
-import com.gege.activityfindermobile.utils.Constants;
+import com.gege.activityfindermobile.utils.ImageLoader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -82,17 +80,8 @@ public class CoverImageAdapter extends RecyclerView.Adapter<CoverImageAdapter.Vi
         }
 
         void bind(CoverImage coverImage) {
-            // Load image
-            String imageUrl = coverImage.getImageUrl();
-            String fullUrl = buildFullUrl(imageUrl);
-
-            Glide.with(context)
-                    .load(fullUrl)
-                    .diskCacheStrategy(DiskCacheStrategy.ALL)
-                    .centerCrop()
-                    .placeholder(R.drawable.activity_default)
-                    .error(R.drawable.activity_default)
-                    .into(ivCoverThumb);
+            // Load image, a thumbnail when the server provides one
+            ImageLoader.loadCoverImage(context, coverImage, ivCoverThumb);
 
             // Display name
             if (coverImage.getDisplayName() != null && !coverImage.getDisplayName().isEmpty()) {
@@ -116,19 +105,5 @@ public class CoverImageAdapter extends RecyclerView.Adapter<CoverImageAdapter.Vi
                         }
                     });
         }
-
-        private String buildFullUrl(String imageUrl) {
-            if (imageUrl == null || imageUrl.isEmpty()) {
-                return "";
-            }
-            if (imageUrl.startsWith("http")) {
-                return imageUrl;
-            }
-            String baseUrl = Constants.BASE_URL;
-            if (baseUrl.endsWith("/")) {
-                baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
-            }
-            return baseUrl + (imageUrl.startsWith("/") ? imageUrl : "/" + imageUrl);
-        }
     }
 }
@@ -36,8 +36,7 @@ public class FullScreenPhotoAdapter
     @Override
     public void onBindViewHolder(@NonNull PhotoViewHolder holder, int position) {
         UserPhoto photo = photos.get(position);
-        ImageLoader.loadGalleryPhoto(
-                holder.imageView.getContext(), photo.getPhotoUrl(), holder.imageView);
+        ImageLoader.loadGalleryPhoto(holder.imageView.getContext(), photo, holder.imageView);
     }
 
     @Override
@@ -67,7 +67,7 @@ public class GalleryPreviewAdapter extends RecyclerView.Adapter<GalleryPreviewAd
         ActivityPhoto photo = photos.get(position);
 
         // Load photo
-        ImageLoader.loadGalleryPhoto(context, photo.getPhotoUrl(), holder.ivPhoto);
+        ImageLoader.loadGalleryPhoto(context, photo, holder.ivPhoto);
 
         // Check if this is the last preview item and there are more photos
         boolean isLastPreview = position == MAX_PREVIEW_PHOTOS - 1;
@@ -15,13 +15,24 @@ import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import de.hdodenhof.circleimageview.CircleImageView;
 
 public class InterestedUserAdapter extends RecyclerView.Adapter<InterestedUserAdapter.ViewHolder> {
 
-    private List<Participant> interestedUsers = new ArrayList<>();
+    private final SnapshotListDiffer<Participant> differ =
+            new SnapshotListDiffer<>(
+                    this,
+                    Participant::getId,
+                    participant ->
+                            Arrays.asList(
+                                    participant.getUserAvatar(),
+                                    participant.getUserName(),
+                                    participant.getUserRating(),
+                                    participant.getJoinedAt(),
+                                    participant.getStatus()));
     private OnActionListener listener;
 
     public interface OnActionListener {
@@ -32,21 +43,23 @@ public class InterestedUserAdapter extends RecyclerView.Adapter<InterestedUserAd
 
     public InterestedUserAdapter(OnActionListener listener) {
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void setInterestedUsers(List<Participant> users) {
-        this.interestedUsers = users;
-        notifyDataSetChanged();
+        differ.submitList(users);
     }
 
-    public void removeParticipant(Long participantId) {
-        for (int i = 0; i < interestedUsers.size(); i++) {
-            if (interestedUsers.get(i).getId().equals(participantId)) {
-                interestedUsers.remove(i);
-                notifyItemRemoved(i);
-                break;
-            }
-        }
+    /**
+     * Remove a request from the list
+     *
+     * @return Number of requests left
+     */
+    public int removeParticipant(Long participantId) {
+        List<Participant> remaining = new ArrayList<>(differ.getLatestItems());
+        remaining.removeIf(participant -> participantId.equals(participant.getId()));
+        differ.submitList(remaining);
+        return remaining.size();
     }
 
     @NonNull
@@ -60,13 +73,18 @@ public class InterestedUserAdapter extends RecyclerView.Adapter<InterestedUserAd
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Participant participant = interestedUsers.get(position);
+        Participant participant = differ.get(position);
         holder.bind(participant, listener);
     }
 
+    @Override
+    public long getItemId(int position) {
+        return differ.getItemId(position);
+    }
+
     @Override
     public int getItemCount() {
-        return interestedUsers.size();
+        return differ.size();
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -8,6 +8,7 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -15,27 +16,52 @@ import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.model.Notification;
 import com.gege.activityfindermobile.utils.DateUtil;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapter.ViewHolder> {
 
-    private List<Notification> notifications = new ArrayList<>();
+    // Partial-bind payload when only the read state of a notification changed
+    private static final Object PAYLOAD_READ_STATE = new Object();
+
+    private final SnapshotListDiffer<Notification> differ =
+            new SnapshotListDiffer<>(
+                    this,
+                    Notification::getId,
+                    notification ->
+                            Arrays.asList(
+                                    notification.getTitle(),
+                                    notification.getMessage(),
+                                    notification.getCreatedAt(),
+                                    notification.getType(),
+                                    notification.getIsRead()),
+                    NotificationAdapter::getChangePayload);
     private OnNotificationClickListener listener;
 
     public interface OnNotificationClickListener {
         void onNotificationClick(Notification notification);
     }
 
-    public NotificationAdapter() {}
+    public NotificationAdapter() {
+        setHasStableIds(true);
+    }
 
     public void setOnNotificationClickListener(OnNotificationClickListener listener) {
         this.listener = listener;
     }
 
     public void setNotifications(List<Notification> notifications) {
-        this.notifications = notifications;
-        notifyDataSetChanged();
+        differ.submitList(notifications);
+    }
+
+    @Nullable
+    private static Object getChangePayload(Object oldContent, Object newContent) {
+        List<?> oldFields = (List<?>) oldContent;
+        List<?> newFields = (List<?>) newContent;
+        int readIndex = oldFields.size() - 1;
+        return oldFields.subList(0, readIndex).equals(newFields.subList(0, readIndex))
+                ? PAYLOAD_READ_STATE
+                : null;
     }
 
     @NonNull
@@ -49,13 +75,28 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Notification notification = notifications.get(position);
+        Notification notification = differ.get(position);
         holder.bind(notification);
     }
 
+    @Override
+    public void onBindViewHolder(
+            @NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.bindReadState(differ.get(position));
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getItemId(position);
+    }
+
     @Override
     public int getItemCount() {
-        return notifications.size();
+        return differ.size();
     }
 
     class ViewHolder extends RecyclerView.ViewHolder {
@@ -75,7 +116,7 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
                     v -> {
                         int position = getAdapterPosition();
                         if (position != RecyclerView.NO_POSITION && listener != null) {
-                            listener.onNotificationClick(notifications.get(position));
+                            listener.onNotificationClick(differ.get(position));
                         }
                     });
         }
@@ -90,6 +131,10 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
             // Set icon based on notification type
             setNotificationIcon(context, notification);
 
+            bindReadState(notification);
+        }
+
+        void bindReadState(Notification notification) {
             // Show indicator for unread notifications
             if (notification.getIsRead() != null && !notification.getIsRead()) {
                 indicatorUnread.setVisibility(View.VISIBLE);
@@ -17,17 +17,29 @@ import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
 public class ParticipantAdapter extends RecyclerView.Adapter<ParticipantAdapter.ViewHolder> {
 
-    private List<Participant> participants = new ArrayList<>();
+    private final SnapshotListDiffer<Participant> differ =
+            new SnapshotListDiffer<>(
+                    this,
+                    Participant::getId,
+                    participant ->
+                            Arrays.asList(
+                                    participant.getUserId(),
+                                    participant.getUserAvatar(),
+                                    participant.getUserName(),
+                                    participant.getUserRating(),
+                                    participant.getStatus()));
     private OnParticipantClickListener listener;
     private OnReviewClickListener reviewListener;
     private OnRemoveClickListener removeListener;
     private Long activityId;
-    private String activityDate;
+    // Parsed once per activity instead of on every bind
+    private boolean activityExpired;
     private Long currentUserId;
     private Long creatorId;
     private Set<Long> alreadyReviewedUserIds;
@@ -58,6 +70,7 @@ public class ParticipantAdapter extends RecyclerView.Adapter<ParticipantAdapter.
     public ParticipantAdapter(OnParticipantClickListener listener, Owner owner) {
         this.listener = listener;
         this.owner = owner;
+        setHasStableIds(true);
     }
 
     public boolean isParticpantTabFragment() {
@@ -65,8 +78,7 @@ public class ParticipantAdapter extends RecyclerView.Adapter<ParticipantAdapter.
     }
 
     public void setParticipants(List<Participant> participants) {
-        this.participants = participants;
-        notifyDataSetChanged();
+        differ.submitList(participants);
     }
 
     public void setReviewListener(OnReviewClickListener reviewListener) {
@@ -82,7 +94,7 @@ public class ParticipantAdapter extends RecyclerView.Adapter<ParticipantAdapter.
     }
 
     public void setActivityDate(String activityDate) {
-        this.activityDate = activityDate;
+        this.activityExpired = DateUtil.isDisplayDateExpired(activityDate);
     }
 
     public void setCurrentUserId(Long currentUserId) {
@@ -95,17 +107,19 @@ public class ParticipantAdapter extends RecyclerView.Adapter<ParticipantAdapter.
 
     public void setAlreadyReviewedUserIds(Set<Long> alreadyReviewedUserIds) {
         this.alreadyReviewedUserIds = alreadyReviewedUserIds;
-        notifyDataSetChanged();
+        notifyItemRangeChanged(0, getItemCount());
     }
 
-    public void removeParticipant(Long participantId) {
-        for (int i = 0; i < participants.size(); i++) {
-            if (participants.get(i).getId().equals(participantId)) {
-                participants.remove(i);
-                notifyItemRemoved(i);
-                break;
-            }
-        }
+    /**
+     * Remove a participant from the list
+     *
+     * @return Number of participants left
+     */
+    public int removeParticipant(Long participantId) {
+        List<Participant> remaining = new ArrayList<>(differ.getLatestItems());
+        remaining.removeIf(participant -> participantId.equals(participant.getId()));
+        differ.submitList(remaining);
+        return remaining.size();
     }
 
     @NonNull
@@ -119,23 +133,28 @@ public class ParticipantAdapter extends RecyclerView.Adapter<ParticipantAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Participant participant = participants.get(position);
+        Participant participant = differ.get(position);
         holder.bind(
                 participant,
                 listener,
                 reviewListener,
                 removeListener,
                 activityId,
-                activityDate,
+                activityExpired,
                 currentUserId,
                 creatorId,
                 owner,
                 alreadyReviewedUserIds);
     }
 
+    @Override
+    public long getItemId(int position) {
+        return differ.getItemId(position);
+    }
+
     @Override
     public int getItemCount() {
-        return participants.size();
+        return differ.size();
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
@@ -166,7 +185,7 @@ public class ParticipantAdapter extends RecyclerView.Adapter<ParticipantAdapter.
                 OnReviewClickListener reviewListener,
                 OnRemoveClickListener removeListener,
                 Long activityId,
-                String activityDate,
+                boolean isActivityExpired,
                 Long currentUserId,
                 Long creatorId,
                 Owner owner,
@@ -229,7 +248,6 @@ public class ParticipantAdapter extends RecyclerView.Adapter<ParticipantAdapter.
             // 1. Participant is JOINED or ACCEPTED
             // 2. Activity is expired
             // 3. Not reviewing yourself
-            boolean isActivityExpired = isActivityExpired(activityDate);
             boolean isCurrentUser =
                     currentUserId != null && currentUserId.equals(participant.getUserId());
             boolean showReview = ("JOINED".equals(status) || "ACCEPTED".equals(status))
@@ -281,9 +299,5 @@ public class ParticipantAdapter extends RecyclerView.Adapter<ParticipantAdapter.
                 cardParticipant.setOnClickListener(v -> listener.onParticipantClick(participant));
             }
         }
-
-        private boolean isActivityExpired(String dateStr) {
-            return DateUtil.isDisplayDateExpired(dateStr);
-        }
     }
 }
@@ -47,13 +47,27 @@ public class PhotoGalleryAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
     }
 
     public void setEditMode(boolean editMode) {
-        this.isEditMode = editMode;
-        notifyDataSetChanged();
+        if (this.isEditMode != editMode) {
+            this.isEditMode = editMode;
+            notifyItemRangeChanged(0, getPhotoCount());
+        }
     }
 
     public void setShowAddButton(boolean showAddButton) {
+        if (this.showAddButton == showAddButton) {
+            return;
+        }
         this.showAddButton = showAddButton;
-        notifyDataSetChanged();
+        // The add button is the last item, after the photos
+        if (showAddButton) {
+            notifyItemInserted(getPhotoCount());
+        } else {
+            notifyItemRemoved(getPhotoCount());
+        }
+    }
+
+    private int getPhotoCount() {
+        return photos != null ? photos.size() : 0;
     }
 
     @Override
@@ -120,7 +134,7 @@ public class PhotoGalleryAdapter extends RecyclerView.Adapter<RecyclerView.ViewH
             Context context = itemView.getContext();
 
             // Load photo with authorization header
-            ImageLoader.loadGalleryPhoto(context, photo.getPhotoUrl(), ivPhoto);
+            ImageLoader.loadGalleryPhoto(context, photo, ivPhoto);
 
             // Show/hide profile badge - only in edit mode
             if (editMode && photo.getIsProfilePicture() != null && photo.getIsProfilePicture()) {
@@ -73,7 +73,7 @@ public class PhotoGridAdapter extends RecyclerView.Adapter<PhotoGridAdapter.Phot
 
         void bind(UserPhoto photo, int position) {
             // Load photo using ImageLoader with authorization headers
-            ImageLoader.loadGalleryPhoto(itemView.getContext(), photo.getPhotoUrl(), ivPhoto);
+            ImageLoader.loadGalleryPhoto(itemView.getContext(), photo, ivPhoto);
 
             // Set click listener to navigate to full-screen viewer
             itemView.setOnClickListener(
@@ -0,0 +1,155 @@
+package com.gege.activityfindermobile.ui.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Diffs list updates on a background thread and dispatches only the changed rows to the adapter.
+ *
+ * <p>Rows are compared by a stable id and a snapshot of their displayed content taken at submit
+ * time. Repository models are shared instances that get updated in place, so comparing the models
+ * themselves would miss those changes.
+ */
+public class SnapshotListDiffer<T> {
+
+    /** Describes a content change so the row can be partially rebound */
+    public interface PayloadFactory {
+        @Nullable
+        Object getPayload(@Nullable Object oldContent, @Nullable Object newContent);
+    }
+
+    private final AsyncListDiffer<Row<T>> differ;
+    private final Function<T, Long> idFunction;
+    private final Function<T, Object> contentFunction;
+    private List<T> latestItems = Collections.emptyList();
+
+    // Ids for items without a server id, kept per instance while the item stays in the list
+    private Map<T, Long> localIds = new IdentityHashMap<>();
+    private long nextLocalId = -1L;
+
+    public SnapshotListDiffer(
+            @NonNull RecyclerView.Adapter<?> adapter,
+            @NonNull Function<T, Long> idFunction,
+            @NonNull Function<T, Object> contentFunction) {
+        this(adapter, idFunction, contentFunction, null);
+    }
+
+    /**
+     * @param idFunction Server id of an item, also used for {@link RecyclerView.Adapter#getItemId};
+     *     items that return null get a negative id that stays fixed while they remain in the list
+     * @param contentFunction Value object with everything the row displays, compared with equals()
+     * @param payloadFactory Optional partial-bind payload for rows whose content changed
+     */
+    public SnapshotListDiffer(
+            @NonNull RecyclerView.Adapter<?> adapter,
+            @NonNull Function<T, Long> idFunction,
+            @NonNull Function<T, Object> contentFunction,
+            @Nullable PayloadFactory payloadFactory) {
+        this.idFunction = idFunction;
+        this.contentFunction = contentFunction;
+        this.differ = new AsyncListDiffer<>(adapter, new RowCallback<>(payloadFactory));
+    }
+
+    public void submitList(@Nullable List<T> items) {
+        submitList(items, null);
+    }
+
+    /**
+     * Replace the list. The diff runs in the background; {@code commitCallback} runs on the main
+     * thread once the adapter reflects the new list.
+     */
+    public void submitList(@Nullable List<T> items, @Nullable Runnable commitCallback) {
+        latestItems =
+                items != null
+                        ? Collections.unmodifiableList(new ArrayList<>(items))
+                        : Collections.emptyList();
+        List<Row<T>> rows = new ArrayList<>(latestItems.size());
+        Map<T, Long> currentLocalIds = new IdentityHashMap<>();
+        for (T item : latestItems) {
+            rows.add(new Row<>(item, idOf(item, currentLocalIds), contentFunction.apply(item)));
+        }
+        localIds = currentLocalIds;
+        differ.submitList(rows, commitCallback);
+    }
+
+    private long idOf(T item, Map<T, Long> currentLocalIds) {
+        Long id = idFunction.apply(item);
+        if (id != null) {
+            return id;
+        }
+        // A counter, unlike identity hash codes, never gives two items the same id
+        id = localIds.get(item);
+        if (id == null) {
+            id = nextLocalId--;
+        }
+        currentLocalIds.put(item, id);
+        return id;
+    }
+
+    /** The most recently submitted items, including a list whose diff is still running */
+    @NonNull
+    public List<T> getLatestItems() {
+        return latestItems;
+    }
+
+    public T get(int position) {
+        return differ.getCurrentList().get(position).item;
+    }
+
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).id;
+    }
+
+    public int size() {
+        return differ.getCurrentList().size();
+    }
+
+    private static final class Row<T> {
+        final T item;
+        final long id;
+        final Object content;
+
+        Row(T item, long id, Object content) {
+            this.item = item;
+            this.id = id;
+            this.content = content;
+        }
+    }
+
+    private static final class RowCallback<T> extends DiffUtil.ItemCallback<Row<T>> {
+        private final PayloadFactory payloadFactory;
+
+        RowCallback(PayloadFactory payloadFactory) {
+            this.payloadFactory = payloadFactory;
+        }
+
+        @Override
+        public boolean areItemsTheSame(@NonNull Row<T> oldRow, @NonNull Row<T> newRow) {
+            return oldRow.id == newRow.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Row<T> oldRow, @NonNull Row<T> newRow) {
+            return Objects.equals(oldRow.content, newRow.content);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull Row<T> oldRow, @NonNull Row<T> newRow) {
+            return payloadFactory != null
+                    ? payloadFactory.getPayload(oldRow.content, newRow.content)
+                    : null;
+        }
+    }
+}
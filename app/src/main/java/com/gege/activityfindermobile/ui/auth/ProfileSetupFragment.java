@@ -1,12 +1,10 @@
 package com.gege.activityfindermobile.ui.auth;
 
-import android.content.ContentResolver;
 import android.net.Uri;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.webkit.MimeTypeMap;
 import android.widget.ImageButton;
 import android.widget.LinearLayout;
 import android.widget.TextView;
@@ -25,14 +23,16 @@ import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
 import com.gege.activityfindermobile.data.dto.UserProfileUpdateRequest;
+import com.gege.activityfindermobile.data.image.ImagePreparer;
 import com.gege.activityfindermobile.data.model.Category;
-import com.gege.activityfindermobile.data.model.ImageUploadResponse;
 import com.gege.activityfindermobile.data.model.User;
 import com.gege.activityfindermobile.data.model.UserPhoto;
 import com.gege.activityfindermobile.data.repository.UserPhotoRepository;
 import com.gege.activityfindermobile.data.repository.UserRepository;
-import com.gege.activityfindermobile.utils.CategoryManager;
+import com.gege.activityfindermobile.data.upload.UploadQueue;
+import com.gege.activityfindermobile.data.upload.UploadStatus;
 import com.gege.activityfindermobile.ui.adapters.PhotoGalleryAdapter;
+import com.gege.activityfindermobile.utils.CategoryManager;
 import com.gege.activityfindermobile.utils.ImageLoader;
 import com.gege.activityfindermobile.utils.SharedPreferencesManager;
 import com.google.android.material.button.MaterialButton;
@@ -43,8 +43,6 @@ import com.google.android.material.progressindicator.CircularProgressIndicator;
 import com.google.android.material.textfield.TextInputEditText;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -52,6 +50,7 @@ import javax.inject.Inject;
 
 import dagger.hilt.android.AndroidEntryPoint;
 import de.hdodenhof.circleimageview.CircleImageView;
+import okhttp3.RequestBody;
 
 @AndroidEntryPoint
 public class ProfileSetupFragment extends Fragment {
@@ -60,6 +59,10 @@ public class ProfileSetupFragment extends Fragment {
 
     @Inject UserPhotoRepository userPhotoRepository;
 
+    @Inject ImagePreparer imagePreparer;
+
+    @Inject UploadQueue uploadQueue;
+
     @Inject SharedPreferencesManager prefsManager;
 
     @Inject CategoryManager categoryManager;
@@ -120,6 +123,8 @@ public class ProfileSetupFragment extends Fragment {
 
         initViews(view);
         setupListeners();
+
+        uploadQueue.observe(getViewLifecycleOwner(), this::onUploadChanged);
     }
 
     private void initViews(View view) {
@@ -234,19 +239,33 @@ public class ProfileSetupFragment extends Fragment {
     }
 
     private void uploadImageAndUpdateProfile(Long userId, String bio, List<String> interests) {
-        // Convert URI to File
-        File imageFile = getFileFromUri(selectedImageUri);
-        if (imageFile == null) {
-            Toast.makeText(requireContext(), "Failed to process image", Toast.LENGTH_SHORT).show();
-            // Continue anyway with just bio and interests
-            updateProfile(userId, bio, interests, null);
-            return;
-        }
+        imagePreparer.prepareBody(
+                selectedImageUri,
+                new ApiCallback<RequestBody>() {
+                    @Override
+                    public void onSuccess(RequestBody image) {
+                        if (isAdded()) {
+                            uploadProfileImage(userId, bio, interests, image);
+                        }
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {
+                        if (!isAdded()) {
+                            return;
+                        }
+                        Toast.makeText(requireContext(), errorMessage, Toast.LENGTH_SHORT).show();
+                        // Continue anyway with just bio and interests
+                        updateProfile(userId, bio, interests, null);
+                    }
+                });
+    }
 
-        // Upload image
+    private void uploadProfileImage(
+            Long userId, String bio, List<String> interests, RequestBody image) {
         userRepository.uploadProfileImage(
                 userId,
-                imageFile,
+                image,
                 new ApiCallback<String>() {
                     @Override
                     public void onSuccess(String imageUrl) {
@@ -311,38 +330,6 @@ public class ProfileSetupFragment extends Fragment {
                 });
     }
 
-    private File getFileFromUri(Uri uri) {
-        try {
-            ContentResolver contentResolver = requireContext().getContentResolver();
-            String mimeType = contentResolver.getType(uri);
-            String extension = MimeTypeMap.getSingleton().getExtensionFromMimeType(mimeType);
-            if (extension == null) extension = "jpg";
-
-            // Create a temporary file
-            File tempFile =
-                    File.createTempFile(
-                            "profile_image_", "." + extension, requireContext().getCacheDir());
-
-            // Copy URI content to file
-            InputStream inputStream = contentResolver.openInputStream(uri);
-            FileOutputStream outputStream = new FileOutputStream(tempFile);
-
-            byte[] buffer = new byte[4096];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
-
-            outputStream.close();
-            inputStream.close();
-
-            return tempFile;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
     private List<String> getSelectedInterests() {
         List<String> interests = new ArrayList<>();
 
@@ -389,47 +376,54 @@ public class ProfileSetupFragment extends Fragment {
             return;
         }
 
-        File photoFile = getFileFromUri(photoUri);
-        if (photoFile == null) {
-            Toast.makeText(requireContext(), "Failed to process image", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        // Check if this is the first photo
-        boolean isFirstPhoto = setupPhotos.isEmpty();
-
         setLoading(true);
-        userPhotoRepository.uploadPhoto(
-                photoFile,
-                new ApiCallback<ImageUploadResponse>() {
+        imagePreparer.prepare(
+                photoUri,
+                new ApiCallback<File>() {
                     @Override
-                    public void onSuccess(ImageUploadResponse uploadResponse) {
-                        Toast.makeText(requireContext(), "Photo uploaded!", Toast.LENGTH_SHORT)
-                                .show();
-
-                        // If this is the first photo, reload photos and automatically set it as
-                        // profile picture
-                        if (isFirstPhoto) {
-                            loadSetupPhotosAndSetFirst();
-                        } else {
-                            setLoading(false);
-                            // Reload photos from backend
-                            loadSetupPhotos();
-                        }
+                    public void onSuccess(File photoFile) {
+                        // The queue reports back through onUploadChanged
+                        uploadQueue.enqueueUserPhoto(photoFile);
                     }
 
                     @Override
                     public void onError(String errorMessage) {
+                        if (!isAdded()) {
+                            return;
+                        }
                         setLoading(false);
-                        Toast.makeText(
-                                        requireContext(),
-                                        "Failed to upload: " + errorMessage,
-                                        Toast.LENGTH_SHORT)
-                                .show();
+                        Toast.makeText(requireContext(), errorMessage, Toast.LENGTH_SHORT).show();
                     }
                 });
     }
 
+    /** Finished user photo uploads; started ones are shown by the loading state already */
+    private void onUploadChanged(UploadStatus status) {
+        if (status.getKind() != UploadStatus.Kind.USER_PHOTO || !status.isFinal()) {
+            return;
+        }
+        if (status.getState() == UploadStatus.State.SUCCEEDED) {
+            Toast.makeText(requireContext(), "Photo uploaded!", Toast.LENGTH_SHORT).show();
+
+            // If this is the first photo, reload photos and automatically set it as
+            // profile picture
+            if (setupPhotos.isEmpty()) {
+                loadSetupPhotosAndSetFirst();
+            } else {
+                setLoading(false);
+                // Reload photos from backend
+                loadSetupPhotos();
+            }
+        } else {
+            setLoading(false);
+            Toast.makeText(
+                            requireContext(),
+                            "Failed to upload: " + status.getError(),
+                            Toast.LENGTH_SHORT)
+                    .show();
+        }
+    }
+
     private void loadSetupPhotos() {
         Long userId = prefsManager.getUserId();
         if (userId == null) {
@@ -553,7 +547,7 @@ public class ProfileSetupFragment extends Fragment {
 
                         // Update profile picture display
                         ImageLoader.loadCircularProfileImage(
-                                requireContext(), updatedPhoto.getPhotoUrl(), ivProfilePicture);
+                                requireContext(), updatedPhoto, ivProfilePicture);
 
                         Toast.makeText(requireContext(), "Profile picture set!", Toast.LENGTH_SHORT)
                                 .show();
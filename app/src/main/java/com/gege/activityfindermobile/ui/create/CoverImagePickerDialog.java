@@ -13,9 +13,10 @@ import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.gege.activityfindermobile.R;
-import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.model.CoverImage;
 import com.gege.activityfindermobile.data.repository.CoverImageRepository;
+import com.gege.activityfindermobile.data.repository.Resource;
+import com.gege.activityfindermobile.data.repository.ResourceLiveData;
 import com.gege.activityfindermobile.ui.adapters.CoverImageAdapter;
 import com.google.android.material.bottomsheet.BottomSheetDialogFragment;
 import com.google.android.material.button.MaterialButton;
@@ -105,34 +106,37 @@ public class CoverImagePickerDialog extends BottomSheetDialogFragment
     }
 
     private void loadCoverImages() {
-        progressLoading.setVisibility(View.VISIBLE);
-        rvCoverImages.setVisibility(View.GONE);
-        tvEmpty.setVisibility(View.GONE);
-
-        coverImageRepository.getCoverImages(
-                new ApiCallback<List<CoverImage>>() {
-                    @Override
-                    public void onSuccess(List<CoverImage> coverImages) {
-                        progressLoading.setVisibility(View.GONE);
-
-                        if (coverImages == null || coverImages.isEmpty()) {
-                            tvEmpty.setVisibility(View.VISIBLE);
-                            rvCoverImages.setVisibility(View.GONE);
-                        } else {
-                            tvEmpty.setVisibility(View.GONE);
-                            rvCoverImages.setVisibility(View.VISIBLE);
-                            adapter.setCoverImages(coverImages);
-                        }
-                    }
+        // Observed with the view lifecycle, so closing the sheet cancels the request
+        ResourceLiveData.of(coverImageRepository::getCoverImages)
+                .observe(getViewLifecycleOwner(), this::showCoverImages);
+    }
 
-                    @Override
-                    public void onError(String error) {
-                        progressLoading.setVisibility(View.GONE);
-                        tvEmpty.setText("Failed to load images");
-                        tvEmpty.setVisibility(View.VISIBLE);
-                        rvCoverImages.setVisibility(View.GONE);
-                    }
-                });
+    private void showCoverImages(Resource<List<CoverImage>> resource) {
+        switch (resource.getStatus()) {
+            case LOADING:
+                progressLoading.setVisibility(View.VISIBLE);
+                rvCoverImages.setVisibility(View.GONE);
+                tvEmpty.setVisibility(View.GONE);
+                break;
+            case ERROR:
+                progressLoading.setVisibility(View.GONE);
+                tvEmpty.setText("Failed to load images");
+                tvEmpty.setVisibility(View.VISIBLE);
+                rvCoverImages.setVisibility(View.GONE);
+                break;
+            default:
+                progressLoading.setVisibility(View.GONE);
+                List<CoverImage> coverImages = resource.getData();
+                if (coverImages == null || coverImages.isEmpty()) {
+                    tvEmpty.setVisibility(View.VISIBLE);
+                    rvCoverImages.setVisibility(View.GONE);
+                } else {
+                    tvEmpty.setVisibility(View.GONE);
+                    rvCoverImages.setVisibility(View.VISIBLE);
+                    adapter.setCoverImages(coverImages);
+                }
+                break;
+        }
     }
 
     @Override
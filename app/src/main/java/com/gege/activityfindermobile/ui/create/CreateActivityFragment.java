@@ -21,8 +21,6 @@ import androidx.fragment.app.Fragment;
 import androidx.navigation.NavController;
 import androidx.navigation.Navigation;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.dto.ActivityCreateRequest;
@@ -31,6 +29,7 @@ import com.gege.activityfindermobile.data.model.CoverImage;
 import com.gege.activityfindermobile.data.repository.ActivityRepository;
 import com.gege.activityfindermobile.utils.CountryDetector;
 import com.gege.activityfindermobile.utils.DateUtil;
+import com.gege.activityfindermobile.utils.ImageLoader;
 import com.gege.activityfindermobile.utils.MapPickerActivity;
 import com.gege.activityfindermobile.utils.SharedPreferencesManager;
 import com.gege.activityfindermobile.utils.Constants;
@@ -513,13 +512,7 @@ public class CreateActivityFragment extends Fragment implements OnMapReadyCallba
             ivCoverPreview.setVisibility(View.VISIBLE);
             layoutCoverPlaceholder.setVisibility(View.GONE);
 
-            Glide.with(requireContext())
-                    .load(fullUrl)
-                    .diskCacheStrategy(DiskCacheStrategy.ALL)
-                    .centerCrop()
-                    .placeholder(R.drawable.activity_default)
-                    .error(R.drawable.activity_default)
-                    .into(ivCoverPreview);
+            ImageLoader.loadCoverImage(requireContext(), fullUrl, ivCoverPreview);
         } else {
             // Show placeholder
             ivCoverPreview.setVisibility(View.GONE);
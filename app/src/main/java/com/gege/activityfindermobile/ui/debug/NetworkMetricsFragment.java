@@ -0,0 +1,189 @@
+package com.gege.activityfindermobile.ui.debug;
+
+import android.content.Intent;
+import android.os.Bundle;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+import androidx.fragment.app.Fragment;
+import androidx.navigation.Navigation;
+
+import com.gege.activityfindermobile.R;
+import com.gege.activityfindermobile.data.repository.RequestSavings;
+import com.gege.activityfindermobile.di.Histogram;
+import com.gege.activityfindermobile.di.NetworkMetrics;
+import com.gege.activityfindermobile.di.NetworkQualityEstimator;
+import com.gege.activityfindermobile.di.RetryMetrics;
+
+import org.json.JSONException;
+
+import java.util.Locale;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import dagger.hilt.android.AndroidEntryPoint;
+
+/**
+ * Debug screen listing per-endpoint HTTP timings, retries and savings from cancelled calls, with
+ * JSON export of the timings for offline analysis
+ */
+@AndroidEntryPoint
+public class NetworkMetricsFragment extends Fragment {
+    private static final String TAG = "NetworkMetricsFragment";
+
+    @Inject NetworkMetrics networkMetrics;
+    @Inject NetworkQualityEstimator networkQuality;
+    @Inject RetryMetrics retryMetrics;
+    @Inject RequestSavings requestSavings;
+
+    private TextView tvMetrics;
+
+    @Nullable
+    @Override
+    public View onCreateView(
+            @NonNull LayoutInflater inflater,
+            @Nullable ViewGroup container,
+            @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_network_metrics, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        tvMetrics = view.findViewById(R.id.tv_metrics);
+        setupAppBarPadding(view);
+        setupListeners(view);
+        showMetrics();
+    }
+
+    private void setupAppBarPadding(View view) {
+        View appBar = view.findViewById(R.id.app_bar);
+        final int originalPaddingTop = appBar.getPaddingTop();
+
+        ViewCompat.setOnApplyWindowInsetsListener(
+                view,
+                (v, insets) -> {
+                    Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
+                    appBar.setPadding(
+                            appBar.getPaddingLeft(),
+                            systemBars.top + originalPaddingTop,
+                            appBar.getPaddingRight(),
+                            appBar.getPaddingBottom());
+                    return insets;
+                });
+    }
+
+    private void setupListeners(View view) {
+        view.findViewById(R.id.btn_back)
+                .setOnClickListener(v -> Navigation.findNavController(v).navigateUp());
+        view.findViewById(R.id.btn_refresh).setOnClickListener(v -> showMetrics());
+        view.findViewById(R.id.btn_export).setOnClickListener(v -> exportJson());
+        view.findViewById(R.id.btn_reset)
+                .setOnClickListener(
+                        v -> {
+                            networkMetrics.reset();
+                            showMetrics();
+                        });
+    }
+
+    private void showMetrics() {
+        StringBuilder text = new StringBuilder();
+        text.append(
+                String.format(
+                        Locale.US,
+                        "Network: %s, rtt %d ms, %d kbps%n",
+                        networkQuality.getQuality(),
+                        networkQuality.getRttMillis(),
+                        networkQuality.getDownstreamKbps()));
+        text.append(
+                String.format(
+                        Locale.US,
+                        "Cancelled %d calls (~%d KB saved), dropped %d late responses%n",
+                        requestSavings.getCancelledCallCount(),
+                        requestSavings.getEstimatedBytesSaved() / 1024,
+                        requestSavings.getDroppedCallbackCount()));
+        Map<String, NetworkMetrics.EndpointStats> endpoints = networkMetrics.getEndpoints();
+        Map<String, RetryMetrics.Endpoint> retries = retryMetrics.getEndpoints();
+        if (endpoints.isEmpty()) {
+            text.append("\nNo calls recorded yet");
+        }
+        for (Map.Entry<String, NetworkMetrics.EndpointStats> entry : endpoints.entrySet()) {
+            NetworkMetrics.EndpointStats stats = entry.getValue();
+            text.append('\n').append(entry.getKey()).append('\n');
+            text.append(
+                    String.format(
+                            Locale.US,
+                            "  calls %d, cache hits %d, failures %d%n",
+                            stats.getTotal().getCount(),
+                            stats.getCacheHits(),
+                            stats.getFailures()));
+            RetryMetrics.Endpoint retry = retries.get(entry.getKey());
+            if (retry != null && retry.getRetries() > 0) {
+                text.append(
+                        String.format(
+                                Locale.US,
+                                "  retries %d, rescued %d, failed %d%n",
+                                retry.getRetries(),
+                                retry.getSuccessesAfterRetry(),
+                                retry.getFailures()));
+            }
+            appendPhase(text, "dns", stats.getDns());
+            appendPhase(text, "connect", stats.getConnect());
+            appendPhase(text, "tls", stats.getTls());
+            appendPhase(text, "ttfb", stats.getTimeToFirstByte());
+            appendPhase(text, "download", stats.getDownload());
+            appendPhase(text, "decode", stats.getDecode());
+            appendPhase(text, "total", stats.getTotal());
+            text.append(
+                    String.format(
+                            Locale.US,
+                            "  bytes out %d, in %d (p50 %d)%n",
+                            stats.getBytesSent(),
+                            stats.getBytesReceived(),
+                            stats.getResponseBytes().getPercentile(50)));
+            text.append("  status ").append(stats.getStatusCodes()).append('\n');
+        }
+        tvMetrics.setText(text);
+    }
+
+    private static void appendPhase(StringBuilder text, String name, Histogram histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        text.append(
+                String.format(
+                        Locale.US,
+                        "  %-8s p50 %5d  p90 %5d  max %5d ms%n",
+                        name,
+                        histogram.getPercentile(50),
+                        histogram.getPercentile(90),
+                        histogram.getMax()));
+    }
+
+    private void exportJson() {
+        String json;
+        try {
+            json = networkMetrics.toJson().toString(2);
+        } catch (JSONException e) {
+            Log.e(TAG, "Error exporting network metrics", e);
+            Toast.makeText(requireContext(), "Export failed", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        Intent intent = new Intent(Intent.ACTION_SEND);
+        intent.setType("application/json");
+        intent.putExtra(Intent.EXTRA_SUBJECT, "Network metrics");
+        intent.putExtra(Intent.EXTRA_TEXT, json);
+        startActivity(Intent.createChooser(intent, "Export network metrics"));
+    }
+}
@@ -30,6 +30,8 @@ import com.gege.activityfindermobile.data.repository.ActivityPhotoRepository;
 import com.gege.activityfindermobile.data.repository.ActivityRepository;
 import com.gege.activityfindermobile.data.repository.MessageRepository;
 import com.gege.activityfindermobile.data.repository.ParticipantRepository;
+import com.gege.activityfindermobile.data.repository.RequestSavings;
+import com.gege.activityfindermobile.data.repository.RequestScope;
 import com.gege.activityfindermobile.data.repository.ReviewRepository;
 import com.gege.activityfindermobile.ui.adapters.CommentAdapter;
 import com.gege.activityfindermobile.ui.adapters.ParticipantAdapter;
@@ -75,6 +77,8 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
 
     @Inject SharedPreferencesManager prefsManager;
 
+    @Inject RequestSavings requestSavings;
+
     private Long activityId;
     private Long creatorId;
     private String activityTitle;
@@ -107,6 +111,9 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
 
     private MaterialCardView mcvComments;
 
+    // Loads started for the current view; cancelled when the view is destroyed
+    private RequestScope requestScope;
+
     @Nullable
     @Override
     public View onCreateView(
@@ -200,6 +207,7 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
+        requestScope = RequestScope.of(getViewLifecycleOwner(), requestSavings);
 
         ViewCompat.setOnApplyWindowInsetsListener(
                 view,
@@ -463,12 +471,22 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
     }
 
     private void loadParticipants() {
+        loadParticipants(false);
+    }
+
+    /**
+     * @param afterWrite The user just joined, left or reviewed, so an older in-flight request must
+     *     not be reused
+     */
+    private void loadParticipants(boolean afterWrite) {
         if (activityId == null || activityId == 0L) {
             return;
         }
 
-        participantRepository.getActivityParticipants(
-                activityId,
+        requestScope.launch(
+                callback ->
+                        participantRepository.getActivityParticipants(
+                                activityId, afterWrite, callback),
                 new ApiCallback<List<Participant>>() {
                     @Override
                     public void onSuccess(List<Participant> participants) {
@@ -587,7 +605,7 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
                             UiUtil.showToast(requireContext(), getString(R.string.joined_event));
                             updateButtonToJoinedState();
                             // Reload participants to show yourself in the list
-                            loadParticipants();
+                            loadParticipants(true);
                         } else if ("PENDING".equals(status) || "INTERESTED".equals(status)) {
                             UiUtil.showToast(
                                     requireContext(), "Join request sent! Waiting for approval.");
@@ -599,7 +617,7 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
                         }
 
                         // Force re-check participation status to ensure button is in correct state
-                        checkUserParticipationStatus();
+                        checkUserParticipationStatus(true);
                     }
 
                     @Override
@@ -648,6 +666,14 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
     }
 
     private void checkUserParticipationStatus() {
+        checkUserParticipationStatus(false);
+    }
+
+    /**
+     * @param afterWrite The user just joined or left, so an older in-flight request must not be
+     *     reused
+     */
+    private void checkUserParticipationStatus(boolean afterWrite) {
         Long userId = prefsManager.getUserId();
         if (userId == null || activityId == null || activityId == 0L) {
             Log.d(
@@ -661,8 +687,8 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
                 "Checking participation status for activity: " + activityId);
 
         // Get user's participations to check if they've already joined
-        participantRepository.getMyParticipations(
-                userId,
+        requestScope.launch(
+                callback -> participantRepository.getMyParticipations(userId, afterWrite, callback),
                 new ApiCallback<List<Participant>>() {
                     @Override
                     public void onSuccess(List<Participant> participants) {
@@ -958,10 +984,10 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
                         hideCommentSection();
 
                         // Reload participants to update the list
-                        loadParticipants();
+                        loadParticipants(true);
 
                         // Re-check status to update button based on application attempts
-                        checkUserParticipationStatus();
+                        checkUserParticipationStatus(true);
                     }
 
                     @Override
@@ -1052,8 +1078,8 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
             return;
         }
 
-        messageRepository.getMessages(
-                activityId,
+        requestScope.launch(
+                callback -> messageRepository.getMessages(activityId, callback),
                 new ApiCallback<List<ActivityMessage>>() {
                     @Override
                     public void onSuccess(List<ActivityMessage> messages) {
@@ -1086,7 +1112,7 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
                         participant.getUserId(), participant.getUserName(), activityIdParam);
         reviewDialog.setOnReviewSubmittedListener(
                 () -> {
-                    loadParticipants();
+                    loadParticipants(true);
                     loadReviewsAndUpdateButtons();
                 });
         reviewDialog.show(getChildFragmentManager(), "ReviewDialog");
@@ -1097,8 +1123,8 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
         Long currentUserId = prefsManager.getUserId();
         if (currentUserId == null) return;
 
-        reviewRepository.getReviewsForActivity(
-                activityId,
+        requestScope.launch(
+                callback -> reviewRepository.getReviewsForActivity(activityId, callback),
                 new ApiCallback<List<Review>>() {
                     @Override
                     public void onSuccess(List<Review> reviews) {
@@ -1154,56 +1180,21 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
             return;
         }
 
-        activityRepository.getActivityById(
-                activityId,
+        requestScope.launch(
+                callback -> activityRepository.getActivityById(activityId, callback),
                 new ApiCallback<com.gege.activityfindermobile.data.model.Activity>() {
                     @Override
                     public void onSuccess(
                             com.gege.activityfindermobile.data.model.Activity activity) {
                         // Update UI with fresh data
-                        if (getView() != null) {
-                            TextView tvTitle = getView().findViewById(R.id.tv_title);
-                            TextView tvDescription = getView().findViewById(R.id.tv_description);
-                            TextView tvDate = getView().findViewById(R.id.tv_date);
-                            TextView tvTime = getView().findViewById(R.id.tv_time);
-                            TextView tvLocation = getView().findViewById(R.id.tv_location);
-                            TextView tvSpots = getView().findViewById(R.id.tv_spots);
-                            Chip chipCategory = getView().findViewById(R.id.chip_category);
-
-                            tvTitle.setText(activity.getTitle());
-                            tvDescription.setText(activity.getDescription());
-                            chipCategory.setText(activity.getCategory());
-                            tvLocation.setText(activity.getLocation());
-
-                            // Format and set date and time
-                            String displayDate =
-                                    DateUtil.formatToDisplayDate(activity.getActivityDate());
-                            String displayTime =
-                                    DateUtil.formatToDisplayTime(activity.getActivityDate());
-
-                            if (displayDate != null) {
-                                tvDate.setText(displayDate);
-                            }
-                            if (displayTime != null) {
-                                tvTime.setText(displayTime);
-                            }
-
-                            // Update spots count
-                            int totalSpots = activity.getTotalSpots();
-                            int availableSpots = activity.getAvailableSpots();
-                            int currentParticipants = totalSpots - availableSpots;
-                            tvSpots.setText(currentParticipants + " / " + totalSpots + " joined");
-
-                            // Store location coordinates for map
-                            activityLatitude = activity.getLatitude();
-                            activityLongitude = activity.getLongitude();
-
-                            // Update map if ready
-                            updateMapLocation();
+                        bindActivityData(activity);
+                    }
 
-                            // Update cover image
-                            loadCoverImage(activity.getCategory(), activity.getCoverImageUrl());
-                        }
+                    @Override
+                    public void onCached(
+                            com.gege.activityfindermobile.data.model.Activity activity) {
+                        // Activity already loaded by another screen, show it while refreshing
+                        bindActivityData(activity);
                     }
 
                     @Override
@@ -1216,13 +1207,59 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
                 });
     }
 
+    private void bindActivityData(com.gege.activityfindermobile.data.model.Activity activity) {
+        if (getView() != null) {
+            TextView tvTitle = getView().findViewById(R.id.tv_title);
+            TextView tvDescription = getView().findViewById(R.id.tv_description);
+            TextView tvDate = getView().findViewById(R.id.tv_date);
+            TextView tvTime = getView().findViewById(R.id.tv_time);
+            TextView tvLocation = getView().findViewById(R.id.tv_location);
+            TextView tvSpots = getView().findViewById(R.id.tv_spots);
+            Chip chipCategory = getView().findViewById(R.id.chip_category);
+
+            tvTitle.setText(activity.getTitle());
+            tvDescription.setText(activity.getDescription());
+            chipCategory.setText(activity.getCategory());
+            tvLocation.setText(activity.getLocation());
+
+            // Format and set date and time
+            String displayDate = DateUtil.formatToDisplayDate(activity.getActivityDate());
+            String displayTime = DateUtil.formatToDisplayTime(activity.getActivityDate());
+
+            if (displayDate != null) {
+                tvDate.setText(displayDate);
+            }
+            if (displayTime != null) {
+                tvTime.setText(displayTime);
+            }
+
+            // Update spots count; entities cached from partial responses may not carry them
+            Integer totalSpots = activity.getTotalSpots();
+            Integer availableSpots = activity.getAvailableSpots();
+            if (totalSpots != null && availableSpots != null) {
+                int currentParticipants = totalSpots - availableSpots;
+                tvSpots.setText(currentParticipants + " / " + totalSpots + " joined");
+            }
+
+            // Store location coordinates for map
+            activityLatitude = activity.getLatitude();
+            activityLongitude = activity.getLongitude();
+
+            // Update map if ready
+            updateMapLocation();
+
+            // Update cover image
+            loadCoverImage(activity.getCategory(), activity.getCoverImageUrl());
+        }
+    }
+
     /**
      * Check if current user has access to the activity gallery Gallery is only accessible to
      * participants who joined, after the event has ended
      */
     private void checkGalleryAccess() {
-        activityPhotoRepository.checkGalleryAccess(
-                activityId,
+        requestScope.launch(
+                callback -> activityPhotoRepository.checkGalleryAccess(activityId, callback),
                 new ApiCallback<ActivityGalleryAccess>() {
                     @Override
                     public void onSuccess(ActivityGalleryAccess access) {
@@ -1264,8 +1301,8 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
      * Load preview photos for the gallery section
      */
     private void loadGalleryPreview() {
-        activityPhotoRepository.getActivityPhotos(
-                activityId,
+        requestScope.launch(
+                callback -> activityPhotoRepository.getActivityPhotos(activityId, callback),
                 new ApiCallback<java.util.List<com.gege.activityfindermobile.data.model.ActivityPhoto>>() {
                     @Override
                     public void onSuccess(java.util.List<com.gege.activityfindermobile.data.model.ActivityPhoto> photos) {
@@ -1315,13 +1352,7 @@ public class ActivityDetailFragment extends Fragment implements OnMapReadyCallba
                 fullUrl = baseUrl + (coverImageUrl.startsWith("/") ? coverImageUrl : "/" + coverImageUrl);
             }
 
-            com.bumptech.glide.Glide.with(requireContext())
-                    .load(fullUrl)
-                    .diskCacheStrategy(com.bumptech.glide.load.engine.DiskCacheStrategy.ALL)
-                    .centerCrop()
-                    .placeholder(R.drawable.activity_default)
-                    .error(R.drawable.activity_default)
-                    .into(ivActivityHero);
+            ImageLoader.loadCoverImage(requireContext(), fullUrl, ivActivityHero);
             return;
         }
 
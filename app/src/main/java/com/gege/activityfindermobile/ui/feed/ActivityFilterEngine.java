@@ -0,0 +1,531 @@
+package com.gege.activityfindermobile.ui.feed;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.gege.activityfindermobile.data.model.Activity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Search, filter and sort engine for the feed. The fields it needs are copied from each activity on
+ * the main thread, then indexed on a background thread as pages arrive, and each query is answered
+ * by intersecting the indexes, so keystrokes and chip toggles never rescan or re-lowercase the
+ * activity strings on the main thread.
+ */
+public class ActivityFilterEngine {
+    private static final String TAG = "ActivityFilterEngine";
+
+    public static final String SORT_DATETIME = "datetime";
+    public static final String SORT_DISTANCE = "distance";
+
+    /** Receives query results on the main thread; results of superseded queries are dropped */
+    public interface ResultCallback {
+        void onResults(List<Activity> results);
+    }
+
+    /** Filter and sort options of one feed query */
+    public static final class Query {
+        final boolean trendingOnly;
+        final String text;
+        final Integer maxDistanceKm;
+        final String category;
+        final String sortBy;
+
+        /**
+         * @param text Search text, matched case-insensitively against title, description, location
+         *     and category; empty for no search
+         * @param maxDistanceKm Maximum distance, or null for no limit. Activities without a
+         *     distance always match
+         * @param category Category to keep, or null for all
+         * @param sortBy {@link #SORT_DATETIME} or {@link #SORT_DISTANCE}
+         */
+        public Query(
+                boolean trendingOnly,
+                @Nullable String text,
+                @Nullable Integer maxDistanceKm,
+                @Nullable String category,
+                @Nullable String sortBy) {
+            this.trendingOnly = trendingOnly;
+            this.text = text != null ? text.toLowerCase() : "";
+            this.maxDistanceKm = maxDistanceKm;
+            this.category = category != null && !category.isEmpty() ? category : null;
+            this.sortBy = sortBy;
+        }
+    }
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Main thread state. The list of pages is replaced, never modified, once a query has seen it
+    private List<List<Index.Row>> pages = new ArrayList<>();
+    private int datasetVersion = 0;
+    private volatile int queryGeneration = 0;
+
+    // Executor thread state
+    private Index index;
+    private int indexVersion = -1;
+    private int indexedPages;
+
+    /**
+     * Replace the dataset; the index is rebuilt lazily by the next query. Call on the main thread,
+     * the activities are shared with the adapters and may be updated in place afterwards.
+     */
+    public void setActivities(@NonNull List<Activity> activities) {
+        pages = new ArrayList<>();
+        pages.add(Index.snapshot(activities));
+        datasetVersion++;
+    }
+
+    /**
+     * Append one page to the dataset; the next query indexes only the new activities. Call on the
+     * main thread.
+     */
+    public void addActivities(@NonNull List<Activity> activities) {
+        List<List<Index.Row>> next = new ArrayList<>(pages);
+        next.add(Index.snapshot(activities));
+        pages = next;
+    }
+
+    /** Run a query in the background; only the latest query delivers its results */
+    public void query(@NonNull Query query, @NonNull ResultCallback callback) {
+        int generation = ++queryGeneration;
+        List<List<Index.Row>> snapshot = pages;
+        int version = datasetVersion;
+        executor.execute(
+                () -> {
+                    if (generation != queryGeneration) {
+                        return;
+                    }
+                    if (index == null || indexVersion != version) {
+                        index = new Index();
+                        indexVersion = version;
+                        indexedPages = 0;
+                    }
+                    if (indexedPages < snapshot.size()) {
+                        long start = System.nanoTime();
+                        int before = index.size();
+                        for (List<Index.Row> page :
+                                snapshot.subList(indexedPages, snapshot.size())) {
+                            index.add(page);
+                        }
+                        indexedPages = snapshot.size();
+                        Log.d(
+                                TAG,
+                                "Indexed "
+                                        + (index.size() - before)
+                                        + " activities in "
+                                        + (System.nanoTime() - start) / 1_000_000
+                                        + "ms");
+                    }
+                    List<Activity> results = index.query(query);
+                    mainHandler.post(
+                            () -> {
+                                if (generation == queryGeneration) {
+                                    callback.onResults(results);
+                                }
+                            });
+                });
+    }
+
+    /** Stop the background thread; pending results are discarded */
+    public void shutdown() {
+        queryGeneration++;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Indexes over a growing dataset. Activities are only ever appended; a query sees every
+     * activity added before it. Not thread-safe: the engine only touches its index on its own
+     * thread.
+     */
+    public static final class Index {
+        /** Fields of one activity, read on the main thread before the index is built */
+        private static final class Row {
+            final Activity activity;
+            final String title;
+            final String description;
+            final String location;
+            final String category;
+            final boolean trending;
+            final Long startMillis;
+            final Double distance;
+
+            Row(Activity activity) {
+                this.activity = activity;
+                title = activity.getTitle();
+                description = activity.getDescription();
+                location = activity.getLocation();
+                category = activity.getCategory();
+                trending = Boolean.TRUE.equals(activity.getTrending());
+                startMillis = activity.getStartEpochMillis();
+                distance = activity.getDistance();
+            }
+        }
+
+        private int size;
+        // Rows are shared with the engine's pages, so the index adds no per-item strings
+        private Row[] rows = new Row[0];
+        // Distinct lowercase tokens by id, with the ascending positions of the items containing
+        // each. Postings grow by one int per token per item instead of one per substring
+        private final Map<String, Integer> tokenIds = new HashMap<>();
+        private final List<String> tokens = new ArrayList<>();
+        private final IntLists tokenItems = new IntLists();
+        // Every three-character run of every distinct token, with the ids of the tokens containing
+        // it, so a search word is looked up in the vocabulary rather than in every item
+        private final TrigramTable trigrams = new TrigramTable();
+        private final IntLists trigramTokens = new IntLists();
+        private final Map<String, BitSet> categories = new HashMap<>();
+        private final BitSet trending = new BitSet();
+        private int[] byDateTime = new int[0];
+        private int[] byDistance = new int[0];
+
+        private final Comparator<Integer> dateTimeOrder =
+                Comparator.comparing(
+                        i -> rows[i].startMillis, Comparator.nullsLast(Comparator.naturalOrder()));
+        private final Comparator<Integer> distanceOrder =
+                Comparator.comparing(
+                        i -> rows[i].distance, Comparator.nullsLast(Comparator.naturalOrder()));
+
+        private Index() {}
+
+        /** Append activities, indexing only them and merging them into the sort orders */
+        private void add(List<Row> added) {
+            int from = size;
+            int capacity = size + added.size();
+            if (capacity > rows.length) {
+                rows = Arrays.copyOf(rows, Math.max(capacity, rows.length + (rows.length >> 1)));
+            }
+            for (Row row : added) {
+                int i = size++;
+                rows[i] = row;
+                for (String token : tokenize(searchText(row))) {
+                    tokenItems.add(tokenId(token), i);
+                }
+                if (row.category != null) {
+                    categories.computeIfAbsent(lower(row.category), key -> new BitSet()).set(i);
+                }
+                if (row.trending) {
+                    trending.set(i);
+                }
+            }
+            byDateTime = merge(byDateTime, from, size, dateTimeOrder);
+            byDistance = merge(byDistance, from, size, distanceOrder);
+        }
+
+        /** Copy what the index needs out of the activities on the calling thread */
+        private static List<Row> snapshot(List<Activity> activities) {
+            List<Row> rows = new ArrayList<>(activities.size());
+            for (Activity activity : activities) {
+                rows.add(new Row(activity));
+            }
+            return rows;
+        }
+
+        @NonNull
+        public static Index build(@NonNull List<Activity> activities) {
+            Index index = new Index();
+            index.add(snapshot(activities));
+            return index;
+        }
+
+        /** Append activities to the index, as the engine does for each loaded page */
+        public void addActivities(@NonNull List<Activity> activities) {
+            add(snapshot(activities));
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /** Matching activities in the requested order */
+        @NonNull
+        public List<Activity> query(@NonNull Query query) {
+            BitSet matches = new BitSet(size);
+            matches.set(0, size);
+
+            if (query.trendingOnly) {
+                matches.and(trending);
+            }
+            if (query.category != null) {
+                BitSet category = categories.get(lower(query.category));
+                if (category == null) {
+                    return new ArrayList<>();
+                }
+                matches.and(category);
+            }
+            if (query.maxDistanceKm != null) {
+                matches.and(withinDistance(query.maxDistanceKm));
+            }
+            if (!query.text.isEmpty() && !matches.isEmpty()) {
+                matchText(query.text, matches);
+            }
+
+            int[] order = SORT_DISTANCE.equals(query.sortBy) ? byDistance : byDateTime;
+            List<Activity> results = new ArrayList<>(matches.cardinality());
+            for (int position : order) {
+                if (matches.get(position)) {
+                    results.add(rows[position].activity);
+                }
+            }
+            return results;
+        }
+
+        /** Items without distance info or within the limit */
+        private BitSet withinDistance(int maxDistanceKm) {
+            BitSet within = new BitSet(size);
+            // Walk the distance order until the limit, then jump to the trailing nulls
+            int position = 0;
+            while (position < byDistance.length) {
+                Double distance = rows[byDistance[position]].distance;
+                if (distance == null || distance > maxDistanceKm) {
+                    break;
+                }
+                within.set(byDistance[position++]);
+            }
+            for (int i = byDistance.length - 1; i >= position; i--) {
+                if (rows[byDistance[i]].distance != null) {
+                    break;
+                }
+                within.set(byDistance[i]);
+            }
+            return within;
+        }
+
+        /**
+         * Narrow {@code matches} to items whose search text contains {@code text}. Every token of
+         * the query is a substring of some token of a matching item, so the token postings yield a
+         * candidate superset. That is exact for a single word; anything longer is confirmed with a
+         * plain substring check.
+         */
+        private void matchText(String text, BitSet matches) {
+            Set<String> queryTokens = tokenize(text);
+            for (String queryToken : queryTokens) {
+                matches.and(itemsWithTokenContaining(queryToken));
+                if (matches.isEmpty()) {
+                    return;
+                }
+            }
+            if (queryTokens.size() == 1 && queryTokens.contains(text)) {
+                return;
+            }
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                if (!searchText(rows[i]).contains(text)) {
+                    matches.clear(i);
+                }
+            }
+        }
+
+        private BitSet itemsWithTokenContaining(String queryToken) {
+            BitSet found = new BitSet(size);
+            if (queryToken.length() < 3) {
+                for (int id = 0; id < tokens.size(); id++) {
+                    if (tokens.get(id).contains(queryToken)) {
+                        tokenItems.addTo(id, found);
+                    }
+                }
+                return found;
+            }
+            // Only tokens sharing the query's rarest trigram can contain it
+            int rarest = -1;
+            for (int end = 3; end <= queryToken.length(); end++) {
+                int trigram = trigrams.find(TrigramTable.key(queryToken, end - 3));
+                if (trigram < 0) {
+                    return found;
+                }
+                if (rarest < 0 || trigramTokens.length(trigram) < trigramTokens.length(rarest)) {
+                    rarest = trigram;
+                }
+            }
+            for (int t = 0; t < trigramTokens.length(rarest); t++) {
+                int id = trigramTokens.get(rarest, t);
+                if (tokens.get(id).contains(queryToken)) {
+                    tokenItems.addTo(id, found);
+                }
+            }
+            return found;
+        }
+
+        private int tokenId(String token) {
+            Integer id = tokenIds.get(token);
+            if (id != null) {
+                return id;
+            }
+            int newId = tokens.size();
+            tokens.add(token);
+            tokenIds.put(token, newId);
+            for (int end = 3; end <= token.length(); end++) {
+                trigramTokens.add(trigrams.add(TrigramTable.key(token, end - 3)), newId);
+            }
+            return newId;
+        }
+
+        /**
+         * {@code order} with the positions {@code from} to {@code to} merged in. Ties keep the
+         * existing positions first and the new ones in server order, as one stable sort would.
+         */
+        private static int[] merge(int[] order, int from, int to, Comparator<Integer> comparator) {
+            Integer[] added = new Integer[to - from];
+            for (int i = 0; i < added.length; i++) {
+                added[i] = from + i;
+            }
+            Arrays.sort(added, comparator);
+            int[] merged = new int[order.length + added.length];
+            int o = 0;
+            int a = 0;
+            for (int m = 0; m < merged.length; m++) {
+                if (a == added.length
+                        || (o < order.length && comparator.compare(order[o], added[a]) <= 0)) {
+                    merged[m] = order[o++];
+                } else {
+                    merged[m] = added[a++];
+                }
+            }
+            return merged;
+        }
+
+        /** Lowercased "title\ndescription\nlocation\ncategory" */
+        private static String searchText(Row row) {
+            return lower(row.title)
+                    + "\n"
+                    + lower(row.description)
+                    + "\n"
+                    + lower(row.location)
+                    + "\n"
+                    + lower(row.category);
+        }
+
+        private static String lower(String value) {
+            return value != null ? value.toLowerCase() : "";
+        }
+
+        /** Distinct runs of letters and digits */
+        private static Set<String> tokenize(String text) {
+            Set<String> tokens = new LinkedHashSet<>();
+            int start = -1;
+            for (int i = 0; i <= text.length(); i++) {
+                boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+                if (wordChar && start < 0) {
+                    start = i;
+                } else if (!wordChar && start >= 0) {
+                    tokens.add(text.substring(start, i));
+                    start = -1;
+                }
+            }
+            return tokens;
+        }
+
+        /** Growable ascending int lists by dense id, without boxing */
+        private static final class IntLists {
+            private int[][] lists = new int[256][];
+            private int[] lengths = new int[256];
+
+            /** Append {@code value} unless it is already the last one in the list */
+            void add(int id, int value) {
+                if (id >= lists.length) {
+                    int capacity = Math.max(id + 1, lists.length * 2);
+                    lists = Arrays.copyOf(lists, capacity);
+                    lengths = Arrays.copyOf(lengths, capacity);
+                }
+                int[] list = lists[id];
+                int length = lengths[id];
+                if (list == null) {
+                    list = lists[id] = new int[2];
+                } else if (length > 0 && list[length - 1] == value) {
+                    return;
+                } else if (length == list.length) {
+                    list = lists[id] = Arrays.copyOf(list, length + (length >> 1) + 1);
+                }
+                list[length] = value;
+                lengths[id] = length + 1;
+            }
+
+            int length(int id) {
+                return id < lengths.length ? lengths[id] : 0;
+            }
+
+            int get(int id, int index) {
+                return lists[id][index];
+            }
+
+            void addTo(int id, BitSet set) {
+                int[] list = lists[id];
+                for (int i = 0; i < lengths[id]; i++) {
+                    set.set(list[i]);
+                }
+            }
+        }
+
+        /** Open-addressing map from a packed trigram to a dense id */
+        private static final class TrigramTable {
+            private long[] keys = new long[1024];
+            private int[] ids = new int[1024];
+            private int count;
+
+            /** Characters {@code from} to {@code from + 3} packed into one non-zero key */
+            static long key(String text, int from) {
+                return (long) text.charAt(from) << 32
+                        | (long) text.charAt(from + 1) << 16
+                        | text.charAt(from + 2);
+            }
+
+            /** Id of {@code key}, or -1 if no token contains it */
+            int find(long key) {
+                int slot = slot(keys, key);
+                return keys[slot] == key ? ids[slot] : -1;
+            }
+
+            /** Id of {@code key}, assigning the next one if it is new */
+            int add(long key) {
+                int slot = slot(keys, key);
+                if (keys[slot] == key) {
+                    return ids[slot];
+                }
+                keys[slot] = key;
+                ids[slot] = count++;
+                if (count * 2 > keys.length) {
+                    grow();
+                }
+                return count - 1;
+            }
+
+            private void grow() {
+                long[] oldKeys = keys;
+                int[] oldIds = ids;
+                keys = new long[oldKeys.length * 2];
+                ids = new int[keys.length];
+                for (int s = 0; s < oldKeys.length; s++) {
+                    if (oldKeys[s] != 0) {
+                        int slot = slot(keys, oldKeys[s]);
+                        keys[slot] = oldKeys[s];
+                        ids[slot] = oldIds[s];
+                    }
+                }
+            }
+
+            /** Slot holding {@code key}, or the empty slot where it belongs */
+            private static int slot(long[] keys, long key) {
+                int mask = keys.length - 1;
+                int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+                while (keys[slot] != 0 && keys[slot] != key) {
+                    slot = (slot + 1) & mask;
+                }
+                return slot;
+            }
+        }
+    }
+}
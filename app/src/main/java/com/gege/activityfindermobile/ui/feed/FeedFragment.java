@@ -32,10 +32,13 @@ import androidx.swiperefreshlayout.widget.SwipeRefreshLayout;
 import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.utils.Constants;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
+import com.gege.activityfindermobile.data.dto.PageResponse;
 import com.gege.activityfindermobile.data.model.Activity;
 import com.gege.activityfindermobile.data.repository.ActivityRepository;
 import com.gege.activityfindermobile.data.repository.ParticipantRepository;
+import com.gege.activityfindermobile.di.NetworkQualityEstimator;
 import com.gege.activityfindermobile.ui.adapters.ActivityAdapter;
+import com.gege.activityfindermobile.ui.views.PaginationScrollListener;
 import com.gege.activityfindermobile.utils.CountryDetector;
 import com.gege.activityfindermobile.utils.LocationManager;
 import com.google.android.material.appbar.AppBarLayout;
@@ -44,9 +47,9 @@ import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 import javax.inject.Inject;
 
@@ -67,6 +70,9 @@ public class FeedFragment extends Fragment {
     @Inject
     com.gege.activityfindermobile.utils.CategoryManager categoryManager;
 
+    @Inject
+    NetworkQualityEstimator networkQuality;
+
     private RecyclerView rvActivities;
     private ActivityAdapter adapter;
     private SwipeRefreshLayout swipeRefresh;
@@ -75,6 +81,7 @@ public class FeedFragment extends Fragment {
     private TextView tvEmptyIcon;
     private TextView tvEmptyTitle;
     private TextView tvEmptyMessage;
+    private TextView tvNotSearched;
     private com.google.android.material.button.MaterialButton btnOpenSettings;
     private com.google.android.material.textfield.TextInputEditText etSearch;
     private com.google.android.material.card.MaterialCardView searchCard;
@@ -95,12 +102,28 @@ public class FeedFragment extends Fragment {
     private String currentSearchQuery = "";
     private boolean showTrendingOnly = false;
     private List<Activity> allActivities = new ArrayList<>();
+    private final ActivityFilterEngine filterEngine = new ActivityFilterEngine();
     private Integer maxDistanceKm = com.gege.activityfindermobile.utils.Constants.DEFAULT_MAX_DISTANCE; // Default max
                                                                                                         // distance from
                                                                                                         // constants
     private String selectedActivityType = null; // null = all types (used by both category chips and general filter)
     private String sortBy = "datetime"; // "datetime" or "distance"
 
+    // Nearby feed paging state
+    private PaginationScrollListener paginationListener;
+    private int feedGeneration = 0;
+    private int nextPage = 0;
+    // Fixed per generation, since page numbers are only valid for one page size
+    private int pageSize = Constants.FEED_PAGE_SIZE;
+    private boolean lastPageLoaded = false;
+    private boolean pageLoading = false;
+    // Feed size reported by the first page, or -1 when the server did not say
+    private long totalActivities = -1;
+    // Activities a search or filter may load ahead of scrolling in this generation
+    private int searchLimit = Constants.FEED_SEARCH_BATCH;
+    // Set for a generation started by swipe-to-refresh, so none of its pages come from the cache
+    private boolean forceNetwork = false;
+
     // Permission launcher
     private ActivityResultLauncher<String[]> locationPermissionLauncher;
 
@@ -144,6 +167,12 @@ public class FeedFragment extends Fragment {
         }
     }
 
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        filterEngine.shutdown();
+    }
+
     @Override
     public void onResume() {
         super.onResume();
@@ -151,7 +180,6 @@ public class FeedFragment extends Fragment {
         if (adapter != null) {
             boolean useKilometers = prefsManager.getBoolean("distance_unit", true);
             adapter.setUseKilometers(useKilometers);
-            adapter.notifyDataSetChanged();
         }
     }
 
@@ -179,6 +207,7 @@ public class FeedFragment extends Fragment {
         tvEmptyIcon = view.findViewById(R.id.tv_empty_icon);
         tvEmptyTitle = view.findViewById(R.id.tv_empty_title);
         tvEmptyMessage = view.findViewById(R.id.tv_empty_message);
+        tvNotSearched = view.findViewById(R.id.tv_not_searched);
         btnOpenSettings = view.findViewById(R.id.btn_open_settings);
         etSearch = view.findViewById(R.id.et_search);
         searchCard = view.findViewById(R.id.search_card);
@@ -192,6 +221,7 @@ public class FeedFragment extends Fragment {
 
         // Setup open settings button
         btnOpenSettings.setOnClickListener(v -> openAppSettings());
+        tvNotSearched.setOnClickListener(v -> searchFurther());
 
         // Check and request location permission
         checkAndRequestLocationPermission();
@@ -248,12 +278,35 @@ public class FeedFragment extends Fragment {
 
         // Use GridLayoutManager for tablets (span count from resources)
         int spanCount = getResources().getInteger(R.integer.feed_span_count);
-        rvActivities.setLayoutManager(new GridLayoutManager(requireContext(), spanCount));
+        GridLayoutManager layoutManager = new GridLayoutManager(requireContext(), spanCount);
+        rvActivities.setLayoutManager(layoutManager);
+
+        // Fetch the next page before the user reaches the end of the loaded items
+        paginationListener =
+                new PaginationScrollListener(
+                        layoutManager,
+                        networkQuality.prefetchDistance(Constants.FEED_PREFETCH_DISTANCE)) {
+                    @Override
+                    protected void loadMore() {
+                        loadNextPage();
+                    }
+
+                    @Override
+                    public boolean isLoading() {
+                        return pageLoading;
+                    }
+
+                    @Override
+                    public boolean isLastPage() {
+                        return lastPageLoaded;
+                    }
+                };
+        rvActivities.addOnScrollListener(paginationListener);
 
         // Swipe refresh
         swipeRefresh.setOnRefreshListener(
                 () -> {
-                    loadActivitiesFromApi();
+                    loadActivitiesFromApi(true);
                 });
 
         // FAB click
@@ -263,16 +316,45 @@ public class FeedFragment extends Fragment {
                     navController.navigate(R.id.action_nav_feed_to_createActivityFragment);
                 });
 
+        // Show the last cached feed right away while location and network catch up
+        activityRepository.getCachedNearbyActivities(
+                new ApiCallback<List<Activity>>() {
+                    @Override
+                    public void onSuccess(List<Activity> activities) {}
+
+                    @Override
+                    public void onCached(List<Activity> activities) {
+                        showCachedActivities(activities);
+                    }
+
+                    @Override
+                    public void onError(String errorMessage) {}
+                });
+
         // Load activities from API
         loadActivitiesFromApi();
     }
 
+    /** Render cached activities unless fresh data has already been shown */
+    private void showCachedActivities(List<Activity> activities) {
+        if (getView() == null || !allActivities.isEmpty()) {
+            return;
+        }
+        allActivities = activities;
+        onActivitiesChanged();
+    }
+
     private void loadActivitiesFromApi() {
+        loadActivitiesFromApi(false);
+    }
+
+    /** @param forceNetwork Skip fresh HTTP cache entries, for an explicit refresh */
+    private void loadActivitiesFromApi(boolean forceNetwork) {
         setLoading(true);
 
         // Check if location is available
         if (userLatitude != 0.0 && userLongitude != 0.0) {
-            loadNearbyActivities();
+            loadNearbyActivities(forceNetwork);
         } else {
             // Wait for location to be acquired
             setLoading(false);
@@ -280,42 +362,74 @@ public class FeedFragment extends Fragment {
         }
     }
 
-    private void loadNearbyActivities() {
+    /** Reload the nearby feed from its first page */
+    private void loadNearbyActivities(boolean forceNetwork) {
+        feedGeneration++;
+        this.forceNetwork = forceNetwork;
+        nextPage = 0;
+        // Smaller pages on slow links, so the first items show up sooner
+        pageSize = networkQuality.pageSize(Constants.FEED_PAGE_SIZE);
+        lastPageLoaded = false;
+        pageLoading = false;
+        totalActivities = -1;
+        searchLimit = Constants.FEED_SEARCH_BATCH;
+        loadNextPage();
+    }
+
+    /** Request the next page of the nearby feed; pages arriving after a reload are dropped */
+    private void loadNextPage() {
+        if (pageLoading || lastPageLoaded) {
+            return;
+        }
+        pageLoading = true;
+        int page = nextPage;
+        int generation = feedGeneration;
         Long userId = prefsManager.getUserId();
-        activityRepository.getNearbyActivities(
+        activityRepository.getNearbyActivitiesPage(
                 userLatitude,
                 userLongitude,
                 nearbyRadiusKm,
                 userId,
-                new ApiCallback<List<Activity>>() {
+                page,
+                pageSize,
+                forceNetwork,
+                new ApiCallback<PageResponse<Activity>>() {
                     @Override
-                    public void onSuccess(List<Activity> activities) {
-                        setLoading(false);
-                        swipeRefresh.setRefreshing(false);
-
-                        if (activities != null && !activities.isEmpty()) {
-                            allActivities = activities;
-                            applyFiltersAndSearch();
-                            showContent();
-                            Toast.makeText(
-                                    requireContext(),
-                                    "Found " + activities.size() + " activities nearby",
-                                    Toast.LENGTH_SHORT)
-                                    .show();
+                    public void onSuccess(PageResponse<Activity> result) {
+                        if (generation != feedGeneration || getView() == null) {
+                            return;
+                        }
+                        pageLoading = false;
+                        lastPageLoaded = result.isLast();
+                        nextPage = page + 1;
+                        if (page == 0) {
+                            onFirstPageLoaded(result);
                         } else {
-                            allActivities = new ArrayList<>();
-                            adapter.setActivities(new ArrayList<>());
-                            showEmptyView();
-                            Toast.makeText(
-                                    requireContext(),
-                                    "No activities nearby within " + nearbyRadiusKm + "km",
-                                    Toast.LENGTH_SHORT)
-                                    .show();
+                            appendPage(result.getContent());
                         }
+                        rvActivities.post(paginationListener::checkLoadMore);
+                    }
+
+                    @Override
+                    public void onCached(PageResponse<Activity> result) {
+                        showCachedActivities(result.getContent());
                     }
 
                     @Override
                     public void onError(String errorMessage) {
+                        if (generation != feedGeneration || getView() == null) {
+                            return;
+                        }
+                        pageLoading = false;
+                        if (page > 0) {
+                            // Keep the loaded pages; scrolling again retries this page
+                            Toast.makeText(
+                                    requireContext(),
+                                    "Failed to load more activities: " + errorMessage,
+                                    Toast.LENGTH_SHORT)
+                                    .show();
+                            return;
+                        }
                         setLoading(false);
                         swipeRefresh.setRefreshing(false);
                         Toast.makeText(
@@ -324,12 +438,66 @@ public class FeedFragment extends Fragment {
                                 Toast.LENGTH_SHORT)
                                 .show();
 
-                        adapter.setActivities(new ArrayList<>());
-                        showEmptyView();
+                        // Keep showing cached activities when the network is unavailable
+                        if (allActivities.isEmpty()) {
+                            adapter.setActivities(new ArrayList<>());
+                            showEmptyView();
+                        }
                     }
                 });
     }
 
+    private void onFirstPageLoaded(PageResponse<Activity> result) {
+        setLoading(false);
+        swipeRefresh.setRefreshing(false);
+
+        List<Activity> activities = result.getContent();
+        totalActivities = result.getTotalElements() != null ? result.getTotalElements() : -1;
+        if (!activities.isEmpty()) {
+            allActivities = new ArrayList<>(activities);
+            onActivitiesChanged();
+            showContent();
+            long total = totalActivities >= 0 ? totalActivities : activities.size();
+            Toast.makeText(
+                    requireContext(),
+                    "Found " + total + " activities nearby",
+                    Toast.LENGTH_SHORT)
+                    .show();
+        } else {
+            allActivities = new ArrayList<>();
+            filterEngine.setActivities(allActivities);
+            adapter.setActivities(new ArrayList<>());
+            showEmptyView();
+            Toast.makeText(
+                    requireContext(),
+                    "No activities nearby within " + nearbyRadiusKm + "km",
+                    Toast.LENGTH_SHORT)
+                    .show();
+        }
+    }
+
+    /**
+     * Add a later page, skipping activities already shifted in from an earlier page. Only the new
+     * activities are indexed, so loading a page costs its own size rather than the whole feed.
+     */
+    private void appendPage(List<Activity> activities) {
+        Set<Long> loadedIds = new HashSet<>();
+        for (Activity activity : allActivities) {
+            loadedIds.add(activity.getId());
+        }
+        List<Activity> added = new ArrayList<>();
+        for (Activity activity : activities) {
+            if (loadedIds.add(activity.getId())) {
+                added.add(activity);
+            }
+        }
+        if (!added.isEmpty()) {
+            allActivities.addAll(added);
+            filterEngine.addActivities(added);
+            applyFiltersAndSearch();
+        }
+    }
+
     /**
      * Enable nearby activities filter and request user location. Gets current
      * device location
@@ -611,96 +779,80 @@ public class FeedFragment extends Fragment {
                 });
     }
 
-    private void applyFiltersAndSearch() {
-        List<Activity> filtered = new ArrayList<>(allActivities);
-
-        // Apply trending filter
-        if (showTrendingOnly) {
-            filtered = filtered.stream()
-                    .filter(
-                            activity -> activity.getTrending() != null
-                                    && activity.getTrending())
-                    .collect(Collectors.toList());
-        }
+    /** Re-index the feed after {@link #allActivities} was replaced and show the filtered result */
+    private void onActivitiesChanged() {
+        filterEngine.setActivities(allActivities);
+        applyFiltersAndSearch();
+    }
 
-        // Apply search query
-        if (!currentSearchQuery.isEmpty()) {
-            String query = currentSearchQuery.toLowerCase();
-            filtered = filtered.stream()
-                    .filter(
-                            activity -> {
-                                String title = activity.getTitle() != null
-                                        ? activity.getTitle().toLowerCase()
-                                        : "";
-                                String description = activity.getDescription() != null
-                                        ? activity.getDescription().toLowerCase()
-                                        : "";
-                                String location = activity.getLocation() != null
-                                        ? activity.getLocation().toLowerCase()
-                                        : "";
-                                String category = activity.getCategory() != null
-                                        ? activity.getCategory().toLowerCase()
-                                        : "";
-                                return title.contains(query)
-                                        || description.contains(query)
-                                        || location.contains(query)
-                                        || category.contains(query);
-                            })
-                    .collect(Collectors.toList());
-        }
+    /**
+     * The paged endpoint takes no search, filter or sort parameters, so all of them, including the
+     * default date order, run over the loaded pages only. While any of them is narrower than the
+     * default feed, further pages are fetched until {@link #searchLimit} activities are loaded; the
+     * rest is reported as not searched and loads on request or by scrolling.
+     */
+    private boolean needsWholeFeed() {
+        return !currentSearchQuery.isEmpty()
+                || showTrendingOnly
+                || selectedActivityType != null
+                || !Integer.valueOf(Constants.DEFAULT_MAX_DISTANCE).equals(maxDistanceKm)
+                || !"datetime".equals(sortBy);
+    }
 
-        // Apply distance filter
-        if (maxDistanceKm != null) {
-            filtered = filtered.stream()
-                    .filter(
-                            activity -> {
-                                if (activity.getDistance() == null) {
-                                    return true; // Include activities without distance info
-                                }
-                                return activity.getDistance() <= maxDistanceKm;
-                            })
-                    .collect(Collectors.toList());
+    private void applyFiltersAndSearch() {
+        // Only once the first page is in, so a reload's generation and location are settled
+        if (nextPage > 0 && needsWholeFeed() && allActivities.size() < searchLimit) {
+            loadNextPage();
         }
+        updateNotSearched();
+        ActivityFilterEngine.Query query =
+                new ActivityFilterEngine.Query(
+                        showTrendingOnly,
+                        currentSearchQuery,
+                        maxDistanceKm,
+                        selectedActivityType,
+                        sortBy);
+        filterEngine.query(
+                query,
+                filtered -> {
+                    if (getView() == null) {
+                        return;
+                    }
+                    // Update adapter
+                    adapter.setActivities(filtered);
+                    android.util.Log.d(
+                            "FeedFragment",
+                            "applyFiltersAndSearch: filtered size = " + filtered.size());
 
-        // Apply activity type filter
-        if (selectedActivityType != null && !selectedActivityType.isEmpty()) {
-            filtered = filtered.stream()
-                    .filter(
-                            activity -> selectedActivityType.equalsIgnoreCase(
-                                    activity.getCategory()))
-                    .collect(Collectors.toList());
-        }
+                    if (filtered.isEmpty()) {
+                        showEmptyView();
+                    } else {
+                        showContent();
+                    }
+                });
+    }
 
-        // Apply sorting
-        if ("distance".equals(sortBy)) {
-            filtered = filtered.stream()
-                    .sorted(Comparator.comparing(
-                            Activity::getDistance,
-                            Comparator.nullsLast(Comparator.naturalOrder())))
-                    .collect(Collectors.toList());
-        } else {
-            // Sort by datetime (date + time)
-            filtered = filtered.stream()
-                    .sorted(Comparator.comparing(
-                            (Activity a) -> {
-                                String date = a.getDate() != null ? a.getDate() : "";
-                                String time = a.getTime() != null ? a.getTime() : "";
-                                return date + " " + time;
-                            },
-                            Comparator.nullsLast(Comparator.naturalOrder())))
-                    .collect(Collectors.toList());
+    /** Show how many activities a search or filter has not covered yet */
+    private void updateNotSearched() {
+        long notSearched = totalActivities - allActivities.size();
+        boolean show =
+                nextPage > 0
+                        && !lastPageLoaded
+                        && needsWholeFeed()
+                        && allActivities.size() >= searchLimit;
+        if (show) {
+            tvNotSearched.setText(
+                    totalActivities >= 0 && notSearched > 0
+                            ? getString(R.string.feed_not_searched, notSearched)
+                            : getString(R.string.feed_more_not_searched));
         }
+        tvNotSearched.setVisibility(show ? View.VISIBLE : View.GONE);
+    }
 
-        // Update adapter
-        adapter.setActivities(filtered);
-        android.util.Log.d(
-                "FeedFragment", "applyFiltersAndSearch: filtered size = " + filtered.size());
-
-        if (filtered.isEmpty()) {
-            showEmptyView();
-        } else {
-            showContent();
-        }
+    /** Let the current search or filter load another batch of pages */
+    private void searchFurther() {
+        searchLimit = allActivities.size() + Constants.FEED_SEARCH_BATCH;
+        applyFiltersAndSearch();
     }
 
     private void showGeneralFilterDialog() {
@@ -1,12 +1,10 @@
 package com.gege.activityfindermobile.ui.gallery;
 
-import android.content.ContentResolver;
 import android.net.Uri;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.webkit.MimeTypeMap;
 import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -28,8 +26,11 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
+import com.gege.activityfindermobile.data.image.ImagePreparer;
 import com.gege.activityfindermobile.data.model.ActivityPhoto;
 import com.gege.activityfindermobile.data.repository.ActivityPhotoRepository;
+import com.gege.activityfindermobile.data.upload.UploadQueue;
+import com.gege.activityfindermobile.data.upload.UploadStatus;
 import com.gege.activityfindermobile.ui.adapters.ActivityGalleryAdapter;
 import com.gege.activityfindermobile.utils.SharedPreferencesManager;
 import com.google.android.material.appbar.MaterialToolbar;
@@ -37,10 +38,10 @@ import com.google.android.material.floatingactionbutton.ExtendedFloatingActionBu
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -50,6 +51,8 @@ import dagger.hilt.android.AndroidEntryPoint;
 public class ActivityGalleryFragment extends Fragment {
 
     @Inject ActivityPhotoRepository activityPhotoRepository;
+    @Inject ImagePreparer imagePreparer;
+    @Inject UploadQueue uploadQueue;
     @Inject SharedPreferencesManager prefsManager;
 
     private static final int MIN_PHOTOS = 1;
@@ -69,6 +72,8 @@ public class ActivityGalleryFragment extends Fragment {
     private String activityCategory;
     private Long currentUserId;
     private ActivityResultLauncher<String> imagePickerLauncher;
+    // Percent done of each unfinished upload to this gallery
+    private final Map<Long, Integer> uploadProgress = new HashMap<>();
 
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
@@ -137,6 +142,9 @@ public class ActivityGalleryFragment extends Fragment {
         setupToolbar(view);
         setupRecyclerView();
         loadPhotos();
+
+        uploadProgress.clear();
+        uploadQueue.observe(getViewLifecycleOwner(), this::onUploadChanged);
     }
 
     private void initViews(View view) {
@@ -323,81 +331,56 @@ public class ActivityGalleryFragment extends Fragment {
     private void uploadPhotos(List<Uri> uris) {
         setLoading(true);
 
-        // Convert URIs to File objects
-        List<File> imageFiles = new ArrayList<>();
-        for (Uri uri : uris) {
-            File file = getFileFromUri(uri);
-            if (file != null) {
-                imageFiles.add(file);
-            }
-        }
-
-        if (imageFiles.isEmpty()) {
-            setLoading(false);
-            Toast.makeText(requireContext(), "Failed to process images", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        activityPhotoRepository.uploadPhotos(
-                activityId,
-                imageFiles,
-                new ApiCallback<List<ActivityPhoto>>() {
+        // Downscale and re-encode off the main thread before uploading
+        imagePreparer.prepareAll(
+                uris,
+                new ApiCallback<List<File>>() {
                     @Override
-                    public void onSuccess(List<ActivityPhoto> photos) {
-                        setLoading(false);
-                        Toast.makeText(
-                                        requireContext(),
-                                        photos.size() + " photos uploaded successfully!",
-                                        Toast.LENGTH_SHORT)
-                                .show();
-
-                        // Reload photos to show newly uploaded ones
-                        loadPhotos();
+                    public void onSuccess(List<File> imageFiles) {
+                        // Queue even if the user has left; the queue outlives this screen
+                        uploadQueue.enqueueActivityPhotos(activityId, imageFiles);
+                        if (isAdded()) {
+                            setLoading(false);
+                        }
                     }
 
                     @Override
                     public void onError(String errorMessage) {
+                        if (!isAdded()) {
+                            return;
+                        }
                         setLoading(false);
-                        Toast.makeText(
-                                        requireContext(),
-                                        "Upload failed: " + errorMessage,
-                                        Toast.LENGTH_LONG)
-                                .show();
+                        Toast.makeText(requireContext(), errorMessage, Toast.LENGTH_SHORT).show();
                     }
                 });
     }
 
-    private File getFileFromUri(Uri uri) {
-        try {
-            ContentResolver contentResolver = requireContext().getContentResolver();
-            String mimeType = contentResolver.getType(uri);
-            String extension = MimeTypeMap.getSingleton().getExtensionFromMimeType(mimeType);
-
-            if (extension == null) {
-                extension = "jpg";
-            }
-
-            File file =
-                    new File(
-                            requireContext().getCacheDir(),
-                            "upload_" + System.currentTimeMillis() + "." + extension);
-            InputStream inputStream = contentResolver.openInputStream(uri);
-            FileOutputStream outputStream = new FileOutputStream(file);
-
-            byte[] buffer = new byte[1024];
-            int length;
-            while ((length = inputStream.read(buffer)) > 0) {
-                outputStream.write(buffer, 0, length);
+    /** Show upload progress on the upload button and reload as photos arrive */
+    private void onUploadChanged(UploadStatus status) {
+        if (!status.isForActivity(activityId)) {
+            return;
+        }
+        if (status.isFinal()) {
+            uploadProgress.remove(status.getId());
+            if (status.getState() == UploadStatus.State.SUCCEEDED) {
+                loadPhotos();
+            } else {
+                Toast.makeText(requireContext(), status.getError(), Toast.LENGTH_LONG).show();
             }
+        } else {
+            uploadProgress.put(status.getId(), status.getProgressPercent());
+        }
 
-            outputStream.close();
-            inputStream.close();
-
-            return file;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+        if (uploadProgress.isEmpty()) {
+            fabUpload.setText(R.string.upload_photos);
+            return;
+        }
+        int percent = 0;
+        for (int filePercent : uploadProgress.values()) {
+            percent += filePercent;
         }
+        percent /= uploadProgress.size();
+        fabUpload.setText("Uploading " + uploadProgress.size() + " (" + percent + "%)");
     }
 
     private void navigateToPhotoViewer(int position) {
@@ -1,12 +1,10 @@
 package com.gege.activityfindermobile.ui.gallery;
 
-import android.content.ContentResolver;
 import android.net.Uri;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.webkit.MimeTypeMap;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -20,16 +18,14 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
-import com.gege.activityfindermobile.data.model.ActivityPhoto;
-import com.gege.activityfindermobile.data.repository.ActivityPhotoRepository;
+import com.gege.activityfindermobile.data.image.ImagePreparer;
+import com.gege.activityfindermobile.data.upload.UploadQueue;
 import com.gege.activityfindermobile.ui.adapters.SelectedPhotoAdapter;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.progressindicator.CircularProgressIndicator;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -40,7 +36,8 @@ import dagger.hilt.android.AndroidEntryPoint;
 @AndroidEntryPoint
 public class UploadPhotosFragment extends Fragment {
 
-    @Inject ActivityPhotoRepository activityPhotoRepository;
+    @Inject ImagePreparer imagePreparer;
+    @Inject UploadQueue uploadQueue;
 
     private static final int MIN_PHOTOS = 3;
     private static final int MAX_PHOTOS = 40;
@@ -189,83 +186,39 @@ public class UploadPhotosFragment extends Fragment {
 
         setLoading(true);
 
-        // Convert URIs to File objects
-        List<File> imageFiles = new ArrayList<>();
-        for (Uri uri : selectedPhotoUris) {
-            File file = getFileFromUri(uri);
-            if (file != null) {
-                imageFiles.add(file);
-            }
-        }
-
-        if (imageFiles.isEmpty()) {
-            setLoading(false);
-            Toast.makeText(requireContext(), "Failed to process images", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        activityPhotoRepository.uploadPhotos(
-                activityId,
-                imageFiles,
-                new ApiCallback<List<ActivityPhoto>>() {
+        // Downscale and re-encode off the main thread before uploading
+        imagePreparer.prepareAll(
+                selectedPhotoUris,
+                new ApiCallback<List<File>>() {
                     @Override
-                    public void onSuccess(List<ActivityPhoto> photos) {
+                    public void onSuccess(List<File> imageFiles) {
+                        // Queue even if the user has left; the queue outlives this screen
+                        uploadQueue.enqueueActivityPhotos(activityId, imageFiles);
+                        if (!isAdded()) {
+                            return;
+                        }
                         setLoading(false);
                         Toast.makeText(
                                         requireContext(),
-                                        photos.size() + " photos uploaded successfully!",
+                                        "Uploading " + imageFiles.size() + " photos",
                                         Toast.LENGTH_SHORT)
                                 .show();
 
-                        // Navigate back to gallery
+                        // Navigate back to gallery, which shows the upload progress
                         requireActivity().onBackPressed();
                     }
 
                     @Override
                     public void onError(String errorMessage) {
+                        if (!isAdded()) {
+                            return;
+                        }
                         setLoading(false);
-                        Toast.makeText(
-                                        requireContext(),
-                                        "Upload failed: " + errorMessage,
-                                        Toast.LENGTH_LONG)
-                                .show();
+                        Toast.makeText(requireContext(), errorMessage, Toast.LENGTH_SHORT).show();
                     }
                 });
     }
 
-    private File getFileFromUri(Uri uri) {
-        try {
-            ContentResolver contentResolver = requireContext().getContentResolver();
-            String mimeType = contentResolver.getType(uri);
-            String extension = MimeTypeMap.getSingleton().getExtensionFromMimeType(mimeType);
-
-            if (extension == null) {
-                extension = "jpg";
-            }
-
-            File file =
-                    new File(
-                            requireContext().getCacheDir(),
-                            "upload_" + System.currentTimeMillis() + "." + extension);
-            InputStream inputStream = contentResolver.openInputStream(uri);
-            FileOutputStream outputStream = new FileOutputStream(file);
-
-            byte[] buffer = new byte[1024];
-            int length;
-            while ((length = inputStream.read(buffer)) > 0) {
-                outputStream.write(buffer, 0, length);
-            }
-
-            outputStream.close();
-            inputStream.close();
-
-            return file;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
     private void setLoading(boolean loading) {
         if (progressLoading != null) {
             progressLoading.setVisibility(loading ? View.VISIBLE : View.GONE);
@@ -20,6 +20,7 @@ import androidx.navigation.ui.NavigationUI;
 import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.repository.NotificationRepository;
+import com.gege.activityfindermobile.di.NetworkQualityEstimator;
 import com.gege.activityfindermobile.utils.SharedPreferencesManager;
 import com.google.android.material.badge.BadgeDrawable;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
@@ -33,6 +34,7 @@ public class MainActivity extends AppCompatActivity {
 
     @Inject SharedPreferencesManager prefsManager;
     @Inject NotificationRepository notificationRepository;
+    @Inject NetworkQualityEstimator networkQuality;
 
     private static final String TAG = "MainActivity";
 
@@ -138,8 +140,9 @@ public class MainActivity extends AppCompatActivity {
                         if (prefsManager.isLoggedIn()) {
                             updateNotificationBadge();
                         }
-                        // Poll every 30 seconds
-                        notificationPollingHandler.postDelayed(this, 30000);
+                        // Poll every 30 seconds, less often on slow links
+                        notificationPollingHandler.postDelayed(
+                                this, networkQuality.pollIntervalMillis(30000));
                     }
                 };
         // Start polling immediately
@@ -188,8 +188,10 @@ public class ParticipantsTabFragment extends Fragment {
                                                             Toast.LENGTH_SHORT)
                                                     .show();
                                             // Remove from list
-                                            adapter.removeParticipant(participant.getId());
-                                            if (adapter.getItemCount() == 0) {
+                                            int remaining =
+                                                    adapter.removeParticipant(
+                                                            participant.getId());
+                                            if (remaining == 0) {
                                                 showEmpty();
                                             }
                                         }
@@ -146,8 +146,7 @@ public class RequestsTabFragment extends Fragment {
                                         Toast.LENGTH_SHORT)
                                 .show();
                         // Remove from list
-                        adapter.removeParticipant(participant.getId());
-                        int newCount = adapter.getItemCount();
+                        int newCount = adapter.removeParticipant(participant.getId());
                         updateSectionTitle(newCount);
                         if (newCount == 0) {
                             showEmpty();
@@ -182,8 +181,7 @@ public class RequestsTabFragment extends Fragment {
                                         Toast.LENGTH_SHORT)
                                 .show();
                         // Remove from list
-                        adapter.removeParticipant(participant.getId());
-                        int newCount = adapter.getItemCount();
+                        int newCount = adapter.removeParticipant(participant.getId());
                         updateSectionTitle(newCount);
                         if (newCount == 0) {
                             showEmpty();
@@ -179,6 +179,16 @@ setupBackButton(view);
                         }
                     }
 
+                    @Override
+                    public void onCached(List<Activity> activities) {
+                        if (getView() == null) {
+                            return;
+                        }
+                        setLoading(false);
+                        allActivities = activities;
+                        filterActivities();
+                    }
+
                     @Override
                     public void onError(String errorMessage) {
                         setLoading(false);
@@ -186,10 +196,11 @@ setupBackButton(view);
                         UiUtil.showToast(
                                 requireContext(), "Failed to load activities: " + errorMessage);
 
-                        // Show empty view on error
-                        allActivities = new ArrayList<>();
-                        adapter.setActivities(new ArrayList<>());
-                        showEmptyView();
+                        // Keep cached activities if we have them, otherwise show empty view
+                        if (allActivities.isEmpty()) {
+                            adapter.setActivities(new ArrayList<>());
+                            showEmptyView();
+                        }
                     }
                 });
     }
@@ -1,12 +1,10 @@
 package com.gege.activityfindermobile.ui.profile;
 
-import android.content.ContentResolver;
 import android.net.Uri;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.webkit.MimeTypeMap;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -25,14 +23,16 @@ import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
 import com.gege.activityfindermobile.data.dto.UserProfileUpdateRequest;
+import com.gege.activityfindermobile.data.image.ImagePreparer;
 import com.gege.activityfindermobile.data.model.Category;
-import com.gege.activityfindermobile.data.model.ImageUploadResponse;
 import com.gege.activityfindermobile.data.model.User;
 import com.gege.activityfindermobile.data.model.UserPhoto;
 import com.gege.activityfindermobile.data.repository.UserPhotoRepository;
 import com.gege.activityfindermobile.data.repository.UserRepository;
-import com.gege.activityfindermobile.utils.CategoryManager;
+import com.gege.activityfindermobile.data.upload.UploadQueue;
+import com.gege.activityfindermobile.data.upload.UploadStatus;
 import com.gege.activityfindermobile.ui.adapters.PhotoGalleryAdapter;
+import com.gege.activityfindermobile.utils.CategoryManager;
 import com.gege.activityfindermobile.utils.ImageLoader;
 import com.gege.activityfindermobile.utils.SharedPreferencesManager;
 import com.google.android.libraries.places.api.Places;
@@ -45,8 +45,6 @@ import com.google.android.material.progressindicator.CircularProgressIndicator;
 import com.google.android.material.textfield.TextInputEditText;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -62,6 +60,10 @@ public class EditProfileFragment extends Fragment {
 
     @Inject UserPhotoRepository userPhotoRepository;
 
+    @Inject ImagePreparer imagePreparer;
+
+    @Inject UploadQueue uploadQueue;
+
     @Inject SharedPreferencesManager prefsManager;
 
     @Inject CategoryManager categoryManager;
@@ -127,6 +129,8 @@ public class EditProfileFragment extends Fragment {
         initPlacesClient();
         // setupCityAutocomplete();
         loadCurrentProfile();
+
+        uploadQueue.observe(getViewLifecycleOwner(), this::onUploadChanged);
     }
 
     private void setupAppBarPadding(View view) {
@@ -438,8 +442,7 @@ public class EditProfileFragment extends Fragment {
         if (user.getPhotos() != null) {
             for (UserPhoto photo : user.getPhotos()) {
                 if (photo.getIsProfilePicture() != null && photo.getIsProfilePicture()) {
-                    ImageLoader.loadCircularProfileImage(
-                            requireContext(), photo.getPhotoUrl(), ivProfilePicture);
+                    ImageLoader.loadCircularProfileImage(requireContext(), photo, ivProfilePicture);
                     break;
                 }
             }
@@ -572,38 +575,6 @@ public class EditProfileFragment extends Fragment {
                 });
     }
 
-    private File getFileFromUri(Uri uri) {
-        try {
-            ContentResolver contentResolver = requireContext().getContentResolver();
-            String mimeType = contentResolver.getType(uri);
-            String extension = MimeTypeMap.getSingleton().getExtensionFromMimeType(mimeType);
-            if (extension == null) extension = "jpg";
-
-            // Create a temporary file
-            File tempFile =
-                    File.createTempFile(
-                            "profile_image_", "." + extension, requireContext().getCacheDir());
-
-            // Copy URI content to file
-            InputStream inputStream = contentResolver.openInputStream(uri);
-            FileOutputStream outputStream = new FileOutputStream(tempFile);
-
-            byte[] buffer = new byte[4096];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
-
-            outputStream.close();
-            inputStream.close();
-
-            return tempFile;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
     private void setLoading(boolean loading) {
         if (loading) {
             progressLoading.setVisibility(View.VISIBLE);
@@ -728,50 +699,55 @@ public class EditProfileFragment extends Fragment {
             return;
         }
 
-        File photoFile = getFileFromUri(photoUri);
-        if (photoFile == null) {
-            Toast.makeText(requireContext(), "Failed to process image", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        // Check if this is the first photo
-        boolean isFirstPhoto = userPhotos.isEmpty();
-
         setLoading(true);
-        userPhotoRepository.uploadPhoto(
-                photoFile,
-                new ApiCallback<ImageUploadResponse>() {
+        imagePreparer.prepare(
+                photoUri,
+                new ApiCallback<File>() {
                     @Override
-                    public void onSuccess(ImageUploadResponse uploadResponse) {
-                        Toast.makeText(
-                                        requireContext(),
-                                        "Photo uploaded successfully!",
-                                        Toast.LENGTH_SHORT)
-                                .show();
-
-                        // If this is the first photo, reload photos and automatically set it as
-                        // profile picture
-                        if (isFirstPhoto) {
-                            loadUserPhotosAndSetFirst();
-                        } else {
-                            // Reload photos from backend to get complete data
-                            // loadUserPhotos() will call setLoading(false) when done
-                            loadUserPhotos();
-                        }
+                    public void onSuccess(File photoFile) {
+                        // The queue reports back through onUploadChanged
+                        uploadQueue.enqueueUserPhoto(photoFile);
                     }
 
                     @Override
                     public void onError(String errorMessage) {
+                        if (!isAdded()) {
+                            return;
+                        }
                         setLoading(false);
-                        Toast.makeText(
-                                        requireContext(),
-                                        "Failed to upload photo: " + errorMessage,
-                                        Toast.LENGTH_LONG)
-                                .show();
+                        Toast.makeText(requireContext(), errorMessage, Toast.LENGTH_SHORT).show();
                     }
                 });
     }
 
+    /** Finished user photo uploads; started ones are shown by the loading state already */
+    private void onUploadChanged(UploadStatus status) {
+        if (status.getKind() != UploadStatus.Kind.USER_PHOTO || !status.isFinal()) {
+            return;
+        }
+        if (status.getState() == UploadStatus.State.SUCCEEDED) {
+            Toast.makeText(requireContext(), "Photo uploaded successfully!", Toast.LENGTH_SHORT)
+                    .show();
+
+            // If this is the first photo, reload photos and automatically set it as
+            // profile picture
+            if (userPhotos.isEmpty()) {
+                loadUserPhotosAndSetFirst();
+            } else {
+                // Reload photos from backend to get complete data
+                // loadUserPhotos() will call setLoading(false) when done
+                loadUserPhotos();
+            }
+        } else {
+            setLoading(false);
+            Toast.makeText(
+                            requireContext(),
+                            "Failed to upload photo: " + status.getError(),
+                            Toast.LENGTH_LONG)
+                    .show();
+        }
+    }
+
     private void setPhotoAsProfile(UserPhoto photo) {
         setPhotoAsProfile(photo.getId());
     }
@@ -801,7 +777,7 @@ public class EditProfileFragment extends Fragment {
 
                         // Update profile picture display at top
                         ImageLoader.loadCircularProfileImage(
-                                requireContext(), updatedPhoto.getPhotoUrl(), ivProfilePicture);
+                                requireContext(), updatedPhoto, ivProfilePicture);
 
                         Toast.makeText(requireContext(), "Profile picture set!", Toast.LENGTH_SHORT)
                                 .show();
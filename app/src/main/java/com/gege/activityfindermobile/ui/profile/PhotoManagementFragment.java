@@ -1,12 +1,10 @@
 package com.gege.activityfindermobile.ui.profile;
 
-import android.content.ContentResolver;
 import android.net.Uri;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.webkit.MimeTypeMap;
 import android.widget.TextView;
 import android.widget.Toast;
 
@@ -21,9 +19,11 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.gege.activityfindermobile.R;
 import com.gege.activityfindermobile.data.callback.ApiCallback;
 import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
-import com.gege.activityfindermobile.data.model.ImageUploadResponse;
+import com.gege.activityfindermobile.data.image.ImagePreparer;
 import com.gege.activityfindermobile.data.model.UserPhoto;
 import com.gege.activityfindermobile.data.repository.UserPhotoRepository;
+import com.gege.activityfindermobile.data.upload.UploadQueue;
+import com.gege.activityfindermobile.data.upload.UploadStatus;
 import com.gege.activityfindermobile.ui.adapters.PhotoGalleryAdapter;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
@@ -31,8 +31,6 @@ import com.google.android.material.progressindicator.CircularProgressIndicator;
 import com.google.android.material.switchmaterial.SwitchMaterial;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -44,6 +42,8 @@ import dagger.hilt.android.AndroidEntryPoint;
 public class PhotoManagementFragment extends Fragment {
 
     @Inject UserPhotoRepository userPhotoRepository;
+    @Inject ImagePreparer imagePreparer;
+    @Inject UploadQueue uploadQueue;
 
     private RecyclerView rvPhotos;
     private PhotoGalleryAdapter photoAdapter;
@@ -87,6 +87,7 @@ public class PhotoManagementFragment extends Fragment {
         initViews(view);
         setupToolbar(view);
         loadPhotos();
+        uploadQueue.observe(getViewLifecycleOwner(), this::onUploadChanged);
     }
 
     private void initViews(View view) {
@@ -146,41 +147,43 @@ public class PhotoManagementFragment extends Fragment {
     private void uploadPhoto(Uri imageUri) {
         setLoading(true);
 
-        try {
-            File imageFile = getFileFromUri(imageUri);
-            if (imageFile == null) {
-                Toast.makeText(requireContext(), "Failed to process image", Toast.LENGTH_SHORT)
-                        .show();
-                setLoading(false);
-                return;
-            }
-
-            userPhotoRepository.uploadPhoto(
-                    imageFile,
-                    new ApiCallback<ImageUploadResponse>() {
-                        @Override
-                        public void onSuccess(ImageUploadResponse uploadResponse) {
-                            Toast.makeText(
-                                            requireContext(),
-                                            "Photo uploaded successfully!",
-                                            Toast.LENGTH_SHORT)
-                                    .show();
-                            loadPhotos(); // Refresh the photo list
-                        }
+        imagePreparer.prepare(
+                imageUri,
+                new ApiCallback<File>() {
+                    @Override
+                    public void onSuccess(File imageFile) {
+                        // The queue reports back through onUploadChanged
+                        uploadQueue.enqueueUserPhoto(imageFile);
+                    }
 
-                        @Override
-                        public void onError(String errorMessage) {
-                            setLoading(false);
-                            Toast.makeText(
-                                            requireContext(),
-                                            "Upload failed: " + errorMessage,
-                                            Toast.LENGTH_SHORT)
-                                    .show();
+                    @Override
+                    public void onError(String errorMessage) {
+                        if (!isAdded()) {
+                            return;
                         }
-                    });
-        } catch (Exception e) {
+                        setLoading(false);
+                        Toast.makeText(requireContext(), errorMessage, Toast.LENGTH_SHORT).show();
+                    }
+                });
+    }
+
+    private void onUploadChanged(UploadStatus status) {
+        if (status.getKind() != UploadStatus.Kind.USER_PHOTO) {
+            return;
+        }
+        if (status.getState() == UploadStatus.State.SUCCEEDED) {
+            Toast.makeText(requireContext(), "Photo uploaded successfully!", Toast.LENGTH_SHORT)
+                    .show();
+            loadPhotos(); // Refresh the photo list
+        } else if (status.getState() == UploadStatus.State.FAILED) {
             setLoading(false);
-            Toast.makeText(requireContext(), "Error: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+            Toast.makeText(
+                            requireContext(),
+                            "Upload failed: " + status.getError(),
+                            Toast.LENGTH_SHORT)
+                    .show();
+        } else {
+            setLoading(true);
         }
     }
 
@@ -299,39 +302,4 @@ public class PhotoManagementFragment extends Fragment {
     private void setLoading(boolean loading) {
         progressLoading.setVisibility(loading ? View.VISIBLE : View.GONE);
     }
-
-    private File getFileFromUri(Uri uri) throws Exception {
-        ContentResolver contentResolver = requireContext().getContentResolver();
-        InputStream inputStream = contentResolver.openInputStream(uri);
-
-        if (inputStream == null) {
-            return null;
-        }
-
-        String fileName = "photo_" + System.currentTimeMillis();
-        String extension = getFileExtension(uri);
-        if (extension != null) {
-            fileName += "." + extension;
-        }
-
-        File tempFile = new File(requireContext().getCacheDir(), fileName);
-        FileOutputStream outputStream = new FileOutputStream(tempFile);
-
-        byte[] buffer = new byte[1024];
-        int length;
-        while ((length = inputStream.read(buffer)) > 0) {
-            outputStream.write(buffer, 0, length);
-        }
-
-        outputStream.close();
-        inputStream.close();
-
-        return tempFile;
-    }
-
-    private String getFileExtension(Uri uri) {
-        ContentResolver contentResolver = requireContext().getContentResolver();
-        MimeTypeMap mime = MimeTypeMap.getSingleton();
-        return mime.getExtensionFromMimeType(contentResolver.getType(uri));
-    }
 }
@@ -21,6 +21,7 @@ import com.gege.activityfindermobile.data.repository.ActivityRepository;
 import com.gege.activityfindermobile.data.repository.ParticipantRepository;
 import com.gege.activityfindermobile.ui.adapters.ActivityAdapter;
 import com.gege.activityfindermobile.utils.SharedPreferencesManager;
+import com.gege.activityfindermobile.utils.UiUtil;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import java.util.List;
@@ -127,11 +128,26 @@ public class RecommendedActivitiesFragment extends Fragment {
                         }
                     }
 
+                    @Override
+                    public void onCached(List<Activity> activities) {
+                        if (getView() == null) {
+                            return;
+                        }
+                        progressBar.setVisibility(View.GONE);
+                        textViewEmptyState.setVisibility(View.GONE);
+                        activityAdapter.setActivities(activities);
+                    }
+
                     @Override
                     public void onError(String error) {
                         progressBar.setVisibility(View.GONE);
                         swipeRefreshLayout.setRefreshing(false);
-                        showErrorState(error);
+                        // Keep cached recommendations on screen when offline
+                        if (activityAdapter.getItemCount() == 0) {
+                            showErrorState(error);
+                        } else {
+                            UiUtil.showToast(requireContext(), "Error: " + error);
+                        }
                     }
                 });
     }
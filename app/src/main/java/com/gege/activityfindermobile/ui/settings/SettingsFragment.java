@@ -22,7 +22,9 @@ import androidx.navigation.Navigation;
 
 import android.util.Log;
 
+import com.gege.activityfindermobile.BuildConfig;
 import com.gege.activityfindermobile.R;
+import com.gege.activityfindermobile.data.cache.SessionCacheCleaner;
 import com.gege.activityfindermobile.data.callback.ApiCallbackVoid;
 import com.gege.activityfindermobile.data.repository.NotificationRepository;
 import com.gege.activityfindermobile.utils.SharedPreferencesManager;
@@ -42,6 +44,7 @@ public class SettingsFragment extends Fragment {
 
     @Inject SharedPreferencesManager prefsManager;
     @Inject NotificationRepository notificationRepository;
+    @Inject SessionCacheCleaner sessionCacheCleaner;
 
     private TextView tvEmail;
     private TextView tvDistanceUnit;
@@ -152,6 +155,15 @@ public class SettingsFragment extends Fragment {
             syncNotificationPreferences();
         });
 
+        // Network metrics, debug builds only
+        if (BuildConfig.DEBUG) {
+            tvVersion.setOnLongClickListener(v -> {
+                Navigation.findNavController(requireView())
+                        .navigate(R.id.action_settingsFragment_to_networkMetricsFragment);
+                return true;
+            });
+        }
+
         // Help Center
         view.findViewById(R.id.item_help).setOnClickListener(v -> {
             openUrl("https://vivento.fun/support");
@@ -242,6 +254,7 @@ public class SettingsFragment extends Fragment {
 
     private void performLogout() {
         prefsManager.clearUserSession();
+        sessionCacheCleaner.clearAll();
         Toast.makeText(requireContext(), "Logged out successfully", Toast.LENGTH_SHORT).show();
 
         NavController navController = Navigation.findNavController(requireView());
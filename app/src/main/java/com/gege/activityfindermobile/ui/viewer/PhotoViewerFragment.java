@@ -180,6 +180,8 @@ public class PhotoViewerFragment extends Fragment {
             UserPhoto userPhoto = new UserPhoto();
             userPhoto.setId(activityPhoto.getId());
             userPhoto.setPhotoUrl(activityPhoto.getPhotoUrl());
+            userPhoto.setThumbnailUrl(activityPhoto.getThumbnailUrl());
+            userPhoto.setMediumUrl(activityPhoto.getMediumUrl());
             convertedPhotos.add(userPhoto);
         }
 
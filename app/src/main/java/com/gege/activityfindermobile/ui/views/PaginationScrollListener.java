@@ -0,0 +1,52 @@
+package com.gege.activityfindermobile.ui.views;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Scroll listener that asks for the next page once fewer than {@code prefetchDistance} items are
+ * left below the last visible row. Works with LinearLayoutManager and GridLayoutManager.
+ */
+public abstract class PaginationScrollListener extends RecyclerView.OnScrollListener {
+
+    private final LinearLayoutManager layoutManager;
+    private final int prefetchDistance;
+
+    public PaginationScrollListener(
+            @NonNull LinearLayoutManager layoutManager, int prefetchDistance) {
+        this.layoutManager = layoutManager;
+        this.prefetchDistance = prefetchDistance;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        if (dy > 0) {
+            checkLoadMore();
+        }
+    }
+
+    /**
+     * Request the next page if the loaded items no longer reach past the prefetch window. Call
+     * after a page is bound, since a short or heavily filtered page may not fill the screen.
+     */
+    public void checkLoadMore() {
+        if (isLoading() || isLastPage()) {
+            return;
+        }
+        int itemCount = layoutManager.getItemCount();
+        int lastVisible = layoutManager.findLastVisibleItemPosition();
+        if (lastVisible + prefetchDistance >= itemCount) {
+            loadMore();
+        }
+    }
+
+    /** Load the next page */
+    protected abstract void loadMore();
+
+    /** Whether a page request is in flight */
+    public abstract boolean isLoading();
+
+    /** Whether the last page has been loaded */
+    public abstract boolean isLastPage();
+}
@@ -19,6 +19,16 @@ public class Constants {
     public static final int DEFAULT_MAX_DISTANCE = 500; // km
     public static final int[] DISTANCE_FILTER_OPTIONS = {5, 10, 25, 50, DEFAULT_MAX_DISTANCE}; // km
 
+    // Feed paging
+    public static final int FEED_PAGE_SIZE = 20;
+    // Items left below the viewport when the next page is requested
+    public static final int FEED_PREFETCH_DISTANCE = 6;
+    // Activities a search or filter loads on its own before asking to search further
+    public static final int FEED_SEARCH_BATCH = 200;
+
+    // Photo uploads: longest edge in pixels and JPEG quality of re-encoded images
+    public static final int UPLOAD_MAX_DIMENSION = 2048;
+    public static final int UPLOAD_JPEG_QUALITY = 85;
 
     // Private constructor to prevent instantiation
     private Constants() {
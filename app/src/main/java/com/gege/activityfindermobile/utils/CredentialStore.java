@@ -0,0 +1,125 @@
+package com.gege.activityfindermobile.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory copy of the session tokens shared by the HTTP client, image loading and token
+ * refresh. Reads are a single volatile load; updates swap an immutable snapshot and are written to
+ * SharedPreferences in the background via apply(), serialized so disk order matches memory order.
+ */
+public final class CredentialStore {
+    private static volatile CredentialStore instance;
+
+    private final SharedPreferences sharedPreferences;
+    private final AtomicReference<Credentials> current;
+
+    private CredentialStore(SharedPreferences sharedPreferences) {
+        this.sharedPreferences = sharedPreferences;
+        this.current =
+                new AtomicReference<>(
+                        new Credentials(
+                                sharedPreferences.getString(Constants.KEY_USER_TOKEN, null),
+                                sharedPreferences.getString(Constants.KEY_REFRESH_TOKEN, null)));
+    }
+
+    /** Get the process-wide store, loading the persisted tokens on first use */
+    public static CredentialStore getInstance(Context context) {
+        CredentialStore store = instance;
+        if (store == null) {
+            synchronized (CredentialStore.class) {
+                store = instance;
+                if (store == null) {
+                    store =
+                            new CredentialStore(
+                                    context.getApplicationContext()
+                                            .getSharedPreferences(
+                                                    Constants.PREF_NAME, Context.MODE_PRIVATE));
+                    instance = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    /** Current tokens; never null */
+    public Credentials get() {
+        return current.get();
+    }
+
+    public String getAccessToken() {
+        return current.get().getAccessToken();
+    }
+
+    public String getRefreshToken() {
+        return current.get().getRefreshToken();
+    }
+
+    /** Replace both tokens, e.g. after login or a token refresh */
+    public synchronized void update(String accessToken, String refreshToken) {
+        current.set(new Credentials(accessToken, refreshToken));
+        sharedPreferences
+                .edit()
+                .putString(Constants.KEY_USER_TOKEN, accessToken)
+                .putString(Constants.KEY_REFRESH_TOKEN, refreshToken)
+                .apply();
+    }
+
+    public synchronized void updateAccessToken(String accessToken) {
+        current.set(new Credentials(accessToken, current.get().getRefreshToken()));
+        sharedPreferences.edit().putString(Constants.KEY_USER_TOKEN, accessToken).apply();
+    }
+
+    public synchronized void updateRefreshToken(String refreshToken) {
+        current.set(new Credentials(current.get().getAccessToken(), refreshToken));
+        sharedPreferences.edit().putString(Constants.KEY_REFRESH_TOKEN, refreshToken).apply();
+    }
+
+    /** Forget both tokens (logout) */
+    public synchronized void clear() {
+        current.set(Credentials.EMPTY);
+        sharedPreferences
+                .edit()
+                .remove(Constants.KEY_USER_TOKEN)
+                .remove(Constants.KEY_REFRESH_TOKEN)
+                .apply();
+    }
+
+    /** Immutable token snapshot; the header value and expiry are derived once per token */
+    public static final class Credentials {
+        static final Credentials EMPTY = new Credentials(null, null);
+
+        private final String accessToken;
+        private final String refreshToken;
+        private final String authorizationHeader;
+        private final long accessTokenExpiryMillis;
+
+        Credentials(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.authorizationHeader =
+                    accessToken != null && !accessToken.isEmpty() ? "Bearer " + accessToken : null;
+            this.accessTokenExpiryMillis = JwtUtils.getExpiryMillis(accessToken);
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+
+        /** "Bearer <token>", or null when there is no access token */
+        public String getAuthorizationHeader() {
+            return authorizationHeader;
+        }
+
+        /** Expiry from the access token's exp claim in epoch millis, or -1 if unknown */
+        public long getAccessTokenExpiryMillis() {
+            return accessTokenExpiryMillis;
+        }
+    }
+}
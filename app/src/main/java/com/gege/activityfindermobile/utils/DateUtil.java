@@ -1,16 +1,52 @@
 package com.gege.activityfindermobile.utils;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 
-/** Utility class for date parsing and formatting operations */
+/**
+ * Utility class for date parsing and formatting operations. Formatters are immutable java.time
+ * instances shared across threads, and recently parsed strings are cached since list screens keep
+ * binding the same timestamps.
+ */
 public class DateUtil {
 
     // ISO 8601 format used by backend
     private static final String ISO_DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
 
+    // Length of "yyyy-MM-dd'T'HH:mm:ss"; fractions of a second and offsets after it are ignored
+    private static final int ISO_DATE_LENGTH = 19;
+
+    private static final int PARSE_CACHE_SIZE = 128;
+
+    private static final DateTimeFormatter ISO_FORMATTER =
+            DateTimeFormatter.ofPattern(ISO_DATE_FORMAT, Locale.US);
+
+    // Display dates produced by Activity are always in Locale.US
+    private static final DateTimeFormatter DISPLAY_DATE_PARSER =
+            DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.US);
+
+    private static final LocalizedFormatter DISPLAY_DATE_FORMATTER =
+            new LocalizedFormatter("MMM dd, yyyy");
+    private static final LocalizedFormatter DISPLAY_TIME_FORMATTER =
+            new LocalizedFormatter("hh:mm a");
+    // Lenient about leading zeros, like the SimpleDateFormat parsing they replace
+    private static final LocalizedFormatter INPUT_DATE_PARSER =
+            new LocalizedFormatter("MMM d, yyyy");
+    private static final LocalizedFormatter INPUT_TIME_PARSER = new LocalizedFormatter("h:mm a");
+
+    private static final ParseCache<LocalDateTime> isoCache = new ParseCache<>(PARSE_CACHE_SIZE);
+    private static final ParseCache<LocalDate> displayDateCache =
+            new ParseCache<>(PARSE_CACHE_SIZE);
+
     private DateUtil() {
         // Private constructor to prevent instantiation
     }
@@ -22,14 +58,34 @@ public class DateUtil {
      * @return Parsed Date object or null if parsing fails
      */
     public static Date parseIsoDate(String dateString) {
-        if (dateString == null || dateString.isEmpty()) {
+        LocalDateTime dateTime = parseIsoDateTime(dateString);
+        if (dateTime == null) {
+            return null;
+        }
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Parse ISO 8601 date string to a local date and time in the device time zone
+     *
+     * @param dateString Date string in format "yyyy-MM-dd'T'HH:mm:ss"
+     * @return Parsed date and time or null if parsing fails
+     */
+    public static LocalDateTime parseIsoDateTime(String dateString) {
+        if (dateString == null || dateString.length() < ISO_DATE_LENGTH) {
             return null;
         }
 
+        LocalDateTime cached = isoCache.get(dateString);
+        if (cached != null) {
+            return cached;
+        }
         try {
-            SimpleDateFormat sdf = new SimpleDateFormat(ISO_DATE_FORMAT, Locale.US);
-            return sdf.parse(dateString);
-        } catch (ParseException e) {
+            LocalDateTime parsed =
+                    LocalDateTime.parse(dateString.substring(0, ISO_DATE_LENGTH), ISO_FORMATTER);
+            isoCache.put(dateString, parsed);
+            return parsed;
+        } catch (DateTimeParseException e) {
             return null;
         }
     }
@@ -45,8 +101,7 @@ public class DateUtil {
             return null;
         }
 
-        SimpleDateFormat sdf = new SimpleDateFormat(ISO_DATE_FORMAT, Locale.US);
-        return sdf.format(date);
+        return ISO_FORMATTER.format(toLocalDateTime(date));
     }
 
     /**
@@ -56,11 +111,11 @@ public class DateUtil {
      * @return true if date is in the past, false otherwise
      */
     public static boolean isPast(String dateString) {
-        Date date = parseIsoDate(dateString);
-        if (date == null) {
+        LocalDateTime dateTime = parseIsoDateTime(dateString);
+        if (dateTime == null) {
             return false;
         }
-        return date.before(new Date());
+        return toEpochMillis(dateTime) < System.currentTimeMillis();
     }
 
     /**
@@ -70,11 +125,11 @@ public class DateUtil {
      * @return true if date is in the future, false otherwise
      */
     public static boolean isFuture(String dateString) {
-        Date date = parseIsoDate(dateString);
-        if (date == null) {
+        LocalDateTime dateTime = parseIsoDateTime(dateString);
+        if (dateTime == null) {
             return false;
         }
-        return date.after(new Date());
+        return toEpochMillis(dateTime) > System.currentTimeMillis();
     }
 
     /**
@@ -84,12 +139,12 @@ public class DateUtil {
      * @return Relative time string
      */
     public static String getRelativeTimeString(String dateString) {
-        Date date = parseIsoDate(dateString);
-        if (date == null) {
+        LocalDateTime dateTime = parseIsoDateTime(dateString);
+        if (dateTime == null) {
             return "";
         }
 
-        long diff = new Date().getTime() - date.getTime();
+        long diff = System.currentTimeMillis() - toEpochMillis(dateTime);
         long seconds = diff / 1000;
         long minutes = seconds / 60;
         long hours = minutes / 60;
@@ -121,34 +176,18 @@ public class DateUtil {
             return false;
         }
 
-        try {
-            SimpleDateFormat displayFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.US);
-            Date activityDate = displayFormat.parse(dateString);
-
-            if (activityDate == null) {
+        LocalDate date = displayDateCache.get(dateString);
+        if (date == null) {
+            try {
+                date = LocalDate.parse(dateString, DISPLAY_DATE_PARSER);
+            } catch (DateTimeParseException e) {
                 return false;
             }
-
-            // Reset time to start of day for both dates to compare just the date portion
-            java.util.Calendar calActivity = java.util.Calendar.getInstance();
-            calActivity.setTime(activityDate);
-            calActivity.set(java.util.Calendar.HOUR_OF_DAY, 0);
-            calActivity.set(java.util.Calendar.MINUTE, 0);
-            calActivity.set(java.util.Calendar.SECOND, 0);
-            calActivity.set(java.util.Calendar.MILLISECOND, 0);
-
-            java.util.Calendar calToday = java.util.Calendar.getInstance();
-            calToday.setTime(new Date());
-            calToday.set(java.util.Calendar.HOUR_OF_DAY, 0);
-            calToday.set(java.util.Calendar.MINUTE, 0);
-            calToday.set(java.util.Calendar.SECOND, 0);
-            calToday.set(java.util.Calendar.MILLISECOND, 0);
-
-            // Activity is expired if the date is before today (not including today)
-            return calActivity.before(calToday);
-        } catch (ParseException e) {
-            return false;
+            displayDateCache.put(dateString, date);
         }
+
+        // Activity is expired if the date is before today (not including today)
+        return date.isBefore(LocalDate.now());
     }
 
     /**
@@ -158,13 +197,12 @@ public class DateUtil {
      * @return Formatted date string or null if parsing fails
      */
     public static String formatToDisplayDate(String isoDateString) {
-        Date date = parseIsoDate(isoDateString);
-        if (date == null) {
+        LocalDateTime dateTime = parseIsoDateTime(isoDateString);
+        if (dateTime == null) {
             return null;
         }
 
-        SimpleDateFormat displayFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-        return displayFormat.format(date);
+        return DISPLAY_DATE_FORMATTER.get().format(dateTime);
     }
 
     /**
@@ -174,13 +212,12 @@ public class DateUtil {
      * @return Formatted time string or null if parsing fails
      */
     public static String formatToDisplayTime(String isoDateString) {
-        Date date = parseIsoDate(isoDateString);
-        if (date == null) {
+        LocalDateTime dateTime = parseIsoDateTime(isoDateString);
+        if (dateTime == null) {
             return null;
         }
 
-        SimpleDateFormat timeFormat = new SimpleDateFormat("hh:mm a", Locale.getDefault());
-        return timeFormat.format(date);
+        return DISPLAY_TIME_FORMATTER.get().format(dateTime);
     }
 
     /**
@@ -199,35 +236,64 @@ public class DateUtil {
         }
 
         try {
-            // Parse date
-            SimpleDateFormat dateFormat = new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault());
-            Date date = dateFormat.parse(displayDate);
+            LocalDate date = LocalDate.parse(displayDate, INPUT_DATE_PARSER.get());
+            LocalTime time = LocalTime.parse(displayTime, INPUT_TIME_PARSER.get());
+            // Seconds are dropped, as in the display format
+            return ISO_FORMATTER.format(date.atTime(time.getHour(), time.getMinute()));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
 
-            // Parse time
-            SimpleDateFormat timeFormat = new SimpleDateFormat("hh:mm a", Locale.getDefault());
-            Date time = timeFormat.parse(displayTime);
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(date.getTime()), ZoneId.systemDefault());
+    }
 
-            if (date == null || time == null) {
-                return null;
-            }
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 
-            // Combine date and time using Calendar
-            java.util.Calendar dateCal = java.util.Calendar.getInstance();
-            dateCal.setTime(date);
+    /** Thread-safe LRU of parsed values; plain Java so DateUtil also runs in JVM tests */
+    private static final class ParseCache<V> {
+        private final Map<String, V> entries;
 
-            java.util.Calendar timeCal = java.util.Calendar.getInstance();
-            timeCal.setTime(time);
+        ParseCache(int maxSize) {
+            entries =
+                    new LinkedHashMap<String, V>(maxSize, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                            return size() > maxSize;
+                        }
+                    };
+        }
 
-            dateCal.set(
-                    java.util.Calendar.HOUR_OF_DAY, timeCal.get(java.util.Calendar.HOUR_OF_DAY));
-            dateCal.set(java.util.Calendar.MINUTE, timeCal.get(java.util.Calendar.MINUTE));
-            dateCal.set(java.util.Calendar.SECOND, 0);
-            dateCal.set(java.util.Calendar.MILLISECOND, 0);
+        synchronized V get(String key) {
+            return entries.get(key);
+        }
 
-            // Format to ISO
-            return formatIsoDate(dateCal.getTime());
-        } catch (ParseException e) {
-            return null;
+        synchronized void put(String key, V value) {
+            entries.put(key, value);
+        }
+    }
+
+    /** Formatter for the current default locale, rebuilt only when the locale changes */
+    private static final class LocalizedFormatter {
+        private final String pattern;
+        private volatile DateTimeFormatter formatter;
+
+        LocalizedFormatter(String pattern) {
+            this.pattern = pattern;
+        }
+
+        DateTimeFormatter get() {
+            Locale locale = Locale.getDefault();
+            DateTimeFormatter current = formatter;
+            if (current == null || !locale.equals(current.getLocale())) {
+                current = DateTimeFormatter.ofPattern(pattern, locale);
+                formatter = current;
+            }
+            return current;
         }
     }
 }
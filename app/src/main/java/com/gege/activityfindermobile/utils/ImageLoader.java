@@ -1,17 +1,28 @@
 package com.gege.activityfindermobile.utils;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.widget.ImageView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.DecodeFormat;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.Headers;
 import com.bumptech.glide.load.model.LazyHeaders;
 import com.bumptech.glide.request.RequestOptions;
 import com.bumptech.glide.load.resource.drawable.DrawableTransitionOptions;
 import com.gege.activityfindermobile.R;
+import com.gege.activityfindermobile.data.image.PartitionedDiskCache;
+import com.gege.activityfindermobile.data.model.ImageVariants;
+
+import okhttp3.HttpUrl;
 
 public class ImageLoader {
+    private static final String API_HOST = HttpUrl.get(Constants.BASE_URL).host();
+
+    private static volatile AuthHeaders authHeaders;
 
     /**
      * Load profile image from URL into ImageView
@@ -86,17 +97,35 @@ public class ImageLoader {
             }
         }
 
-        RequestOptions options =
-                new RequestOptions()
-                        .placeholder(R.drawable.ic_person)
-                        .error(R.drawable.ic_person)
-                        .diskCacheStrategy(DiskCacheStrategy.ALL)
-                        .circleCrop();
-
         // Create GlideUrl with Authorization header
         GlideUrl glideUrl = buildGlideUrlWithAuth(context, fullUrl);
 
-        Glide.with(context).load(glideUrl).apply(options).into(imageView);
+        Glide.with(context).load(glideUrl).apply(circularOptions()).into(imageView);
+    }
+
+    /**
+     * Load a profile photo as a circle, in the smallest server variant that fits the view
+     *
+     * @param context Context
+     * @param photo Photo with its size variants
+     * @param imageView Target ImageView (should be CircleImageView)
+     */
+    public static void loadCircularProfileImage(
+            Context context, ImageVariants photo, ImageView imageView) {
+        if (!hasImage(photo)) {
+            imageView.setImageResource(R.drawable.ic_person);
+            return;
+        }
+
+        Glide.with(context).load(photo).apply(circularOptions()).into(imageView);
+    }
+
+    private static RequestOptions circularOptions() {
+        return new RequestOptions()
+                .placeholder(R.drawable.ic_person)
+                .error(R.drawable.ic_person)
+                .diskCacheStrategy(DiskCacheStrategy.ALL)
+                .circleCrop();
     }
 
     /**
@@ -107,24 +136,54 @@ public class ImageLoader {
      * @return GlideUrl with auth headers
      */
     private static GlideUrl buildGlideUrlWithAuth(Context context, String url) {
-        SharedPreferencesManager prefsManager = new SharedPreferencesManager(context);
-        String token = prefsManager.getUserToken();
+        return new GlideUrl(url, authHeaders(context, url));
+    }
 
-        if (token != null && !token.isEmpty()) {
-            return new GlideUrl(
-                    url,
+    /**
+     * Headers for loading auth-gated images. The token is only sent to the API host, never to
+     * absolute image URLs on other hosts.
+     *
+     * @param context Context
+     * @param url Absolute image URL
+     * @return Authorization header, or no headers when logged out or for another host
+     */
+    public static Headers authHeaders(Context context, String url) {
+        HttpUrl imageUrl = url != null ? HttpUrl.parse(url) : null;
+        if (imageUrl == null || !imageUrl.host().equals(API_HOST)) {
+            return Headers.DEFAULT;
+        }
+
+        // Read from memory and reuse the headers until the token changes, this runs per row bind
+        CredentialStore.Credentials credentials = CredentialStore.getInstance(context).get();
+        if (credentials.getAuthorizationHeader() == null) {
+            return Headers.DEFAULT;
+        }
+
+        AuthHeaders headers = authHeaders;
+        if (headers == null || headers.credentials != credentials) {
+            headers = new AuthHeaders(credentials);
+            authHeaders = headers;
+        }
+        return headers.headers;
+    }
+
+    /** Glide headers built for one credentials snapshot */
+    private static final class AuthHeaders {
+        final CredentialStore.Credentials credentials;
+        final LazyHeaders headers;
+
+        AuthHeaders(CredentialStore.Credentials credentials) {
+            this.credentials = credentials;
+            this.headers =
                     new LazyHeaders.Builder()
-                            .addHeader("Authorization", "Bearer " + token)
-                            .build());
-        } else {
-            // No token available, return plain GlideUrl
-            return new GlideUrl(url);
+                            .addHeader("Authorization", credentials.getAuthorizationHeader())
+                            .build();
         }
     }
 
     /**
      * Load an activity cover image into an ImageView.
-     * Cover images are public (no auth header needed) and cached to disk.
+     * Cover images are public (no auth header needed) and cached in the public disk cache.
      *
      * @param context  Context
      * @param imageUrl Full or relative URL of the cover image
@@ -145,8 +204,32 @@ public class ImageLoader {
             fullUrl = baseUrl + (imageUrl.startsWith("/") ? imageUrl : "/" + imageUrl);
         }
 
+        loadCover(context, fullUrl, imageView);
+    }
+
+    /**
+     * Load a cover image in the smallest server variant that fits the view
+     *
+     * @param context Context
+     * @param coverImage Cover with its size variants
+     * @param imageView Target ImageView
+     */
+    public static void loadCoverImage(
+            Context context, ImageVariants coverImage, ImageView imageView) {
+        if (!hasImage(coverImage)) {
+            imageView.setImageResource(R.drawable.activity_default);
+            return;
+        }
+
+        loadCover(context, coverImage, imageView);
+    }
+
+    private static void loadCover(Context context, Object model, ImageView imageView) {
+        // Covers are opaque photos, so 565 halves their memory without visible loss
         Glide.with(context)
-                .load(fullUrl)
+                .load(model)
+                .signature(PartitionedDiskCache.publicSignature())
+                .format(DecodeFormat.PREFER_RGB_565)
                 .diskCacheStrategy(DiskCacheStrategy.ALL)
                 .centerCrop()
                 .placeholder(R.drawable.activity_default)
@@ -183,13 +266,43 @@ public class ImageLoader {
             }
         }
 
-        RequestOptions options =
-                new RequestOptions().diskCacheStrategy(DiskCacheStrategy.ALL).centerCrop();
-
         // Create GlideUrl with Authorization header
         GlideUrl glideUrl = buildGlideUrlWithAuth(context, fullUrl);
 
-        Glide.with(context).load(glideUrl).apply(options).into(imageView);
+        Glide.with(context).load(glideUrl).apply(galleryOptions()).into(imageView);
+    }
+
+    /**
+     * Load a gallery photo in the smallest server variant that fits the view, so grid cells fetch
+     * thumbnails and the full-screen viewer the full image
+     *
+     * @param context Context
+     * @param photo Photo with its size variants
+     * @param imageView Target ImageView
+     */
+    public static void loadGalleryPhoto(Context context, ImageVariants photo, ImageView imageView) {
+        if (!hasImage(photo)) {
+            return;
+        }
+
+        Glide.with(context).load(photo).apply(galleryOptions()).into(imageView);
+    }
+
+    private static RequestOptions galleryOptions() {
+        // Slow links get smaller variants from VariantUrlLoader. No sizeMultiplier here: a plain
+        // URL downloads the same bytes at any decode size and would only look blurry
+        return new RequestOptions()
+                .format(DecodeFormat.PREFER_RGB_565)
+                .diskCacheStrategy(DiskCacheStrategy.ALL)
+                .centerCrop();
+    }
+
+    private static boolean hasImage(ImageVariants image) {
+        if (image == null) {
+            return false;
+        }
+        String url = image.getImageUrl(ImageVariants.Size.FULL);
+        return url != null && !url.isEmpty();
     }
 
     /**
@@ -201,4 +314,15 @@ public class ImageLoader {
         Glide.get(context).clearMemory();
         new Thread(() -> Glide.get(context).clearDiskCache()).start();
     }
+
+    /**
+     * Clear cached auth-gated photos when the session ends, keeping the public covers
+     *
+     * @param context Context
+     */
+    public static void clearPrivateCache(Context context) {
+        // Private photos may be in memory too; Glide only clears memory on the main thread
+        new Handler(Looper.getMainLooper()).post(() -> Glide.get(context).clearMemory());
+        new Thread(() -> PartitionedDiskCache.clearPrivate(context)).start();
+    }
 }
@@ -0,0 +1,44 @@
+package com.gege.activityfindermobile.utils;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** Reads claims from a JWT without verifying it; the server remains the authority */
+public final class JwtUtils {
+
+    private JwtUtils() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Get the expiry of a JWT from its "exp" claim
+     *
+     * @param token Encoded JWT ("header.payload.signature")
+     * @return Expiry in epoch millis, or -1 if the token is malformed or has no exp claim
+     */
+    public static long getExpiryMillis(String token) {
+        if (token == null) {
+            return -1;
+        }
+        int payloadStart = token.indexOf('.') + 1;
+        int payloadEnd = token.indexOf('.', payloadStart);
+        if (payloadStart == 0 || payloadEnd < 0) {
+            return -1;
+        }
+
+        try {
+            byte[] payload =
+                    Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd));
+            JSONObject claims = new JSONObject(new String(payload, StandardCharsets.UTF_8));
+            if (!claims.has("exp")) {
+                return -1;
+            }
+            return claims.getLong("exp") * 1000L;
+        } catch (IllegalArgumentException | JSONException e) {
+            return -1;
+        }
+    }
+}
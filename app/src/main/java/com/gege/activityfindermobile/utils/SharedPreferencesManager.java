@@ -12,11 +12,14 @@ import dagger.hilt.android.qualifiers.ApplicationContext;
 @Singleton
 public class SharedPreferencesManager {
     private final SharedPreferences sharedPreferences;
+    // Tokens are read on every request, so they are served from memory
+    private final CredentialStore credentialStore;
 
     @Inject
     public SharedPreferencesManager(@ApplicationContext Context context) {
         this.sharedPreferences =
                 context.getSharedPreferences(Constants.PREF_NAME, Context.MODE_PRIVATE);
+        this.credentialStore = CredentialStore.getInstance(context);
     }
 
     /** Save user ID */
@@ -32,22 +35,22 @@ public class SharedPreferencesManager {
 
     /** Save user token */
     public void saveUserToken(String token) {
-        sharedPreferences.edit().putString(Constants.KEY_USER_TOKEN, token).apply();
+        credentialStore.updateAccessToken(token);
     }
 
     /** Get user token */
     public String getUserToken() {
-        return sharedPreferences.getString(Constants.KEY_USER_TOKEN, null);
+        return credentialStore.getAccessToken();
     }
 
     /** Save refresh token */
     public void saveRefreshToken(String refreshToken) {
-        sharedPreferences.edit().putString(Constants.KEY_REFRESH_TOKEN, refreshToken).apply();
+        credentialStore.updateRefreshToken(refreshToken);
     }
 
     /** Get refresh token */
     public String getRefreshToken() {
-        return sharedPreferences.getString(Constants.KEY_REFRESH_TOKEN, null);
+        return credentialStore.getRefreshToken();
     }
 
     /** Save user email */
@@ -75,11 +78,11 @@ public class SharedPreferencesManager {
         if (userId == null) {
             throw new IllegalArgumentException("User ID cannot be null");
         }
+        credentialStore.update(
+                accessToken != null ? accessToken : "", refreshToken != null ? refreshToken : "");
         sharedPreferences
                 .edit()
                 .putLong(Constants.KEY_USER_ID, userId)
-                .putString(Constants.KEY_USER_TOKEN, accessToken != null ? accessToken : "")
-                .putString(Constants.KEY_REFRESH_TOKEN, refreshToken != null ? refreshToken : "")
                 .putString(Constants.KEY_USER_EMAIL, email != null ? email : "")
                 .putBoolean(Constants.KEY_IS_LOGGED_IN, true)
                 .apply();
@@ -98,11 +101,10 @@ public class SharedPreferencesManager {
 
     /** Clear user session (logout) */
     public void clearUserSession() {
+        credentialStore.clear();
         sharedPreferences
                 .edit()
                 .remove(Constants.KEY_USER_ID)
-                .remove(Constants.KEY_USER_TOKEN)
-                .remove(Constants.KEY_REFRESH_TOKEN)
                 .remove(Constants.KEY_USER_EMAIL)
                 .putBoolean(Constants.KEY_IS_LOGGED_IN, false)
                 .apply();
@@ -115,6 +117,7 @@ public class SharedPreferencesManager {
 
     /** Clear all preferences */
     public void clearAll() {
+        credentialStore.clear();
         sharedPreferences.edit().clear().apply();
     }
 
@@ -0,0 +1,171 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import com.gege.activityfindermobile.data.model.Activity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * JVM benchmark for the date work of binding an activity card, against the string splitting and
+ * SimpleDateFormat expiry check it replaced including:
+ * - Rebinding cards whose dates were already derived, as when scrolling back
+ * - First bind of freshly decoded activities, which also parses activityDate
+ *
+ * <p>Each case reports time and bytes allocated per bind.
+ */
+public class ActivityDateBenchmark {
+    private static final int FEED_SIZE = 60;
+    private static final int OPS = 20_000;
+
+    private final String[] isoDates = new String[FEED_SIZE];
+    private final Activity[] activities = new Activity[FEED_SIZE];
+    private final LegacyActivity[] legacyActivities = new LegacyActivity[FEED_SIZE];
+    private Locale savedLocale;
+
+    @Before
+    public void setUp() {
+        savedLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        for (int i = 0; i < FEED_SIZE; i++) {
+            isoDates[i] =
+                    String.format(
+                            Locale.US,
+                            "20%02d-%02d-%02dT%02d:%02d:00",
+                            20 + i % 10,
+                            1 + i % 12,
+                            1 + i % 28,
+                            i % 24,
+                            i % 60);
+            activities[i] = activity(isoDates[i]);
+            legacyActivities[i] = new LegacyActivity(isoDates[i]);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(savedLocale);
+    }
+
+    @Test
+    public void benchmarkRebind() {
+        for (int i = 0; i < FEED_SIZE; i++) {
+            assertEquals(legacyActivities[i].getDate(), activities[i].getDate());
+            assertEquals(legacyActivities[i].getTime(), activities[i].getTime());
+            assertEquals(legacyActivities[i].isExpired(), activities[i].isExpired());
+        }
+
+        Microbenchmark.Operation legacy = i -> legacyActivities[i % FEED_SIZE].bind();
+        Microbenchmark.Operation parsed = i -> bind(activities[i % FEED_SIZE]);
+        Microbenchmark.report(
+                "Card rebind",
+                Microbenchmark.nanosPerOp("Split strings + SimpleDateFormat, rebind", OPS, legacy),
+                Microbenchmark.nanosPerOp("Parsed java.time fields, rebind", OPS, parsed));
+        Microbenchmark.reportAllocation(
+                "Card rebind",
+                Microbenchmark.bytesPerOp("Split strings + SimpleDateFormat, rebind", OPS, legacy),
+                Microbenchmark.bytesPerOp("Parsed java.time fields, rebind", OPS, parsed));
+    }
+
+    @Test
+    public void benchmarkFirstBind() {
+        Microbenchmark.Operation legacy = i -> new LegacyActivity(isoDates[i % FEED_SIZE]).bind();
+        Microbenchmark.Operation parsed = i -> bind(activity(isoDates[i % FEED_SIZE]));
+        Microbenchmark.report(
+                "First bind",
+                Microbenchmark.nanosPerOp("Split strings + SimpleDateFormat, first", OPS, legacy),
+                Microbenchmark.nanosPerOp("Parsed java.time fields, first", OPS, parsed));
+        Microbenchmark.reportAllocation(
+                "First bind",
+                Microbenchmark.bytesPerOp("Split strings + SimpleDateFormat, first", OPS, legacy),
+                Microbenchmark.bytesPerOp("Parsed java.time fields, first", OPS, parsed));
+    }
+
+    /** What ActivityAdapter reads from an activity's dates per bind */
+    private static Object bind(Activity activity) {
+        return activity.isExpired() ? activity.getTime() : activity.getDate();
+    }
+
+    private static Activity activity(String isoDate) {
+        Activity activity = new Activity();
+        activity.setActivityDate(isoDate);
+        return activity;
+    }
+
+    /** Date handling of Activity and ActivityAdapter before the dates were parsed once */
+    private static final class LegacyActivity {
+        private final String activityDate;
+        private String date;
+        private String time;
+
+        LegacyActivity(String activityDate) {
+            this.activityDate = activityDate;
+            parseActivityDate();
+        }
+
+        Object bind() {
+            return isExpired() ? getTime() : getDate();
+        }
+
+        String getDate() {
+            if (date == null) {
+                parseActivityDate();
+            }
+            return date;
+        }
+
+        String getTime() {
+            if (time == null) {
+                parseActivityDate();
+            }
+            return time;
+        }
+
+        boolean isExpired() {
+            try {
+                Date parsed = new SimpleDateFormat("MMM dd, yyyy", Locale.US).parse(getDate());
+                Calendar activityDay = Calendar.getInstance();
+                activityDay.setTime(parsed);
+                startOfDay(activityDay);
+                Calendar today = Calendar.getInstance();
+                today.setTime(new Date());
+                startOfDay(today);
+                return activityDay.before(today);
+            } catch (ParseException e) {
+                return false;
+            }
+        }
+
+        private static void startOfDay(Calendar calendar) {
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.set(Calendar.SECOND, 0);
+            calendar.set(Calendar.MILLISECOND, 0);
+        }
+
+        private void parseActivityDate() {
+            String[] parts = activityDate.split("T");
+            String[] dateParts = parts[0].split("-");
+            int year = Integer.parseInt(dateParts[0]);
+            int month = Integer.parseInt(dateParts[1]);
+            int day = Integer.parseInt(dateParts[2]);
+            String[] monthNames = {
+                "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+            };
+            date = monthNames[month - 1] + " " + day + ", " + year;
+            String[] timeParts = parts[1].split(":");
+            int hour = Integer.parseInt(timeParts[0]);
+            int minute = Integer.parseInt(timeParts[1]);
+            int displayHour = hour % 12 == 0 ? 12 : hour % 12;
+            time = String.format("%02d:%02d %s", displayHour, minute, hour >= 12 ? "PM" : "AM");
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.ui.feed.ActivityFilterEngine;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * JVM benchmark for feed search against a plain scan of the activity strings including:
+ * - Incremental keystrokes of one search on a large feed
+ * - Building the indexes for a new dataset, with the heap they retain
+ * - Appending one loaded page to the indexes instead of rebuilding them
+ *
+ * <p>Every case runs at 1k, 10k and 100k activities.
+ */
+public class ActivityFilterEngineBenchmark {
+    private static final int[] FEED_SIZES = {1_000, 10_000, 100_000};
+    private static final int PAGE_SIZE = 20;
+    private static final String[] WORDS =
+            ("morning yoga board games sunset hike football pickup climbing gym chess club running"
+                            + " group park lake picnic coffee language exchange tennis doubles"
+                            + " cycling tour photography walk museum concert jazz evening beginners"
+                            + " welcome bring water shoes friends")
+                    .split(" ");
+    private static final String[] CATEGORIES = {"Sports", "Gaming", "Outdoor", "Social", "Music"};
+    private static final String[] CITIES = {"Budapest", "Debrecen", "Szeged", "Pecs", "Gyor"};
+    private static final String[] KEYSTROKES = {"c", "cl", "cli", "clim", "climb", "climbing"};
+
+    private List<Activity> activities;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        int count = FEED_SIZES[FEED_SIZES.length - 1] + PAGE_SIZE;
+        activities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Activity activity = new Activity();
+            activity.setId((long) i);
+            activity.setTitle(words(random, 3));
+            activity.setDescription(words(random, 25));
+            // House numbers give the index a realistic number of distinct tokens
+            activity.setLocation(
+                    CITIES[random.nextInt(CITIES.length)] + ", Fo utca " + random.nextInt(5000));
+            activity.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            activity.setActivityDate(
+                    String.format(
+                            Locale.US,
+                            "2025-%02d-%02dT%02d:00:00",
+                            1 + random.nextInt(12),
+                            1 + random.nextInt(28),
+                            random.nextInt(24)));
+            activity.setDistance(random.nextInt(10) == 0 ? null : random.nextDouble() * 50);
+            activity.setTrending(random.nextInt(5) == 0);
+            activities.add(activity);
+        }
+    }
+
+    @Test
+    public void benchmarkKeystrokes() {
+        for (int size : FEED_SIZES) {
+            List<Activity> feed = activities.subList(0, size);
+            ActivityFilterEngine.Index index = ActivityFilterEngine.Index.build(feed);
+            for (String text : KEYSTROKES) {
+                assertEquals(scan(feed, text), ids(index.query(query(text))));
+            }
+
+            int ops = opsFor(size, 200);
+            double scan =
+                    Microbenchmark.nanosPerOp(
+                            "Scan " + size + " activities per keystroke",
+                            ops,
+                            i -> scan(feed, KEYSTROKES[i % KEYSTROKES.length]));
+            double indexed =
+                    Microbenchmark.nanosPerOp(
+                            "Index query per keystroke, " + size,
+                            ops,
+                            i -> index.query(query(KEYSTROKES[i % KEYSTROKES.length])));
+            Microbenchmark.report("Feed search, " + size, scan, indexed);
+        }
+    }
+
+    @Test
+    public void benchmarkIndexBuild() {
+        for (int size : FEED_SIZES) {
+            List<Activity> feed = activities.subList(0, size);
+            assertEquals(size, ActivityFilterEngine.Index.build(feed).size());
+
+            Microbenchmark.nanosPerOp(
+                    "Index build for " + size + " activities",
+                    opsFor(size, 5),
+                    i -> ActivityFilterEngine.Index.build(feed));
+            Microbenchmark.retainedBytes(
+                    "Index heap for " + size + " activities",
+                    () -> ActivityFilterEngine.Index.build(feed));
+        }
+    }
+
+    @Test
+    public void benchmarkPageAppend() {
+        for (int size : FEED_SIZES) {
+            List<Activity> feed = activities.subList(0, size);
+            List<Activity> withPage = activities.subList(0, size + PAGE_SIZE);
+            List<Activity> page = activities.subList(size, size + PAGE_SIZE);
+            ActivityFilterEngine.Index appended = ActivityFilterEngine.Index.build(feed);
+            appended.addActivities(page);
+            ActivityFilterEngine.Query query = query("climbing");
+            assertEquals(
+                    ids(ActivityFilterEngine.Index.build(withPage).query(query)),
+                    ids(appended.query(query)));
+
+            int ops = opsFor(size, 5);
+            double rebuild =
+                    Microbenchmark.nanosPerOp(
+                            "Rebuild for one more page, " + size,
+                            ops,
+                            i -> ActivityFilterEngine.Index.build(withPage));
+            // Appends to one index over and over, so it ends a few thousand activities larger
+            ActivityFilterEngine.Index growing = ActivityFilterEngine.Index.build(feed);
+            double append =
+                    Microbenchmark.nanosPerOp(
+                            "Append one page, " + size,
+                            ops * 10,
+                            i -> {
+                                growing.addActivities(page);
+                                return growing;
+                            });
+            Microbenchmark.report("Page append, " + size, rebuild, append);
+        }
+    }
+
+    /** Fewer operations per round on larger feeds, so each case takes seconds, not minutes */
+    private static int opsFor(int size, int opsAt1k) {
+        return Math.max(1, opsAt1k * 1_000 / size);
+    }
+
+    /** What a search does without indexes: lowercase every field and test each one */
+    private static Set<Long> scan(List<Activity> feed, String text) {
+        Set<Long> ids = new HashSet<>();
+        for (Activity activity : feed) {
+            if (activity.getTitle().toLowerCase().contains(text)
+                    || activity.getDescription().toLowerCase().contains(text)
+                    || activity.getLocation().toLowerCase().contains(text)
+                    || activity.getCategory().toLowerCase().contains(text)) {
+                ids.add(activity.getId());
+            }
+        }
+        return ids;
+    }
+
+    private static ActivityFilterEngine.Query query(String text) {
+        return new ActivityFilterEngine.Query(
+                false, text, null, null, ActivityFilterEngine.SORT_DATETIME);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append(' ');
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            builder.append(
+                    i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+        }
+        return builder.toString();
+    }
+
+    private static Set<Long> ids(List<Activity> results) {
+        Set<Long> ids = new HashSet<>();
+        for (Activity activity : results) {
+            ids.add(activity.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,123 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import com.gege.activityfindermobile.utils.DateUtil;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * JVM benchmark for DateUtil against the per-call SimpleDateFormat parsing it replaced including:
+ * - Formatting a feed's worth of dates as a RecyclerView rebinds them
+ * - Parsing more distinct dates than the cache holds
+ *
+ * <p>Each case reports time and garbage, as bytes allocated, per call.
+ */
+public class DateUtilBenchmark {
+    private static final int FEED_SIZE = 60;
+    private static final int OPS = 20_000;
+
+    private final String[] isoDates = new String[FEED_SIZE];
+    private Locale savedLocale;
+
+    @Before
+    public void setUp() {
+        savedLocale = Locale.getDefault();
+        Locale.setDefault(Locale.US);
+        for (int i = 0; i < FEED_SIZE; i++) {
+            isoDates[i] =
+                    String.format(
+                            Locale.US,
+                            "2025-%02d-%02dT%02d:%02d:00",
+                            1 + i % 12,
+                            1 + i % 28,
+                            i % 24,
+                            i % 60);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Locale.setDefault(savedLocale);
+    }
+
+    @Test
+    public void benchmarkFeedRebind() {
+        for (String iso : isoDates) {
+            assertEquals(legacyDisplayDate(iso), DateUtil.formatToDisplayDate(iso));
+            assertEquals(legacyDisplayTime(iso), DateUtil.formatToDisplayTime(iso));
+        }
+
+        Microbenchmark.Operation legacy =
+                i -> {
+                    String iso = isoDates[i % FEED_SIZE];
+                    return legacyDisplayDate(iso) + legacyDisplayTime(iso);
+                };
+        Microbenchmark.Operation cached =
+                i -> {
+                    String iso = isoDates[i % FEED_SIZE];
+                    return DateUtil.formatToDisplayDate(iso) + DateUtil.formatToDisplayTime(iso);
+                };
+        Microbenchmark.report(
+                "DateUtil feed rebind",
+                Microbenchmark.nanosPerOp("SimpleDateFormat per call, date + time", OPS, legacy),
+                Microbenchmark.nanosPerOp("DateUtil, date + time", OPS, cached));
+        Microbenchmark.reportAllocation(
+                "DateUtil feed rebind",
+                Microbenchmark.bytesPerOp("SimpleDateFormat per call, date + time", OPS, legacy),
+                Microbenchmark.bytesPerOp("DateUtil, date + time", OPS, cached));
+    }
+
+    @Test
+    public void benchmarkCacheMisses() {
+        // Distinct minutes over a few days, far more than the parse cache keeps
+        String[] distinct = new String[4096];
+        for (int i = 0; i < distinct.length; i++) {
+            distinct[i] =
+                    String.format(
+                            Locale.US,
+                            "2025-03-%02dT%02d:%02d:00",
+                            1 + i / 1440,
+                            i / 60 % 24,
+                            i % 60);
+        }
+        for (String iso : distinct) {
+            assertEquals(legacyParse(iso), DateUtil.parseIsoDate(iso));
+        }
+
+        Microbenchmark.Operation legacy = i -> legacyParse(distinct[i % distinct.length]);
+        Microbenchmark.Operation evicting =
+                i -> DateUtil.parseIsoDate(distinct[i % distinct.length]);
+        Microbenchmark.report(
+                "DateUtil cache misses",
+                Microbenchmark.nanosPerOp("SimpleDateFormat per call, distinct dates", OPS, legacy),
+                Microbenchmark.nanosPerOp("DateUtil, distinct dates", OPS, evicting));
+        Microbenchmark.reportAllocation(
+                "DateUtil cache misses",
+                Microbenchmark.bytesPerOp("SimpleDateFormat per call, distinct dates", OPS, legacy),
+                Microbenchmark.bytesPerOp("DateUtil, distinct dates", OPS, evicting));
+    }
+
+    private static Date legacyParse(String iso) {
+        try {
+            return new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss", Locale.US).parse(iso);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static String legacyDisplayDate(String iso) {
+        return new SimpleDateFormat("MMM dd, yyyy", Locale.getDefault()).format(legacyParse(iso));
+    }
+
+    private static String legacyDisplayTime(String iso) {
+        return new SimpleDateFormat("hh:mm a", Locale.getDefault()).format(legacyParse(iso));
+    }
+}
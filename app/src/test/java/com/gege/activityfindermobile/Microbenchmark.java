@@ -0,0 +1,114 @@
+package com.gege.activityfindermobile;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Minimal timing harness for JVM benchmarks that run as unit tests. Each case is warmed up so the
+ * JIT has compiled it, then timed over several rounds; the fastest round is reported because the
+ * slower ones mostly measure GC and scheduling noise.
+ *
+ * <p>Allocation is measured separately with the JVM's per-thread allocation counter, which counts
+ * every byte the operation allocates whether or not it is collected before the round ends. Retained
+ * size is the heap still in use after a full collection, which is approximate but stable to a few
+ * percent for structures of several megabytes.
+ *
+ * <p>Results are printed, never asserted, so a slow CI machine cannot fail the build.
+ */
+public final class Microbenchmark {
+    /** Work measured per operation; returns a value so the JIT cannot drop the work */
+    public interface Operation {
+        Object run(int i);
+    }
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    // Written after every round so results escape the loop
+    private static volatile Object sink;
+
+    private Microbenchmark() {}
+
+    /** Run {@code op} {@code opsPerRound} times per round and return the best ns per operation */
+    public static double nanosPerOp(String name, int opsPerRound, Operation op) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            runRound(opsPerRound, op);
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            best = Math.min(best, runRound(opsPerRound, op));
+        }
+        double nanos = (double) best / opsPerRound;
+        System.out.printf(Locale.US, "%-56s %12.1f ns/op%n", name, nanos);
+        return nanos;
+    }
+
+    /**
+     * Run {@code op} {@code opsPerRound} times after a warm-up round and return the bytes it
+     * allocated per operation, or -1 if the JVM cannot count allocations per thread
+     */
+    public static double bytesPerOp(String name, int opsPerRound, Operation op) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            System.out.printf(Locale.US, "%-56s %12s%n", name, "n/a B/op");
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        runRound(opsPerRound, op);
+        long before = threads.getThreadAllocatedBytes(thread);
+        runRound(opsPerRound, op);
+        double bytes = (double) (threads.getThreadAllocatedBytes(thread) - before) / opsPerRound;
+        System.out.printf(Locale.US, "%-56s %12.1f B/op%n", name, bytes);
+        return bytes;
+    }
+
+    /** Build a structure and return the bytes of heap it keeps reachable */
+    public static long retainedBytes(String name, Supplier<?> build) {
+        long before = usedAfterGc();
+        Object built = build.get();
+        long retained = usedAfterGc() - before;
+        sink = built;
+        sink = null;
+        System.out.printf(Locale.US, "%-56s %12d KB%n", name, retained / 1024);
+        return retained;
+    }
+
+    /** Print how much faster {@code candidate} is than {@code baseline} */
+    public static void report(String name, double baselineNanos, double candidateNanos) {
+        System.out.printf(
+                Locale.US, "%-56s %12.1fx%n", name + " speedup", baselineNanos / candidateNanos);
+    }
+
+    /** Print how many times fewer bytes {@code candidate} allocates than {@code baseline} */
+    public static void reportAllocation(String name, double baselineBytes, double candidateBytes) {
+        if (baselineBytes < 0 || candidateBytes < 0) {
+            return;
+        }
+        System.out.printf(
+                Locale.US,
+                "%-56s %12.1fx%n",
+                name + " allocation reduction",
+                baselineBytes / Math.max(candidateBytes, 1));
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long runRound(int ops, Operation op) {
+        Object last = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) {
+            last = op.run(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = last;
+        return elapsed;
+    }
+}
@@ -0,0 +1,121 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import com.gege.activityfindermobile.di.NetworkLoggingInterceptor;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.logging.HttpLoggingInterceptor;
+
+/**
+ * JVM benchmark for the time and allocation NetworkLoggingInterceptor adds to a feed download
+ * including:
+ * - No logging, as the floor
+ * - Body logging on every request, as every build did before
+ * - Debug and release configurations of NetworkLoggingInterceptor
+ *
+ * <p>Redaction and sampling are covered by NetworkLoggingInterceptorTest. Calls run through a real
+ * OkHttp client whose last interceptor answers with a canned JSON response, so no network is
+ * involved. Log lines are discarded; on a device each logged line is also written to logcat, which
+ * only makes the logging cases slower.
+ */
+public class NetworkLoggingBenchmark {
+    private static final int OPS = 5_000;
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final HttpLoggingInterceptor.Logger DISCARD = message -> {};
+
+    // Roughly one feed page
+    private final String responseJson = json(60);
+
+    @Test
+    public void benchmarkLoggingOverhead() {
+        HttpLoggingInterceptor legacy = new HttpLoggingInterceptor(DISCARD);
+        legacy.setLevel(HttpLoggingInterceptor.Level.BODY);
+
+        OkHttpClient none = client(null);
+        OkHttpClient body = client(legacy);
+        OkHttpClient debug = client(NetworkLoggingInterceptor.create(true, DISCARD));
+        OkHttpClient release = client(NetworkLoggingInterceptor.create(false, DISCARD));
+        for (OkHttpClient client : new OkHttpClient[] {none, body, debug, release}) {
+            assertEquals(responseJson, call(client));
+        }
+
+        double floor = Microbenchmark.nanosPerOp("No logging", OPS, i -> call(none));
+        double legacyNanos = Microbenchmark.nanosPerOp("BODY on every call", OPS, i -> call(body));
+        double debugNanos = Microbenchmark.nanosPerOp("Debug build logging", OPS, i -> call(debug));
+        double releaseNanos =
+                Microbenchmark.nanosPerOp("Release build logging", OPS, i -> call(release));
+        Microbenchmark.report("Release logging vs BODY", legacyNanos, releaseNanos);
+        Microbenchmark.report("No logging vs release logging", releaseNanos, floor);
+        Microbenchmark.report("Debug logging vs BODY", legacyNanos, debugNanos);
+
+        double floorBytes = Microbenchmark.bytesPerOp("No logging", OPS, i -> call(none));
+        double legacyBytes = Microbenchmark.bytesPerOp("BODY on every call", OPS, i -> call(body));
+        Microbenchmark.bytesPerOp("Debug build logging", OPS, i -> call(debug));
+        double releaseBytes =
+                Microbenchmark.bytesPerOp("Release build logging", OPS, i -> call(release));
+        Microbenchmark.reportAllocation("Release logging vs BODY", legacyBytes, releaseBytes);
+        Microbenchmark.reportAllocation("No logging vs release logging", releaseBytes, floorBytes);
+    }
+
+    private OkHttpClient client(Interceptor logging) {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        if (logging != null) {
+            builder.addInterceptor(logging);
+        }
+        return builder.addInterceptor(
+                        chain ->
+                                new Response.Builder()
+                                        .request(chain.request())
+                                        .protocol(Protocol.HTTP_1_1)
+                                        .code(200)
+                                        .message("OK")
+                                        .body(ResponseBody.create(responseJson, JSON))
+                                        .build())
+                .build();
+    }
+
+    private String call(OkHttpClient client) {
+        Request request =
+                new Request.Builder()
+                        .url("http://localhost/api/activities/feed?page=0&size=20")
+                        .header("Authorization", "Bearer token")
+                        .build();
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** JSON array of {@code count} activity-sized objects */
+    private static String json(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(
+                    String.format(
+                            Locale.US,
+                            "{\"id\":%d,\"title\":\"Activity %d\",\"location\":\"Central Park\","
+                                    + "\"activityDate\":\"2025-06-02T18:30:00\","
+                                    + "\"totalSpots\":10,\"availableSpots\":4}",
+                            i,
+                            i));
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,171 @@
+package com.gege.activityfindermobile;
+
+import static org.junit.Assert.*;
+
+import com.gege.activityfindermobile.data.json.StreamingTypeAdapterFactory;
+import com.gege.activityfindermobile.data.model.Activity;
+import com.gege.activityfindermobile.data.model.Participant;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * JVM benchmark for the streaming model readers against Gson's reflective adapters including:
+ * - Decoding a feed page of activities with nested creators and unknown fields
+ * - Decoding a participant list with nested users and activities
+ *
+ * <p>Each case reports time and bytes allocated per decoded page. The streaming reader formats
+ * display dates while decoding, the reflective one when they are first read, so each case also
+ * reads the dates as binding the rows would.
+ */
+public class StreamingJsonBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final int OPS = 2_000;
+
+    private static final Type ACTIVITY_LIST = new TypeToken<List<Activity>>() {}.getType();
+    private static final Type PARTICIPANT_LIST = new TypeToken<List<Participant>>() {}.getType();
+
+    // Same configuration as NetworkModule.provideGson, with and without the streaming readers
+    private final Gson streaming =
+            new GsonBuilder()
+                    .setLenient()
+                    .registerTypeAdapterFactory(new StreamingTypeAdapterFactory())
+                    .create();
+    private final Gson reflective = new GsonBuilder().setLenient().create();
+
+    @Test
+    public void benchmarkActivityFeedPage() {
+        String json = activityPage();
+        List<Activity> expected = reflective.fromJson(json, ACTIVITY_LIST);
+        List<Activity> actual = streaming.fromJson(json, ACTIVITY_LIST);
+        assertEquals(PAGE_SIZE, actual.size());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getTitle(), actual.get(i).getTitle());
+            assertEquals(expected.get(i).getCreatorName(), actual.get(i).getCreatorName());
+            assertEquals(expected.get(i).getInterests(), actual.get(i).getInterests());
+        }
+
+        Microbenchmark.Operation legacy =
+                i -> bindActivities(reflective.fromJson(json, ACTIVITY_LIST));
+        Microbenchmark.Operation streamed =
+                i -> bindActivities(streaming.fromJson(json, ACTIVITY_LIST));
+        Microbenchmark.report(
+                "Activity feed page",
+                Microbenchmark.nanosPerOp("Reflective Gson, 50 activities", OPS, legacy),
+                Microbenchmark.nanosPerOp("Streaming readers, 50 activities", OPS, streamed));
+        Microbenchmark.reportAllocation(
+                "Activity feed page",
+                Microbenchmark.bytesPerOp("Reflective Gson, 50 activities", OPS, legacy),
+                Microbenchmark.bytesPerOp("Streaming readers, 50 activities", OPS, streamed));
+    }
+
+    @Test
+    public void benchmarkParticipantList() {
+        String json = participantList();
+        List<Participant> expected = reflective.fromJson(json, PARTICIPANT_LIST);
+        List<Participant> actual = streaming.fromJson(json, PARTICIPANT_LIST);
+        assertEquals(PAGE_SIZE, actual.size());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getUserName(), actual.get(i).getUserName());
+        }
+
+        Microbenchmark.Operation legacy =
+                i -> bindParticipants(reflective.fromJson(json, PARTICIPANT_LIST));
+        Microbenchmark.Operation streamed =
+                i -> bindParticipants(streaming.fromJson(json, PARTICIPANT_LIST));
+        Microbenchmark.report(
+                "Participant list",
+                Microbenchmark.nanosPerOp("Reflective Gson, 50 participants", OPS, legacy),
+                Microbenchmark.nanosPerOp("Streaming readers, 50 participants", OPS, streamed));
+        Microbenchmark.reportAllocation(
+                "Participant list",
+                Microbenchmark.bytesPerOp("Reflective Gson, 50 participants", OPS, legacy),
+                Microbenchmark.bytesPerOp("Streaming readers, 50 participants", OPS, streamed));
+    }
+
+    private static List<Activity> bindActivities(List<Activity> activities) {
+        for (Activity activity : activities) {
+            activity.getDate();
+            activity.getTime();
+        }
+        return activities;
+    }
+
+    private static List<Participant> bindParticipants(List<Participant> participants) {
+        for (Participant participant : participants) {
+            participant.getActivity().getDate();
+            participant.getActivity().getTime();
+        }
+        return participants;
+    }
+
+    private static String activityPage() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(
+                    String.format(
+                            Locale.US,
+                            "{\"id\":%d,\"title\":\"Activity %d\",\"description\":\"Meet at the"
+                                    + " north entrance and bring water\","
+                                    + "\"activityDate\":\"2025-%02d-%02dT%02d:30:00\","
+                                    + "\"location\":\"Central Park\",\"category\":\"Sports\","
+                                    + "\"totalSpots\":10,\"availableSpots\":%d,"
+                                    + "\"status\":\"OPEN\",\"trending\":%b,"
+                                    + "\"creator\":{\"id\":%d,\"fullName\":\"User %d\","
+                                    + "\"rating\":4.5,\"profileImageUrl\":\"/u/%d.jpg\"},"
+                                    + "\"interestedUsersCount\":%d,"
+                                    + "\"interests\":[\"running\",\"outdoor\"],"
+                                    + "\"latitude\":40.78,\"longitude\":-73.96,"
+                                    + "\"coverImageUrl\":\"/covers/%d.jpg\","
+                                    + "\"createdAt\":\"2025-01-01T10:00:00\","
+                                    + "\"unknownField\":{\"nested\":[1,2,3]}}",
+                            i,
+                            i,
+                            1 + i % 12,
+                            1 + i % 28,
+                            i % 24,
+                            i % 10,
+                            i % 3 == 0,
+                            i % 7,
+                            i % 7,
+                            i % 7,
+                            i % 9,
+                            i));
+        }
+        return json.append(']').toString();
+    }
+
+    private static String participantList() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(
+                    String.format(
+                            Locale.US,
+                            "{\"participantId\":%d,\"status\":\"JOINED\",\"isFriend\":false,"
+                                    + "\"joinedAt\":\"2025-01-01T10:00:00\","
+                                    + "\"user\":{\"id\":%d,\"fullName\":\"User %d\","
+                                    + "\"rating\":4.0,\"profileImageUrl\":\"/u/%d.jpg\"},"
+                                    + "\"activity\":{\"id\":7,\"title\":\"Yoga\","
+                                    + "\"activityDate\":\"2025-06-02T18:30:00\"}}",
+                            i,
+                            i,
+                            i,
+                            i));
+        }
+        return json.append(']').toString();
+    }
+}
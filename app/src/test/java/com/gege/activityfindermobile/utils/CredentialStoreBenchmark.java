@@ -0,0 +1,107 @@
+package com.gege.activityfindermobile.utils;
+
+import static org.junit.Assert.*;
+
+import com.gege.activityfindermobile.Microbenchmark;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Request;
+
+/**
+ * JVM benchmark for adding the Authorization header to a request including:
+ * - Reading the token from preferences, building "Bearer ..." and decoding the JWT expiry per call,
+ *   as AuthInterceptor did before CredentialStore
+ * - Reading the same values from a CredentialStore snapshot
+ *
+ * <p>The preferences read is modelled on SharedPreferencesImpl.getString, a map lookup under a
+ * lock, without the disk load that happens once per process.
+ */
+public class CredentialStoreBenchmark {
+    private static final int OPS = 50_000;
+    private static final String KEY_USER_TOKEN = "user_token";
+
+    private final String token = jwt(System.currentTimeMillis() / 1000 + 3600);
+    private final Request request =
+            new Request.Builder().url("http://localhost/api/activities/feed").build();
+
+    @Test
+    public void benchmarkHeaderInjection() {
+        Preferences preferences = new Preferences();
+        preferences.putString(KEY_USER_TOKEN, token);
+        AtomicReference<CredentialStore.Credentials> store =
+                new AtomicReference<>(new CredentialStore.Credentials(token, "refresh"));
+
+        assertEquals(JwtUtils.getExpiryMillis(token), store.get().getAccessTokenExpiryMillis());
+        assertEquals(
+                legacyAuthorize(preferences).header("Authorization"),
+                snapshotAuthorize(store).header("Authorization"));
+
+        double legacy =
+                Microbenchmark.nanosPerOp(
+                        "Preferences read + JWT decode per call",
+                        OPS,
+                        i -> legacyAuthorize(preferences));
+        double snapshot =
+                Microbenchmark.nanosPerOp(
+                        "CredentialStore snapshot", OPS, i -> snapshotAuthorize(store));
+        Microbenchmark.report("Authorization header", legacy, snapshot);
+    }
+
+    private Request legacyAuthorize(Preferences preferences) {
+        String accessToken = preferences.getString(KEY_USER_TOKEN);
+        long expiresAt = JwtUtils.getExpiryMillis(accessToken);
+        // The expiry rides along as a tag so the JIT cannot skip computing it
+        return request.newBuilder()
+                .header("Authorization", "Bearer " + accessToken)
+                .tag(Long.class, expiresAt)
+                .build();
+    }
+
+    private Request snapshotAuthorize(AtomicReference<CredentialStore.Credentials> store) {
+        CredentialStore.Credentials credentials = store.get();
+        return request.newBuilder()
+                .header("Authorization", credentials.getAuthorizationHeader())
+                .tag(Long.class, credentials.getAccessTokenExpiryMillis())
+                .build();
+    }
+
+    /** Unsigned JWT with the claims the server sends */
+    private static String jwt(long exp) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = "{\"alg\":\"HS256\",\"typ\":\"JWT\"}";
+        String payload =
+                "{\"sub\":\"user@example.com\",\"userId\":42,\"iat\":"
+                        + (exp - 3600)
+                        + ",\"exp\":"
+                        + exp
+                        + "}";
+        return encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8))
+                + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+                + ".c2lnbmF0dXJl";
+    }
+
+    private static final class Preferences {
+        private final Object lock = new Object();
+        private final Map<String, Object> map = new HashMap<>();
+
+        void putString(String key, String value) {
+            synchronized (lock) {
+                map.put(key, value);
+            }
+        }
+
+        String getString(String key) {
+            synchronized (lock) {
+                return (String) map.get(key);
+            }
+        }
+    }
+}